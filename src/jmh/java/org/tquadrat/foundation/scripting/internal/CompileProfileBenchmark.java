@@ -0,0 +1,197 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static java.io.Writer.nullWriter;
+import static java.lang.System.getProperty;
+import static org.tquadrat.foundation.lang.CommonConstants.EMPTY_String_ARRAY;
+import static org.tquadrat.foundation.lang.CommonConstants.PROPERTY_CLASSPATH;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.scripting.java.CompileProfile;
+
+/**
+ *  <p>{@summary Compares the
+ *  {@linkplain CompileProfile compile profiles}.}</p>
+ *  <p>{@link #compile()}
+ *  measures the time for the compilation of a single script with
+ *  {@link JavaCompiler#compile(String, String, java.io.Writer, String, String, CompileProfile)};
+ *  {@link #compileAndRun()}
+ *  adds the time for loading the classes and for the first execution of
+ *  the script, so that it includes the costs for the bootstrap of the
+ *  {@code invokedynamic} call sites. The script gets a new name for each
+ *  invocation, so that nothing can be taken from a cache.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: CompileProfileBenchmark.java 1095 2026-10-16 17:12:44Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: CompileProfileBenchmark.java 1095 2026-10-16 17:12:44Z tquadrat $" )
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class CompileProfileBenchmark
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The template for the script.
+     */
+    private static final String SOURCE =
+        """
+        import java.util.*;
+        import java.util.stream.*;
+
+        public class %1$s
+        {
+            private record Item( String name, int weight ) {}
+
+            @SuppressWarnings( "unused" )
+            public static void main( String... args )
+            {
+                final List<Item> items = IntStream.range( 0, 32 )
+                    .mapToObj( i -> new Item( "item" + i, i %% 7 ) )
+                    .toList();
+                final Map<Integer,Long> histogram = items.stream()
+                    .collect( Collectors.groupingBy( Item::weight, Collectors.counting() ) );
+                final var text = "Histogram for " + items.size() + " items: " + histogram + " (" + args.length + ")";
+                if( text.isEmpty() ) throw new IllegalStateException( text );
+            }
+        }
+        """;
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The name of the script class.
+     */
+    private String m_ClassName;
+
+    /**
+     *  The classpath.
+     */
+    private String m_ClassPath;
+
+    /**
+     *  The compiler.
+     */
+    @SuppressWarnings( "UseOfConcreteClass" )
+    private JavaCompiler m_Compiler;
+
+    /**
+     *  The counter for the invocations; it makes the class names unique.
+     */
+    private long m_Counter;
+
+    /**
+     *  The compile profile.
+     */
+    @Param( {"STANDARD", "FAST", "DEBUG", "STRICT"} )
+    public CompileProfile m_Profile;
+
+    /**
+     *  The source for the next invocation.
+     */
+    private String m_Source;
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Compiles the script.
+     *
+     *  @return The byte code; it will be consumed by JMH.
+     */
+    @Benchmark
+    public Map<String,byte []> compile()
+    {
+        final var retValue = m_Compiler.compile( m_ClassName + ".java", m_Source, nullWriter(), null, m_ClassPath, m_Profile );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compile()
+
+    /**
+     *  Compiles the script, loads its classes and executes it once.
+     *
+     *  @return The script class; it will be consumed by JMH.
+     *  @throws Exception   The script could not be executed.
+     */
+    @Benchmark
+    public Class<?> compileAndRun() throws Exception
+    {
+        final var classBytes = compile();
+        final Class<?> retValue;
+        try( final var loader = new MemoryClassLoader( classBytes, m_ClassPath, CompileProfileBenchmark.class.getClassLoader() ) )
+        {
+            retValue = loader.loadClass( m_ClassName );
+            retValue.getMethod( "main", String [].class ).invoke( null, (Object) EMPTY_String_ARRAY );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileAndRun()
+
+    /**
+     *  Creates the source for the next invocation.
+     */
+    @Setup( Level.Invocation )
+    public void createSource()
+    {
+        m_ClassName = "Script_%1$s_%2$d".formatted( m_Profile.name(), m_Counter++ );
+        m_Source = SOURCE.formatted( m_ClassName );
+    }   //  createSource()
+
+    /**
+     *  Initialises the benchmark.
+     */
+    @Setup( Level.Trial )
+    public void setup()
+    {
+        m_Compiler = new JavaCompiler();
+        m_ClassPath = getProperty( PROPERTY_CLASSPATH );
+        m_Counter = 0;
+    }   //  setup()
+}
+//  class CompileProfileBenchmark
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,175 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static java.io.Writer.nullWriter;
+import static java.lang.System.getProperty;
+import static org.tquadrat.foundation.lang.CommonConstants.PROPERTY_CLASSPATH;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary Measures how the throughput of a batch compilation scales
+ *  with the number of compiler workers.}</p>
+ *  <p>Each invocation compiles a batch of independent scripts with
+ *  {@link JavaCompiler#compileBatch(Map, java.io.Writer, String, String, int)};
+ *  the score is the time per batch. The scripts get new names for each
+ *  invocation, so that nothing can be taken from a cache.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: ParallelCompileBenchmark.java 1090 2026-10-16 13:21:09Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: ParallelCompileBenchmark.java 1090 2026-10-16 13:21:09Z tquadrat $" )
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class ParallelCompileBenchmark
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The template for the scripts.
+     */
+    private static final String SOURCE =
+        """
+        import java.util.*;
+        import java.util.stream.*;
+
+        public class %1$s
+        {
+            private record Item( String name, int weight ) {}
+
+            public static void main( String... args )
+            {
+                final List<Item> items = IntStream.range( 0, 32 )
+                    .mapToObj( i -> new Item( "item" + i, i %% 7 ) )
+                    .toList();
+                final Map<Integer,Long> histogram = items.stream()
+                    .collect( Collectors.groupingBy( Item::weight, Collectors.counting() ) );
+                System.out.println( histogram );
+            }
+        }
+        """;
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The number of scripts per batch.
+     */
+    @Param( {"64", "256"} )
+    public int m_BatchSize;
+
+    /**
+     *  The classpath.
+     */
+    private String m_ClassPath;
+
+    /**
+     *  The compiler.
+     */
+    @SuppressWarnings( "UseOfConcreteClass" )
+    private JavaCompiler m_Compiler;
+
+    /**
+     *  The counter for the batches; it makes the class names unique.
+     */
+    private long m_Counter;
+
+    /**
+     *  The number of compiler workers.
+     */
+    @Param( {"1", "2", "4", "8", "16", "32"} )
+    public int m_Parallelism;
+
+    /**
+     *  The sources for the next batch.
+     */
+    private Map<String,String> m_Sources;
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Compiles the batch.
+     *
+     *  @return The result; it will be consumed by JMH.
+     */
+    @Benchmark
+    public JavaCompiler.BatchResult compileBatch()
+    {
+        final var retValue = m_Compiler.compileBatch( m_Sources, nullWriter(), null, m_ClassPath, m_Parallelism );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileBatch()
+
+    /**
+     *  Creates the sources for the next batch.
+     */
+    @Setup( Level.Invocation )
+    public void createSources()
+    {
+        final var batch = m_Counter++;
+        m_Sources = new LinkedHashMap<>();
+        for( var i = 0; i < m_BatchSize; ++i )
+        {
+            final var className = "Script_%1$d_%2$d".formatted( batch, i );
+            m_Sources.put( className + ".java", SOURCE.formatted( className ) );
+        }
+    }   //  createSources()
+
+    /**
+     *  Initialises the benchmark.
+     */
+    @Setup( Level.Trial )
+    public void setup()
+    {
+        m_Compiler = new JavaCompiler();
+        m_ClassPath = getProperty( PROPERTY_CLASSPATH );
+        m_Counter = 0;
+    }   //  setup()
+}
+//  class ParallelCompileBenchmark
+
+/*
+ *  End of File
+ */
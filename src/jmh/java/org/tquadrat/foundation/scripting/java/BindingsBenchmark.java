@@ -0,0 +1,297 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static java.io.Writer.nullWriter;
+
+import javax.script.Bindings;
+import javax.script.CompiledScript;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.scripting.factory.JavaEngineFactory;
+
+/**
+ *  <p>{@summary Compares
+ *  {@link SchemaBindings}
+ *  with
+ *  {@link SimpleBindings}.}</p>
+ *  <p>The {@code fill*} benchmarks model a request: the bindings are
+ *  filled with all the values, and each value is read once.
+ *  {@link #fillSimple()}
+ *  creates new {@code SimpleBindings} for each request,
+ *  {@link #fillSchemaNew()}
+ *  new {@code SchemaBindings}, and
+ *  {@link #fillSchemaReused()}
+ *  clears and reuses the same instance. The {@code get*} benchmarks read
+ *  all values from bindings that were filled before, and the {@code eval*}
+ *  benchmarks evaluate a compiled script that reads all the values from
+ *  its context.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: BindingsBenchmark.java 1105 2026-10-17 00:41:19Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: BindingsBenchmark.java 1105 2026-10-17 00:41:19Z tquadrat $" )
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class BindingsBenchmark
+{
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The number of values per request.
+     */
+    @Param( {"4", "16", "64"} )
+    public int m_Count;
+
+    /**
+     *  The names for the values.
+     */
+    private String [] m_Names;
+
+    /**
+     *  The schema for the names.
+     */
+    private BindingSchema m_Schema;
+
+    /**
+     *  The bindings with the schema.
+     */
+    private SchemaBindings m_SchemaBindings;
+
+    /**
+     *  The compiled script.
+     */
+    private CompiledScript m_Script;
+
+    /**
+     *  The simple bindings.
+     */
+    private SimpleBindings m_SimpleBindings;
+
+    /**
+     *  The slots for the names.
+     */
+    private int [] m_Slots;
+
+    /**
+     *  The values.
+     */
+    private Object [] m_Values;
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Evaluates the script with bindings that were reused.
+     *
+     *  @return The result of the evaluation; it will be consumed by JMH.
+     *  @throws ScriptException The evaluation failed.
+     */
+    @Benchmark
+    public Object evalSchema() throws ScriptException
+    {
+        m_SchemaBindings.clear();
+        final var retValue = m_Script.eval( fill( m_SchemaBindings ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  evalSchema()
+
+    /**
+     *  Evaluates the script with new instances of {@code SimpleBindings}.
+     *
+     *  @return The result of the evaluation; it will be consumed by JMH.
+     *  @throws ScriptException The evaluation failed.
+     */
+    @Benchmark
+    public Object evalSimple() throws ScriptException
+    {
+        final var retValue = m_Script.eval( fill( new SimpleBindings() ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  evalSimple()
+
+    /**
+     *  Puts all the values to the given bindings.
+     *
+     *  @param  bindings    The bindings.
+     *  @return The bindings.
+     */
+    private Bindings fill( final Bindings bindings )
+    {
+        for( var i = 0; i < m_Count; ++i ) bindings.put( m_Names [i], m_Values [i] );
+
+        //---* Done *----------------------------------------------------------
+        return bindings;
+    }   //  fill()
+
+    /**
+     *  Fills new instances of {@code SchemaBindings} and reads all the
+     *  values.
+     *
+     *  @return The sum of the hash codes; it will be consumed by JMH.
+     */
+    @Benchmark
+    public int fillSchemaNew() { return readAll( fill( m_Schema.newBindings() ) ); }
+
+    /**
+     *  Clears and fills the same instance of {@code SchemaBindings} and
+     *  reads all the values.
+     *
+     *  @return The sum of the hash codes; it will be consumed by JMH.
+     */
+    @Benchmark
+    public int fillSchemaReused()
+    {
+        m_SchemaBindings.clear();
+        final var retValue = readAll( fill( m_SchemaBindings ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  fillSchemaReused()
+
+    /**
+     *  Fills new instances of {@code SimpleBindings} and reads all the
+     *  values.
+     *
+     *  @return The sum of the hash codes; it will be consumed by JMH.
+     */
+    @Benchmark
+    public int fillSimple() { return readAll( fill( new SimpleBindings() ) ); }
+
+    /**
+     *  Reads all the values from {@code SchemaBindings} by their names.
+     *
+     *  @return The sum of the hash codes; it will be consumed by JMH.
+     */
+    @Benchmark
+    public int getSchema() { return readAll( m_SchemaBindings ); }
+
+    /**
+     *  Reads all the values from {@code SchemaBindings} by their slots.
+     *
+     *  @return The sum of the hash codes; it will be consumed by JMH.
+     */
+    @Benchmark
+    public int getSchemaSlots()
+    {
+        var retValue = 0;
+        for( var i = 0; i < m_Count; ++i ) retValue += m_SchemaBindings.getValue( m_Slots [i] ).hashCode();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  getSchemaSlots()
+
+    /**
+     *  Reads all the values from {@code SimpleBindings}.
+     *
+     *  @return The sum of the hash codes; it will be consumed by JMH.
+     */
+    @Benchmark
+    public int getSimple() { return readAll( m_SimpleBindings ); }
+
+    /**
+     *  Reads all the values from the given bindings.
+     *
+     *  @param  bindings    The bindings.
+     *  @return The sum of the hash codes of the values.
+     */
+    private int readAll( final Bindings bindings )
+    {
+        var retValue = 0;
+        for( var i = 0; i < m_Count; ++i ) retValue += bindings.get( m_Names [i] ).hashCode();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  readAll()
+
+    /**
+     *  Initialises the benchmark.
+     *
+     *  @throws ScriptException The script could not be compiled.
+     */
+    @Setup( Level.Trial )
+    public void setup() throws ScriptException
+    {
+        m_Names = new String [m_Count];
+        m_Values = new Object [m_Count];
+        final var source = new StringBuilder(
+            """
+            public class BindingsScript
+            {
+                private static javax.script.ScriptContext m_Context;
+                public static void setScriptContext( javax.script.ScriptContext context ) { m_Context = context; }
+                public static void main( String... args )
+                {
+                    var sum = 0;
+            """ );
+        for( var i = 0; i < m_Count; ++i )
+        {
+            m_Names [i] = "input%d".formatted( i );
+            m_Values [i] = Integer.valueOf( i );
+            source.append( "        sum += ((Integer) m_Context.getAttribute( \"%s\" )).intValue();\n".formatted( m_Names [i] ) );
+        }
+        source.append(
+            """
+                    m_Context.setAttribute( "result", Integer.valueOf( sum ), javax.script.ScriptContext.ENGINE_SCOPE );
+                }
+            }
+            """ );
+
+        m_Schema = BindingSchema.of( m_Names );
+        m_Slots = new int [m_Count];
+        for( var i = 0; i < m_Count; ++i ) m_Slots [i] = m_Schema.slotOf( m_Names [i] );
+        m_SchemaBindings = m_Schema.newBindings();
+        fill( m_SchemaBindings );
+        m_SimpleBindings = new SimpleBindings();
+        fill( m_SimpleBindings );
+
+        final var engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        engine.getContext().setErrorWriter( nullWriter() );
+        m_Script = engine.compile( source.toString() );
+    }   //  setup()
+}
+//  class BindingsBenchmark
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,193 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static java.io.Writer.nullWriter;
+
+import javax.script.CompiledScript;
+import javax.script.ScriptException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.scripting.factory.JavaEngineFactory;
+
+/**
+ *  <p>{@summary Measures the compilation of a script with
+ *  {@link JavaEngine#compile(String)}.}</p>
+ *  <ul>
+ *    <li>{@link #coldCompile()}
+ *    measures the very first compilation in a new JVM; this includes the
+ *    time for loading and initialising {@code javac}. Each fork yields
+ *    exactly one sample, so the number of forks is high.</li>
+ *    <li>{@link #warmCompile()}
+ *    measures the compilation of a new script with a warm compiler; the
+ *    script gets a new name for each invocation, so that nothing can be
+ *    taken from the cache for the compiled scripts.</li>
+ *    <li>{@link #cachedCompile()}
+ *    compiles the same script again and again, so that the class is taken
+ *    from the cache.</li>
+ *  </ul>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: EngineCompileBenchmark.java 1099 2026-10-16 20:24:51Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: EngineCompileBenchmark.java 1099 2026-10-16 20:24:51Z tquadrat $" )
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class EngineCompileBenchmark
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The template for the script.
+     */
+    private static final String SOURCE =
+        """
+        import java.util.*;
+        import java.util.stream.*;
+
+        public class %1$s
+        {
+            private record Item( String name, int weight ) {}
+
+            public static void main( String... args )
+            {
+                final List<Item> items = IntStream.range( 0, 32 )
+                    .mapToObj( i -> new Item( "item" + i, i %% 7 ) )
+                    .toList();
+                final Map<Integer,Long> histogram = items.stream()
+                    .collect( Collectors.groupingBy( Item::weight, Collectors.counting() ) );
+                if( histogram.isEmpty() ) throw new IllegalStateException();
+            }
+        }
+        """;
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The counter for the invocations; it makes the class names unique.
+     */
+    private long m_Counter;
+
+    /**
+     *  The engine.
+     */
+    private JavaEngine m_Engine;
+
+    /**
+     *  The source for the next invocation.
+     */
+    private String m_Source;
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Compiles the same script each time.
+     *
+     *  @return The compiled script; it will be consumed by JMH.
+     *  @throws ScriptException The compilation failed.
+     */
+    @Benchmark
+    public CompiledScript cachedCompile() throws ScriptException
+    {
+        final var retValue = m_Engine.compile( SOURCE.formatted( "CachedScript" ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  cachedCompile()
+
+    /**
+     *  Compiles the first script in a new JVM.
+     *
+     *  @return The compiled script; it will be consumed by JMH.
+     *  @throws ScriptException The compilation failed.
+     */
+    @Benchmark
+    @BenchmarkMode( Mode.SingleShotTime )
+    @Warmup( iterations = 0 )
+    @Measurement( iterations = 1 )
+    @Fork( 20 )
+    public CompiledScript coldCompile() throws ScriptException
+    {
+        final var retValue = m_Engine.compile( m_Source );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  coldCompile()
+
+    /**
+     *  Creates the source for the next invocation.
+     */
+    @Setup( Level.Invocation )
+    public void createSource()
+    {
+        m_Source = SOURCE.formatted( "Script_%1$d".formatted( m_Counter++ ) );
+    }   //  createSource()
+
+    /**
+     *  Initialises the benchmark; this does not touch the compiler.
+     */
+    @Setup( Level.Trial )
+    public void setup()
+    {
+        m_Engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        m_Engine.getContext().setErrorWriter( nullWriter() );
+        m_Counter = 0;
+    }   //  setup()
+
+    /**
+     *  Compiles a new script with a warm compiler.
+     *
+     *  @return The compiled script; it will be consumed by JMH.
+     *  @throws ScriptException The compilation failed.
+     */
+    @Benchmark
+    public CompiledScript warmCompile() throws ScriptException
+    {
+        final var retValue = m_Engine.compile( m_Source );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  warmCompile()
+}
+//  class EngineCompileBenchmark
+
+/*
+ *  End of File
+ */
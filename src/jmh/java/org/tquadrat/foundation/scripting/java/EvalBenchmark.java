@@ -0,0 +1,173 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static java.io.Writer.nullWriter;
+
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.scripting.factory.JavaEngineFactory;
+
+/**
+ *  <p>{@summary Compares
+ *  {@link JavaEngine#eval(String)}
+ *  with the evaluation of a script that was compiled before, using
+ *  {@link CompiledScript#eval(ScriptContext)}.}</p>
+ *  <p>{@link #evalString()}
+ *  takes the class from the cache for the compiled scripts, while
+ *  {@link #evalStringUncached()}
+ *  runs in a JVM with the cache disabled, so that the script will be
+ *  compiled for each invocation.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: EvalBenchmark.java 1099 2026-10-16 20:24:51Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: EvalBenchmark.java 1099 2026-10-16 20:24:51Z tquadrat $" )
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class EvalBenchmark
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The script.
+     */
+    private static final String SOURCE =
+        """
+        public class EvalScript
+        {
+            public static void main( String... args )
+            {
+                var sum = 0L;
+                for( var i = 0; i < 100; ++i ) sum += i * (long) i;
+                if( sum < 0 ) throw new IllegalStateException();
+            }
+        }
+        """;
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The compiled script.
+     */
+    private CompiledScript m_CompiledScript;
+
+    /**
+     *  The context for the evaluations.
+     */
+    private ScriptContext m_Context;
+
+    /**
+     *  The engine.
+     */
+    private JavaEngine m_Engine;
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Evaluates the compiled script.
+     *
+     *  @return The result; it will be consumed by JMH.
+     *  @throws ScriptException The evaluation failed.
+     */
+    @Benchmark
+    public Object evalCompiled() throws ScriptException
+    {
+        final var retValue = m_CompiledScript.eval( m_Context );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  evalCompiled()
+
+    /**
+     *  Evaluates the script from its source.
+     *
+     *  @return The result; it will be consumed by JMH.
+     *  @throws ScriptException The evaluation failed.
+     */
+    @Benchmark
+    public Object evalString() throws ScriptException
+    {
+        final var retValue = m_Engine.eval( SOURCE );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  evalString()
+
+    /**
+     *  Evaluates the script from its source, without the cache for the
+     *  compiled scripts.
+     *
+     *  @return The result; it will be consumed by JMH.
+     *  @throws ScriptException The evaluation failed.
+     */
+    @Benchmark
+    @OutputTimeUnit( TimeUnit.MILLISECONDS )
+    @Fork( value = 1, jvmArgsAppend = "-D" + JavaEngine.SYSPROP_PREFIX + JavaEngine.CACHE_SIZE + "=0" )
+    public Object evalStringUncached() throws ScriptException
+    {
+        final var retValue = m_Engine.eval( SOURCE );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  evalStringUncached()
+
+    /**
+     *  Initialises the benchmark.
+     *
+     *  @throws ScriptException The script could not be compiled.
+     */
+    @Setup( Level.Trial )
+    public void setup() throws ScriptException
+    {
+        m_Engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        m_Context = m_Engine.getContext();
+        m_Context.setErrorWriter( nullWriter() );
+        m_CompiledScript = m_Engine.compile( SOURCE );
+    }   //  setup()
+}
+//  class EvalBenchmark
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,157 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static java.io.Writer.nullWriter;
+
+import javax.script.ScriptException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.scripting.factory.JavaEngineFactory;
+
+/**
+ *  <p>{@summary Measures the evaluation of an expression with holes.}</p>
+ *  <p>{@link #evaluate()}
+ *  evaluates an expression that was compiled before,
+ *  {@link #evalExpression()}
+ *  passes the text of the expression with each call, so that the
+ *  compiled expression is taken from the cache of the engine, and
+ *  {@link #direct()}
+ *  is the baseline with the same computation in plain Java.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: ExpressionBenchmark.java 1106 2026-10-17 01:27:53Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: ExpressionBenchmark.java 1106 2026-10-17 01:27:53Z tquadrat $" )
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class ExpressionBenchmark
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The expression.
+     */
+    private static final String EXPRESSION = "${net:double} * (1.0 + ${rate:double})";
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The bindings with the values for the holes.
+     */
+    private SchemaBindings m_Bindings;
+
+    /**
+     *  The engine.
+     */
+    private JavaEngine m_Engine;
+
+    /**
+     *  The compiled expression.
+     */
+    private JavaExpression m_Expression;
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Computes the value of the expression in plain Java.
+     *
+     *  @return The result; it will be consumed by JMH.
+     */
+    @Benchmark
+    public Object direct()
+    {
+        final Object retValue = Double.valueOf( ((Number) m_Bindings.get( "net" )).doubleValue() * (1.0 + ((Number) m_Bindings.get( "rate" )).doubleValue()) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  direct()
+
+    /**
+     *  Evaluates the expression from its text.
+     *
+     *  @return The result; it will be consumed by JMH.
+     *  @throws ScriptException The evaluation failed.
+     */
+    @Benchmark
+    public Object evalExpression() throws ScriptException
+    {
+        final var retValue = m_Engine.evalExpression( EXPRESSION, m_Bindings );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  evalExpression()
+
+    /**
+     *  Evaluates the compiled expression.
+     *
+     *  @return The result; it will be consumed by JMH.
+     *  @throws ScriptException The evaluation failed.
+     */
+    @Benchmark
+    public Object evaluate() throws ScriptException
+    {
+        final var retValue = m_Expression.evaluate( m_Bindings );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  evaluate()
+
+    /**
+     *  Initialises the benchmark.
+     *
+     *  @throws ScriptException The expression could not be compiled.
+     */
+    @Setup( Level.Trial )
+    public void setup() throws ScriptException
+    {
+        m_Engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        m_Engine.getContext().setErrorWriter( nullWriter() );
+        m_Expression = m_Engine.compileExpression( EXPRESSION );
+        m_Bindings = BindingSchema.of( "net", "rate" ).newBindings();
+        m_Bindings.put( "net", Double.valueOf( 100.0 ) );
+        m_Bindings.put( "rate", Double.valueOf( 0.19 ) );
+    }   //  setup()
+}
+//  class ExpressionBenchmark
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,270 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static java.io.Writer.nullWriter;
+
+import javax.script.ScriptException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.scripting.factory.JavaEngineFactory;
+
+/**
+ *  <p>{@summary Compares the reflective invocation of the
+ *  {@code main()} method of a script class with a direct call to a method
+ *  with the same body.}</p>
+ *  <p>{@link #reflectiveLookup()}
+ *  looks up the method for each call; {@link #reflective()}
+ *  reuses a method object that was looked up before, and
+ *  {@link #methodHandle()}
+ *  calls an exactly typed method handle, as
+ *  {@link JavaCompiledScript#eval(javax.script.ScriptContext)}
+ *  does it;
+ *  {@link #invokeFunction()}
+ *  goes through
+ *  {@link javax.script.Invocable#invokeFunction(String, Object...)},
+ *  and
+ *  {@link #function()}
+ *  calls a functional interface that was compiled with
+ *  {@link JavaEngine#compileFunction(Class, String)}.
+ *  The script stores its result in the argument array, so that
+ *  the call cannot be eliminated.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: InvocationBenchmark.java 1099 2026-10-16 20:24:51Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: InvocationBenchmark.java 1099 2026-10-16 20:24:51Z tquadrat $" )
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class InvocationBenchmark
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The script; its {@code main()} method has the same body as
+     *  {@link #main(String...)}.
+     */
+    private static final String SOURCE =
+        """
+        public class InvocationScript
+        {
+            public static void main( String... args )
+            {
+                args [0] = args [1].length() > 3 ? args [1] : args [2];
+            }
+        }
+        """;
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The arguments for the calls.
+     */
+    private String [] m_Arguments;
+
+    /**
+     *  The function with the same body as
+     *  {@link #main(String...)}.
+     */
+    private Consumer<String []> m_Function;
+
+    /**
+     *  The handle for the {@code main()} method of the script class.
+     */
+    private MethodHandle m_MainHandle;
+
+    /**
+     *  The {@code main()} method of the script class.
+     */
+    private Method m_MainMethod;
+
+    /**
+     *  The compiled script.
+     */
+    private JavaCompiledScript m_Script;
+
+    /**
+     *  The script class.
+     */
+    private Class<?> m_ScriptClass;
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Calls
+     *  {@link #main(String...)}
+     *  directly.
+     *
+     *  @return The result of the call; it will be consumed by JMH.
+     */
+    @Benchmark
+    public String direct()
+    {
+        main( m_Arguments );
+        final var retValue = m_Arguments [0];
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  direct()
+
+    /**
+     *  Calls the compiled function.
+     *
+     *  @return The result of the call; it will be consumed by JMH.
+     */
+    @Benchmark
+    public String function()
+    {
+        m_Function.accept( m_Arguments );
+        final var retValue = m_Arguments [0];
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  function()
+
+    /**
+     *  Calls the {@code main()} method of the script through
+     *  {@link javax.script.Invocable#invokeFunction(String, Object...)}.
+     *
+     *  @return The result of the call; it will be consumed by JMH.
+     *  @throws Exception   The call failed.
+     */
+    @Benchmark
+    public String invokeFunction() throws Exception
+    {
+        m_Script.invokeFunction( "main", (Object) m_Arguments );
+        final var retValue = m_Arguments [0];
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  invokeFunction()
+
+    /**
+     *  The baseline for the script.
+     *
+     *  @param  args    The arguments.
+     */
+    private static void main( final String... args )
+    {
+        args [0] = args [1].length() > 3 ? args [1] : args [2];
+    }   //  main()
+
+    /**
+     *  Calls the {@code main()} method of the script through a method
+     *  handle.
+     *
+     *  @return The result of the call; it will be consumed by JMH.
+     *  @throws Throwable   The call failed.
+     */
+    @Benchmark
+    public String methodHandle() throws Throwable
+    {
+        m_MainHandle.invokeExact( m_Arguments );
+        final var retValue = m_Arguments [0];
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  methodHandle()
+
+    /**
+     *  Calls the {@code main()} method of the script through a method object
+     *  that was looked up before.
+     *
+     *  @return The result of the call; it will be consumed by JMH.
+     *  @throws Exception   The call failed.
+     */
+    @Benchmark
+    public String reflective() throws Exception
+    {
+        m_MainMethod.invoke( null, (Object) m_Arguments );
+        final var retValue = m_Arguments [0];
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  reflective()
+
+    /**
+     *  Looks up the {@code main()} method of the script and calls it.
+     *
+     *  @return The result of the call; it will be consumed by JMH.
+     *  @throws Exception   The call failed.
+     */
+    @Benchmark
+    public String reflectiveLookup() throws Exception
+    {
+        m_ScriptClass.getMethod( "main", String [].class ).invoke( null, (Object) m_Arguments );
+        final var retValue = m_Arguments [0];
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  reflectiveLookup()
+
+    /**
+     *  Initialises the benchmark.
+     *
+     *  @throws ScriptException The script could not be compiled.
+     *  @throws NoSuchMethodException   The script has no {@code main()}
+     *      method.
+     *  @throws IllegalAccessException  The {@code main()} method is not
+     *      accessible.
+     */
+    @SuppressWarnings( "unchecked" )
+    @Setup( Level.Trial )
+    public void setup() throws ScriptException, NoSuchMethodException, IllegalAccessException
+    {
+        final var engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        engine.getContext().setErrorWriter( nullWriter() );
+        m_Script = (JavaCompiledScript) engine.compile( SOURCE );
+        m_ScriptClass = m_Script.getScriptClass();
+        m_MainMethod = m_ScriptClass.getMethod( "main", String [].class );
+        m_MainHandle = MethodHandles.lookup().unreflect( m_MainMethod ).asFixedArity();
+        m_Function = engine.compileFunction( Consumer.class, "java.util.function.Consumer<String []>", "args -> args [0] = args [1].length() > 3 ? args [1] : args [2]" );
+        m_Arguments = new String [] {null, "first", "second"};
+    }   //  setup()
+}
+//  class InvocationBenchmark
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,138 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static java.io.Writer.nullWriter;
+
+import javax.script.ScriptException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.scripting.factory.JavaEngineFactory;
+
+/**
+ *  <p>{@summary Measures the round-trip for a program that was generated
+ *  with
+ *  {@link JavaEngineFactory#getProgram(String...)}.}</p>
+ *  <p>{@link #generate()}
+ *  measures only the generation of the source;
+ *  {@link #roundTrip()}
+ *  generates the source and evaluates it. As each generated program has a
+ *  class name of its own, it will be compiled for each invocation.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: ProgramBenchmark.java 1099 2026-10-16 20:24:51Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: ProgramBenchmark.java 1099 2026-10-16 20:24:51Z tquadrat $" )
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class ProgramBenchmark
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The statements for the program.
+     */
+    private static final String [] STATEMENTS =
+    {
+        "var sum = 0L",
+        "for( var i = 0; i < 100; ++i ) sum += i * (long) i",
+        "if( sum < 0 ) throw new IllegalStateException()"
+    };
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The engine.
+     */
+    private JavaEngine m_Engine;
+
+    /**
+     *  The factory.
+     */
+    private JavaEngineFactory m_Factory;
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Generates the program.
+     *
+     *  @return The source of the program; it will be consumed by JMH.
+     */
+    @Benchmark
+    public String generate()
+    {
+        final var retValue = m_Factory.getProgram( STATEMENTS );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  generate()
+
+    /**
+     *  Generates the program and evaluates it.
+     *
+     *  @return The result; it will be consumed by JMH.
+     *  @throws ScriptException The evaluation failed.
+     */
+    @Benchmark
+    @OutputTimeUnit( TimeUnit.MILLISECONDS )
+    public Object roundTrip() throws ScriptException
+    {
+        final var retValue = m_Engine.eval( m_Factory.getProgram( STATEMENTS ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  roundTrip()
+
+    /**
+     *  Initialises the benchmark.
+     */
+    @Setup( Level.Trial )
+    public void setup()
+    {
+        m_Factory = new JavaEngineFactory();
+        m_Engine = (JavaEngine) m_Factory.getScriptEngine();
+        m_Engine.getContext().setErrorWriter( nullWriter() );
+    }   //  setup()
+}
+//  class ProgramBenchmark
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,293 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static java.io.Writer.nullWriter;
+
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptException;
+import javax.script.SimpleScriptContext;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.scripting.factory.JavaEngineFactory;
+
+/**
+ *  <p>{@summary Measures how the throughput of the compilation and of the
+ *  evaluation scales with the number of threads that use the same
+ *  engine.}</p>
+ *  <p>The benchmarks with the names {@code compileN} compile a new script
+ *  on each of N threads; those with the names {@code evalN} evaluate the
+ *  same compiled script on each of N threads, each thread with a context of
+ *  its own. JMH does not allow to parameterise the number of threads
+ *  through a
+ *  {@link org.openjdk.jmh.annotations.Param},
+ *  therefore there is a method for each thread count; run the benchmark
+ *  with {@code -t} to try other numbers.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: ThroughputScalingBenchmark.java 1099 2026-10-16 20:24:51Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: ThroughputScalingBenchmark.java 1099 2026-10-16 20:24:51Z tquadrat $" )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class ThroughputScalingBenchmark
+{
+        /*---------------*\
+    ====** Inner Classes **====================================================
+        \*---------------*/
+    /**
+     *  The state that is shared by all threads.
+     *
+     *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: ThroughputScalingBenchmark.java 1099 2026-10-16 20:24:51Z tquadrat $
+     *  @since 0.5.0
+     *
+     *  @UMLGraph.link
+     */
+    @ClassVersion( sourceVersion = "$Id: ThroughputScalingBenchmark.java 1099 2026-10-16 20:24:51Z tquadrat $" )
+    @State( Scope.Benchmark )
+    public static class SharedState
+    {
+            /*------------*\
+        ====** Attributes **===================================================
+            \*------------*/
+        /**
+         *  The counter for the compilations; it makes the class names
+         *  unique.
+         */
+        final AtomicLong m_Counter = new AtomicLong();
+
+        /**
+         *  The compiled script.
+         */
+        CompiledScript m_CompiledScript;
+
+        /**
+         *  The engine.
+         */
+        JavaEngine m_Engine;
+
+            /*---------*\
+        ====** Methods **======================================================
+            \*---------*/
+        /**
+         *  Initialises the state.
+         *
+         *  @throws ScriptException The script could not be compiled.
+         */
+        @Setup( Level.Trial )
+        public void setup() throws ScriptException
+        {
+            m_Engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+            m_Engine.getContext().setErrorWriter( nullWriter() );
+            m_CompiledScript = m_Engine.compile( SOURCE.formatted( "ScalingScript" ) );
+        }   //  setup()
+    }
+    //  class SharedState
+
+    /**
+     *  The state for each thread.
+     *
+     *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: ThroughputScalingBenchmark.java 1099 2026-10-16 20:24:51Z tquadrat $
+     *  @since 0.5.0
+     *
+     *  @UMLGraph.link
+     */
+    @ClassVersion( sourceVersion = "$Id: ThroughputScalingBenchmark.java 1099 2026-10-16 20:24:51Z tquadrat $" )
+    @State( Scope.Thread )
+    public static class ThreadState
+    {
+            /*------------*\
+        ====** Attributes **===================================================
+            \*------------*/
+        /**
+         *  The context for the evaluations on this thread.
+         */
+        ScriptContext m_Context;
+
+            /*---------*\
+        ====** Methods **======================================================
+            \*---------*/
+        /**
+         *  Initialises the state.
+         */
+        @Setup( Level.Trial )
+        public void setup()
+        {
+            m_Context = new SimpleScriptContext();
+            m_Context.setErrorWriter( nullWriter() );
+        }   //  setup()
+    }
+    //  class ThreadState
+
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The template for the scripts.
+     */
+    private static final String SOURCE =
+        """
+        public class %1$s
+        {
+            public static void main( String... args )
+            {
+                var sum = 0L;
+                for( var i = 0; i < 100; ++i ) sum += i * (long) i;
+                if( sum < 0 ) throw new IllegalStateException();
+            }
+        }
+        """;
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Compiles a new script.
+     *
+     *  @param  state   The shared state.
+     *  @return The compiled script.
+     *  @throws ScriptException The compilation failed.
+     */
+    private static CompiledScript compile( final SharedState state ) throws ScriptException
+    {
+        final var retValue = state.m_Engine.compile( SOURCE.formatted( "Script_%1$d".formatted( state.m_Counter.getAndIncrement() ) ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compile()
+
+    /**
+     *  Compiles new scripts on one thread.
+     *
+     *  @param  state   The shared state.
+     *  @return The compiled script; it will be consumed by JMH.
+     *  @throws ScriptException The compilation failed.
+     */
+    @Benchmark
+    @Threads( 1 )
+    public CompiledScript compile1( final SharedState state ) throws ScriptException { return compile( state ); }
+
+    /**
+     *  Compiles new scripts on two threads.
+     *
+     *  @param  state   The shared state.
+     *  @return The compiled script; it will be consumed by JMH.
+     *  @throws ScriptException The compilation failed.
+     */
+    @Benchmark
+    @Threads( 2 )
+    public CompiledScript compile2( final SharedState state ) throws ScriptException { return compile( state ); }
+
+    /**
+     *  Compiles new scripts on four threads.
+     *
+     *  @param  state   The shared state.
+     *  @return The compiled script; it will be consumed by JMH.
+     *  @throws ScriptException The compilation failed.
+     */
+    @Benchmark
+    @Threads( 4 )
+    public CompiledScript compile4( final SharedState state ) throws ScriptException { return compile( state ); }
+
+    /**
+     *  Compiles new scripts on eight threads.
+     *
+     *  @param  state   The shared state.
+     *  @return The compiled script; it will be consumed by JMH.
+     *  @throws ScriptException The compilation failed.
+     */
+    @Benchmark
+    @Threads( 8 )
+    public CompiledScript compile8( final SharedState state ) throws ScriptException { return compile( state ); }
+
+    /**
+     *  Evaluates the compiled script on one thread.
+     *
+     *  @param  state   The shared state.
+     *  @param  threadState The state for the current thread.
+     *  @return The result; it will be consumed by JMH.
+     *  @throws ScriptException The evaluation failed.
+     */
+    @Benchmark
+    @Threads( 1 )
+    public Object eval1( final SharedState state, final ThreadState threadState ) throws ScriptException { return state.m_CompiledScript.eval( threadState.m_Context ); }
+
+    /**
+     *  Evaluates the compiled script on two threads.
+     *
+     *  @param  state   The shared state.
+     *  @param  threadState The state for the current thread.
+     *  @return The result; it will be consumed by JMH.
+     *  @throws ScriptException The evaluation failed.
+     */
+    @Benchmark
+    @Threads( 2 )
+    public Object eval2( final SharedState state, final ThreadState threadState ) throws ScriptException { return state.m_CompiledScript.eval( threadState.m_Context ); }
+
+    /**
+     *  Evaluates the compiled script on four threads.
+     *
+     *  @param  state   The shared state.
+     *  @param  threadState The state for the current thread.
+     *  @return The result; it will be consumed by JMH.
+     *  @throws ScriptException The evaluation failed.
+     */
+    @Benchmark
+    @Threads( 4 )
+    public Object eval4( final SharedState state, final ThreadState threadState ) throws ScriptException { return state.m_CompiledScript.eval( threadState.m_Context ); }
+
+    /**
+     *  Evaluates the compiled script on eight threads.
+     *
+     *  @param  state   The shared state.
+     *  @param  threadState The state for the current thread.
+     *  @return The result; it will be consumed by JMH.
+     *  @throws ScriptException The evaluation failed.
+     */
+    @Benchmark
+    @Threads( 8 )
+    public Object eval8( final SharedState state, final ThreadState threadState ) throws ScriptException { return state.m_CompiledScript.eval( threadState.m_Context ); }
+}
+//  class ThroughputScalingBenchmark
+
+/*
+ *  End of File
+ */
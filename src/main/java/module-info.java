@@ -29,7 +29,11 @@ module org.tquadrat.foundation.scripting
 {
     requires java.base;
     requires transitive java.compiler;
+    requires java.management;
     requires transitive java.scripting;
+    requires jdk.compiler;
+    requires jdk.jfr;
+    requires jdk.management;
 
     //---* The foundation modules *--------------------------------------------
     requires transitive org.tquadrat.foundation.util;
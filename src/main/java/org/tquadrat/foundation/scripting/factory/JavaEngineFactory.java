@@ -30,6 +30,8 @@ import static org.tquadrat.foundation.lang.CommonConstants.PROPERTY_JAVA_VERSION
 import static org.tquadrat.foundation.lang.CommonConstants.PROPERTY_JVM_VERSION;
 import static org.tquadrat.foundation.lang.Objects.nonNull;
 import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
+import static org.tquadrat.foundation.scripting.java.JavaEngine.SYSPROP_PREFIX;
+import static org.tquadrat.foundation.scripting.java.JavaEngine.WARMUP;
 import static org.tquadrat.foundation.util.StringUtils.isNotEmpty;
 
 import javax.script.ScriptEngine;
@@ -41,6 +43,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import org.apiguardian.api.API;
 import org.tquadrat.foundation.annotation.ClassVersion;
 import org.tquadrat.foundation.scripting.internal.JavaEngineImpl;
+import org.tquadrat.foundation.scripting.java.JavaEngine;
 
 /**
  *  This is script engine factory for the Foundation &quot;Java&quot; script
@@ -119,9 +122,19 @@ public class JavaEngineFactory implements ScriptEngineFactory
     ====** Constructors **=====================================================
         \*--------------*/
     /**
-     *  Creates a new instance of {@code JavaEngineFactory}.
+     *  Creates a new instance of {@code JavaEngineFactory}.<br>
+     *  <br>If the System property
+     *  {@value JavaEngine#SYSPROP_PREFIX}{@value JavaEngine#WARMUP}
+     *  is set to {@code true}, the warm-up of the compiler will be started
+     *  in the background.
+     *
+     *  @see JavaEngine#warmUp()
      */
-    public JavaEngineFactory() {}
+    public JavaEngineFactory()
+    {
+        //noinspection ConstantExpression
+        if( Boolean.getBoolean( SYSPROP_PREFIX + WARMUP ) ) JavaEngineImpl.warmUp();
+    }   //  JavaEngineFactory()
 
         /*---------*\
     ====** Methods **==========================================================
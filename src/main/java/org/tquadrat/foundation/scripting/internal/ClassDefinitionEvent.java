@@ -0,0 +1,90 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2021 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  The JDK Flight Recorder event for the definition of a class from
+ *  compiled byte code by
+ *  {@link MemoryClassLoader}.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: ClassDefinitionEvent.java 1097 2026-10-16 18:52:06Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: ClassDefinitionEvent.java 1097 2026-10-16 18:52:06Z tquadrat $" )
+@API( status = INTERNAL, since = "0.5.0" )
+@Name( ClassDefinitionEvent.NAME )
+@Label( "Script Class Definition" )
+@Description( "The definition of a class from the byte code of a compiled script" )
+@Category( {"tquadrat", "Scripting"} )
+@StackTrace( false )
+public final class ClassDefinitionEvent extends Event
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The name of the event: {@value}.
+     */
+    public static final String NAME = "org.tquadrat.foundation.scripting.ClassDefinition";
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The size of the byte code.
+     */
+    @Name( "byteCodeSize" )
+    @Label( "Byte Code Size" )
+    @DataAmount( DataAmount.BYTES )
+    long m_ByteCodeSize;
+
+    /**
+     *  The name of the class.
+     */
+    @Name( "className" )
+    @Label( "Class Name" )
+    String m_ClassName;
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code ClassDefinitionEvent} instance.
+     */
+    public ClassDefinitionEvent() { /* Just exists */ }
+}
+//  class ClassDefinitionEvent
+
+/*
+ *  End of File
+ */
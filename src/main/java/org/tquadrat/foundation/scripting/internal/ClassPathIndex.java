@@ -0,0 +1,605 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.getLogger;
+import static java.lang.System.getProperty;
+import static java.util.jar.Attributes.Name.CLASS_PATH;
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.lang.CommonConstants.EMPTY_STRING;
+import static org.tquadrat.foundation.lang.CommonConstants.PROPERTY_CLASSPATH;
+import static org.tquadrat.foundation.lang.Objects.isNull;
+import static org.tquadrat.foundation.lang.Objects.nonNull;
+import static org.tquadrat.foundation.scripting.java.JavaEngine.SYSPROP_PREFIX;
+import static org.tquadrat.foundation.util.StringUtils.isEmptyOrBlank;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.scripting.java.JavaEngine;
+
+/**
+ *  <p>{@summary An index of the packages on a classpath.}</p>
+ *  <p>When {@code javac} resolves the names in a script, it asks the file
+ *  manager for the contents of each package that might contain a class
+ *  with that name; wildcard imports cause a lot of these lookups for
+ *  packages that do not exist at all. Without an index, each lookup probes
+ *  all the JAR files and folders on the classpath. With the index, the
+ *  lookup for a package that does not exist on the classpath is answered
+ *  without touching the file system; the lookups for existing packages are
+ *  still forwarded to the standard file manager.</p>
+ *  <p>One index is kept per distinct classpath String; it is built once,
+ *  by reading the entries of all JAR files on the classpath (including
+ *  those that are referenced by the {@code Class-Path} attribute in their
+ *  manifests). The index will be rebuilt when the modification time or the
+ *  size of one of the JAR files has changed. Folders on the classpath are
+ *  not indexed; they are checked on each lookup.</p>
+ *  <p>The index can be disabled by setting the System property
+ *  {@value JavaEngine#SYSPROP_PREFIX}{@value JavaEngine#CLASSPATH_INDEX}
+ *  to {@code false}.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: ClassPathIndex.java 1111 2026-10-17 12:52:19Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: ClassPathIndex.java 1111 2026-10-17 12:52:19Z tquadrat $" )
+@API( status = INTERNAL, since = "0.5.0" )
+public final class ClassPathIndex
+{
+        /*---------------*\
+    ====** Inner Classes **====================================================
+        \*---------------*/
+    /**
+     *  The state of a JAR file at the time when it was indexed.
+     *
+     *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: ClassPathIndex.java 1108 2026-10-17 09:12:44Z tquadrat $
+     *  @since 0.5.0
+     *
+     *  @param  path    The path of the JAR file.
+     *  @param  lastModified    The time of the last modification, in
+     *      milliseconds since the epoch; -1 if the file did not exist.
+     *  @param  size    The size of the file; -1 if the file did not exist.
+     *
+     *  @UMLGraph.link
+     */
+    @ClassVersion( sourceVersion = "$Id: ClassPathIndex.java 1108 2026-10-17 09:12:44Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.5.0" )
+    private record JarStamp( Path path, long lastModified, long size )
+    {
+        /**
+         *  Creates the stamp for the given JAR file.
+         *
+         *  @param  path    The path of the JAR file.
+         *  @return The stamp.
+         */
+        static JarStamp of( final Path path )
+        {
+            final var file = path.toFile();
+            final var retValue = file.isFile()
+                ? new JarStamp( path, file.lastModified(), file.length() )
+                : new JarStamp( path, -1L, -1L );
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  of()
+    }
+    //  record JarStamp
+
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The minimum time between two checks whether an index is still up to
+     *  date, in nanoseconds.
+     */
+    private static final long CHECK_INTERVAL = TimeUnit.SECONDS.toNanos( 1L );
+
+    /**
+     *  The flag that indicates whether the index is used. The value is taken
+     *  from the System property
+     *  {@value JavaEngine#SYSPROP_PREFIX}{@value JavaEngine#CLASSPATH_INDEX};
+     *  the default is {@code true}.
+     */
+    @SuppressWarnings( "ConstantExpression" )
+    public static final boolean IS_ENABLED = !"false".equalsIgnoreCase( getProperty( SYSPROP_PREFIX + JavaEngine.CLASSPATH_INDEX ) );
+
+    /**
+     *  The prefix for the entries of a multi-release JAR file: {@value}.
+     */
+    private static final String VERSIONS_PREFIX = "META-INF/versions/";
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The folders on the classpath.
+     */
+    private final List<Path> m_Directories;
+
+    /**
+     *  The JAR files on the classpath, with their state at the time when
+     *  the index was built.
+     */
+    private final List<JarStamp> m_Jars;
+
+    /**
+     *  The time of the last check whether this index is up to date, as
+     *  returned by
+     *  {@link System#nanoTime()}.
+     */
+    private volatile long m_LastChecked;
+
+    /**
+     *  The packages in the JAR files, with the names of their class and
+     *  source files.
+     */
+    private final Map<String,Set<String>> m_Packages;
+
+    /**
+     *  The stamp for the JAR files on the classpath.
+     */
+    private final String m_Stamp;
+
+        /*------------------------*\
+    ====** Static Initialisations **===========================================
+        \*------------------------*/
+    /**
+     *  The indexes, with the classpath as the key. The index is held by a
+     *  future, so that it can be built outside of the map; the threads that
+     *  ask for an index while it is built wait for the future.
+     */
+    private static final Map<String,CompletableFuture<ClassPathIndex>> m_Indexes = new ConcurrentHashMap<>();
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code ClassPathIndex} instance.
+     *
+     *  @param  classPath   The classpath.
+     */
+    private ClassPathIndex( final String classPath )
+    {
+        final var start = System.nanoTime();
+        final List<Path> directories = new ArrayList<>();
+        final List<JarStamp> jars = new ArrayList<>();
+        final Map<String,Set<String>> packages = new HashMap<>();
+
+        //---* Collect the elements of the classpath *-------------------------
+        final Collection<Path> elements = new LinkedHashSet<>();
+        for( final var element : classPath.split( File.pathSeparator ) )
+        {
+            if( !isEmptyOrBlank( element ) )
+            {
+                try
+                {
+                    elements.add( Path.of( element ).toAbsolutePath().normalize() );
+                }
+                catch( final InvalidPathException ignored ) { /* javac will ignore this element, too */ }
+            }
+        }
+
+        //---* Index the elements *--------------------------------------------
+        final Collection<Path> done = new HashSet<>();
+        final var queue = new ArrayList<>( elements );
+        while( !queue.isEmpty() )
+        {
+            final var element = queue.removeFirst();
+            if( done.add( element ) )
+            {
+                if( Files.isDirectory( element ) )
+                {
+                    directories.add( element );
+                }
+                else
+                {
+                    jars.add( JarStamp.of( element ) );
+                    if( Files.isRegularFile( element ) ) queue.addAll( indexJar( element, packages ) );
+                }
+            }
+        }
+
+        m_Directories = List.copyOf( directories );
+        m_Jars = List.copyOf( jars );
+        m_Packages = packages;
+        m_Stamp = toStamp( m_Jars );
+        m_LastChecked = System.nanoTime();
+
+        getLogger( ClassPathIndex.class.getName() ).log( DEBUG, () -> "Indexed %1$d packages from %2$d JAR files in %3$d ms".formatted( packages.size(), jars.size(), TimeUnit.NANOSECONDS.toMillis( m_LastChecked - start ) ) );
+    }   //  ClassPathIndex()
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Waits for the given index.
+     *
+     *  @param  future  The future that holds the index.
+     *  @return The index.
+     */
+    private static final ClassPathIndex awaitIndex( final CompletableFuture<ClassPathIndex> future )
+    {
+        final ClassPathIndex retValue;
+        try
+        {
+            retValue = future.join();
+        }
+        catch( final CompletionException e )
+        {
+            if( e.getCause() instanceof final RuntimeException cause ) throw cause;
+            if( e.getCause() instanceof final Error cause ) throw cause;
+            throw e;
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  awaitIndex()
+
+    /**
+     *  Builds the index for the given classpath and completes the given
+     *  future with it. If the index cannot be built, the future will be
+     *  removed from the map of indexes.
+     *
+     *  @param  classPath   The classpath.
+     *  @param  future  The future that was put to the map of indexes for the
+     *      classpath.
+     *  @return The index.
+     */
+    private static final ClassPathIndex buildIndex( final String classPath, final CompletableFuture<ClassPathIndex> future )
+    {
+        final ClassPathIndex retValue;
+        try
+        {
+            retValue = new ClassPathIndex( classPath );
+        }
+        catch( final RuntimeException | Error e )
+        {
+            m_Indexes.remove( classPath, future );
+            future.completeExceptionally( e );
+            throw e;
+        }
+        future.complete( retValue );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  buildIndex()
+
+    /**
+     *  Discards all the indexes; they will be rebuilt on demand.
+     */
+    public static final void clear() { m_Indexes.clear(); }
+
+    /**
+     *  <p>{@summary Returns the index for the given classpath; if there is
+     *  no index yet, or if the existing index is outdated, a new one will be
+     *  built.}</p>
+     *  <p>The index is built by the thread that put the future for it to
+     *  the map, without holding a lock of the map while the JAR files are
+     *  read; other threads that need the index for the same classpath wait
+     *  for that future, while those for other classpaths are not
+     *  blocked.</p>
+     *
+     *  @param  classPath   The classpath; if {@code null} or empty, the
+     *      classpath of the current JVM is used, as {@code javac} would do.
+     *  @return The index, or {@code null} if the index is
+     *      {@linkplain #IS_ENABLED disabled}.
+     */
+    public static final ClassPathIndex forClassPath( final String classPath )
+    {
+        ClassPathIndex retValue = null;
+        if( IS_ENABLED )
+        {
+            final var effectiveClassPath = isEmptyOrBlank( classPath ) ? getProperty( PROPERTY_CLASSPATH, "." ) : classPath;
+            while( isNull( retValue ) )
+            {
+                final var current = m_Indexes.get( effectiveClassPath );
+                final var candidate = new CompletableFuture<ClassPathIndex>();
+                if( isNull( current ) )
+                {
+                    if( isNull( m_Indexes.putIfAbsent( effectiveClassPath, candidate ) ) ) retValue = buildIndex( effectiveClassPath, candidate );
+                }
+                else if( !current.isDone() )
+                {
+                    //---* Another thread builds the index right now *--------
+                    retValue = awaitIndex( current );
+                }
+                else
+                {
+                    final var index = awaitIndex( current );
+                    if( index.isUpToDate() )
+                    {
+                        retValue = index;
+                    }
+                    else if( m_Indexes.replace( effectiveClassPath, current, candidate ) )
+                    {
+                        retValue = buildIndex( effectiveClassPath, candidate );
+                    }
+                }
+                /*
+                 * If retValue is still null, another thread has put or
+                 * replaced the future for the classpath in the meantime;
+                 * the next round will take that.
+                 */
+            }
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  forClassPath()
+
+    /**
+     *  Returns the names of the class and source files in the given package,
+     *  as found in the JAR files on the classpath. The folders on the
+     *  classpath are not considered here.
+     *
+     *  @param  packageName The name of the package.
+     *  @return The names of the class and source files (without the package
+     *      path); the set is empty if the package does not exist in the JAR
+     *      files.
+     */
+    public final Set<String> getEntries( final String packageName )
+    {
+        final var entries = m_Packages.get( packageName );
+        final var retValue = isNull( entries ) ? Set.<String>of() : Set.copyOf( entries );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  getEntries()
+
+    /**
+     *  Returns the stamp for the JAR files on the classpath, at the time
+     *  when this index was built.
+     *
+     *  @return The stamp; it consists of the paths, the modification times
+     *      and the sizes of the JAR files.
+     */
+    public final String getStamp() { return m_Stamp; }
+
+    /**
+     *  Adds the class and source files of the given JAR file to the index.
+     *
+     *  @param  jar The JAR file.
+     *  @param  packages    The package index.
+     *  @return The additional classpath elements from the manifest of the
+     *      JAR file.
+     */
+    private static final List<Path> indexJar( final Path jar, final Map<String,Set<String>> packages )
+    {
+        final List<Path> retValue = new ArrayList<>();
+        try( final var jarFile = new JarFile( jar.toFile() ) )
+        {
+            final var entries = jarFile.entries();
+            while( entries.hasMoreElements() )
+            {
+                var name = entries.nextElement().getName();
+                if( name.startsWith( VERSIONS_PREFIX ) )
+                {
+                    //---* Strip the version from multi-release entries *------
+                    final var pos = name.indexOf( '/', VERSIONS_PREFIX.length() );
+                    name = pos < 0 ? EMPTY_STRING : name.substring( pos + 1 );
+                }
+                if( name.endsWith( ".class" ) || name.endsWith( ".java" ) )
+                {
+                    final var pos = name.lastIndexOf( '/' );
+                    final var packageName = pos < 0 ? EMPTY_STRING : name.substring( 0, pos ).replace( '/', '.' );
+                    packages.computeIfAbsent( packageName, $ -> new HashSet<>() ).add( name.substring( pos + 1 ) );
+
+                    //---* Register the enclosing packages, too *--------------
+                    var parent = packageName;
+                    var dot = parent.lastIndexOf( '.' );
+                    while( dot > 0 )
+                    {
+                        parent = parent.substring( 0, dot );
+                        if( nonNull( packages.putIfAbsent( parent, new HashSet<>() ) ) ) break;
+                        dot = parent.lastIndexOf( '.' );
+                    }
+                }
+            }
+
+            //---* Follow the Class-Path attribute from the manifest *---------
+            final var manifest = jarFile.getManifest();
+            final var manifestClassPath = isNull( manifest ) ? null : manifest.getMainAttributes().getValue( CLASS_PATH );
+            if( nonNull( manifestClassPath ) )
+            {
+                final var base = jar.getParent();
+                for( final var element : manifestClassPath.trim().split( "\\s+" ) )
+                {
+                    try
+                    {
+                        retValue.add( (isNull( base ) ? Path.of( element ) : base.resolve( element )).toAbsolutePath().normalize() );
+                    }
+                    catch( final InvalidPathException ignored ) { /* javac will ignore this element, too */ }
+                }
+            }
+        }
+        catch( final IOException e )
+        {
+            getLogger( ClassPathIndex.class.getName() ).log( DEBUG, "Unable to index '%1$s'".formatted( jar ), e );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  indexJar()
+
+    /**
+     *  Checks whether the JAR files on the classpath have changed since this
+     *  index was built. The check is done at most once per second.
+     *
+     *  @return {@code true} if the index is up to date, {@code false} if it
+     *      has to be rebuilt.
+     */
+    private final boolean isUpToDate()
+    {
+        var retValue = true;
+        final var now = System.nanoTime();
+        if( now - m_LastChecked >= CHECK_INTERVAL )
+        {
+            retValue = m_Jars.stream().allMatch( stamp -> stamp.equals( JarStamp.of( stamp.path() ) ) );
+            m_LastChecked = now;
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  isUpToDate()
+
+    /**
+     *  Checks whether the given package may exist on the classpath. A
+     *  return value of {@code false} means that neither a JAR file nor a
+     *  folder on the classpath contains that package, so there is no need
+     *  to look it up from the file system.
+     *
+     *  @param  packageName The name of the package; the empty String stands
+     *      for the unnamed package.
+     *  @return {@code true} if the package may exist, {@code false} if it
+     *      does not exist.
+     */
+    public final boolean mayContainPackage( final String packageName )
+    {
+        var retValue = packageName.isEmpty() || m_Packages.containsKey( packageName );
+        if( !retValue && !m_Directories.isEmpty() )
+        {
+            final var packagePath = packageName.replace( '.', File.separatorChar );
+            retValue = m_Directories.stream().anyMatch( directory -> Files.isDirectory( directory.resolve( packagePath ) ) );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  mayContainPackage()
+
+    /**
+     *  Builds the index for the given classpath in the background, so that
+     *  it is available when the first script will be compiled.
+     *
+     *  @param  classPath   The classpath.
+     *  @return The index; it will be {@code null} if the index is disabled.
+     */
+    public static final CompletableFuture<ClassPathIndex> prefetch( final String classPath )
+    {
+        final var retValue = new CompletableFuture<ClassPathIndex>();
+        final var thread = new Thread( () ->
+        {
+            try
+            {
+                retValue.complete( forClassPath( classPath ) );
+            }
+            catch( final Throwable t )
+            {
+                retValue.completeExceptionally( t );
+            }
+        }, "JavaEngine-ClassPathIndex" );
+        thread.setDaemon( true );
+        thread.start();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  prefetch()
+
+    /**
+     *  Returns the stamp for the JAR files on the given classpath; it
+     *  changes when one of these files was modified, replaced, or
+     *  removed.<br>
+     *  <br>If the index is enabled, the stamp is taken from the index for
+     *  the classpath, and it includes the JAR files that are referenced by
+     *  the manifests; otherwise, only the elements of the classpath itself
+     *  will be checked.
+     *
+     *  @param  classPath   The classpath; if {@code null} or empty, the
+     *      classpath of the current JVM is used, as {@code javac} would do.
+     *  @return The stamp.
+     */
+    public static final String stampFor( final String classPath )
+    {
+        final String retValue;
+        if( IS_ENABLED )
+        {
+            retValue = forClassPath( classPath ).getStamp();
+        }
+        else
+        {
+            final var effectiveClassPath = isEmptyOrBlank( classPath ) ? getProperty( PROPERTY_CLASSPATH, "." ) : classPath;
+            final List<JarStamp> jars = new ArrayList<>();
+            for( final var element : effectiveClassPath.split( File.pathSeparator ) )
+            {
+                if( !isEmptyOrBlank( element ) )
+                {
+                    try
+                    {
+                        final var path = Path.of( element ).toAbsolutePath().normalize();
+                        if( !Files.isDirectory( path ) ) jars.add( JarStamp.of( path ) );
+                    }
+                    catch( final InvalidPathException ignored ) { /* javac will ignore this element, too */ }
+                }
+            }
+            retValue = toStamp( jars );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  stampFor()
+
+    /**
+     *  Creates the stamp for the given JAR files.
+     *
+     *  @param  jars    The states of the JAR files.
+     *  @return The stamp.
+     */
+    private static final String toStamp( final Collection<JarStamp> jars )
+    {
+        final var builder = new StringBuilder();
+        for( final var jar : jars )
+        {
+            builder.append( jar.path() )
+                .append( File.pathSeparatorChar )
+                .append( jar.lastModified() )
+                .append( File.pathSeparatorChar )
+                .append( jar.size() )
+                .append( '\n' );
+        }
+        final var retValue = builder.toString();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  toStamp()
+}
+//  class ClassPathIndex
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,447 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.lang.Objects.isNull;
+import static org.tquadrat.foundation.lang.Objects.nonNull;
+import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
+import static org.tquadrat.foundation.lang.Objects.requireNotEmptyArgument;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.exception.PrivateConstructorForStaticClassCalledError;
+
+/**
+ *  <p>{@summary Determines the classes that are referenced by the byte code
+ *  of a class.}</p>
+ *  <p>The references are taken from the {@code CONSTANT_Class} entries of
+ *  the constant pool; these are the classes whose members are accessed, that
+ *  are instantiated, or that are used in a type check or a cast. Constants
+ *  that were inlined by the compiler do not leave a trace in the constant
+ *  pool.</p>
+ *  <p>The references to static fields can be redirected to the fields of
+ *  the same name in another class; this is done by patching the constant
+ *  pool only, the code of the methods remains unchanged.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: ClassReferences.java 1107 2026-10-17 02:31:52Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: ClassReferences.java 1107 2026-10-17 02:31:52Z tquadrat $" )
+@API( status = INTERNAL, since = "0.5.0" )
+public final class ClassReferences
+{
+        /*---------------*\
+    ====** Inner Classes **====================================================
+        \*---------------*/
+    /**
+     *  The parsed constant pool of a class file.
+     *
+     *  @param  classBytes  The byte code of the class.
+     *  @param  offsets The offsets of the constant pool entries in the byte
+     *      code, with the index of the entry as the index to the array; the
+     *      unused slots have the offset 0.
+     *  @param  utf8    The values of the {@code CONSTANT_Utf8} entries, with
+     *      the index of the entry as the index to the array.
+     *  @param  end The offset of the first byte after the constant pool.
+     *
+     *  @version $Id: ClassReferences.java 1107 2026-10-17 02:31:52Z tquadrat $
+     *  @since 0.5.0
+     *
+     *  @UMLGraph.link
+     */
+    @ClassVersion( sourceVersion = "$Id: ClassReferences.java 1107 2026-10-17 02:31:52Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.5.0" )
+    private record ConstantPool( byte [] classBytes, int [] offsets, String [] utf8, int end )
+    {
+        /**
+         *  Returns the name of the class from a {@code CONSTANT_Class}
+         *  entry, in the internal form.
+         *
+         *  @param  index   The index of the entry.
+         *  @return The name of the class.
+         *  @throws IllegalArgumentException    The entry is not a valid
+         *      {@code CONSTANT_Class} entry.
+         */
+        public final String className( final int index ) throws IllegalArgumentException
+        {
+            final var retValue = tag( index ) == TAG_CLASS ? utf8( reference( index, 0 ) ) : null;
+            if( isNull( retValue ) ) throw new IllegalArgumentException( "Invalid class reference" );
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  className()
+
+        /**
+         *  Returns the number of slots in the constant pool; this is one
+         *  more than the number of the entries.
+         *
+         *  @return The number of slots.
+         */
+        public final int count() { return offsets.length; }
+
+        /**
+         *  Returns the name from a {@code CONSTANT_NameAndType} entry.
+         *
+         *  @param  index   The index of the entry.
+         *  @return The name.
+         *  @throws IllegalArgumentException    The entry is not a valid
+         *      {@code CONSTANT_NameAndType} entry.
+         */
+        public final String memberName( final int index ) throws IllegalArgumentException
+        {
+            final var retValue = tag( index ) == TAG_NAME_AND_TYPE ? utf8( reference( index, 0 ) ) : null;
+            if( isNull( retValue ) ) throw new IllegalArgumentException( "Invalid member reference" );
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  memberName()
+
+        /**
+         *  Returns an index to another entry that is stored in the entry
+         *  with the given index.
+         *
+         *  @param  index   The index of the entry.
+         *  @param  position    The position of the reference in the entry;
+         *      0 for the first reference, 1 for the second.
+         *  @return The index of the referenced entry.
+         */
+        public final int reference( final int index, final int position )
+        {
+            final var offset = offsets [index] + 1 + (position << 1);
+            final var retValue = ((classBytes [offset] & 0xFF) << 8) | (classBytes [offset + 1] & 0xFF);
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  reference()
+
+        /**
+         *  Returns the tag of the entry with the given index.
+         *
+         *  @param  index   The index of the entry.
+         *  @return The tag, or 0 if the index does not denote an entry.
+         */
+        public final int tag( final int index )
+        {
+            final var retValue = index > 0 && index < offsets.length && offsets [index] > 0 ? Byte.toUnsignedInt( classBytes [offsets [index]] ) : 0;
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  tag()
+
+        /**
+         *  Returns the value of the {@code CONSTANT_Utf8} entry with the
+         *  given index.
+         *
+         *  @param  index   The index of the entry.
+         *  @return The value, or {@code null} if the index does not denote a
+         *      {@code CONSTANT_Utf8} entry.
+         */
+        public final String utf8( final int index ) { return index < utf8.length ? utf8 [index] : null; }
+    }
+    //  record ConstantPool
+
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The magic number of a class file.
+     */
+    private static final int MAGIC = 0xCAFEBABE;
+
+    /**
+     *  Constant pool tag: {@value}.
+     */
+    private static final int TAG_UTF8 = 1;
+
+    /**
+     *  Constant pool tag: {@value}.
+     */
+    private static final int TAG_INTEGER = 3;
+
+    /**
+     *  Constant pool tag: {@value}.
+     */
+    private static final int TAG_FLOAT = 4;
+
+    /**
+     *  Constant pool tag: {@value}.
+     */
+    private static final int TAG_LONG = 5;
+
+    /**
+     *  Constant pool tag: {@value}.
+     */
+    private static final int TAG_DOUBLE = 6;
+
+    /**
+     *  Constant pool tag: {@value}.
+     */
+    private static final int TAG_CLASS = 7;
+
+    /**
+     *  Constant pool tag: {@value}.
+     */
+    private static final int TAG_STRING = 8;
+
+    /**
+     *  Constant pool tag: {@value}.
+     */
+    private static final int TAG_FIELDREF = 9;
+
+    /**
+     *  Constant pool tag: {@value}.
+     */
+    private static final int TAG_METHODREF = 10;
+
+    /**
+     *  Constant pool tag: {@value}.
+     */
+    private static final int TAG_INTERFACE_METHODREF = 11;
+
+    /**
+     *  Constant pool tag: {@value}.
+     */
+    private static final int TAG_NAME_AND_TYPE = 12;
+
+    /**
+     *  Constant pool tag: {@value}.
+     */
+    private static final int TAG_METHOD_HANDLE = 15;
+
+    /**
+     *  Constant pool tag: {@value}.
+     */
+    private static final int TAG_METHOD_TYPE = 16;
+
+    /**
+     *  Constant pool tag: {@value}.
+     */
+    private static final int TAG_DYNAMIC = 17;
+
+    /**
+     *  Constant pool tag: {@value}.
+     */
+    private static final int TAG_INVOKE_DYNAMIC = 18;
+
+    /**
+     *  Constant pool tag: {@value}.
+     */
+    private static final int TAG_MODULE = 19;
+
+    /**
+     *  Constant pool tag: {@value}.
+     */
+    private static final int TAG_PACKAGE = 20;
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  No instance allowed for this class.
+     */
+    private ClassReferences() { throw new PrivateConstructorForStaticClassCalledError( ClassReferences.class ); }
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Parses the constant pool of the given class file.
+     *
+     *  @param  classBytes  The byte code of a class.
+     *  @return The constant pool.
+     *  @throws IllegalArgumentException    The byte code is not a valid class
+     *      file.
+     */
+    private static ConstantPool parseConstantPool( final byte [] classBytes ) throws IllegalArgumentException
+    {
+        final var buffer = ByteBuffer.wrap( requireNonNullArgument( classBytes, "classBytes" ) );
+        if( buffer.remaining() < 10 || buffer.getInt() != MAGIC ) throw new IllegalArgumentException( "Not a class file" );
+        buffer.getShort(); // minor version
+        buffer.getShort(); // major version
+
+        final var count = Short.toUnsignedInt( buffer.getShort() );
+        final var offsets = new int [count];
+        final var utf8 = new String [count];
+        try
+        {
+            for( var index = 1; index < count; ++index )
+            {
+                offsets [index] = buffer.position();
+                final var tag = Byte.toUnsignedInt( buffer.get() );
+                switch( tag )
+                {
+                    case TAG_UTF8 ->
+                    {
+                        final var bytes = new byte [Short.toUnsignedInt( buffer.getShort() )];
+                        buffer.get( bytes );
+                        /*
+                         * Class and member names do not contain the
+                         * characters for that the modified UTF-8 differs
+                         * from UTF-8.
+                         */
+                        utf8 [index] = new String( bytes, UTF_8 );
+                    }
+                    case TAG_CLASS, TAG_STRING, TAG_METHOD_TYPE, TAG_MODULE, TAG_PACKAGE -> buffer.getShort();
+                    case TAG_METHOD_HANDLE ->
+                    {
+                        buffer.get();
+                        buffer.getShort();
+                    }
+                    case TAG_INTEGER, TAG_FLOAT, TAG_FIELDREF, TAG_METHODREF, TAG_INTERFACE_METHODREF, TAG_NAME_AND_TYPE, TAG_DYNAMIC, TAG_INVOKE_DYNAMIC -> buffer.getInt();
+                    case TAG_LONG, TAG_DOUBLE ->
+                    {
+                        buffer.getLong();
+                        ++index; // These entries take two slots
+                    }
+                    default -> throw new IllegalArgumentException( "Invalid constant pool tag %1$d".formatted( tag ) );
+                }
+            }
+        }
+        catch( final BufferUnderflowException e )
+        {
+            throw new IllegalArgumentException( "Truncated class file", e );
+        }
+
+        final var retValue = new ConstantPool( classBytes, offsets, utf8, buffer.position() );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  parseConstantPool()
+
+    /**
+     *  Returns the binary names of the classes that are referenced by the
+     *  given byte code; array types are reduced to their component types.
+     *
+     *  @param  classBytes  The byte code of a class.
+     *  @return The binary names of the referenced classes; this includes the
+     *      name of the class itself.
+     *  @throws IllegalArgumentException    The byte code is not a valid class
+     *      file.
+     */
+    public static final Set<String> referencedClasses( final byte [] classBytes ) throws IllegalArgumentException
+    {
+        final var constantPool = parseConstantPool( classBytes );
+
+        final Set<String> retValue = new HashSet<>();
+        for( var index = 1; index < constantPool.count(); ++index )
+        {
+            if( constantPool.tag( index ) == TAG_CLASS )
+            {
+                var name = constantPool.className( index );
+
+                //---* Reduce array types to their component type *------------
+                if( name.startsWith( "[" ) )
+                {
+                    name = name.substring( name.lastIndexOf( '[' ) + 1 );
+                    name = name.startsWith( "L" ) && name.endsWith( ";" ) ? name.substring( 1, name.length() - 1 ) : null;
+                }
+                if( nonNull( name ) ) retValue.add( name.replace( '/', '.' ) );
+            }
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  referencedClasses()
+
+    /**
+     *  <p>{@summary Redirects the references to the given static fields of
+     *  one class to the fields with the same names in another class.}</p>
+     *  <p>Two entries for the new class are appended to the constant pool,
+     *  and the matching {@code CONSTANT_Fieldref} entries are changed to
+     *  point to it; as the offsets of the code do not change, neither the
+     *  methods nor the stack map frames have to be touched. The fields in the
+     *  new class must have the same types as the original ones.</p>
+     *
+     *  @param  classBytes  The byte code of a class; it will not be modified.
+     *  @param  owner   The binary name of the class that declares the
+     *      fields.
+     *  @param  fieldNames  The names of the fields.
+     *  @param  newOwner    The binary name of the class that declares the
+     *      replacement fields.
+     *  @return The modified byte code, or the given array if the class does
+     *      not reference any of the fields.
+     *  @throws IllegalArgumentException    The byte code is not a valid class
+     *      file, or there is no room for the new entries in the constant
+     *      pool.
+     */
+    public static final byte [] redirectFieldReferences( final byte [] classBytes, final String owner, final Set<String> fieldNames, final String newOwner ) throws IllegalArgumentException
+    {
+        final var ownerName = requireNotEmptyArgument( owner, "owner" ).replace( '.', '/' );
+        requireNonNullArgument( fieldNames, "fieldNames" );
+        final var newOwnerName = requireNotEmptyArgument( newOwner, "newOwner" ).replace( '.', '/' ).getBytes( UTF_8 );
+        final var constantPool = parseConstantPool( classBytes );
+
+        //---* Find the field references *-------------------------------------
+        final var count = constantPool.count();
+        final var fieldReferences = new int [count];
+        var fieldReferenceCount = 0;
+        for( var index = 1; index < count; ++index )
+        {
+            if( (constantPool.tag( index ) == TAG_FIELDREF)
+                && ownerName.equals( constantPool.className( constantPool.reference( index, 0 ) ) )
+                && fieldNames.contains( constantPool.memberName( constantPool.reference( index, 1 ) ) ) )
+            {
+                fieldReferences [fieldReferenceCount++] = constantPool.offsets() [index];
+            }
+        }
+
+        var retValue = classBytes;
+        if( fieldReferenceCount > 0 )
+        {
+            if( count + 2 > 0xFFFF ) throw new IllegalArgumentException( "The constant pool is full" );
+
+            //---* Append the entries for the new class *----------------------
+            final var end = constantPool.end();
+            final var buffer = ByteBuffer.allocate( classBytes.length + 6 + newOwnerName.length )
+                .put( classBytes, 0, 8 )
+                .putShort( (short) (count + 2) )
+                .put( classBytes, 10, end - 10 )
+                .put( (byte) TAG_UTF8 )
+                .putShort( (short) newOwnerName.length )
+                .put( newOwnerName )
+                .put( (byte) TAG_CLASS )
+                .putShort( (short) count )
+                .put( classBytes, end, classBytes.length - end );
+
+            //---* Let the field references point to the new class *-----------
+            for( var i = 0; i < fieldReferenceCount; ++i )
+            {
+                buffer.putShort( fieldReferences [i] + 1, (short) (count + 1) );
+            }
+            retValue = buffer.array();
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  redirectFieldReferences()
+}
+//  class ClassReferences
+
+/*
+ *  End of File
+ */
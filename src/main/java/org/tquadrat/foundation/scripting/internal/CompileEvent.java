@@ -0,0 +1,117 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2021 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  The JDK Flight Recorder event for an invocation of the compiler. The
+ *  duration of the event is the time for the compiler task, without the
+ *  time for the setup of the compilation context.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: CompileEvent.java 1097 2026-10-16 18:52:06Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: CompileEvent.java 1097 2026-10-16 18:52:06Z tquadrat $" )
+@API( status = INTERNAL, since = "0.5.0" )
+@Name( CompileEvent.NAME )
+@Label( "Script Compilation" )
+@Description( "An invocation of the compiler for one or more scripts" )
+@Category( {"tquadrat", "Scripting"} )
+@StackTrace( false )
+public final class CompileEvent extends Event
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The name of the event: {@value}.
+     */
+    public static final String NAME = "org.tquadrat.foundation.scripting.Compile";
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The number of generated classes.
+     */
+    @Name( "classCount" )
+    @Label( "Generated Classes" )
+    int m_ClassCount;
+
+    /**
+     *  The options for the compiler.
+     */
+    @Name( "options" )
+    @Label( "Options" )
+    String m_Options;
+
+    /**
+     *  The number of compiled sources.
+     */
+    @Name( "sourceCount" )
+    @Label( "Sources" )
+    int m_SourceCount;
+
+    /**
+     *  The names of the compiled sources, separated by commas.
+     */
+    @Name( "sourceNames" )
+    @Label( "Source Names" )
+    String m_SourceNames;
+
+    /**
+     *  The total length of the compiled sources, in characters.
+     */
+    @Name( "sourceSize" )
+    @Label( "Source Size" )
+    @Description( "The total length of the sources, in characters" )
+    long m_SourceSize;
+
+    /**
+     *  The flag that indicates whether the compilation succeeded.
+     */
+    @Name( "success" )
+    @Label( "Success" )
+    boolean m_Success;
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code CompileEvent} instance.
+     */
+    public CompileEvent() { /* Just exists */ }
+}
+//  class CompileEvent
+
+/*
+ *  End of File
+ */
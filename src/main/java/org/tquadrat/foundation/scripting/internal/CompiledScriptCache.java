@@ -0,0 +1,586 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static java.lang.System.getProperty;
+import static java.lang.System.identityHashCode;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.lang.CommonConstants.PROPERTY_JAVA_VERSION;
+import static org.tquadrat.foundation.lang.Objects.isNull;
+import static org.tquadrat.foundation.lang.Objects.nonNull;
+import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
+
+import java.lang.module.ModuleDescriptor;
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.exception.ImpossibleExceptionError;
+import org.tquadrat.foundation.scripting.java.CacheStatistics;
+
+/**
+ *  <p>{@summary A process-wide cache for the classes that were compiled from
+ *  script sources.} The cache is used by all instances of
+ *  {@link JavaEngineImpl};
+ *  a repeated evaluation of a script that was already compiled before will
+ *  use the class from the cache instead of invoking {@code javac}
+ *  again. As a consequence, the static fields of the script class keep
+ *  their values between the evaluations of the same source; without the
+ *  cache, each evaluation compiled the script again and started with fresh
+ *  static fields.</p>
+ *  <p>By default, the entries are shared by all engines, so an engine that
+ *  was just created by the factory will get the class that another engine
+ *  compiled before. An engine that has opted out (see
+ *  {@link org.tquadrat.foundation.scripting.java.JavaEngine#SHARE_COMPILED_SCRIPTS})
+ *  gets entries that are scoped to itself; it does not see the static
+ *  fields of the classes of other engines.</p>
+ *  <p>The key for an entry is a fingerprint for the source, the file name,
+ *  the effective compiler options, the source path, the classpath and the
+ *  state of the JAR files on it, and the version of the byte code that this
+ *  library generates, together with the name of the main class and the
+ *  parent class loader for the script. As the calculation of that
+ *  fingerprint would be too expensive for each lookup, the fingerprints
+ *  are memoised, with the source and the compiler settings as the
+ *  key.</p>
+ *  <p>The cache is bounded; if it reaches its capacity, the least recently
+ *  used entry will be evicted. A capacity of 0 disables the cache.</p>
+ *  <p>The cache does not keep the engines or the parent class loaders
+ *  reachable: the key refers to them weakly, and the cached classes (that
+ *  reference their parent class loader through their own class loader)
+ *  are held through
+ *  {@link SoftReference}s,
+ *  so they will be released by the garbage collector when they were not
+ *  used for a while.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: CompiledScriptCache.java 1110 2026-10-17 11:22:09Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: CompiledScriptCache.java 1110 2026-10-17 11:22:09Z tquadrat $" )
+@API( status = INTERNAL, since = "0.5.0" )
+public final class CompiledScriptCache
+{
+        /*---------------*\
+    ====** Inner Classes **====================================================
+        \*---------------*/
+    /**
+     *  The key for an entry in the cache. The parent class loader and the
+     *  scope are compared by identity, and they are referenced only weakly;
+     *  once one of them was garbage collected, the key does not match any
+     *  other key anymore, and the entry will be evicted eventually.
+     *
+     *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: CompiledScriptCache.java 1110 2026-10-17 11:22:09Z tquadrat $
+     *  @since 0.5.0
+     *
+     *  @UMLGraph.link
+     */
+    @ClassVersion( sourceVersion = "$Id: CompiledScriptCache.java 1110 2026-10-17 11:22:09Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.5.0" )
+    public static final class Key
+    {
+            /*------------*\
+        ====** Attributes **===================================================
+            \*------------*/
+        /**
+         *  The fingerprint for the source and the compiler settings.
+         */
+        private final String m_Fingerprint;
+
+        /**
+         *  The hash code.
+         */
+        private final int m_HashCode;
+
+        /**
+         *  The name of the main class; can be {@code null}.
+         */
+        private final String m_MainClassName;
+
+        /**
+         *  The reference to the parent class loader for the script class;
+         *  {@code null} if the parent class loader is the bootstrap class
+         *  loader.
+         */
+        private final Reference<ClassLoader> m_ParentLoader;
+
+        /**
+         *  The reference to the owner of the entry; {@code null} if the
+         *  entry is shared.
+         */
+        private final Reference<Object> m_Scope;
+
+            /*--------------*\
+        ====** Constructors **=================================================
+            \*--------------*/
+        /**
+         *  Creates a new {@code Key} instance.
+         *
+         *  @param  fingerprint The fingerprint for the source and the
+         *      compiler settings.
+         *  @param  mainClassName   The name of the main class; can be
+         *      {@code null}.
+         *  @param  parentLoader    The parent class loader for the script
+         *      class; can be {@code null}.
+         *  @param  scope   The owner of the entry, usually the engine that
+         *      compiled the script; {@code null} if the entry is shared by all
+         *      engines.
+         */
+        public Key( final String fingerprint, final String mainClassName, final ClassLoader parentLoader, final Object scope )
+        {
+            m_Fingerprint = requireNonNullArgument( fingerprint, "fingerprint" );
+            m_MainClassName = mainClassName;
+            m_ParentLoader = isNull( parentLoader ) ? null : new WeakReference<>( parentLoader );
+            m_Scope = isNull( scope ) ? null : new WeakReference<>( scope );
+            m_HashCode = Objects.hash( fingerprint, mainClassName ) * 31 * 31 + identityHashCode( parentLoader ) * 31 + identityHashCode( scope );
+        }   //  Key()
+
+            /*---------*\
+        ====** Methods **======================================================
+            \*---------*/
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final boolean equals( final Object o )
+        {
+            var retValue = this == o;
+            if( !retValue && (o instanceof final Key other) )
+            {
+                retValue = (m_HashCode == other.m_HashCode)
+                    && m_Fingerprint.equals( other.m_Fingerprint )
+                    && Objects.equals( m_MainClassName, other.m_MainClassName )
+                    && isSameReferent( m_ParentLoader, other.m_ParentLoader )
+                    && isSameReferent( m_Scope, other.m_Scope );
+            }
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  equals()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final int hashCode() { return m_HashCode; }
+
+        /**
+         *  Checks whether the given references refer to the same object. A
+         *  reference whose referent was already collected does not match
+         *  anything.
+         *
+         *  @param  reference   The first reference; can be {@code null}.
+         *  @param  other   The second reference; can be {@code null}.
+         *  @return {@code true} if both references are {@code null}, or if
+         *      both refer to the same object, {@code false} otherwise.
+         */
+        private static final boolean isSameReferent( final Reference<?> reference, final Reference<?> other )
+        {
+            final boolean retValue;
+            if( isNull( reference ) || isNull( other ) )
+            {
+                retValue = reference == other;
+            }
+            else
+            {
+                final var referent = reference.get();
+                retValue = nonNull( referent ) && (referent == other.get());
+            }
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  isSameReferent()
+    }
+    //  class Key
+
+    /**
+     *  The key for a memoised fingerprint. The hash codes of the Strings
+     *  are cached by the Strings themselves, and they are usually compared
+     *  by identity, so a lookup is much cheaper than the calculation of the
+     *  fingerprint.
+     *
+     *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: CompiledScriptCache.java 1110 2026-10-17 11:22:09Z tquadrat $
+     *  @since 0.5.0
+     *
+     *  @param  fileName    The file name for the source.
+     *  @param  source  The source.
+     *  @param  options The effective compiler options.
+     *  @param  sourcePath  The source path; can be {@code null}.
+     *  @param  classPath   The classpath; can be {@code null}.
+     *  @param  stamp   The stamp of the JAR files on the classpath.
+     *
+     *  @UMLGraph.link
+     */
+    @ClassVersion( sourceVersion = "$Id: CompiledScriptCache.java 1110 2026-10-17 11:22:09Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.5.0" )
+    private record FingerprintKey( String fileName, String source, List<String> options, String sourcePath, String classPath, String stamp ) {}
+
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The default capacity for the cache: {@value}.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     *  The version of the byte code that is generated for a script: {@value}.
+     *  It is part of the fingerprint, and it has to be increased whenever
+     *  the byte code for the same source changes, for example because of
+     *  the redirection of {@code System.out} and {@code System.err} that is
+     *  done by
+     *  {@link JavaCompiler},
+     *  so that byte code from an older build will no longer be taken from
+     *  the persistent class store.
+     */
+    public static final int BYTE_CODE_VERSION = 2;
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The capacity of the cache.
+     */
+    private final int m_Capacity;
+
+    /**
+     *  The cache entries.
+     */
+    private final Map<Key,SoftReference<Class<?>>> m_Entries;
+
+    /**
+     *  The memoised fingerprints; the least recently used ones will be
+     *  evicted.
+     */
+    private final Map<FingerprintKey,String> m_Fingerprints;
+
+    /**
+     *  The counter for the evictions.
+     */
+    private final LongAdder m_Evictions = new LongAdder();
+
+    /**
+     *  The counter for the cache hits.
+     */
+    private final LongAdder m_Hits = new LongAdder();
+
+    /**
+     *  The counter for the cache misses.
+     */
+    private final LongAdder m_Misses = new LongAdder();
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code CompiledScriptCache} instance.
+     *
+     *  @param  capacity    The maximum number of entries in the cache; 0
+     *      disables the cache.
+     */
+    @SuppressWarnings( "CloneableClassWithoutClone" )
+    public CompiledScriptCache( final int capacity )
+    {
+        m_Capacity = Math.max( 0, capacity );
+
+        //noinspection OverlyComplexAnonymousInnerClass
+        m_Entries = new LinkedHashMap<>( 16, 0.75f, true )
+        {
+            /**
+             *  The serial version UID for objects of this class: {@value}.
+             */
+            private static final long serialVersionUID = 1L;
+
+            /**
+             *  {@inheritDoc}
+             */
+            @Override
+            protected final boolean removeEldestEntry( final Map.Entry<Key,SoftReference<Class<?>>> eldest )
+            {
+                final var retValue = size() > m_Capacity;
+                if( retValue ) m_Evictions.increment();
+
+                //---* Done *--------------------------------------------------
+                return retValue;
+            }   //  removeEldestEntry()
+        };
+
+        //noinspection OverlyComplexAnonymousInnerClass
+        m_Fingerprints = new LinkedHashMap<>( 16, 0.75f, true )
+        {
+            /**
+             *  The serial version UID for objects of this class: {@value}.
+             */
+            private static final long serialVersionUID = 1L;
+
+            /**
+             *  {@inheritDoc}
+             */
+            @Override
+            protected final boolean removeEldestEntry( final Map.Entry<FingerprintKey,String> eldest ) { return size() > m_Capacity; }
+        };
+    }   //  CompiledScriptCache()
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Removes all entries from the cache; the counters will not be reset.
+     */
+    public final void clear()
+    {
+        synchronized( m_Entries )
+        {
+            m_Entries.clear();
+        }
+        synchronized( m_Fingerprints )
+        {
+            m_Fingerprints.clear();
+        }
+    }   //  clear()
+
+    /**
+     *  Calculates the fingerprint for the given source and compiler
+     *  settings. The fingerprint covers also the modification times and the
+     *  sizes of the JAR files on the classpath, so that it changes when one
+     *  of these is replaced.
+     *
+     *  @param  fileName    The file name for the source.
+     *  @param  source  The source.
+     *  @param  options The effective compiler options.
+     *  @param  sourcePath  The source path; can be {@code null}.
+     *  @param  classPath   The classpath; can be {@code null}.
+     *  @return The fingerprint.
+     */
+    public static final String createFingerprint( final String fileName, final String source, final Iterable<String> options, final String sourcePath, final String classPath )
+    {
+        final var retValue = createFingerprint( fileName, source, options, sourcePath, classPath, ClassPathIndex.stampFor( classPath ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  createFingerprint()
+
+    /**
+     *  Calculates the fingerprint for the given source, compiler settings
+     *  and stamp of the JAR files on the classpath.
+     *
+     *  @param  fileName    The file name for the source.
+     *  @param  source  The source.
+     *  @param  options The effective compiler options.
+     *  @param  sourcePath  The source path; can be {@code null}.
+     *  @param  classPath   The classpath; can be {@code null}.
+     *  @param  stamp   The stamp of the JAR files on the classpath.
+     *  @return The fingerprint.
+     */
+    private static final String createFingerprint( final String fileName, final String source, final Iterable<String> options, final String sourcePath, final String classPath, final String stamp )
+    {
+        final MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance( "SHA-256" );
+        }
+        catch( final NoSuchAlgorithmException e )
+        {
+            throw new ImpossibleExceptionError( "SHA-256 is a mandatory algorithm", e );
+        }
+
+        /*
+         * The bytecode also depends on the version of the compiler, therefore
+         * the Java version is part of the fingerprint, too.
+         */
+        update( digest, getProperty( PROPERTY_JAVA_VERSION ) );
+        update( digest, Integer.toString( BYTE_CODE_VERSION ) );
+        update( digest, CompiledScriptCache.class.getModule().getDescriptor() instanceof final ModuleDescriptor descriptor ? descriptor.toNameAndVersion() : null );
+        update( digest, requireNonNullArgument( fileName, "fileName" ) );
+        update( digest, requireNonNullArgument( source, "source" ) );
+        for( final var option : requireNonNullArgument( options, "options" ) )
+        {
+            update( digest, option );
+        }
+        update( digest, sourcePath );
+        update( digest, classPath );
+        update( digest, stamp );
+
+        final var retValue = HexFormat.of().formatHex( digest.digest() );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  createFingerprint()
+
+    /**
+     *  Returns the fingerprint for the given source and compiler settings,
+     *  as calculated by
+     *  {@link #createFingerprint(String, String, Iterable, String, String)}.
+     *  The fingerprint is taken from the memoised ones if the source, the
+     *  settings and the
+     *  {@linkplain ClassPathIndex#stampFor(String) stamp}
+     *  of the JAR files on the classpath are the same as before; the stamp
+     *  itself is kept by the
+     *  {@link ClassPathIndex}
+     *  until the index goes stale.
+     *
+     *  @param  fileName    The file name for the source.
+     *  @param  source  The source.
+     *  @param  options The effective compiler options.
+     *  @param  sourcePath  The source path; can be {@code null}.
+     *  @param  classPath   The classpath; can be {@code null}.
+     *  @return The fingerprint.
+     */
+    public final String getFingerprint( final String fileName, final String source, final List<String> options, final String sourcePath, final String classPath )
+    {
+        final var stamp = ClassPathIndex.stampFor( classPath );
+        final var key = new FingerprintKey( requireNonNullArgument( fileName, "fileName" ), requireNonNullArgument( source, "source" ), requireNonNullArgument( options, "options" ), sourcePath, classPath, stamp );
+        String retValue;
+        synchronized( m_Fingerprints )
+        {
+            retValue = m_Fingerprints.get( key );
+        }
+        if( isNull( retValue ) )
+        {
+            retValue = createFingerprint( fileName, source, options, sourcePath, classPath, stamp );
+            synchronized( m_Fingerprints )
+            {
+                m_Fingerprints.put( key, retValue );
+            }
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  getFingerprint()
+
+    /**
+     *  Returns the class for the given key.
+     *
+     *  @param  key The key.
+     *  @return The class, or {@code null} if the cache does not contain an
+     *      entry for the key.
+     */
+    public final Class<?> get( final Key key )
+    {
+        requireNonNullArgument( key, "key" );
+
+        Class<?> retValue = null;
+        synchronized( m_Entries )
+        {
+            final var reference = m_Entries.get( key );
+            if( nonNull( reference ) )
+            {
+                retValue = reference.get();
+
+                //---* The class was already released *------------------------
+                if( isNull( retValue ) ) m_Entries.remove( key );
+            }
+        }
+        if( isNull( retValue ) )
+        {
+            m_Misses.increment();
+        }
+        else
+        {
+            m_Hits.increment();
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  get()
+
+    /**
+     *  Returns the current values of the counters for this cache.
+     *
+     *  @return The statistics.
+     */
+    public final CacheStatistics getStatistics()
+    {
+        final int size;
+        synchronized( m_Entries )
+        {
+            size = m_Entries.size();
+        }
+        final var retValue = new CacheStatistics( m_Hits.sum(), m_Misses.sum(), m_Evictions.sum(), size );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  getStatistics()
+
+    /**
+     *  Returns whether this cache is enabled, meaning that its capacity is
+     *  greater than 0.
+     *
+     *  @return {@code true} if the cache is enabled, {@code false}
+     *      otherwise.
+     */
+    public final boolean isEnabled() { return m_Capacity > 0; }
+
+    /**
+     *  Adds the given class to the cache.
+     *
+     *  @param  key The key.
+     *  @param  scriptClass The class.
+     */
+    public final void put( final Key key, final Class<?> scriptClass )
+    {
+        requireNonNullArgument( key, "key" );
+        requireNonNullArgument( scriptClass, "scriptClass" );
+
+        if( isEnabled() )
+        {
+            synchronized( m_Entries )
+            {
+                m_Entries.put( key, new SoftReference<>( scriptClass ) );
+            }
+        }
+    }   //  put()
+
+    /**
+     *  Adds the given String to the message digest. The bytes are prefixed
+     *  with their length so that the boundaries between the values are
+     *  unambiguous; {@code null} is distinguished from the empty String.
+     *
+     *  @param  digest  The message digest.
+     *  @param  value   The value; can be {@code null}.
+     */
+    private static final void update( final MessageDigest digest, final String value )
+    {
+        final var bytes = nonNull( value ) ? value.getBytes( UTF_8 ) : null;
+        final var length = nonNull( bytes ) ? bytes.length : -1;
+        digest.update( (byte) (length >>> 24) );
+        digest.update( (byte) (length >>> 16) );
+        digest.update( (byte) (length >>> 8) );
+        digest.update( (byte) length );
+        if( nonNull( bytes ) ) digest.update( bytes );
+    }   //  update()
+}
+//  class CompiledScriptCache
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,244 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static java.io.Writer.nullWriter;
+import static java.lang.System.getProperty;
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.lang.CommonConstants.EMPTY_String_ARRAY;
+import static org.tquadrat.foundation.lang.CommonConstants.PROPERTY_CLASSPATH;
+import static org.tquadrat.foundation.lang.Objects.isNull;
+import static org.tquadrat.foundation.lang.Objects.requireNonNullElse;
+import static org.tquadrat.foundation.scripting.java.JavaEngine.CLASSPATH;
+import static org.tquadrat.foundation.scripting.java.JavaEngine.COMPILE_PROFILE;
+import static org.tquadrat.foundation.scripting.java.JavaEngine.SOURCEPATH;
+import static org.tquadrat.foundation.scripting.java.JavaEngine.SYSPROP_PREFIX;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.exception.PrivateConstructorForStaticClassCalledError;
+import org.tquadrat.foundation.scripting.java.CompileProfile;
+
+/**
+ *  <p>{@summary Warms up the shared
+ *  {@link JavaCompiler}
+ *  in the background.}</p>
+ *  <p>The first compilation after the start of the JVM is several times
+ *  slower than the following ones, as the classes of {@code javac} have to
+ *  be loaded, linked and compiled by the JIT. The warm-up compiles a
+ *  synthetic program that uses the most common language features a few
+ *  times on a background thread, loads the resulting classes and runs them,
+ *  so that the first real request will find a warm compiler.</p>
+ *  <p>The warm-up uses the compiler directly, bypassing the caches for
+ *  compiled scripts; otherwise a persistent cache would prevent that the
+ *  compiler is exercised at all.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: CompilerWarmUp.java 1088 2026-10-16 12:02:33Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: CompilerWarmUp.java 1088 2026-10-16 12:02:33Z tquadrat $" )
+@API( status = INTERNAL, since = "0.5.0" )
+public final class CompilerWarmUp
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The number of compilations for the warm-up: {@value}.
+     */
+    public static final int ITERATIONS = 3;
+
+    /**
+     *  The name of the class for the synthetic program: {@value}.
+     */
+    private static final String CLASS_NAME = "org_tquadrat_foundation_scripting_WarmUp";
+
+    /**
+     *  The synthetic program; the placeholder will be replaced by the
+     *  iteration count, so that each compilation gets a different source.
+     */
+    private static final String SOURCE =
+        """
+        import java.util.*;
+        import java.util.function.*;
+        import java.util.stream.*;
+
+        public class %1$s
+        {
+            // Iteration %2$d
+            private record Point( int x, int y ) implements Comparable<Point>
+            {
+                @Override
+                public int compareTo( Point other ) { return Integer.compare( x * x + y * y, other.x() * other.x() + other.y() * other.y() ); }
+            }
+
+            private sealed interface Shape permits Circle, Square {}
+            private record Circle( double radius ) implements Shape {}
+            private record Square( double side ) implements Shape {}
+
+            private static double area( Shape shape )
+            {
+                return switch( shape )
+                {
+                    case Circle c -> Math.PI * c.radius() * c.radius();
+                    case Square s -> s.side() * s.side();
+                };
+            }
+
+            private static <T extends Comparable<? super T>> List<T> sorted( Collection<? extends T> values )
+            {
+                final List<T> result = new ArrayList<>( values );
+                Collections.sort( result );
+                return result;
+            }
+
+            public static void main( String... args ) throws Exception
+            {
+                final Map<String,List<Point>> points = IntStream.range( 0, 16 )
+                    .mapToObj( i -> new Point( i, -i ) )
+                    .collect( Collectors.groupingBy( p -> p.x() %% 2 == 0 ? "even" : "odd" ) );
+                final Function<Point,String> formatter = p -> "(" + p.x() + ", " + p.y() + ")";
+                final var text = new StringBuilder();
+                for( final var entry : points.entrySet() )
+                {
+                    text.append( entry.getKey() ).append( ": " );
+                    sorted( entry.getValue() ).forEach( p -> text.append( formatter.apply( p ) ) );
+                }
+                final Supplier<Shape> supplier = () -> new Circle( text.length() );
+                try
+                {
+                    if( area( supplier.get() ) < 0 ) throw new IllegalStateException( String.format( "%%s", text ) );
+                }
+                catch( final IllegalStateException e )
+                {
+                    throw new Exception( e );
+                }
+                final Optional<Double> total = Stream.of( new Square( 2 ), new Circle( 1 ) )
+                    .map( %1$s::area )
+                    .reduce( Double::sum );
+                assert total.isPresent();
+            }
+        }
+        """;
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The result of the warm-up; {@code null} as long as the warm-up was not
+     *  started.
+     */
+    private static final AtomicReference<CompletableFuture<Duration>> m_Result = new AtomicReference<>();
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  No instance allowed for this class.
+     */
+    private CompilerWarmUp() { throw new PrivateConstructorForStaticClassCalledError( CompilerWarmUp.class ); }
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Performs the warm-up.
+     *
+     *  @return The time that was needed for the warm-up.
+     *  @throws Exception   The warm-up failed.
+     */
+    private static final Duration run() throws Exception
+    {
+        final var start = System.nanoTime();
+
+        /*
+         * The same classpath, source path and compile profile as for an
+         * engine that uses the defaults, so that the compilation context for
+         * these settings is already in the pool.
+         */
+        @SuppressWarnings( "ConstantExpression" )
+        final var classPath = requireNonNullElse( getProperty( SYSPROP_PREFIX + CLASSPATH ), getProperty( PROPERTY_CLASSPATH ) );
+        @SuppressWarnings( "ConstantExpression" )
+        final var sourcePath = getProperty( SYSPROP_PREFIX + SOURCEPATH );
+        @SuppressWarnings( "ConstantExpression" )
+        final var profile = CompileProfile.of( getProperty( SYSPROP_PREFIX + COMPILE_PROFILE ) );
+
+        final var compiler = JavaCompiler.getSharedInstance();
+        for( var i = 0; i < ITERATIONS; ++i )
+        {
+            final var classBytes = compiler.compile( CLASS_NAME + ".java", SOURCE.formatted( CLASS_NAME, i ), nullWriter(), sourcePath, classPath, profile );
+            if( isNull( classBytes ) ) throw new IllegalStateException( "The compilation of the synthetic program failed" );
+            try( final var loader = new MemoryClassLoader( classBytes, classPath, JavaCompiler.class.getClassLoader() ) )
+            {
+                loader.loadClass( CLASS_NAME )
+                    .getMethod( "main", String [].class )
+                    .invoke( null, (Object) EMPTY_String_ARRAY );
+            }
+        }
+        final var retValue = Duration.ofNanos( System.nanoTime() - start );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  run()
+
+    /**
+     *  Starts the warm-up on a background thread, if it was not started
+     *  before.
+     *
+     *  @return The result of the warm-up; it will complete with the time
+     *      that was needed for the warm-up.
+     */
+    public static final CompletableFuture<Duration> start()
+    {
+        final var result = new CompletableFuture<Duration>();
+        var retValue = m_Result.compareAndExchange( null, result );
+        if( isNull( retValue ) )
+        {
+            retValue = result;
+            final var thread = new Thread( () ->
+            {
+                try
+                {
+                    result.complete( run() );
+                }
+                catch( final Throwable t )
+                {
+                    result.completeExceptionally( t );
+                }
+            }, "JavaEngine-WarmUp" );
+            thread.setDaemon( true );
+            thread.setPriority( Thread.MIN_PRIORITY );
+            thread.start();
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  start()
+}
+//  class CompilerWarmUp
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,93 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2021 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  The JDK Flight Recorder event for the evaluation of a compiled script.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: EvaluationEvent.java 1097 2026-10-16 18:52:06Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: EvaluationEvent.java 1097 2026-10-16 18:52:06Z tquadrat $" )
+@API( status = INTERNAL, since = "0.5.0" )
+@Name( EvaluationEvent.NAME )
+@Label( "Script Evaluation" )
+@Description( "The execution of a compiled script" )
+@Category( {"tquadrat", "Scripting"} )
+public final class EvaluationEvent extends Event
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The name of the event: {@value}.
+     */
+    public static final String NAME = "org.tquadrat.foundation.scripting.Evaluation";
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The class of the exception that was thrown by the script;
+     *  {@code null} if the script terminated normally.
+     */
+    @Name( "exceptionClass" )
+    @Label( "Exception Class" )
+    Class<?> m_ExceptionClass;
+
+    /**
+     *  The message of the exception that was thrown by the script;
+     *  {@code null} if the script terminated normally.
+     */
+    @Name( "exceptionMessage" )
+    @Label( "Exception Message" )
+    String m_ExceptionMessage;
+
+    /**
+     *  The script class.
+     */
+    @Name( "scriptClass" )
+    @Label( "Script Class" )
+    Class<?> m_ScriptClass;
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code EvaluationEvent} instance.
+     */
+    public EvaluationEvent() { /* Just exists */ }
+}
+//  class EvaluationEvent
+
+/*
+ *  End of File
+ */
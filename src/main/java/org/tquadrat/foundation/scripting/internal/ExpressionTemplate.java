@@ -0,0 +1,316 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.lang.Objects.isNull;
+import static org.tquadrat.foundation.lang.Objects.nonNull;
+import static org.tquadrat.foundation.lang.Objects.requireNotBlankArgument;
+
+import javax.script.ScriptException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary A parsed expression with named holes.}</p>
+ *  <p>A hole has the form {@code ${name}} or {@code ${name:type}}, where
+ *  {@code type} is a Java type, like {@code int}, {@code String}, or
+ *  {@code java.util.List<String>}. A hole without a type gets the type of
+ *  another hole with the same name, or {@code Object}. Holes inside
+ *  string literals, character literals and comments are not recognised.
+ *  The expression may be preceded by {@code import} statements.</p>
+ *  <p>The expression is translated into a lambda for a
+ *  {@code Function<Object[],Object>}
+ *  that takes the values for the holes, in the order of
+ *  {@link #parameterNames()},
+ *  converts them to the declared types and returns the value of the
+ *  expression.</p>
+ *  <p>The {@link #text() normalised text} of the expression is used as
+ *  the key for the cache: comments are removed, each run of whitespace
+ *  outside of literals is replaced by a single blank, the holes are
+ *  written without blanks, and a trailing semicolon is removed.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: ExpressionTemplate.java 1106 2026-10-17 01:27:53Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @param  text    The normalised text of the expression.
+ *  @param  parameterNames  The names of the holes, in the order of their
+ *      first occurrence.
+ *  @param  script  The lambda for the evaluator, as accepted by
+ *      {@link FunctionAdapter#createSource(String, String)}.
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: ExpressionTemplate.java 1106 2026-10-17 01:27:53Z tquadrat $" )
+@API( status = INTERNAL, since = "0.5.0" )
+public record ExpressionTemplate( String text, List<String> parameterNames, String script )
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The prefix for the local variables that hold the values of the
+     *  holes: {@value}.
+     */
+    public static final String PARAMETER_PREFIX = "$";
+
+    /**
+     *  The target type for the evaluator: {@value}.
+     */
+    public static final String TARGET_TYPE = "java.util.function.Function<Object [],Object>";
+
+    /**
+     *  The default type for a hole: {@value}.
+     */
+    private static final String DEFAULT_TYPE = "Object";
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Appends a blank to the given buffer, unless it is empty or ends with
+     *  a blank already.
+     *
+     *  @param  buffer  The buffer.
+     */
+    private static void appendBlank( final StringBuilder buffer )
+    {
+        if( !buffer.isEmpty() && (buffer.charAt( buffer.length() - 1 ) != ' ') ) buffer.append( ' ' );
+    }   //  appendBlank()
+
+    /**
+     *  Creates the declaration of the local variable for a hole.
+     *
+     *  @param  name    The name of the hole.
+     *  @param  type    The type of the hole.
+     *  @param  index   The index of the value in the argument array.
+     *  @return The declaration.
+     */
+    private static String createDeclaration( final String name, final String type, final int index )
+    {
+        final var argument = "args [%d]".formatted( index );
+        final var value = switch( type )
+        {
+            case "boolean" -> "((Boolean) %s).booleanValue()".formatted( argument );
+            case "char" -> "((Character) %s).charValue()".formatted( argument );
+            case "byte", "double", "float", "int", "long", "short" -> "((Number) %s).%sValue()".formatted( argument, type );
+            case DEFAULT_TYPE -> argument;
+            default -> "(%s) %s".formatted( type, argument );
+        };
+        final var retValue = "        @SuppressWarnings( \"unchecked\" ) final %s %s%s = %s;\n".formatted( type, PARAMETER_PREFIX, name, value );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  createDeclaration()
+
+    /**
+     *  Returns the end of the literal that starts at the given position.
+     *
+     *  @param  expression  The expression.
+     *  @param  start   The position of the opening quote.
+     *  @return The position after the closing quote.
+     *  @throws ScriptException The literal is not terminated.
+     */
+    private static int findEndOfLiteral( final String expression, final int start ) throws ScriptException
+    {
+        final var quote = expression.charAt( start );
+        final var isTextBlock = (quote == '"') && expression.startsWith( "\"\"\"", start );
+        var retValue = isTextBlock ? start + 3 : start + 1;
+        var isTerminated = false;
+        while( !isTerminated && (retValue < expression.length()) )
+        {
+            final var c = expression.charAt( retValue );
+            if( c == '\\' )
+            {
+                retValue += 2;
+            }
+            else if( isTextBlock ? expression.startsWith( "\"\"\"", retValue ) : c == quote )
+            {
+                retValue += isTextBlock ? 3 : 1;
+                isTerminated = true;
+            }
+            else
+            {
+                ++retValue;
+            }
+        }
+        if( !isTerminated ) throw new ScriptException( "Unterminated literal at position %d".formatted( start ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  findEndOfLiteral()
+
+    /**
+     *  Checks whether the given name is a valid Java identifier.
+     *
+     *  @param  name    The name.
+     *  @return {@code true} if the name is a valid identifier,
+     *      {@code false} otherwise.
+     */
+    private static boolean isIdentifier( final String name )
+    {
+        var retValue = !name.isEmpty() && Character.isJavaIdentifierStart( name.charAt( 0 ) );
+        for( var i = 1; retValue && (i < name.length()); ++i )
+        {
+            retValue = Character.isJavaIdentifierPart( name.charAt( i ) );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  isIdentifier()
+
+    /**
+     *  Parses the given expression.
+     *
+     *  @param  expression  The expression with the holes, optionally
+     *      preceded by {@code import} statements.
+     *  @return The parsed expression.
+     *  @throws ScriptException The expression is invalid.
+     */
+    @SuppressWarnings( {"OverlyComplexMethod", "OverlyLongMethod"} )
+    public static final ExpressionTemplate parse( final String expression ) throws ScriptException
+    {
+        //---* Split the imports from the expression *-------------------------
+        final var imports = new StringBuilder();
+        final var lines = requireNotBlankArgument( expression, "expression" ).lines().toList();
+        var lineIndex = 0;
+        ImportLoop: while( lineIndex < lines.size() )
+        {
+            final var line = lines.get( lineIndex ).strip();
+            if( line.isEmpty() || line.startsWith( "import " ) )
+            {
+                if( !line.isEmpty() ) imports.append( line ).append( '\n' );
+                ++lineIndex;
+            }
+            else
+            {
+                break ImportLoop;
+            }
+        }   //  ImportLoop:
+        final var source = String.join( "\n", lines.subList( lineIndex, lines.size() ) );
+        if( source.isBlank() ) throw new ScriptException( "The expression is empty" );
+
+        //---* Scan the expression *-------------------------------------------
+        final var text = new StringBuilder();
+        final var body = new StringBuilder();
+        final Map<String,String> parameters = new LinkedHashMap<>();
+        var position = 0;
+        while( position < source.length() )
+        {
+            final var c = source.charAt( position );
+            if( Character.isWhitespace( c ) )
+            {
+                appendBlank( text );
+                appendBlank( body );
+                ++position;
+            }
+            else if( source.startsWith( "//", position ) )
+            {
+                final var end = source.indexOf( '\n', position );
+                position = end < 0 ? source.length() : end;
+            }
+            else if( source.startsWith( "/*", position ) )
+            {
+                final var end = source.indexOf( "*/", position + 2 );
+                if( end < 0 ) throw new ScriptException( "Unterminated comment at position %d".formatted( position ) );
+                appendBlank( text );
+                appendBlank( body );
+                position = end + 2;
+            }
+            else if( (c == '"') || (c == '\'') )
+            {
+                final var end = findEndOfLiteral( source, position );
+                text.append( source, position, end );
+                body.append( source, position, end );
+                position = end;
+            }
+            else if( source.startsWith( "${", position ) )
+            {
+                final var end = source.indexOf( '}', position );
+                if( end < 0 ) throw new ScriptException( "Unterminated hole at position %d".formatted( position ) );
+                final var hole = source.substring( position + 2, end );
+                final var separator = hole.indexOf( ':' );
+                final var name = (separator < 0 ? hole : hole.substring( 0, separator )).strip();
+                final var type = separator < 0 ? null : hole.substring( separator + 1 ).strip();
+                if( !isIdentifier( name ) ) throw new ScriptException( "Invalid name for a hole: '%1$s'".formatted( name ) );
+                if( nonNull( type ) && type.isEmpty() ) throw new ScriptException( "Missing type for the hole '%1$s'".formatted( name ) );
+                final var previousType = parameters.get( name );
+                if( isNull( previousType ) || DEFAULT_TYPE.equals( previousType ) )
+                {
+                    parameters.put( name, isNull( type ) ? DEFAULT_TYPE : type );
+                }
+                else if( nonNull( type ) && !type.equals( previousType ) )
+                {
+                    throw new ScriptException( "Different types for the hole '%1$s': '%2$s' and '%3$s'".formatted( name, previousType, type ) );
+                }
+                text.append( "${" ).append( name );
+                if( nonNull( type ) ) text.append( ':' ).append( type );
+                text.append( '}' );
+                body.append( PARAMETER_PREFIX ).append( name );
+                position = end + 1;
+            }
+            else
+            {
+                text.append( c );
+                body.append( c );
+                ++position;
+            }
+        }
+
+        //---* Remove the trailing semicolon *---------------------------------
+        stripTrailing( text );
+        stripTrailing( body );
+
+        //---* Create the lambda *---------------------------------------------
+        final var script = new StringBuilder( imports ).append( "args ->\n    {\n" );
+        var index = 0;
+        for( final var entry : parameters.entrySet() )
+        {
+            script.append( createDeclaration( entry.getKey(), entry.getValue(), index++ ) );
+        }
+        script.append( "        return " ).append( body ).append( ";\n    }" );
+
+        final var retValue = new ExpressionTemplate( imports + text.toString(), List.copyOf( parameters.keySet() ), script.toString() );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  parse()
+
+    /**
+     *  Removes trailing blanks and a trailing semicolon from the given
+     *  buffer.
+     *
+     *  @param  buffer  The buffer.
+     */
+    private static void stripTrailing( final StringBuilder buffer )
+    {
+        while( !buffer.isEmpty() && (buffer.charAt( buffer.length() - 1 ) == ' ') ) buffer.setLength( buffer.length() - 1 );
+        if( !buffer.isEmpty() && (buffer.charAt( buffer.length() - 1 ) == ';') ) buffer.setLength( buffer.length() - 1 );
+        while( !buffer.isEmpty() && (buffer.charAt( buffer.length() - 1 ) == ' ') ) buffer.setLength( buffer.length() - 1 );
+    }   //  stripTrailing()
+}
+//  record ExpressionTemplate
+
+/*
+ *  End of File
+ */
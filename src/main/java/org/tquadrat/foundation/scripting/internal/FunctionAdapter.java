@@ -0,0 +1,230 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static java.lang.reflect.Modifier.isAbstract;
+import static java.lang.reflect.Modifier.isStatic;
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.lang.Objects.isNull;
+import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
+import static org.tquadrat.foundation.lang.Objects.requireNotBlankArgument;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.exception.PrivateConstructorForStaticClassCalledError;
+
+/**
+ *  <p>{@summary Generates the source for the adapter class of a typed
+ *  functional script.}</p>
+ *  <p>A functional script is an expression for a functional interface,
+ *  usually a lambda, optionally preceded by {@code import} statements. The
+ *  generated class
+ *  {@value #CLASS_NAME}
+ *  has a single factory method {@value #FACTORY_METHOD}{@code (ScriptContext)}
+ *  that returns the value of that expression; the expression may refer to
+ *  the script context by the name {@code context}.</p>
+ *  <p>The factory is called only once per compilation, so the function
+ *  that is handed out is the instance that was created by the expression
+ *  itself; calls to it do not involve the script engine at all.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: FunctionAdapter.java 1102 2026-10-16 22:31:40Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: FunctionAdapter.java 1102 2026-10-16 22:31:40Z tquadrat $" )
+@API( status = INTERNAL, since = "0.5.0" )
+public final class FunctionAdapter
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The name of the adapter class: {@value}.
+     */
+    public static final String CLASS_NAME = "JavaScriptFunction";
+
+    /**
+     *  The name of the factory method: {@value}.
+     */
+    public static final String FACTORY_METHOD = "create";
+
+    /**
+     *  The file name for the source of the adapter class: {@value}.
+     */
+    public static final String FILE_NAME = CLASS_NAME + ".java";
+
+    /**
+     *  The template for the adapter class.
+     */
+    private static final String TEMPLATE =
+        """
+        %1$s
+        public final class %2$s
+        {
+            private %2$s() {}
+
+            public static %3$s %4$s( final javax.script.ScriptContext context )
+            {
+                return
+        %5$s;
+            }
+        }
+        """;
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  No instance allowed for this class.
+     */
+    private FunctionAdapter() { throw new PrivateConstructorForStaticClassCalledError( FunctionAdapter.class ); }
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Creates the source for the adapter class.
+     *
+     *  @param  targetType  The target type for the expression, as Java
+     *      source, like
+     *      &quot;{@code java.util.function.Function<String,Integer>}&quot;.
+     *  @param  script  The script: the expression, optionally preceded by
+     *      {@code import} statements.
+     *  @return The source for the adapter class.
+     */
+    public static final String createSource( final String targetType, final String script )
+    {
+        requireNotBlankArgument( targetType, "targetType" );
+
+        //---* Split the imports from the expression *-------------------------
+        final var imports = new StringBuilder();
+        final var lines = requireNotBlankArgument( script, "script" ).lines().toList();
+        var index = 0;
+        ImportLoop: while( index < lines.size() )
+        {
+            final var line = lines.get( index ).strip();
+            if( line.isEmpty() || line.startsWith( "import " ) )
+            {
+                imports.append( line ).append( '\n' );
+                ++index;
+            }
+            else
+            {
+                break ImportLoop;
+            }
+        }   //  ImportLoop:
+        final var expression = String.join( "\n", lines.subList( index, lines.size() ) ).strip();
+        final var body = expression.endsWith( ";" ) ? expression.substring( 0, expression.length() - 1 ) : expression;
+
+        final var retValue = TEMPLATE.formatted( imports, CLASS_NAME, targetType, FACTORY_METHOD, body );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  createSource()
+
+    /**
+     *  Returns the target type for the given functional interface as Java
+     *  source; for a generic interface, this is the raw type.
+     *
+     *  @param  functionalInterface The functional interface.
+     *  @return The target type.
+     *  @throws IllegalArgumentException    The given type is not a
+     *      functional interface, or it does not have a canonical name.
+     */
+    public static final String getTargetType( final Class<?> functionalInterface ) throws IllegalArgumentException
+    {
+        final var retValue = requireFunctionalInterface( functionalInterface ).getCanonicalName();
+        if( isNull( retValue ) ) throw new IllegalArgumentException( "'%1$s' does not have a canonical name".formatted( functionalInterface.getName() ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  getTargetType()
+
+    /**
+     *  Checks whether the given method is one of the public methods of
+     *  {@link Object};
+     *  an interface may redeclare those without making them abstract
+     *  methods of the interface.
+     *
+     *  @param  method  The method to check.
+     *  @return {@code true} if the method is one of those from
+     *      {@code Object}, {@code false} otherwise.
+     */
+    private static boolean isObjectMethod( final Method method )
+    {
+        var retValue = true;
+        try
+        {
+            Object.class.getMethod( method.getName(), method.getParameterTypes() );
+        }
+        catch( final NoSuchMethodException ignored )
+        {
+            retValue = false;
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  isObjectMethod()
+
+    /**
+     *  Ensures that the given type is a functional interface: an interface
+     *  with exactly one abstract method.
+     *
+     *  @param  <T> The type.
+     *  @param  type    The type to check.
+     *  @return The type.
+     *  @throws IllegalArgumentException    The given type is not a
+     *      functional interface.
+     */
+    public static final <T> Class<T> requireFunctionalInterface( final Class<T> type ) throws IllegalArgumentException
+    {
+        /*
+         * A method that is redeclared with a covariant return type is
+         * reported more than once, therefore only the signatures are
+         * counted.
+         */
+        final Collection<List<Object>> abstractMethods = new HashSet<>();
+        if( requireNonNullArgument( type, "type" ).isInterface() )
+        {
+            for( final var method : type.getMethods() )
+            {
+                final var modifiers = method.getModifiers();
+                if( isAbstract( modifiers ) && !isStatic( modifiers ) && !isObjectMethod( method ) )
+                {
+                    abstractMethods.add( List.of( method.getName(), List.of( method.getParameterTypes() ) ) );
+                }
+            }
+        }
+        if( abstractMethods.size() != 1 ) throw new IllegalArgumentException( "'%1$s' is not a functional interface".formatted( type.getName() ) );
+
+        //---* Done *----------------------------------------------------------
+        return type;
+    }   //  requireFunctionalInterface()
+}
+//  class FunctionAdapter
+
+/*
+ *  End of File
+ */
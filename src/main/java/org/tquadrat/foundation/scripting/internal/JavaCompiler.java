@@ -18,31 +18,103 @@
 package org.tquadrat.foundation.scripting.internal;
 
 import static java.lang.System.err;
+import static java.lang.System.getProperty;
+import static javax.tools.Diagnostic.Kind.ERROR;
+import static javax.tools.StandardLocation.CLASS_PATH;
+import static javax.tools.StandardLocation.SOURCE_PATH;
 import static javax.tools.ToolProvider.getSystemJavaCompiler;
 import static org.apiguardian.api.API.Status.INTERNAL;
 import static org.tquadrat.foundation.lang.Objects.isNull;
+import static org.tquadrat.foundation.lang.Objects.nonNull;
 import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
+import static org.tquadrat.foundation.lang.Objects.requireValidIntegerArgument;
+import static org.tquadrat.foundation.scripting.java.JavaEngine.SYSPROP_PREFIX;
 import static org.tquadrat.foundation.scripting.internal.MemoryJavaFileManager.makeStringSource;
 import static org.tquadrat.foundation.util.StringUtils.isNotEmptyOrBlank;
 
+import javax.tools.Diagnostic;
 import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
 import javax.tools.JavaFileObject;
 import javax.tools.StandardJavaFileManager;
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
+import com.sun.source.util.JavacTask;
 import org.apiguardian.api.API;
 import org.tquadrat.foundation.annotation.ClassVersion;
 import org.tquadrat.foundation.exception.ImpossibleExceptionError;
+import org.tquadrat.foundation.exception.PrivateConstructorForStaticClassCalledError;
+import org.tquadrat.foundation.scripting.internal.output.ScriptOutput;
+import org.tquadrat.foundation.scripting.java.CompilePhaseStatistics;
+import org.tquadrat.foundation.scripting.java.CompileProfile;
+import org.tquadrat.foundation.scripting.java.CompilerStatistics;
+import org.tquadrat.foundation.scripting.java.JavaEngine;
+import org.tquadrat.foundation.util.StringUtils;
 
 /**
- *  Simple interface to the Java compiler using the JSR199 Compiler API.
+ *  <p>{@summary Simple interface to the Java compiler using the JSR199
+ *  Compiler API.}</p>
+ *  <p>Instances of this class are thread-safe. Usually, all script engines
+ *  will use the
+ *  {@linkplain #getSharedInstance() shared instance},
+ *  so that the caches that {@code javac} keeps in its file manager (for the
+ *  platform classes and the JAR files on the classpath) will survive the
+ *  script engine instance.</p>
+ *  <p>In the reusable-context compile mode (the default), the file manager
+ *  is wrapped in a
+ *  {@link CompilationContext}
+ *  that is configured once with the source path and the classpath, and is
+ *  then recycled for all compilations with the same paths and options;
+ *  this saves the parsing of the paths and keeps the opened JAR files and
+ *  the index for the platform classes. To limit the memory consumption, a
+ *  context is discarded after a configurable number of compilations, or
+ *  when it was idle for some time. As the file manager keeps the JAR files
+ *  open, a pooled context is discarded, too, when one of the JAR files on
+ *  its classpath was modified or replaced (as detected by
+ *  {@link ClassPathIndex}).
+ *  If the mode is switched off (by setting
+ *  the System property
+ *  {@value JavaEngine#SYSPROP_PREFIX}{@value JavaEngine#REUSE_CONTEXT}
+ *  to {@code false}), each compilation gets a new context.</p>
+ *  <p>Only the file manager is recycled: the internal context of
+ *  {@code javac} (with the symbol table and the class reader) cannot be
+ *  reused through the public compiler API, so each compiler task still
+ *  builds its own. A compilation context whose task terminated with an
+ *  exception is discarded instead of being returned to the pool.</p>
+ *  <p>A batch of sources can be compiled by a single compiler task, or, in
+ *  the parallel compile mode, by several tasks that run concurrently on
+ *  worker threads; each of them uses its own compilation context.</p>
+ *  <p>In the byte code of the compiled classes, the references to
+ *  {@code System.out} and {@code System.err} are redirected to
+ *  {@link ScriptOutput},
+ *  so that the output of a script goes to the writers of the context for
+ *  the evaluation that is running on the current thread.</p>
  *
  *  @author A. Sundararajan
  *  @modified    Thomas Thrien - thomas.thrien@tquadrat.org
@@ -55,6 +127,290 @@ import org.tquadrat.foundation.exception.ImpossibleExceptionError;
 @API( status = INTERNAL, since = "0.0.5" )
 public final class JavaCompiler
 {
+        /*---------------*\
+    ====** Inner Classes **====================================================
+        \*---------------*/
+    /**
+     *  The result of a batch compilation.
+     *
+     *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: JavaCompiler.java 1089 2026-10-16 12:47:18Z tquadrat $
+     *  @since 0.5.0
+     *
+     *  @param  classBytes  The byte code for all classes that were compiled
+     *      successfully.
+     *  @param  classNames  The names of the classes per source; only the
+     *      sources that were compiled successfully have an entry here.
+     *  @param  diagnostics The diagnostics per source.
+     *
+     *  @UMLGraph.link
+     */
+    @ClassVersion( sourceVersion = "$Id: JavaCompiler.java 1089 2026-10-16 12:47:18Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.5.0" )
+    public record BatchResult( Map<String,byte []> classBytes, Map<String,List<String>> classNames, Map<String,List<Diagnostic<? extends JavaFileObject>>> diagnostics ) {}
+
+    /**
+     *  The key for the pool of file managers.
+     *
+     *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: JavaCompiler.java 1086 2026-10-16 10:41:52Z tquadrat $
+     *  @since 0.5.0
+     *
+     *  @param  sourcePath  The source path; can be {@code null}.
+     *  @param  classPath   The classpath; can be {@code null}.
+     *
+     *  @UMLGraph.link
+     */
+    @ClassVersion( sourceVersion = "$Id: JavaCompiler.java 1086 2026-10-16 10:41:52Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.5.0" )
+    private record PoolKey( String sourcePath, String classPath, List<String> options ) {}
+
+    /**
+     *  <p>{@summary The reusable state for compilations with the same source
+     *  path, classpath and options.}</p>
+     *  <p>The context holds a
+     *  {@link StandardJavaFileManager}
+     *  whose locations for the source path and the classpath were set once
+     *  when the context was created; therefore the paths need not to be
+     *  passed as options to {@code javac}.</p>
+     *  <p>The context remembers the
+     *  {@linkplain ClassPathIndex#stampFor(String) stamp}
+     *  of the JAR files on the classpath at the time when it was created;
+     *  it must not be reused when the stamp has changed, because the file
+     *  manager would still read the old contents of the JAR files.</p>
+     *  <p>A context is used by one compilation at a time. It does not hold
+     *  the internal context of {@code javac}; that is created anew for each
+     *  compiler task.</p>
+     *
+     *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: JavaCompiler.java 1111 2026-10-17 12:14:08Z tquadrat $
+     *  @since 0.5.0
+     *
+     *  @UMLGraph.link
+     */
+    @ClassVersion( sourceVersion = "$Id: JavaCompiler.java 1111 2026-10-17 12:14:08Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.5.0" )
+    private static final class CompilationContext implements AutoCloseable
+    {
+            /*------------*\
+        ====** Attributes **===================================================
+            \*------------*/
+        /**
+         *  The file manager.
+         */
+        private final StandardJavaFileManager m_FileManager;
+
+        /**
+         *  The time when this context was used the last time, as returned by
+         *  {@link System#nanoTime()}.
+         */
+        private long m_LastUsed;
+
+        /**
+         *  The number of compilations that used this context.
+         */
+        private int m_Uses;
+
+        /**
+         *  The stamp of the JAR files on the classpath.
+         */
+        private final String m_Stamp;
+
+            /*--------------*\
+        ====** Constructors **=================================================
+            \*--------------*/
+        /**
+         *  Creates a new {@code CompilationContext} instance.
+         *
+         *  @param  fileManager The file manager.
+         *  @param  poolKey The key with the paths for the context.
+         *  @param  stamp   The stamp of the JAR files on the classpath.
+         *  @throws IOException The paths could not be set.
+         */
+        CompilationContext( final StandardJavaFileManager fileManager, final PoolKey poolKey, final String stamp ) throws IOException
+        {
+            m_FileManager = requireNonNullArgument( fileManager, "fileManager" );
+            m_Stamp = requireNonNullArgument( stamp, "stamp" );
+            if( isNotEmptyOrBlank( poolKey.sourcePath() ) )
+            {
+                m_FileManager.setLocation( SOURCE_PATH, toFiles( poolKey.sourcePath() ) );
+            }
+            if( isNotEmptyOrBlank( poolKey.classPath() ) )
+            {
+                m_FileManager.setLocation( CLASS_PATH, toFiles( poolKey.classPath() ) );
+            }
+            m_LastUsed = System.nanoTime();
+        }   //  CompilationContext()
+
+            /*---------*\
+        ====** Methods **======================================================
+            \*---------*/
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void close()
+        {
+            try
+            {
+                m_FileManager.close();
+            }
+            catch( final IOException ignored ) { /* Deliberately ignored */ }
+        }   //  close()
+
+        /**
+         *  Returns the file manager for this context; calling this method
+         *  counts as a use of the context.
+         *
+         *  @return The file manager.
+         */
+        final StandardJavaFileManager getFileManager()
+        {
+            ++m_Uses;
+            m_LastUsed = System.nanoTime();
+
+            //---* Done *------------------------------------------------------
+            return m_FileManager;
+        }   //  getFileManager()
+
+        /**
+         *  Checks whether this context was created for the given state of
+         *  the JAR files on the classpath.
+         *
+         *  @param  stamp   The current stamp of the JAR files.
+         *  @return {@code true} if the JAR files are unchanged,
+         *      {@code false} if the context is outdated.
+         */
+        final boolean isCurrent( final String stamp ) { return m_Stamp.equals( stamp ); }
+
+        /**
+         *  Checks whether this context can be reused.
+         *
+         *  @param  now The current time, as returned by
+         *      {@link System#nanoTime()}.
+         *  @return {@code true} if the context can be reused, {@code false}
+         *      if it has to be discarded.
+         */
+        final boolean isReusable( final long now )
+        {
+            final var retValue = (m_Uses < CONTEXT_REUSE_LIMIT) && (now - m_LastUsed < MAX_IDLE_TIME);
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  isReusable()
+
+        /**
+         *  Splits the given path into its elements.
+         *
+         *  @param  path    The path.
+         *  @return The elements of the path.
+         */
+        private static final List<File> toFiles( final String path )
+        {
+            final var retValue = Arrays.stream( path.split( File.pathSeparator ) )
+                .filter( StringUtils::isNotEmptyOrBlank )
+                .map( File::new )
+                .toList();
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  toFiles()
+    }
+    //  class CompilationContext
+
+    /**
+     *  The holder for the shared instance of {@code JavaCompiler}; it will
+     *  be created on first use.
+     *
+     *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: JavaCompiler.java 1086 2026-10-16 10:41:52Z tquadrat $
+     *  @since 0.5.0
+     *
+     *  @UMLGraph.link
+     */
+    @ClassVersion( sourceVersion = "$Id: JavaCompiler.java 1086 2026-10-16 10:41:52Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.5.0" )
+    private static final class SharedInstanceHolder
+    {
+        /**
+         *  The shared instance.
+         */
+        @SuppressWarnings( "UseOfConcreteClass" )
+        static final JavaCompiler m_Instance = new JavaCompiler();
+
+        /**
+         *  No instance allowed for this class.
+         */
+        private SharedInstanceHolder() { throw new PrivateConstructorForStaticClassCalledError( SharedInstanceHolder.class ); }
+    }
+    //  class SharedInstanceHolder
+
+    /**
+     *  The output of a successful compiler task.
+     *
+     *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: JavaCompiler.java 1089 2026-10-16 12:47:18Z tquadrat $
+     *  @since 0.5.0
+     *
+     *  @param  classBytes  The byte code for the compiled classes.
+     *  @param  classOrigins    The source files for the compiled classes.
+     *
+     *  @UMLGraph.link
+     */
+    @ClassVersion( sourceVersion = "$Id: JavaCompiler.java 1089 2026-10-16 12:47:18Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.5.0" )
+    private record TaskResult( Map<String,byte []> classBytes, Map<String,FileObject> classOrigins ) {}
+
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The number of compiler workers for a batch compilation. The value is
+     *  taken from the System property
+     *  {@value JavaEngine#SYSPROP_PREFIX}{@value JavaEngine#COMPILER_THREADS};
+     *  the default is 1.
+     */
+    @SuppressWarnings( "ConstantExpression" )
+    public static final int COMPILER_THREADS = Math.max( 1, Integer.getInteger( SYSPROP_PREFIX + JavaEngine.COMPILER_THREADS, 1 ).intValue() );
+
+    /**
+     *  The number of compilations after that a compilation context will be
+     *  discarded. The value is taken from the System property
+     *  {@value JavaEngine#SYSPROP_PREFIX}{@value JavaEngine#CONTEXT_REUSE_LIMIT};
+     *  the default is 256.
+     */
+    @SuppressWarnings( "ConstantExpression" )
+    private static final int CONTEXT_REUSE_LIMIT = Integer.getInteger( SYSPROP_PREFIX + JavaEngine.CONTEXT_REUSE_LIMIT, 256 ).intValue();
+
+    /**
+     *  The maximum number of idle compilation contexts that are kept per
+     *  combination of source path, classpath and options.
+     */
+    private static final int MAX_IDLE_CONTEXTS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     *  The time after that an idle compilation context will be discarded, in
+     *  nanoseconds.
+     */
+    private static final long MAX_IDLE_TIME = TimeUnit.MINUTES.toNanos( 5L );
+
+    /**
+     *  The names of the fields of
+     *  {@link System}
+     *  that will be redirected to
+     *  {@link ScriptOutput}.
+     */
+    private static final Set<String> REDIRECTED_FIELDS = Set.of( "err", "out" );
+
+    /**
+     *  The flag that controls the reusable-context compile mode. The value is
+     *  taken from the System property
+     *  {@value JavaEngine#SYSPROP_PREFIX}{@value JavaEngine#REUSE_CONTEXT};
+     *  the default is {@code true}.
+     */
+    @SuppressWarnings( "ConstantExpression" )
+    private static final boolean REUSE_CONTEXT = !"false".equalsIgnoreCase( getProperty( SYSPROP_PREFIX + JavaEngine.REUSE_CONTEXT ) );
+
         /*------------*\
     ====** Attributes **=======================================================
         \*------------*/
@@ -64,9 +420,56 @@ public final class JavaCompiler
     private final javax.tools.JavaCompiler m_Compiler;
 
     /**
-     *  The Java file manager that is used by the compiler.
+     *  The number of compilations.
+     */
+    private final LongAdder m_Compilations = new LongAdder();
+
+    /**
+     *  The number of failed compilations.
+     */
+    private final LongAdder m_Failures = new LongAdder();
+
+    /**
+     *  The idle compilation contexts, pooled by source path, classpath and
+     *  options.
+     */
+    private final Map<PoolKey,Deque<CompilationContext>> m_Contexts = new ConcurrentHashMap<>();
+
+    /**
+     *  The time for the first compilation, in nanoseconds; -1 if there was
+     *  no compilation yet.
+     */
+    private final AtomicLong m_FirstTime = new AtomicLong( -1L );
+
+    /**
+     *  The number of compiler workers for a parallel batch compilation;
+     *  initially, this is
+     *  {@link #COMPILER_THREADS}.
      */
-    private final StandardJavaFileManager m_FileManager;
+    private volatile int m_Parallelism = COMPILER_THREADS;
+
+    /**
+     *  The measurements for the phases of the compilations.
+     */
+    @SuppressWarnings( "UseOfConcreteClass" )
+    private final PhaseRecorder m_PhaseRecorder = new PhaseRecorder();
+
+    /**
+     *  The time for the slowest compilation, in nanoseconds.
+     */
+    private final LongAccumulator m_MaxTime = new LongAccumulator( Math::max, 0L );
+
+    /**
+     *  The accumulated time for all compilations, in nanoseconds.
+     */
+    private final LongAdder m_TotalTime = new LongAdder();
+
+    /**
+     *  The worker threads for the parallel compilation of a batch; the
+     *  threads are created on demand, and they will terminate when they were
+     *  idle for a while.
+     */
+    private final ExecutorService m_Workers = Executors.newCachedThreadPool( Thread.ofPlatform().name( "JavaCompiler-Worker-", 1L ).daemon().factory() );
 
         /*--------------*\
     ====** Constructors **=====================================================
@@ -82,12 +485,39 @@ public final class JavaCompiler
         {
             throw new Error( "Unable to load the System Java Compiler" );
         }
-        m_FileManager = m_Compiler.getStandardFileManager( null, null, null );
     }   //  JavaCompiler
 
         /*---------*\
     ====** Methods **==========================================================
         \*---------*/
+    /**
+     *  Returns a compilation context from the pool, or creates a new one if
+     *  the pool does not have an idle context for the given key. Pooled
+     *  contexts for an outdated state of the JAR files on the classpath
+     *  will be closed.
+     *
+     *  @param  poolKey The key for the pool.
+     *  @return The compilation context.
+     *  @throws IOException The compilation context could not be created.
+     */
+    @SuppressWarnings( "resource" )
+    private final CompilationContext acquireContext( final PoolKey poolKey ) throws IOException
+    {
+        final var stamp = ClassPathIndex.stampFor( poolKey.classPath() );
+        final var pool = REUSE_CONTEXT ? m_Contexts.get( poolKey ) : null;
+        var retValue = isNull( pool ) ? null : pool.pollFirst();
+        while( nonNull( retValue ) && !retValue.isCurrent( stamp ) )
+        {
+            //---* A JAR file was modified; its old contents are still open *-
+            retValue.close();
+            retValue = pool.pollFirst();
+        }
+        if( isNull( retValue ) ) retValue = new CompilationContext( m_Compiler.getStandardFileManager( null, null, null ), poolKey, stamp );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  acquireContext()
+
     /**
      *  Compiles the given source and returns the resulting byte code. Any
      *  error messages will be written to
@@ -161,10 +591,7 @@ public final class JavaCompiler
      */
     public final Map<String,byte []> compile( final String fileName, final String source, final Writer errorOut, final String sourcePath, final String classPath )
     {
-        //---* Define the default javac options *------------------------------
-        final var options = List.of( "-Xlint:all", "-g:none", "-deprecation" );
-
-        final var retValue = compile( fileName, source, errorOut, sourcePath, classPath, options );
+        final var retValue = compile( fileName, source, errorOut, sourcePath, classPath, CompileProfile.STANDARD );
 
         //---* Done *----------------------------------------------------------
         return retValue;
@@ -184,16 +611,17 @@ public final class JavaCompiler
      *  @param  classPath   The location of additional {@code *.class} files;
      *      multiple folder names have to be separated with colons
      *      (':'). May be {@code null}.
-     *  @param  options  The options for the invocation of {@code javac}.
+     *  @param  profile The profile that provides the options for the
+     *      invocation of {@code javac}.
      *  @return The resulting byte code.
      */
-    @SuppressWarnings( {"NestedTryStatement", "MethodWithTooManyParameters"} )
-    private Map<String,byte []> compile( final String fileName, final String source, final Writer errorOut, final String sourcePath, final String classPath, final List<String> options )
+    @SuppressWarnings( "MethodWithTooManyParameters" )
+    public final Map<String,byte []> compile( final String fileName, final String source, final Writer errorOut, final String sourcePath, final String classPath, final CompileProfile profile )
     {
         requireNonNullArgument( fileName, "fileName" );
         requireNonNullArgument( source, "source" );
         requireNonNullArgument( errorOut, "errorOut" );
-        requireNonNullArgument( options, "options" );
+        requireNonNullArgument( profile, "profile" );
 
         /*
          * The diagnostics collector that collects all the warnings and errors
@@ -201,57 +629,609 @@ public final class JavaCompiler
          */
         final var diagnostics = new DiagnosticCollector<JavaFileObject>();
 
-        Map<String,byte []> retValue = null;
+        //---* Prepare the compilation unit *----------------------------------
+        final Collection<JavaFileObject> compilationUnits = new ArrayList<>( 1 );
+        compilationUnits.add( makeStringSource( fileName, source ) );
 
-        //---* Create a new memory JavaFileManager that takes the result *-----
-        try( final var fileManager = new MemoryJavaFileManager( m_FileManager ) )
+        final var result = runTask( compilationUnits, Map.of(), errorOut, diagnostics, new PoolKey( sourcePath, classPath, profile.getOptions() ) );
+        Map<String,byte []> retValue = null;
+        if( isNull( result ) )
+        {
+            printDiagnostics( diagnostics.getDiagnostics(), errorOut );
+        }
+        else
         {
-            //---* Prepare the compilation unit *------------------------------
-            final Collection<JavaFileObject> compilationUnits = new ArrayList<>( 1 );
-            compilationUnits.add( makeStringSource( fileName, source ) );
+            retValue = result.classBytes();
+        }
 
-            //---* Prepare the javac options *---------------------------------
-            final Collection<String> effectiveOptions = new ArrayList<>( options );
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compile()
 
-            if( isNotEmptyOrBlank( sourcePath ) )
+    /**
+     *  <p>{@summary Compiles the given sources} and returns the resulting
+     *  byte code, together with the diagnostics for each source.</p>
+     *  <p>All sources are compiled in a single compiler task, so that they
+     *  can refer to each other; see
+     *  {@link #compileBatch(Map, Writer, String, String, CompileProfile, int)}
+     *  for the details. The sources are compiled with the profile
+     *  {@link CompileProfile#STANDARD}.</p>
+     *
+     *  @param  sources The sources, with the file names as the keys.
+     *  @param  errorOut    The destination for any additional output from
+     *      the compiler; the diagnostics will not be written to it.
+     *  @param  sourcePath  The location of additional {@code *.java} source
+     *      files; multiple folder names have to be separated with colons
+     *      (':'). May be {@code null}.
+     *  @param  classPath   The location of additional {@code *.class} files;
+     *      multiple folder names have to be separated with colons
+     *      (':'). May be {@code null}.
+     *  @return The result of the compilation.
+     */
+    public final BatchResult compileBatch( final Map<String,String> sources, final Writer errorOut, final String sourcePath, final String classPath )
+    {
+        final var retValue = compileBatch( sources, errorOut, sourcePath, classPath, CompileProfile.STANDARD, 1 );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileBatch()
+
+    /**
+     *  <p>{@summary Compiles the given sources} and returns the resulting
+     *  byte code, together with the diagnostics for each source.</p>
+     *  <p>With a parallelism of 1, all sources are compiled in a single
+     *  compiler task, so that they can refer to each other. With a higher
+     *  parallelism, the sources are distributed over that number of chunks,
+     *  and each chunk is compiled by its own compiler task on a worker
+     *  thread, using a separate file manager; the results are merged
+     *  afterwards. As {@code javac} uses only a single thread per task, this
+     *  allows to use more than one core for a large batch, but the sources
+     *  have to be independent from each other.</p>
+     *
+     *  @param  sources The sources, with the file names as the keys.
+     *  @param  errorOut    The destination for any additional output from
+     *      the compiler; the diagnostics will not be written to it.
+     *  @param  sourcePath  The location of additional {@code *.java} source
+     *      files; multiple folder names have to be separated with colons
+     *      (':'). May be {@code null}.
+     *  @param  classPath   The location of additional {@code *.class} files;
+     *      multiple folder names have to be separated with colons
+     *      (':'). May be {@code null}.
+     *  @param  parallelism The maximum number of compiler tasks that run
+     *      concurrently.
+     *  @return The result of the compilation.
+     */
+    @SuppressWarnings( "MethodWithTooManyParameters" )
+    public final BatchResult compileBatch( final Map<String,String> sources, final Writer errorOut, final String sourcePath, final String classPath, final int parallelism )
+    {
+        final var retValue = compileBatch( sources, errorOut, sourcePath, classPath, CompileProfile.STANDARD, parallelism );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileBatch()
+
+    /**
+     *  <p>{@summary Compiles the given sources with the options from the
+     *  given profile} and returns the resulting byte code, together with
+     *  the diagnostics for each source.</p>
+     *  <p>See
+     *  {@link #compileBatch(Map, Writer, String, String, int)}
+     *  for the meaning of the parallelism.</p>
+     *
+     *  @param  sources The sources, with the file names as the keys.
+     *  @param  errorOut    The destination for any additional output from
+     *      the compiler; the diagnostics will not be written to it.
+     *  @param  sourcePath  The location of additional {@code *.java} source
+     *      files; multiple folder names have to be separated with colons
+     *      (':'). May be {@code null}.
+     *  @param  classPath   The location of additional {@code *.class} files;
+     *      multiple folder names have to be separated with colons
+     *      (':'). May be {@code null}.
+     *  @param  profile The profile that provides the options for the
+     *      invocation of {@code javac}.
+     *  @param  parallelism The maximum number of compiler tasks that run
+     *      concurrently.
+     *  @return The result of the compilation.
+     */
+    @SuppressWarnings( "MethodWithTooManyParameters" )
+    public final BatchResult compileBatch( final Map<String,String> sources, final Writer errorOut, final String sourcePath, final String classPath, final CompileProfile profile, final int parallelism )
+    {
+        requireNonNullArgument( sources, "sources" );
+        requireNonNullArgument( errorOut, "errorOut" );
+        requireNonNullArgument( profile, "profile" );
+
+        final var poolKey = new PoolKey( sourcePath, classPath, profile.getOptions() );
+        final var chunkCount = Math.min( Math.max( 1, parallelism ), sources.size() );
+        final BatchResult retValue;
+        if( chunkCount <= 1 )
+        {
+            retValue = compileChunk( sources, errorOut, poolKey );
+        }
+        else
+        {
+            //---* Distribute the sources over the chunks *--------------------
+            final List<Map<String,String>> chunks = new ArrayList<>( chunkCount );
+            for( var i = 0; i < chunkCount; ++i ) chunks.add( new LinkedHashMap<>() );
+            var index = 0;
+            for( final var entry : sources.entrySet() )
             {
-                effectiveOptions.add( "-sourcepath" );
-                effectiveOptions.add( sourcePath );
+                chunks.get( index++ % chunkCount ).put( entry.getKey(), entry.getValue() );
             }
 
-            if( isNotEmptyOrBlank( classPath ) )
+            //---* Compile the chunks concurrently *---------------------------
+            final var futures = chunks.stream()
+                .map( chunk -> CompletableFuture.supplyAsync( () -> compileChunk( chunk, errorOut, poolKey ), m_Workers ) )
+                .toList();
+
+            //---* Merge the results *-----------------------------------------
+            final Map<String,byte []> classBytes = new HashMap<>();
+            final Map<String,List<String>> classNames = new HashMap<>();
+            final Map<String,List<Diagnostic<? extends JavaFileObject>>> diagnostics = new HashMap<>();
+            for( final var future : futures )
             {
-                effectiveOptions.add( "-classpath" );
-                effectiveOptions.add( classPath );
+                final BatchResult result;
+                try
+                {
+                    result = future.join();
+                }
+                catch( final CompletionException e )
+                {
+                    if( e.getCause() instanceof final RuntimeException cause ) throw cause;
+                    if( e.getCause() instanceof final Error cause ) throw cause;
+                    throw e;
+                }
+                classBytes.putAll( result.classBytes() );
+                classNames.putAll( result.classNames() );
+                diagnostics.putAll( result.diagnostics() );
             }
+            retValue = new BatchResult( classBytes, classNames, diagnostics );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileBatch()
+
+    /**
+     *  <p>{@summary Compiles the given sources in a single compiler task}
+     *  and returns the resulting byte code, together with the diagnostics
+     *  for each source.</p>
+     *  <p>If the compilation of some sources fails, {@code javac} will not
+     *  generate any byte code at all; therefore the sources that have errors
+     *  are removed from the batch, and the remaining ones will be compiled
+     *  again. This is repeated until the compilation succeeds, or no source
+     *  is left. A source that depends on a failing one will fail, too.</p>
+     *  <p>Errors that cannot be attributed to one of the given sources (for
+     *  example, errors in a file from the source path) cause the failure of
+     *  all remaining sources.</p>
+     *
+     *  @param  sources The sources, with the file names as the keys.
+     *  @param  errorOut    The destination for any additional output from
+     *      the compiler; the diagnostics will not be written to it.
+     *  @param  poolKey The key for the compilation context.
+     *  @return The result of the compilation.
+     */
+    private final BatchResult compileChunk( final Map<String,String> sources, final Writer errorOut, final PoolKey poolKey )
+    {
+        //---* Prepare the compilation units *---------------------------------
+        final Map<JavaFileObject,String> compilationUnits = new LinkedHashMap<>();
+        for( final var entry : sources.entrySet() )
+        {
+            compilationUnits.put( makeStringSource( entry.getKey(), entry.getValue() ), entry.getKey() );
+        }
 
-            //---* Create a compilation task *---------------------------------
-            final var task = m_Compiler.getTask( errorOut, fileManager, diagnostics, effectiveOptions, null, compilationUnits );
+        final Map<String,List<Diagnostic<? extends JavaFileObject>>> diagnostics = new HashMap<>();
+        final Map<String,List<String>> classNames = new HashMap<>();
+        Map<String,byte []> classBytes = Map.of();
+        CompileLoop: while( !compilationUnits.isEmpty() )
+        {
+            final var collector = new DiagnosticCollector<JavaFileObject>();
+            final var result = runTask( compilationUnits.keySet(), Map.of(), errorOut, collector, poolKey );
 
-            if( !task.call() )
+            //---* Assign the diagnostics to the sources *---------------------
+            compilationUnits.values().forEach( name -> diagnostics.put( name, new ArrayList<>() ) );
+            final Collection<JavaFileObject> failedUnits = new HashSet<>();
+            final List<Diagnostic<? extends JavaFileObject>> unassigned = new ArrayList<>();
+            for( final var diagnostic : collector.getDiagnostics() )
             {
-                try( final var errorPrinter = new PrintWriter( errorOut ) )
+                final var name = compilationUnits.get( diagnostic.getSource() );
+                if( isNull( name ) )
+                {
+                    unassigned.add( diagnostic );
+                }
+                else
                 {
-                    for( final var diagnostic : diagnostics.getDiagnostics() )
-                    {
-                        errorPrinter.println( diagnostic.getMessage( null ) );
-                    }
-                    errorPrinter.flush();
+                    diagnostics.get( name ).add( diagnostic );
+                    if( diagnostic.getKind() == ERROR ) failedUnits.add( diagnostic.getSource() );
                 }
             }
+
+            if( nonNull( result ) )
+            {
+                //---* Success: assign the classes to their sources *----------
+                compilationUnits.values().forEach( name -> classNames.put( name, new ArrayList<>() ) );
+                for( final var entry : result.classOrigins().entrySet() )
+                {
+                    final var name = compilationUnits.get( entry.getValue() );
+                    if( nonNull( name ) ) classNames.get( name ).add( entry.getKey() );
+                }
+                classBytes = result.classBytes();
+                break CompileLoop;
+            }
+
+            if( failedUnits.isEmpty() )
+            {
+                //---* The errors cannot be attributed; all sources failed *---
+                compilationUnits.values().forEach( name -> diagnostics.get( name ).addAll( unassigned ) );
+                break CompileLoop;
+            }
+
+            //---* Retry without the failed sources *--------------------------
+            compilationUnits.keySet().removeAll( failedUnits );
+        }   //  CompileLoop:
+
+        final var retValue = new BatchResult( classBytes, classNames, diagnostics );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileChunk()
+
+    /**
+     *  <p>{@summary Compiles the given sources against the byte code of
+     *  classes that were compiled before}, in a single compiler task. This
+     *  is used for the incremental compilation of a script project, where
+     *  only the changed sources are compiled again.</p>
+     *  <p>If the compilation fails, any error messages will be written to
+     *  the given
+     *  {@link Writer}.</p>
+     *
+     *  @param  sources The sources, with the file names as the keys.
+     *  @param  classInputs The byte code for the classes that were compiled
+     *      before, with the binary names of the classes as the keys.
+     *  @param  errorOut    The destination for any error messages.
+     *  @param  sourcePath  The location of additional {@code *.java} source
+     *      files; multiple folder names have to be separated with colons
+     *      (':'). May be {@code null}.
+     *  @param  classPath   The location of additional {@code *.class} files;
+     *      multiple folder names have to be separated with colons
+     *      (':'). May be {@code null}.
+     *  @param  profile The profile that provides the options for the
+     *      invocation of {@code javac}.
+     *  @return The result of the compilation, or {@code null} if the
+     *      compilation failed.
+     */
+    @SuppressWarnings( "MethodWithTooManyParameters" )
+    public final BatchResult compileIncremental( final Map<String,String> sources, final Map<String,byte []> classInputs, final Writer errorOut, final String sourcePath, final String classPath, final CompileProfile profile )
+    {
+        requireNonNullArgument( sources, "sources" );
+        requireNonNullArgument( classInputs, "classInputs" );
+        requireNonNullArgument( errorOut, "errorOut" );
+        requireNonNullArgument( profile, "profile" );
+
+        //---* Prepare the compilation units *---------------------------------
+        final Map<JavaFileObject,String> compilationUnits = new LinkedHashMap<>();
+        for( final var entry : sources.entrySet() )
+        {
+            compilationUnits.put( makeStringSource( entry.getKey(), entry.getValue() ), entry.getKey() );
+        }
+
+        final var diagnostics = new DiagnosticCollector<JavaFileObject>();
+        final var result = runTask( compilationUnits.keySet(), classInputs, errorOut, diagnostics, new PoolKey( sourcePath, classPath, profile.getOptions() ) );
+        BatchResult retValue = null;
+        if( isNull( result ) )
+        {
+            printDiagnostics( diagnostics.getDiagnostics(), errorOut );
+        }
+        else
+        {
+            final Map<String,List<String>> classNames = new HashMap<>();
+            final Map<String,List<Diagnostic<? extends JavaFileObject>>> unitDiagnostics = new HashMap<>();
+            compilationUnits.values().forEach( name ->
+            {
+                classNames.put( name, new ArrayList<>() );
+                unitDiagnostics.put( name, new ArrayList<>() );
+            } );
+            for( final var entry : result.classOrigins().entrySet() )
+            {
+                final var name = compilationUnits.get( entry.getValue() );
+                if( nonNull( name ) ) classNames.get( name ).add( entry.getKey() );
+            }
+            for( final var diagnostic : diagnostics.getDiagnostics() )
+            {
+                final var name = compilationUnits.get( diagnostic.getSource() );
+                if( nonNull( name ) ) unitDiagnostics.get( name ).add( diagnostic );
+            }
+            retValue = new BatchResult( result.classBytes(), classNames, unitDiagnostics );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileIncremental()
+
+    /**
+     *  Closes all the idle compilation contexts and removes them from the
+     *  pools. Contexts that are currently in use are not affected.
+     */
+    public final void flushContexts()
+    {
+        for( final var pool : m_Contexts.values() )
+        {
+            CompilationContext context;
+            while( nonNull( context = pool.pollFirst() ) ) context.close();
+        }
+        m_Contexts.values().removeIf( Deque::isEmpty );
+    }   //  flushContexts()
+
+    /**
+     *  Returns the number of compiler workers for a parallel batch
+     *  compilation.
+     *
+     *  @return The number of compiler workers.
+     */
+    public final int getParallelism() { return m_Parallelism; }
+
+    /**
+     *  Returns the measurements for the phases of the compilations by this
+     *  compiler.
+     *
+     *  @return The statistics.
+     */
+    public final CompilePhaseStatistics getPhaseStatistics() { return m_PhaseRecorder.getStatistics(); }
+
+    /**
+     *  Returns the shared instance of {@code JavaCompiler}.
+     *
+     *  @return The shared instance.
+     */
+    @SuppressWarnings( "UseOfConcreteClass" )
+    public static final JavaCompiler getSharedInstance() { return SharedInstanceHolder.m_Instance; }
+
+    /**
+     *  Returns the current values of the counters for this compiler.
+     *
+     *  @return The statistics.
+     */
+    public final CompilerStatistics getStatistics()
+    {
+        final var firstTime = m_FirstTime.get();
+        final var retValue = new CompilerStatistics(
+            m_Compilations.sum(),
+            m_Failures.sum(),
+            Duration.ofNanos( m_TotalTime.sum() ),
+            Duration.ofNanos( m_MaxTime.get() ),
+            firstTime < 0 ? Duration.ZERO : Duration.ofNanos( firstTime ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  getStatistics()
+
+    /**
+     *  Writes the messages for the given diagnostics to the given
+     *  {@link Writer}.
+     *
+     *  @param  diagnostics The diagnostics.
+     *  @param  errorOut    The destination for the messages.
+     */
+    private static final void printDiagnostics( final Iterable<Diagnostic<? extends JavaFileObject>> diagnostics, final Writer errorOut )
+    {
+        /*
+         * The error writer belongs to the caller (usually, it is the one from
+         * the script context); therefore it must not be closed here.
+         */
+        @SuppressWarnings( "resource" )
+        final var errorPrinter = new PrintWriter( errorOut );
+        for( final var diagnostic : diagnostics )
+        {
+            errorPrinter.println( diagnostic.getMessage( null ) );
+        }
+        errorPrinter.flush();
+    }   //  printDiagnostics()
+
+    /**
+     *  Updates the counters after a compilation.
+     *
+     *  @param  duration    The time for the compilation, in nanoseconds.
+     *  @param  success {@code true} if the compilation was successful,
+     *      {@code false} otherwise.
+     */
+    private final void record( final long duration, final boolean success )
+    {
+        m_FirstTime.compareAndSet( -1L, duration );
+        m_Compilations.increment();
+        if( !success ) m_Failures.increment();
+        m_TotalTime.add( duration );
+        m_MaxTime.accumulate( duration );
+    }   //  record()
+
+    /**
+     *  Redirects the references to {@code System.out} and
+     *  {@code System.err} in the given byte code to
+     *  {@link ScriptOutput}.
+     *
+     *  @param  classBytes  The byte code, with the class names as the keys.
+     *  @return The modified byte code.
+     */
+    private static final Map<String,byte []> redirectOutput( final Map<String,byte []> classBytes )
+    {
+        final Map<String,byte []> retValue = new HashMap<>( classBytes );
+        retValue.replaceAll( ($, bytes) -> ClassReferences.redirectFieldReferences( bytes, System.class.getName(), REDIRECTED_FIELDS, ScriptOutput.class.getName() ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  redirectOutput()
+
+    /**
+     *  Returns the given compilation context to the pool. If the context has
+     *  reached its reuse limit, or if the pool for the given key is already
+     *  full, the context will be closed. Contexts that were idle for too
+     *  long will be removed from all the pools.
+     *
+     *  @param  poolKey The key for the pool.
+     *  @param  context The compilation context.
+     */
+    private final void releaseContext( final PoolKey poolKey, final CompilationContext context )
+    {
+        final var now = System.nanoTime();
+        if( REUSE_CONTEXT && context.isReusable( now ) )
+        {
+            final var pool = m_Contexts.computeIfAbsent( poolKey, $ -> new ConcurrentLinkedDeque<>() );
+            if( pool.size() < MAX_IDLE_CONTEXTS )
+            {
+                pool.offerFirst( context );
+            }
             else
             {
-                retValue = fileManager.getClassBytes();
+                context.close();
             }
         }
+        else
+        {
+            context.close();
+        }
+
+        //---* Discard the contexts that were idle for too long *--------------
+        for( final var pool : m_Contexts.values() )
+        {
+            pool.removeIf( c ->
+            {
+                final var isStale = !c.isReusable( now );
+                if( isStale ) c.close();
+                return isStale;
+            } );
+        }
+        m_Contexts.values().removeIf( Deque::isEmpty );
+    }   //  releaseContext()
+
+    /**
+     *  Sets the number of compiler workers for a parallel batch
+     *  compilation.
+     *
+     *  @param  parallelism The number of compiler workers; must be greater
+     *      than 0.
+     */
+    public final void setParallelism( final int parallelism )
+    {
+        m_Parallelism = requireValidIntegerArgument( parallelism, "parallelism", v -> v > 0 );
+    }   //  setParallelism()
+
+    /**
+     *  Runs a compiler task for the given compilation units, using a
+     *  compilation context from the pool. The context is returned to the
+     *  pool only when the task completed normally (even when the
+     *  compilation failed); if the task threw an exception, the context
+     *  will be closed.
+     *
+     *  @param  compilationUnits    The compilation units.
+     *  @param  classInputs The byte code for classes that were compiled
+     *      before and that are referenced by the compilation units.
+     *  @param  errorOut    The destination for any additional output from
+     *      the compiler.
+     *  @param  diagnostics The collector for the diagnostics.
+     *  @param  poolKey The key for the compilation context.
+     *  @return The output of the task, or {@code null} if the compilation
+     *      failed.
+     */
+    private final TaskResult runTask( final Iterable<? extends JavaFileObject> compilationUnits, final Map<String,byte []> classInputs, final Writer errorOut, final DiagnosticCollector<JavaFileObject> diagnostics, final PoolKey poolKey )
+    {
+        TaskResult retValue = null;
+
+        final var start = System.nanoTime();
+        final CompilationContext context;
+        try
+        {
+            context = acquireContext( poolKey );
+        }
+        catch( final IOException e )
+        {
+            record( System.nanoTime() - start, false );
+            throw new UncheckedIOException( "Invalid source path or classpath", e );
+        }
+
+        //---* Create a new memory JavaFileManager that takes the result *-----
+        var isCompleted = false;
+        try( final var fileManager = new MemoryJavaFileManager( context.getFileManager(), classInputs, ClassPathIndex.forClassPath( poolKey.classPath() ) ) )
+        {
+            /*
+             * The source path and the classpath were already set to the file
+             * manager of the compilation context; they need not to be added
+             * to the options.
+             */
+            final var task = m_Compiler.getTask( errorOut, fileManager, diagnostics, poolKey.options(), null, compilationUnits );
+            final var listener = new PhaseListener();
+            if( task instanceof final JavacTask javacTask ) javacTask.addTaskListener( listener );
+            final var event = new CompileEvent();
+            event.begin();
+            listener.begin();
+            final var success = task.call().booleanValue();
+            listener.end();
+            event.end();
+            if( success ) retValue = new TaskResult( redirectOutput( fileManager.getClassBytes() ), fileManager.getClassOrigins() );
+            final var classCount = success ? retValue.classBytes().size() : 0;
+
+            //---* Record the measurements for the phases *--------------------
+            final List<String> sources = new ArrayList<>();
+            compilationUnits.forEach( unit -> sources.add( unit.getName() ) );
+            m_PhaseRecorder.record( listener.toTrace( sources, success, classCount ) );
+
+            //---* Report the compilation to the Flight Recorder *-------------
+            if( event.shouldCommit() )
+            {
+                event.m_ClassCount = classCount;
+                event.m_Options = String.join( " ", poolKey.options() );
+                event.m_SourceCount = sources.size();
+                event.m_SourceNames = String.join( ",", sources );
+                event.m_SourceSize = sourceSize( compilationUnits );
+                event.m_Success = success;
+                event.commit();
+            }
+            isCompleted = true;
+        }
         catch( final IOException e )
         {
             throw new ImpossibleExceptionError( "MemoryJavaFileManager should not throw an exception on close()", e );
         }
+        finally
+        {
+            /*
+             * After an abnormal termination of the task, the state of the
+             * file manager is unknown; therefore the context will not be
+             * returned to the pool.
+             */
+            if( isCompleted )
+            {
+                releaseContext( poolKey, context );
+            }
+            else
+            {
+                context.close();
+            }
+            record( System.nanoTime() - start, nonNull( retValue ) );
+        }
 
         //---* Done *----------------------------------------------------------
         return retValue;
-    }   //  compile()
+    }   //  runTask()
+
+    /**
+     *  Returns the total length of the given sources.
+     *
+     *  @param  compilationUnits    The sources.
+     *  @return The number of characters; -1 if a source could not be read.
+     */
+    private static final long sourceSize( final Iterable<? extends JavaFileObject> compilationUnits )
+    {
+        var retValue = 0L;
+        try
+        {
+            for( final var unit : compilationUnits ) retValue += unit.getCharContent( true ).length();
+        }
+        catch( final IOException ignored )
+        {
+            retValue = -1L;
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  sourceSize()
 }
 //  class JavaCompiler
 
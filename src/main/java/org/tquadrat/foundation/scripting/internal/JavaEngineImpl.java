@@ -17,10 +17,12 @@
 
 package org.tquadrat.foundation.scripting.internal;
 
+import static java.lang.System.Logger.Level.WARNING;
+import static java.lang.System.getLogger;
 import static java.lang.System.getProperty;
 import static java.lang.reflect.Modifier.isPublic;
-import static java.lang.reflect.Modifier.isStatic;
 import static javax.script.ScriptContext.ENGINE_SCOPE;
+import static org.apiguardian.api.API.Status.INTERNAL;
 import static org.apiguardian.api.API.Status.STABLE;
 import static org.tquadrat.foundation.lang.CommonConstants.EMPTY_String_ARRAY;
 import static org.tquadrat.foundation.lang.CommonConstants.PROPERTY_CLASSPATH;
@@ -28,7 +30,10 @@ import static org.tquadrat.foundation.lang.Objects.isNull;
 import static org.tquadrat.foundation.lang.Objects.nonNull;
 import static org.tquadrat.foundation.lang.Objects.requireNonNull;
 import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
+import static org.tquadrat.foundation.lang.Objects.requireValidIntegerArgument;
+import static org.tquadrat.foundation.util.StringUtils.isNotEmptyOrBlank;
 
+import javax.script.Bindings;
 import javax.script.Compilable;
 import javax.script.CompiledScript;
 import javax.script.ScriptContext;
@@ -37,14 +42,39 @@ import javax.script.ScriptEngineFactory;
 import javax.script.ScriptException;
 import java.io.IOException;
 import java.io.Reader;
-import java.lang.reflect.InvocationTargetException;
+import java.io.Serial;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import org.apiguardian.api.API;
 import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.exception.PrivateConstructorForStaticClassCalledError;
 import org.tquadrat.foundation.scripting.factory.JavaEngineFactory;
+import org.tquadrat.foundation.scripting.java.CacheStatistics;
+import org.tquadrat.foundation.scripting.java.CompilePhaseStatistics;
+import org.tquadrat.foundation.scripting.java.CompileProfile;
+import org.tquadrat.foundation.scripting.java.CompilerStatistics;
+import org.tquadrat.foundation.scripting.java.JavaCompilationResult;
 import org.tquadrat.foundation.scripting.java.JavaCompiledScript;
 import org.tquadrat.foundation.scripting.java.JavaEngine;
+import org.tquadrat.foundation.scripting.java.JavaExpression;
+import org.tquadrat.foundation.scripting.java.JavaScriptProject;
 import org.tquadrat.foundation.scripting.spi.ScriptEngineBase;
 
 /**
@@ -79,6 +109,15 @@ public final class JavaEngineImpl extends ScriptEngineBase implements JavaEngine
     @ClassVersion( sourceVersion = "$Id: JavaEngineImpl.java 1070 2023-09-29 17:09:34Z tquadrat $" )
     public final class JavaCompiledScriptImpl extends JavaCompiledScript
     {
+            /*------------*\
+        ====** Attributes **===================================================
+            \*------------*/
+        /**
+         *  The entry points of the script class; they are resolved once, when
+         *  this compiled script is created.
+         */
+        private final ScriptEntryPoints m_EntryPoints;
+
             /*--------------*\
         ====** Constructors **=================================================
             \*--------------*/
@@ -91,6 +130,7 @@ public final class JavaEngineImpl extends ScriptEngineBase implements JavaEngine
         public JavaCompiledScriptImpl( final Class<?> scriptClass )
         {
             super( requireNonNullArgument( scriptClass, "scriptClass" ) );
+            m_EntryPoints = ScriptEntryPoints.forClass( scriptClass );
         }   //  JavaCompiledScriptImpl()
 
             /*---------*\
@@ -104,7 +144,8 @@ public final class JavaEngineImpl extends ScriptEngineBase implements JavaEngine
         @Override
         public Object eval( final ScriptContext scriptContext ) throws ScriptException
         {
-            final var retValue = evalClass( getScriptClass(), requireNonNullArgument( scriptContext, "scriptContext" ) );
+            final var retValue = evalClass( m_EntryPoints, requireNonNullArgument( scriptContext, "scriptContext" ) );
+            m_CurrentScriptClass = m_EntryPoints.scriptClass();
 
             //---* Done *------------------------------------------------------
             return retValue;
@@ -117,18 +158,190 @@ public final class JavaEngineImpl extends ScriptEngineBase implements JavaEngine
          */
         @Override
         public ScriptEngine getEngine() { return JavaEngineImpl.this; }
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final <T> T getInterface( final Class<T> clasz ) { return createInterface( getScriptClass(), clasz ); }
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final <T> T getInterface( final Object thiz, final Class<T> clasz ) { return castInterface( thiz, clasz ); }
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final Object invokeFunction( final String name, final Object... args ) throws ScriptException, NoSuchMethodException
+        {
+            final var retValue = invokeScriptMethod( getScriptClass(), null, JavaEngineImpl.this.getContext(), name, args );
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  invokeFunction()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final Object invokeMethod( final Object thiz, final String name, final Object... args ) throws ScriptException, NoSuchMethodException
+        {
+            final var retValue = invokeScriptMethod( null, requireNonNullArgument( thiz, "thiz" ), JavaEngineImpl.this.getContext(), name, args );
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  invokeMethod()
     }
     //  class JavaCompileScriptImpl
 
+    /**
+     *  The holder for the executor that is dedicated to asynchronous
+     *  compilations; it will be created on first use.
+     *
+     *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: JavaEngineImpl.java 1091 2026-10-16 13:58:44Z tquadrat $
+     *  @since 0.5.0
+     *
+     *  @UMLGraph.link
+     */
+    @ClassVersion( sourceVersion = "$Id: JavaEngineImpl.java 1091 2026-10-16 13:58:44Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.5.0" )
+    private static final class CompileExecutorHolder
+    {
+        /**
+         *  The executor for the asynchronous compilations; its threads are
+         *  daemon threads, so that they will not prevent the termination of
+         *  the JVM. The number of threads can be changed at runtime.
+         */
+        static final ThreadPoolExecutor m_Executor = new ThreadPoolExecutor(
+            Runtime.getRuntime().availableProcessors(),
+            Runtime.getRuntime().availableProcessors(),
+            0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            Thread.ofPlatform().name( "JavaEngine-Compiler-", 1L ).daemon().factory() );
+
+        /**
+         *  No instance allowed for this class.
+         */
+        private CompileExecutorHolder() { throw new PrivateConstructorForStaticClassCalledError( CompileExecutorHolder.class ); }
+    }
+    //  class CompileExecutorHolder
+
+    /**
+     *  The key for the cache of the compiled expressions.
+     *
+     *  @param  text    The text of the expression, either as given or
+     *      normalised.
+     *  @param  sourcePath  The source path for the compilation; can be
+     *      {@code null}.
+     *  @param  classPath   The classpath for the compilation; can be
+     *      {@code null}.
+     *  @param  options The options for the compiler, from the compile
+     *      profile.
+     *  @param  parentLoader    The parent class loader for the evaluator;
+     *      it will be compared by identity.
+     */
+    private record ExpressionKey( String text, String sourcePath, String classPath, List<String> options, ClassLoader parentLoader ) {}
+
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The capacity of the cache for the compiled expressions, per engine:
+     *  {@value}.
+     */
+    private static final int EXPRESSION_CACHE_CAPACITY = 1024;
+
         /*------------*\
     ====** Attributes **=======================================================
         \*------------*/
     /**
-     *  The Java compiler that is used by this engine.
+     *  The Java compiler that is used by this engine; this is the instance
+     *  that is shared by all engines.
      */
     @SuppressWarnings( "UseOfConcreteClass" )
     private final JavaCompiler m_Compiler;
 
+    /**
+     *  The class of the script that was evaluated last by this engine; the
+     *  methods from
+     *  {@link javax.script.Invocable}
+     *  refer to this class.
+     */
+    private volatile Class<?> m_CurrentScriptClass;
+
+    /**
+     *  The compiled expressions; an expression is registered with both, the
+     *  text as given and the normalised text. The least recently used
+     *  expressions will be evicted.
+     */
+    @SuppressWarnings( {"OverlyComplexAnonymousInnerClass", "CloneableClassWithoutClone"} )
+    private final Map<ExpressionKey,JavaExpression> m_Expressions = new LinkedHashMap<>( 16, 0.75f, true )
+    {
+        /**
+         *  The serial version UID for objects of this class: {@value}.
+         */
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        protected final boolean removeEldestEntry( final Map.Entry<ExpressionKey,JavaExpression> eldest ) { return size() > EXPRESSION_CACHE_CAPACITY * 2; }
+    };
+
+        /*------------------------*\
+    ====** Static Initialisations **===========================================
+        \*------------------------*/
+    /**
+     *  The process-wide cache for the compiled scripts.
+     */
+    @SuppressWarnings( "UseOfConcreteClass" )
+    private static final CompiledScriptCache m_ScriptCache;
+
+    /**
+     *  The persistent store for the byte code of compiled scripts; will be
+     *  {@code null} if no cache directory was configured.
+     */
+    @SuppressWarnings( "UseOfConcreteClass" )
+    private static final PersistentClassStore m_ClassStore;
+
+    /**
+     *  The meter for the evaluations of scripts.
+     */
+    @SuppressWarnings( "UseOfConcreteClass" )
+    private static final RateMeter m_Evaluations = new RateMeter();
+
+    static
+    {
+        //noinspection ConstantExpression
+        m_ScriptCache = new CompiledScriptCache( Integer.getInteger( SYSPROP_PREFIX + CACHE_SIZE, CompiledScriptCache.DEFAULT_CAPACITY ).intValue() );
+
+        //noinspection ConstantExpression
+        final var cacheDir = getProperty( SYSPROP_PREFIX + CACHE_DIR );
+        PersistentClassStore classStore = null;
+        if( isNotEmptyOrBlank( cacheDir ) )
+        {
+            try
+            {
+                classStore = PersistentClassStore.open( Path.of( cacheDir ) );
+            }
+            catch( final IOException e )
+            {
+                getLogger( JavaEngineImpl.class.getName() ).log( WARNING, "Unable to open the class store in '%1$s'; byte code will not be persisted".formatted( cacheDir ), e );
+            }
+        }
+        m_ClassStore = classStore;
+
+        //---* Make the engine manageable *------------------------------------
+        //noinspection ConstantExpression
+        if( !"false".equalsIgnoreCase( getProperty( SYSPROP_PREFIX + REGISTER_MXBEAN ) ) ) JavaEngineManagement.register();
+    }
+
         /*--------------*\
     ====** Constructors **=====================================================
         \*--------------*/
@@ -141,7 +354,14 @@ public final class JavaEngineImpl extends ScriptEngineBase implements JavaEngine
     public JavaEngineImpl( final ScriptEngineFactory factory )
     {
         setFactory( factory );
-        m_Compiler = new JavaCompiler();
+        m_Compiler = JavaCompiler.getSharedInstance();
+
+        //---* Build the index for the classpath in the background *-----------
+        //noinspection ConstantExpression
+        if( ClassPathIndex.IS_ENABLED && Boolean.getBoolean( SYSPROP_PREFIX + PREFETCH_CLASSPATH ) )
+        {
+            ClassPathIndex.prefetch( getClassPath( getContext() ) );
+        }
     }   //  JavaEngineImpl()
 
     /**
@@ -155,6 +375,28 @@ public final class JavaEngineImpl extends ScriptEngineBase implements JavaEngine
         /*---------*\
     ====** Methods **==========================================================
         \*---------*/
+    /**
+     *  Implements
+     *  {@link javax.script.Invocable#getInterface(Object, Class)}.
+     *
+     *  @param  <T> The type of the interface.
+     *  @param  thiz    The object that should implement the interface.
+     *  @param  clasz   The interface.
+     *  @return The object, or {@code null} if it does not implement the
+     *      interface.
+     *  @throws IllegalArgumentException    {@code thiz} or {@code clasz} is
+     *      {@code null}, or {@code clasz} is not an interface.
+     */
+    private static <T> T castInterface( final Object thiz, final Class<T> clasz ) throws IllegalArgumentException
+    {
+        requireNonNullArgument( thiz, "thiz" );
+        if( !requireNonNullArgument( clasz, "clasz" ).isInterface() ) throw new IllegalArgumentException( "'%1$s' is not an interface".formatted( clasz.getName() ) );
+        final var retValue = clasz.isInstance( thiz ) ? clasz.cast( thiz ) : null;
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  castInterface()
+
     /**
      *  {@inheritDoc}
      *
@@ -177,17 +419,268 @@ public final class JavaEngineImpl extends ScriptEngineBase implements JavaEngine
     @Override
     public final CompiledScript compile( final String script ) throws ScriptException
     {
-        final var scriptClass = parse( requireNonNull( script, "script" ), context );
+        final CompiledScript retValue = compile( requireNonNull( script, "script" ), context );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compile()
+
+    /**
+     *  Compiles the given script with the settings from the given context.
+     *
+     *  @param  script  The script source.
+     *  @param  scriptContext   The script context.
+     *  @return The compiled script.
+     *  @throws ScriptException The script could not be compiled.
+     */
+    private final JavaCompiledScript compile( final String script, final ScriptContext scriptContext ) throws ScriptException
+    {
+        final var scriptClass = parse( script, scriptContext );
         if( isNull( scriptClass ) )
         {
             throw new ScriptException( "A main class could not be determined for the provided script" );
         }
-        final CompiledScript retValue = new JavaCompiledScriptImpl( scriptClass );
+        final JavaCompiledScript retValue = new JavaCompiledScriptImpl( scriptClass );
 
         //---* Done *----------------------------------------------------------
         return retValue;
     }   //  compile()
 
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final Map<String,JavaCompilationResult> compileAll( final Map<String,String> scripts ) throws ScriptException
+    {
+        final var retValue = compileAll( scripts, false );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileAll()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final Map<String,JavaCompilationResult> compileAll( final Map<String,String> scripts, final boolean parallel ) throws ScriptException
+    {
+        requireNonNullArgument( scripts, "scripts" );
+
+        final var sourcePath = getSourcePath( context );
+        final var classPath = getClassPath( context );
+        final var parentLoader = getParentLoader( context );
+        final var profile = getCompileProfile( context );
+
+        final var batch = m_Compiler.compileBatch( scripts, context.getErrorWriter(), sourcePath, classPath, profile, parallel ? m_Compiler.getParallelism() : 1 );
+
+        final Map<String,JavaCompilationResult> retValue = new LinkedHashMap<>();
+        try( final var loader = new MemoryClassLoader( batch.classBytes(), classPath, parentLoader ) )
+        {
+            for( final var name : scripts.keySet() )
+            {
+                JavaCompiledScript compiledScript = null;
+                final var classNames = batch.classNames().get( name );
+                if( nonNull( classNames ) )
+                {
+                    final Collection<Class<?>> classes = new ArrayList<>( classNames.size() );
+                    for( final var className : classNames )
+                    {
+                        classes.add( loader.loadClass( className ) );
+                    }
+                    var scriptClass = findMainClass( classes );
+                    if( isNull( scriptClass ) && !classes.isEmpty() ) scriptClass = classes.iterator().next();
+                    if( nonNull( scriptClass ) ) compiledScript = new JavaCompiledScriptImpl( scriptClass );
+                }
+                retValue.put( name, new JavaCompilationResult( name, compiledScript, batch.diagnostics().getOrDefault( name, List.of() ) ) );
+            }
+        }
+        catch( final ClassNotFoundException | IOException e )
+        {
+            throw new ScriptException( e );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileAll()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final CompletableFuture<JavaCompiledScript> compileAsync( final String script )
+    {
+        final var retValue = compileAsync( script, CompileExecutorHolder.m_Executor );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileAsync()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @SuppressWarnings( "unchecked" )
+    @Override
+    public final JavaExpression compileExpression( final String expression ) throws ScriptException
+    {
+        final var sourcePath = getSourcePath( context );
+        final var classPath = getClassPath( context );
+        final var options = getCompileProfile( context ).getOptions();
+        final var parentLoader = getParentLoader( context );
+        final var key = new ExpressionKey( requireNonNull( expression, "expression" ), sourcePath, classPath, options, parentLoader );
+        JavaExpression retValue;
+        synchronized( m_Expressions )
+        {
+            retValue = m_Expressions.get( key );
+        }
+
+        if( isNull( retValue ) )
+        {
+            final var template = ExpressionTemplate.parse( expression );
+            final var normalisedKey = new ExpressionKey( template.text(), sourcePath, classPath, options, parentLoader );
+            synchronized( m_Expressions )
+            {
+                retValue = m_Expressions.get( normalisedKey );
+            }
+            if( isNull( retValue ) )
+            {
+                final Function<Object [],Object> evaluator = compileFunction( Function.class, ExpressionTemplate.TARGET_TYPE, template.script() );
+                retValue = new JavaExpression( template.text(), template.parameterNames(), evaluator );
+            }
+            synchronized( m_Expressions )
+            {
+                m_Expressions.put( normalisedKey, retValue );
+                m_Expressions.put( key, retValue );
+            }
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileExpression()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final CompletableFuture<JavaCompiledScript> compileAsync( final String script, final Executor executor )
+    {
+        requireNonNullArgument( script, "script" );
+        requireNonNullArgument( executor, "executor" );
+
+        /*
+         * The settings are taken from the context that is current now, not
+         * from the one at the time of the compilation.
+         */
+        final var scriptContext = context;
+
+        final var retValue = new CompletableFuture<JavaCompiledScript>();
+        try
+        {
+            executor.execute( () ->
+            {
+                //---* Skip the compilation if the future was cancelled *------
+                if( !retValue.isDone() )
+                {
+                    try
+                    {
+                        retValue.complete( compile( script, scriptContext ) );
+                    }
+                    catch( final Throwable t )
+                    {
+                        retValue.completeExceptionally( t );
+                    }
+                }
+            } );
+        }
+        catch( final RejectedExecutionException e )
+        {
+            retValue.completeExceptionally( e );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileAsync()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final <T> T compileFunction( final Class<T> functionalInterface, final String script ) throws ScriptException
+    {
+        final var retValue = compileFunction( functionalInterface, FunctionAdapter.getTargetType( functionalInterface ), script );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileFunction()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final <T> T compileFunction( final Class<T> functionalInterface, final String targetType, final String script ) throws ScriptException
+    {
+        FunctionAdapter.requireFunctionalInterface( functionalInterface );
+        final var source = FunctionAdapter.createSource( targetType, script );
+        final var scriptContext = context;
+        final var adapterClass = parse( source, scriptContext, FunctionAdapter.FILE_NAME, FunctionAdapter.CLASS_NAME, false );
+        if( isNull( adapterClass ) ) throw new ScriptException( "The adapter class for the function could not be loaded" );
+
+        final T retValue;
+        try
+        {
+            final var function = ScriptMethods.invokeStatic( adapterClass, FunctionAdapter.FACTORY_METHOD, scriptContext );
+            if( !functionalInterface.isInstance( function ) )
+            {
+                throw new ScriptException( "The script does not provide an instance of '%1$s'; check the parent class loader".formatted( functionalInterface.getName() ) );
+            }
+            retValue = functionalInterface.cast( function );
+        }
+        catch( final ScriptException e ) { throw e; }
+        catch( final Throwable t ) { throw toScriptException( t ); }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileFunction()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final JavaScriptProject createProject() { return new JavaScriptProjectImpl( this ); }
+
+    /**
+     *  Implements
+     *  {@link javax.script.Invocable#getInterface(Class)}:
+     *  if the script class implements the given interface, a new instance
+     *  of it will be created with its constructor without arguments.
+     *
+     *  @param  <T> The type of the interface.
+     *  @param  scriptClass The script class; may be {@code null}.
+     *  @param  clasz   The interface.
+     *  @return The new instance, or {@code null} if the script class does
+     *      not implement the interface, or if it cannot be instantiated.
+     *  @throws IllegalArgumentException    {@code clasz} is {@code null},
+     *      or it is not an interface.
+     */
+    private static <T> T createInterface( final Class<?> scriptClass, final Class<T> clasz ) throws IllegalArgumentException
+    {
+        if( !requireNonNullArgument( clasz, "clasz" ).isInterface() ) throw new IllegalArgumentException( "'%1$s' is not an interface".formatted( clasz.getName() ) );
+
+        T retValue = null;
+        if( nonNull( scriptClass ) && clasz.isAssignableFrom( scriptClass ) )
+        {
+            try
+            {
+                retValue = clasz.cast( ScriptMethods.newInstance( scriptClass ) );
+            }
+            catch( final NoSuchMethodException ignored ) { /* The script class cannot be instantiated */ }
+            catch( final RuntimeException | Error e ) { throw e; }
+            catch( final Throwable t ) { throw new UndeclaredThrowableException( t ); }
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  createInterface()
+
     /**
      *  {@inheritDoc}
      *
@@ -211,78 +704,96 @@ public final class JavaEngineImpl extends ScriptEngineBase implements JavaEngine
     public final Object eval( final String script, final ScriptContext scriptContext ) throws ScriptException
     {
         final var scriptClass = parse( requireNonNull( script, "script" ), requireNonNull( scriptContext, "scriptContext" ) );
-        final var retValue = evalClass( scriptClass, scriptContext );
+        final var retValue = evalClass( isNull( scriptClass ) ? null : ScriptEntryPoints.forClass( scriptClass ), scriptContext );
+        if( nonNull( scriptClass ) ) m_CurrentScriptClass = scriptClass;
 
         //---* Done *----------------------------------------------------------
         return retValue;
     }   //  eval()
 
     /**
-     *  Executes the code defined in the Java class that makes up this script.
+     *  Executes the code defined in the Java class that makes up this script,
+     *  through the previously resolved entry points of that class.
      *
-     *  @param  scriptClass The script class; may be {@code null}.
+     *  @param  entryPoints The entry points of the script class; may be
+     *      {@code null}.
      *  @param  context The script context.
-     *  @return The script class; if the {@code scriptClass} is
-     *      {@code null}, the return value is {@code null}, too.
+     *  @return The value that was returned by the entry point of the script
+     *      class, if that is not {@code void}, otherwise the script class
+     *      itself; if the {@code entryPoints} are {@code null}, the return
+     *      value is {@code null}, too.
      *  @throws ScriptException The script throws an exception.
      */
-    private static final Object evalClass( final Class<?> scriptClass, final ScriptContext context ) throws ScriptException
+    private static final Object evalClass( final ScriptEntryPoints entryPoints, final ScriptContext context ) throws ScriptException
     {
         //---* As required by JSR-223 *----------------------------------------
         context.setAttribute( "context", requireNonNull( context, "context" ), ENGINE_SCOPE );
 
-        @SuppressWarnings( "UnnecessaryLocalVariable" )
-        final var retValue = scriptClass;
-        if( nonNull( retValue ) )
+        Object retValue = null;
+        if( nonNull( entryPoints ) )
         {
+            final var scriptClass = entryPoints.scriptClass();
+            m_Evaluations.record();
+            final var event = new EvaluationEvent();
+            Throwable failure = null;
+            event.begin();
+            final var previousContext = ScriptContextHolder.bind( context );
             try
             {
-                final var isPublicClass = isPublic( retValue.getModifiers() );
+                //---* Call setScriptContext() and pass current context *------
+                entryPoints.invokeSetScriptContext( context );
 
-                //---* Find the setScriptContext() method *--------------------
-                final var setContextMethod = findSetScriptContextMethod( retValue );
+                //---* Fill the binding slots *--------------------------------
+                entryPoints.injectBindings( context );
 
-                //---* Call setScriptContext() and pass current context *------
-                if( nonNull( setContextMethod ) )
-                {
-                    if( !isPublicClass )
-                    {
-                        //---* Try to relax access *---------------------------
-                        setContextMethod.setAccessible( true );
-                    }
-                    setContextMethod.invoke( null, context );
-                }
+                //---* Call the entry point *----------------------------------
+                final var result = entryPoints.invokeEntryPoint( getArguments( context ) );
+                retValue = entryPoints.returnsValue() ? result : scriptClass;
+            }
+            catch( final Throwable t )
+            {
+                failure = t;
+                throw toScriptException( t );
+            }
+            finally
+            {
+                ScriptContextHolder.restore( previousContext );
 
-                //---* Find the main() method *--------------------------------
-                final var mainMethod = findMainMethod( retValue );
-                if( nonNull( mainMethod ) )
+                //---* Report the evaluation to the Flight Recorder *----------
+                event.end();
+                if( event.shouldCommit() )
                 {
-                    if( !isPublicClass )
+                    event.m_ScriptClass = scriptClass;
+                    if( nonNull( failure ) )
                     {
-                        //---* Try to relax access *---------------------------
-                        mainMethod.setAccessible( true );
+                        event.m_ExceptionClass = failure.getClass();
+                        event.m_ExceptionMessage = failure.getMessage();
                     }
-
-                    //---* Get the command line arguments for main *-----------
-                    final var args = getArguments( context );
-
-                    //---* Call the main method *------------------------------
-                    mainMethod.invoke( null, new Object [] {args} );
+                    event.commit();
                 }
             }
-            catch( final IllegalAccessException | InvocationTargetException e )
-            {
-                throw new ScriptException( e );
-            }
         }
 
         //---* Done *----------------------------------------------------------
         return retValue;
     }   //  evalClass()
 
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final Object evalExpression( final String expression, final Bindings bindings ) throws ScriptException
+    {
+        final var retValue = compileExpression( expression ).evaluate( requireNonNull( bindings, "bindings" ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  evalExpression()
+
     /**
      *  Looks up the main class from the given list of classes. The main class
-     *  is that one that has a method {@code main(String[])}.
+     *  is that one that has an entry point, as defined by
+     *  {@link ScriptEntryPoints#findEntryPointMethod(Class)}.
      *
      *  @param  classes The candidates.
      *  @return The main class, or {@code null} if none could be found.
@@ -291,13 +802,13 @@ public final class JavaEngineImpl extends ScriptEngineBase implements JavaEngine
     {
         Class<?> retValue = null;
 
-        //---* Find a public class with main() *-------------------------------
+        //---* Find a public class with an entry point *----------------------
         Method mainMethod;
         SearchPublicLoop: for( final var clazz : requireNonNullArgument( classes, "classes" ) )
         {
             if( isPublic( clazz.getModifiers() ) )
             {
-                mainMethod = findMainMethod( clazz );
+                mainMethod = ScriptEntryPoints.findEntryPointMethod( clazz );
                 if( nonNull( mainMethod ) )
                 {
                     retValue = clazz;
@@ -306,12 +817,12 @@ public final class JavaEngineImpl extends ScriptEngineBase implements JavaEngine
             }
         }   //  SearchPublicLoop:
 
-        if( nonNull( retValue ) )
+        if( isNull( retValue ) )
         {
-            //---* Find a package private class with main() *------------------
+            //---* Find a package private class with an entry point *---------
             SearchPackageLoop: for( final var clazz : classes )
             {
-                mainMethod = findMainMethod( clazz );
+                mainMethod = ScriptEntryPoints.findEntryPointMethod( clazz );
                 if( nonNull( mainMethod ) )
                 {
                     retValue = clazz;
@@ -324,59 +835,6 @@ public final class JavaEngineImpl extends ScriptEngineBase implements JavaEngine
         return retValue;
     }   //  findMainClass()
 
-    /**
-     *  Looks up the method {@code main(String[])} from the script class.
-     *
-     *  @param  clazz   The class to search.
-     *  @return The {@code main()} method, or {@code null} if the class
-     *      does not contain such a method.
-     */
-    private static Method findMainMethod( final Class<?> clazz )
-    {
-        Method retValue = null;
-        try
-        {
-            final var method = requireNonNullArgument( clazz, "clazz" )
-                .getMethod( "main", String [].class );
-            final var modifiers = method.getModifiers();
-            if( isPublic( modifiers ) && isStatic( modifiers ) )
-            {
-                retValue = method;
-            }
-        }
-        catch( final NoSuchMethodException ignored ) { /* The exception will be ignored deliberately */ }
-
-        //---* Done *----------------------------------------------------------
-        return retValue;
-    }   //  findMainMethod()
-
-    /**
-     *  Looks up the method {@code setScriptContext(ScriptContext)} from the
-     *  script call.
-     *
-     *  @param  clazz   The class to search.
-     *  @return The {@code setScriptContext()} method, or {@code null} if
-     *      the class does not contain such a method.
-     */
-    private static Method findSetScriptContextMethod( final Class<?> clazz )
-    {
-        Method retValue = null;
-        try
-        {
-            final var method = requireNonNullArgument( clazz, "clazz" )
-                .getMethod( "setScriptContext", ScriptContext.class );
-            final var modifiers = method.getModifiers();
-            if( isPublic( modifiers ) && isStatic( modifiers ) )
-            {
-                retValue = method;
-            }
-        }
-        catch( final NoSuchMethodException ignored ) { /* The exception will be ignored deliberately */ }
-
-        //---* Done *----------------------------------------------------------
-        return retValue;
-    }   //  findSetScriptContextMethod()
-
     /**
      *  Retrieves the script arguments from the context.
      *
@@ -398,6 +856,20 @@ public final class JavaEngineImpl extends ScriptEngineBase implements JavaEngine
         return retValue;
     }   //  getArguments()
 
+    /**
+     *  Discards the contents of the process-wide in-memory caches: the cache
+     *  for the compiled scripts, the pooled compilation contexts and the
+     *  indexes for the classpaths. Neither the persistent class store nor
+     *  the caches for the compiled expressions of the engine instances are
+     *  affected.
+     */
+    public static final void flushMemoryCaches()
+    {
+        m_ScriptCache.clear();
+        JavaCompiler.getSharedInstance().flushContexts();
+        ClassPathIndex.clear();
+    }   //  flushMemoryCaches()
+
     /**
      *  Retrieves the classpath. First the method will look into the provided
      *  context, and, if no classpath is given there, it will look at the
@@ -410,7 +882,7 @@ public final class JavaEngineImpl extends ScriptEngineBase implements JavaEngine
      *  @see #CLASSPATH
      *  @see #SYSPROP_PREFIX
      */
-    private static String getClassPath( final ScriptContext context )
+    static String getClassPath( final ScriptContext context )
     {
         final var scope = requireNonNull( context, "context" ).getAttributesScope( CLASSPATH );
         String retValue;
@@ -429,6 +901,73 @@ public final class JavaEngineImpl extends ScriptEngineBase implements JavaEngine
         return retValue;
     }   //  getClassPath()
 
+    /**
+     *  Returns the number of threads of the executor for the asynchronous
+     *  compilations.
+     *
+     *  @return The number of threads.
+     */
+    public static final int getCompileExecutorThreads() { return CompileExecutorHolder.m_Executor.getMaximumPoolSize(); }
+
+    /**
+     *  Returns the measurements for the phases of the compilations by the
+     *  compiler that is shared by all engines.
+     *
+     *  @return The statistics.
+     */
+    public static final CompilePhaseStatistics getCompilePhaseStatistics() { return JavaCompiler.getSharedInstance().getPhaseStatistics(); }
+
+    /**
+     *  Retrieves the
+     *  {@linkplain CompileProfile compile profile}
+     *  either from the context or from the system properties.
+     *
+     *  @param  context The script context.
+     *  @return The compile profile; if none is defined,
+     *      {@link CompileProfile#STANDARD}
+     *      will be returned.
+     *  @throws IllegalArgumentException    The value does not name a
+     *      compile profile.
+     *
+     *  @see #COMPILE_PROFILE
+     *  @see #SYSPROP_PREFIX
+     */
+    static CompileProfile getCompileProfile( final ScriptContext context ) throws IllegalArgumentException
+    {
+        final var scope = requireNonNull( context, "context" ).getAttributesScope( COMPILE_PROFILE );
+        @SuppressWarnings( {"ConditionalExpressionWithNegatedCondition", "ConstantExpression"} )
+        final var retValue = CompileProfile.of( scope != -1
+            ? context.getAttribute( COMPILE_PROFILE, scope )
+            : getProperty( SYSPROP_PREFIX + COMPILE_PROFILE ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  getCompileProfile()
+
+    /**
+     *  Returns the statistics for the compiler that is shared by all
+     *  engines.
+     *
+     *  @return The compiler statistics.
+     */
+    public static final CompilerStatistics getCompilerStatistics() { return JavaCompiler.getSharedInstance().getStatistics(); }
+
+    /**
+     *  Returns the number of evaluations of scripts since the start of the
+     *  JVM.
+     *
+     *  @return The number of evaluations.
+     */
+    public static final long getEvaluationCount() { return m_Evaluations.getTotal(); }
+
+    /**
+     *  Returns the number of evaluations of scripts per second, over the
+     *  last minute.
+     *
+     *  @return The evaluation rate.
+     */
+    public static final double getEvaluationRate() { return m_Evaluations.getRate(); }
+
     /**
      *  {@inheritDoc}
      *
@@ -479,7 +1018,7 @@ public final class JavaEngineImpl extends ScriptEngineBase implements JavaEngine
      *  @see #MAINCLASS
      *  @see #SYSPROP_PREFIX
      */
-    private static String getMainClassName( final ScriptContext context )
+    static String getMainClassName( final ScriptContext context )
     {
         final var scope = requireNonNull( context, "context" ).getAttributesScope( MAINCLASS );
         @SuppressWarnings( {"ConditionalExpressionWithNegatedCondition", "ConstantExpression"} )
@@ -497,13 +1036,14 @@ public final class JavaEngineImpl extends ScriptEngineBase implements JavaEngine
      *  from the provided context.
      *
      *  @param  context The script context.
-     *  @return The parent classloader for the script, or {@code null} if
-     *      none was defined in the context.
+     *  @return The parent classloader for the script; if none was defined
+     *      in the context, this is the
+     *      {@linkplain ClassLoader#getPlatformClassLoader() platform class loader}.
      */
-    private static ClassLoader getParentLoader( final ScriptContext context )
+    static ClassLoader getParentLoader( final ScriptContext context )
     {
         final var scope = requireNonNull( context, "context" ).getAttributesScope( PARENTLOADER );
-        ClassLoader retValue = null;
+        var retValue = ClassLoader.getPlatformClassLoader();
         if( scope != -1 )
         {
             final var loader = context.getAttribute( PARENTLOADER, scope );
@@ -517,6 +1057,39 @@ public final class JavaEngineImpl extends ScriptEngineBase implements JavaEngine
         return retValue;
     }   //  getParentLoader()
 
+    /**
+     *  Retrieves the flag for sharing the compiled scripts with other
+     *  engines, either from the provided context or from the system
+     *  properties.
+     *
+     *  @param  context The script context.
+     *  @return {@code true} if the compiled scripts are shared (the
+     *      default), {@code false} otherwise.
+     *
+     *  @see #SHARE_COMPILED_SCRIPTS
+     *  @see #SYSPROP_PREFIX
+     */
+    static boolean isSharingScripts( final ScriptContext context )
+    {
+        final var scope = requireNonNull( context, "context" ).getAttributesScope( SHARE_COMPILED_SCRIPTS );
+        @SuppressWarnings( {"ConditionalExpressionWithNegatedCondition", "ConstantExpression"} )
+        final var value = scope != -1
+            ? context.getAttribute( SHARE_COMPILED_SCRIPTS, scope )
+            : getProperty( SYSPROP_PREFIX + SHARE_COMPILED_SCRIPTS );
+        final var retValue = isNull( value ) || Boolean.parseBoolean( value.toString() );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  isSharingScripts()
+
+    /**
+     *  Returns the statistics for the process-wide cache of compiled
+     *  scripts.
+     *
+     *  @return The cache statistics.
+     */
+    public static final CacheStatistics getScriptCacheStatistics() { return m_ScriptCache.getStatistics(); }
+
     /**
      *  Retrieves the sourcepath either from the context or from the system
      *  properties.
@@ -527,7 +1100,7 @@ public final class JavaEngineImpl extends ScriptEngineBase implements JavaEngine
      *  @see #SOURCEPATH
      *  @see #SYSPROP_PREFIX
      */
-    private static String getSourcePath( final ScriptContext context )
+    static String getSourcePath( final ScriptContext context )
     {
         final var scope = requireNonNull( context, "context" ).getAttributesScope( SOURCEPATH );
         @SuppressWarnings( {"ConditionalExpressionWithNegatedCondition", "ConstantExpression"} )
@@ -540,43 +1113,142 @@ public final class JavaEngineImpl extends ScriptEngineBase implements JavaEngine
     }   //  getSourcePath()
 
     /**
-     *  Parses and translates the provided script (a Java source in this case)
-     *  and returns the resulting class.
+     *  {@inheritDoc}
      *
-     *  @param  script  The script source.
-     *  @param  scriptContext   The script context.
-     *  @return The class that is used to start the script, or
-     *      {@code null} if that could not be found.
-     *  @throws ScriptException The script could not be successfully parsed.
+     *  @see javax.script.Invocable#getInterface(Class)
      */
-    private Class<?> parse( final String script, final ScriptContext scriptContext ) throws ScriptException
+    @Override
+    public final <T> T getInterface( final Class<T> clasz ) { return createInterface( m_CurrentScriptClass, clasz ); }
+
+    /**
+     *  {@inheritDoc}
+     *
+     *  @see javax.script.Invocable#getInterface(Object, Class)
+     */
+    @Override
+    public final <T> T getInterface( final Object thiz, final Class<T> clasz ) { return castInterface( thiz, clasz ); }
+
+    /**
+     *  {@inheritDoc}
+     *
+     *  @see javax.script.Invocable#invokeFunction(String, Object...)
+     */
+    @Override
+    public final Object invokeFunction( final String name, final Object... args ) throws ScriptException, NoSuchMethodException
     {
-        final var fileName = getFileName( requireNonNull( scriptContext, "scriptContext" ) );
-        final var sourcePath = getSourcePath( scriptContext );
-        final var classPath = getClassPath( scriptContext );
+        final var scriptClass = m_CurrentScriptClass;
+        if( isNull( scriptClass ) ) throw new NoSuchMethodException( "No script was evaluated yet; cannot call '%1$s()'".formatted( requireNonNull( name, "name" ) ) );
+        final var retValue = invokeScriptMethod( scriptClass, null, getContext(), name, args );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  invokeFunction()
+
+    /**
+     *  {@inheritDoc}
+     *
+     *  @see javax.script.Invocable#invokeMethod(Object, String, Object...)
+     */
+    @Override
+    public final Object invokeMethod( final Object thiz, final String name, final Object... args ) throws ScriptException, NoSuchMethodException
+    {
+        final var retValue = invokeScriptMethod( null, requireNonNullArgument( thiz, "thiz" ), getContext(), name, args );
 
-        final var classBytes = m_Compiler.compile( fileName, requireNonNull( script, "script" ), scriptContext.getErrorWriter(), sourcePath, classPath );
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  invokeMethod()
 
-        if( isNull( classBytes ) || classBytes.isEmpty() )
+    /**
+     *  Calls a method of a script, either a static method of the script
+     *  class, or an instance method of the given object.
+     *
+     *  @param  scriptClass The script class; ignored if {@code receiver} is
+     *      not {@code null}.
+     *  @param  receiver    The object for an instance method, or
+     *      {@code null} for a static method.
+     *  @param  context The script context that is bound to the current
+     *      thread for the duration of the call.
+     *  @param  name    The name of the method.
+     *  @param  args    The arguments.
+     *  @return The return value of the method; {@code null} for a
+     *      {@code void} method.
+     *  @throws ScriptException The method failed.
+     *  @throws NoSuchMethodException   There is no method with the given
+     *      name that accepts the given arguments.
+     */
+    private static Object invokeScriptMethod( final Class<?> scriptClass, final Object receiver, final ScriptContext context, final String name, final Object... args ) throws ScriptException, NoSuchMethodException
+    {
+        requireNonNull( name, "name" );
+        final Object retValue;
+        final var previousContext = ScriptContextHolder.bind( context );
+        try
         {
-            throw new ScriptException( "The compilation of '%1$s' has failed".formatted( fileName ) );
+            retValue = isNull( receiver ) ? ScriptMethods.invokeStatic( scriptClass, name, args ) : ScriptMethods.invokeVirtual( receiver, name, args );
         }
+        catch( final NoSuchMethodException e ) { throw e; }
+        catch( final Throwable t ) { throw toScriptException( t ); }
+        finally
+        {
+            ScriptContextHolder.restore( previousContext );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  invokeScriptMethod()
+
+    /**
+     *  Loads the compiled classes and determines the main class for the
+     *  script.
+     *
+     *  @param  classBytes  The byte code for the classes.
+     *  @param  classPath   The classpath; can be {@code null}.
+     *  @param  mainClassName   The name of the main class; can be
+     *      {@code null}.
+     *  @param  parentLoader    The parent class loader; can be
+     *      {@code null}.
+     *  @return The class that is used to start the script, or
+     *      {@code null} if that could not be found.
+     *  @throws ScriptException The classes could not be loaded.
+     */
+    static final Class<?> loadScriptClass( final Map<String,ByteBuffer> classBytes, final String classPath, final String mainClassName, final ClassLoader parentLoader ) throws ScriptException
+    {
+        final var retValue = loadScriptClass( classBytes, classPath, mainClassName, parentLoader, true );
 
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  loadScriptClass()
+
+    /**
+     *  Loads the compiled classes and determines the main class for the
+     *  script.
+     *
+     *  @param  classBytes  The byte code for the classes.
+     *  @param  classPath   The classpath; can be {@code null}.
+     *  @param  mainClassName   The name of the main class; can be
+     *      {@code null}.
+     *  @param  parentLoader    The parent class loader; can be
+     *      {@code null}.
+     *  @param  requireMain {@code true} if the explicitly named main class
+     *      must have a method {@code main()}, {@code false} if not.
+     *  @return The class that is used to start the script, or
+     *      {@code null} if that could not be found.
+     *  @throws ScriptException The classes could not be loaded.
+     */
+    private static final Class<?> loadScriptClass( final Map<String,ByteBuffer> classBytes, final String classPath, final String mainClassName, final ClassLoader parentLoader, final boolean requireMain ) throws ScriptException
+    {
         /*
          * Create a ClassLoader to load classes from MemoryJavaFileManager.
          */
         Class<?> retValue;
-        try( final var loader = new MemoryClassLoader( classBytes, classPath, getParentLoader( scriptContext ) ) )
+        try( final var loader = MemoryClassLoader.fromBuffers( classBytes, classPath, parentLoader ) )
         {
             //---* Determine the main class *----------------------------------
-            final var mainClassName = getMainClassName( scriptContext );
             if( nonNull( mainClassName ) )
             {
                 retValue = loader.loadClass( mainClassName );
-                final var mainMethod = findMainMethod( retValue );
-                if( isNull( mainMethod ) )
+                if( requireMain && isNull( ScriptEntryPoints.findEntryPointMethod( retValue ) ) )
                 {
-                    throw new ScriptException( "The class '%1$s' does not define the method 'main()'".formatted( mainClassName ) );
+                    throw new ScriptException( "The class '%1$s' does not define an entry point; neither 'main()', nor a non-void 'run()' or 'call()'".formatted( mainClassName ) );
                 }
             }
             else
@@ -608,9 +1280,195 @@ public final class JavaEngineImpl extends ScriptEngineBase implements JavaEngine
             throw new ScriptException( e );
         }
 
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  loadScriptClass()
+
+    /**
+     *  Parses and translates the provided script (a Java source in this case)
+     *  and returns the resulting class.<br>
+     *  <br>If the same script was already compiled before by this engine
+     *  (or, if sharing is enabled, by another engine that shares its
+     *  scripts) with the same settings, the class will be taken from the
+     *  process-wide cache without invoking the compiler. If the process-wide cache does not
+     *  have the class, but a persistent class store is configured, the
+     *  classes will be defined from the byte code in that store. Failures
+     *  when reading from or writing to the store will be logged, but they do
+     *  not let the compilation fail.
+     *
+     *  @param  script  The script source.
+     *  @param  scriptContext   The script context.
+     *  @return The class that is used to start the script, or
+     *      {@code null} if that could not be found.
+     *  @throws ScriptException The script could not be successfully parsed.
+     */
+    private Class<?> parse( final String script, final ScriptContext scriptContext ) throws ScriptException
+    {
+        final var retValue = parse( requireNonNull( script, "script" ), requireNonNull( scriptContext, "scriptContext" ), getFileName( scriptContext ), getMainClassName( scriptContext ), true );
+
         //---* Done *----------------------------------------------------------
         return retValue;
     }   //  parse()
+
+    /**
+     *  Compiles the given script with the given file name and main class,
+     *  and the other settings from the given context, and loads the
+     *  resulting classes.
+     *
+     *  @param  script  The script.
+     *  @param  scriptContext   The script context.
+     *  @param  fileName    The file name for the script.
+     *  @param  mainClassName   The name of the main class; may be
+     *      {@code null}.
+     *  @param  requireMain {@code true} if the explicitly named main class
+     *      must have a method {@code main()}, {@code false} if not.
+     *  @return The main class of the script; can be {@code null}.
+     *  @throws ScriptException The script could not be compiled.
+     */
+    private Class<?> parse( final String script, final ScriptContext scriptContext, final String fileName, final String mainClassName, final boolean requireMain ) throws ScriptException
+    {
+        final var sourcePath = getSourcePath( scriptContext );
+        final var classPath = getClassPath( scriptContext );
+        final var parentLoader = getParentLoader( scriptContext );
+        final var profile = getCompileProfile( scriptContext );
+
+        //---* Look into the cache *-------------------------------------------
+        Class<?> retValue = null;
+        String fingerprint = null;
+        CompiledScriptCache.Key cacheKey = null;
+        if( m_ScriptCache.isEnabled() || nonNull( m_ClassStore ) )
+        {
+            fingerprint = m_ScriptCache.getFingerprint( fileName, script, profile.getOptions(), sourcePath, classPath );
+        }
+        if( m_ScriptCache.isEnabled() )
+        {
+            cacheKey = new CompiledScriptCache.Key( fingerprint, mainClassName, parentLoader, isSharingScripts( scriptContext ) ? null : this );
+            retValue = m_ScriptCache.get( cacheKey );
+        }
+
+        if( isNull( retValue ) )
+        {
+            //---* Look into the persistent store *----------------------------
+            Map<String,ByteBuffer> classBuffers = null;
+            if( nonNull( m_ClassStore ) )
+            {
+                try
+                {
+                    classBuffers = m_ClassStore.lookup( fingerprint );
+                }
+                catch( final IOException | RuntimeException e )
+                {
+                    /*
+                     * The store is an optimisation only; if it cannot be
+                     * read, the script will be compiled as if the store would
+                     * not have the byte code.
+                     */
+                    getLogger( JavaEngineImpl.class.getName() ).log( WARNING, "Unable to read from the class store; '%1$s' will be compiled".formatted( fileName ), e );
+                }
+            }
+
+            if( isNull( classBuffers ) )
+            {
+                final var classBytes = m_Compiler.compile( fileName, script, scriptContext.getErrorWriter(), sourcePath, classPath, profile );
+
+                if( isNull( classBytes ) || classBytes.isEmpty() )
+                {
+                    throw new ScriptException( "The compilation of '%1$s' has failed".formatted( fileName ) );
+                }
+
+                if( nonNull( m_ClassStore ) )
+                {
+                    try
+                    {
+                        m_ClassStore.store( fingerprint, classBytes );
+                    }
+                    catch( final IOException | RuntimeException e )
+                    {
+                        //---* The byte code will not be persisted this time *---
+                        getLogger( JavaEngineImpl.class.getName() ).log( WARNING, "Unable to write the byte code for '%1$s' to the class store".formatted( fileName ), e );
+                    }
+                }
+
+                classBuffers = new HashMap<>();
+                for( final var entry : classBytes.entrySet() )
+                {
+                    classBuffers.put( entry.getKey(), ByteBuffer.wrap( entry.getValue() ) );
+                }
+            }
+
+            retValue = loadScriptClass( classBuffers, classPath, mainClassName, parentLoader, requireMain );
+
+            //---* Keep the result for the next time *-------------------------
+            if( nonNull( cacheKey ) && nonNull( retValue ) ) m_ScriptCache.put( cacheKey, retValue );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  parse()
+
+    /**
+     *  Sets the number of threads of the executor for the asynchronous
+     *  compilations.
+     *
+     *  @param  threads The number of threads; must be greater than 0.
+     */
+    public static final void setCompileExecutorThreads( final int threads )
+    {
+        requireValidIntegerArgument( threads, "threads", v -> v > 0 );
+        final var executor = CompileExecutorHolder.m_Executor;
+        synchronized( executor )
+        {
+            /*
+             * The core pool size may not exceed the maximum pool size at any
+             * time, therefore the order of the calls depends on the
+             * direction of the change.
+             */
+            if( threads > executor.getMaximumPoolSize() )
+            {
+                executor.setMaximumPoolSize( threads );
+                executor.setCorePoolSize( threads );
+            }
+            else
+            {
+                executor.setCorePoolSize( threads );
+                executor.setMaximumPoolSize( threads );
+            }
+        }
+    }   //  setCompileExecutorThreads()
+
+    /**
+     *  Wraps the given exception that was thrown by a script into an
+     *  instance of
+     *  {@link ScriptException}.
+     *
+     *  @param  t   The exception.
+     *  @return The script exception, with the given exception as the
+     *      cause.
+     */
+    private static ScriptException toScriptException( final Throwable t )
+    {
+        final ScriptException retValue;
+        if( t instanceof final Exception e )
+        {
+            retValue = new ScriptException( e );
+        }
+        else
+        {
+            retValue = new ScriptException( t.toString() );
+            retValue.initCause( t );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  toScriptException()
+
+    /**
+     *  Starts the warm-up of the shared compiler on a background thread, if
+     *  it was not started before.
+     *
+     *  @return The result of the warm-up.
+     */
+    public static final CompletableFuture<Duration> warmUp() { return CompilerWarmUp.start(); }
 }
 //  class JavaEngine
 
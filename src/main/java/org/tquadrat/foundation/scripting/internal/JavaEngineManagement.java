@@ -0,0 +1,200 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static java.lang.System.Logger.Level.WARNING;
+import static java.lang.System.getLogger;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.scripting.java.JavaEngineMXBean;
+
+/**
+ *  The implementation of
+ *  {@link JavaEngineMXBean};
+ *  it reads the counters from the shared compiler, the cache for the
+ *  compiled scripts and
+ *  {@link MemoryClassLoader}
+ *  on each access, so it does not keep any state of its own.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: JavaEngineManagement.java 1098 2026-10-16 19:37:15Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: JavaEngineManagement.java 1098 2026-10-16 19:37:15Z tquadrat $" )
+@API( status = INTERNAL, since = "0.5.0" )
+public final class JavaEngineManagement implements JavaEngineMXBean
+{
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code JavaEngineManagement} instance.
+     */
+    private JavaEngineManagement() { /* Just exists */ }
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final void flushMemoryCaches() { JavaEngineImpl.flushMemoryCaches(); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final long getCacheEvictionCount() { return JavaEngineImpl.getScriptCacheStatistics().evictions(); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final long getCacheHitCount() { return JavaEngineImpl.getScriptCacheStatistics().hits(); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final long getCacheMissCount() { return JavaEngineImpl.getScriptCacheStatistics().misses(); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final int getCacheSize() { return JavaEngineImpl.getScriptCacheStatistics().size(); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final long getCompilationCount() { return JavaEngineImpl.getCompilerStatistics().compilations(); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final long getCompilationFailureCount() { return JavaEngineImpl.getCompilerStatistics().failures(); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final int getCompileExecutorThreads() { return JavaEngineImpl.getCompileExecutorThreads(); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final int getCompilerThreads() { return JavaCompiler.getSharedInstance().getParallelism(); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final long getCompileTimeMaxMillis() { return JavaEngineImpl.getCompilerStatistics().maxTime().toMillis(); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final long getCompileTimeTotalMillis() { return JavaEngineImpl.getCompilerStatistics().totalTime().toMillis(); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final long getDefinedByteCodeBytes() { return MemoryClassLoader.getDefinedByteCodeSize(); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final long getDefinedClassCount() { return MemoryClassLoader.getDefinedClassCount(); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final long getEvaluationCount() { return JavaEngineImpl.getEvaluationCount(); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final double getEvaluationsPerSecond() { return JavaEngineImpl.getEvaluationRate(); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final long getLiveClassLoaderCount() { return MemoryClassLoader.getLiveInstanceCount(); }
+
+    /**
+     *  Registers an instance of {@code JavaEngineManagement} with the
+     *  platform MBean server. If there is already an MBean with the name
+     *  {@value JavaEngineMXBean#OBJECT_NAME},
+     *  the call does nothing; other problems are logged, but they will not
+     *  prevent the use of the engine.
+     */
+    public static final void register()
+    {
+        try
+        {
+            ManagementFactory.getPlatformMBeanServer().registerMBean( new JavaEngineManagement(), new ObjectName( OBJECT_NAME ) );
+        }
+        catch( @SuppressWarnings( "unused" ) final InstanceAlreadyExistsException e )
+        {
+            /*
+             * Deliberately ignored; another class loader has loaded the
+             * engine already and registered its MXBean.
+             */
+        }
+        catch( final JMException | SecurityException e )
+        {
+            getLogger( JavaEngineManagement.class.getName() ).log( WARNING, "Unable to register the MXBean '%1$s'".formatted( OBJECT_NAME ), e );
+        }
+    }   //  register()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final void setCompileExecutorThreads( final int threads ) { JavaEngineImpl.setCompileExecutorThreads( threads ); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final void setCompilerThreads( final int threads ) { JavaCompiler.getSharedInstance().setParallelism( threads ); }
+}
+//  class JavaEngineManagement
+
+/*
+ *  End of File
+ */
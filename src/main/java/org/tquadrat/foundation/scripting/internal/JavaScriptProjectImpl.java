@@ -0,0 +1,414 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.lang.Objects.isNull;
+import static org.tquadrat.foundation.lang.Objects.nonNull;
+import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
+import static org.tquadrat.foundation.lang.Objects.requireNotEmptyArgument;
+
+import javax.script.ScriptException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.scripting.java.CompileProfile;
+import org.tquadrat.foundation.scripting.java.JavaCompiledScript;
+import org.tquadrat.foundation.scripting.java.JavaScriptProject;
+
+/**
+ *  The implementation of
+ *  {@link JavaScriptProject}.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: JavaScriptProjectImpl.java 1110 2026-10-17 11:40:27Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: JavaScriptProjectImpl.java 1110 2026-10-17 11:40:27Z tquadrat $" )
+@API( status = INTERNAL, since = "0.5.0" )
+public final class JavaScriptProjectImpl implements JavaScriptProject
+{
+        /*---------------*\
+    ====** Inner Classes **====================================================
+        \*---------------*/
+    /**
+     *  The state of a single source unit of the project.
+     *
+     *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: JavaScriptProjectImpl.java 1110 2026-10-17 11:40:27Z tquadrat $
+     *  @since 0.5.0
+     *
+     *  @UMLGraph.link
+     */
+    @ClassVersion( sourceVersion = "$Id: JavaScriptProjectImpl.java 1110 2026-10-17 11:40:27Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.5.0" )
+    private static final class Unit
+    {
+            /*------------*\
+        ====** Attributes **===================================================
+            \*------------*/
+        /**
+         *  The byte code for the classes of this unit, from the last
+         *  successful compilation.
+         */
+        Map<String,byte []> m_Classes = Map.of();
+
+        /**
+         *  The file names of the units that this unit depends on.
+         */
+        Set<String> m_Dependencies = Set.of();
+
+        /**
+         *  The flag that indicates whether the unit has to be compiled with
+         *  the next build.
+         */
+        boolean m_IsDirty = true;
+
+        /**
+         *  The source.
+         */
+        String m_Source;
+
+            /*--------------*\
+        ====** Constructors **=================================================
+            \*--------------*/
+        /**
+         *  Creates a new {@code Unit} instance.
+         *
+         *  @param  source  The source.
+         */
+        Unit( final String source ) { m_Source = source; }
+    }
+    //  class Unit
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The classpath for the last build.
+     */
+    private String m_ClassPath;
+
+    /**
+     *  The engine that created this project.
+     */
+    @SuppressWarnings( "UseOfConcreteClass" )
+    private final JavaEngineImpl m_Engine;
+
+    /**
+     *  The flag that indicates whether units were removed since the last
+     *  build; the script from that build has to be reloaded then, as its
+     *  class loader still contains the classes of the removed units.
+     */
+    private boolean m_IsStale = false;
+
+    /**
+     *  The name of the main class for the last build.
+     */
+    private String m_MainClassName;
+
+    /**
+     *  The parent class loader for the last build.
+     */
+    private ClassLoader m_ParentLoader;
+
+    /**
+     *  The compile profile for the last build.
+     */
+    private CompileProfile m_Profile;
+
+    /**
+     *  The file names of the units that were compiled by the last build.
+     */
+    private Set<String> m_Recompiled = Set.of();
+
+    /**
+     *  The script from the last build; {@code null} if the project was not
+     *  built yet.
+     */
+    private JavaCompiledScript m_Script;
+
+    /**
+     *  The source path for the last build.
+     */
+    private String m_SourcePath;
+
+    /**
+     *  The units of this project, with the file names as the keys.
+     */
+    private final Map<String,Unit> m_Units = new LinkedHashMap<>();
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code JavaScriptProjectImpl} instance.
+     *
+     *  @param  engine  The engine that compiles the project.
+     */
+    @SuppressWarnings( "UseOfConcreteClass" )
+    public JavaScriptProjectImpl( final JavaEngineImpl engine )
+    {
+        m_Engine = requireNonNullArgument( engine, "engine" );
+    }   //  JavaScriptProjectImpl()
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final synchronized JavaCompiledScript build() throws ScriptException
+    {
+        if( m_Units.isEmpty() ) throw new ScriptException( "The project does not contain any source" );
+
+        final var context = m_Engine.getContext();
+        final var classPath = JavaEngineImpl.getClassPath( context );
+        final var sourcePath = JavaEngineImpl.getSourcePath( context );
+        final var mainClassName = JavaEngineImpl.getMainClassName( context );
+        final var parentLoader = JavaEngineImpl.getParentLoader( context );
+        final var profile = JavaEngineImpl.getCompileProfile( context );
+
+        //---* Changed settings require the compilation of all units *---------
+        if( !Objects.equals( classPath, m_ClassPath ) || !Objects.equals( sourcePath, m_SourcePath ) || (profile != m_Profile) )
+        {
+            m_Units.values().forEach( unit -> unit.m_IsDirty = true );
+        }
+
+        //---* Determine the units that have to be compiled *------------------
+        final Set<String> dirtyUnits = new LinkedHashSet<>();
+        m_Units.forEach( (name, unit) -> { if( unit.m_IsDirty ) dirtyUnits.add( name ); } );
+        var hasChanged = !dirtyUnits.isEmpty();
+        while( hasChanged )
+        {
+            hasChanged = false;
+            for( final var entry : m_Units.entrySet() )
+            {
+                if( !dirtyUnits.contains( entry.getKey() ) && entry.getValue().m_Dependencies.stream().anyMatch( dirtyUnits::contains ) )
+                {
+                    dirtyUnits.add( entry.getKey() );
+                    hasChanged = true;
+                }
+            }
+        }
+
+        var retValue = m_Script;
+        if( isNull( retValue ) || m_IsStale || !dirtyUnits.isEmpty() || !Objects.equals( mainClassName, m_MainClassName ) || (parentLoader != m_ParentLoader) )
+        {
+            if( !dirtyUnits.isEmpty() )
+            {
+                //---* Compile the dirty units against the others *------------
+                final Map<String,String> sources = new LinkedHashMap<>();
+                final Map<String,byte []> classInputs = new HashMap<>();
+                m_Units.forEach( (name, unit) ->
+                {
+                    if( dirtyUnits.contains( name ) )
+                    {
+                        sources.put( name, unit.m_Source );
+                    }
+                    else
+                    {
+                        classInputs.putAll( unit.m_Classes );
+                    }
+                } );
+                final var result = JavaCompiler.getSharedInstance().compileIncremental( sources, classInputs, context.getErrorWriter(), sourcePath, classPath, profile );
+                if( isNull( result ) ) throw new ScriptException( "The compilation of the project has failed" );
+
+                for( final var name : dirtyUnits )
+                {
+                    final var unit = m_Units.get( name );
+                    final Map<String,byte []> classes = new HashMap<>();
+                    for( final var className : result.classNames().get( name ) )
+                    {
+                        classes.put( className, result.classBytes().get( className ) );
+                    }
+                    unit.m_Classes = classes;
+                    unit.m_IsDirty = false;
+                }
+                updateDependencies();
+            }
+            m_ClassPath = classPath;
+            m_SourcePath = sourcePath;
+            m_Profile = profile;
+            m_Recompiled = Set.copyOf( dirtyUnits );
+
+            //---* Load the classes of all units *-----------------------------
+            final Map<String,ByteBuffer> classBuffers = new HashMap<>();
+            for( final var unit : m_Units.values() )
+            {
+                unit.m_Classes.forEach( (className, bytes) -> classBuffers.put( className, ByteBuffer.wrap( bytes ) ) );
+            }
+            final var scriptClass = JavaEngineImpl.loadScriptClass( classBuffers, classPath, mainClassName, parentLoader );
+            if( isNull( scriptClass ) ) throw new ScriptException( "A main class could not be determined for the project" );
+            retValue = m_Engine.new JavaCompiledScriptImpl( scriptClass );
+            m_Script = retValue;
+            m_IsStale = false;
+            m_MainClassName = mainClassName;
+            m_ParentLoader = parentLoader;
+        }
+        else
+        {
+            m_Recompiled = Set.of();
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  build()
+
+    /**
+     *  Checks whether the given source contains the given name as a separate
+     *  word.
+     *
+     *  @param  source  The source.
+     *  @param  name    The name.
+     *  @return {@code true} if the source contains the name, {@code false}
+     *      otherwise.
+     */
+    private static final boolean containsName( final String source, final String name )
+    {
+        var retValue = false;
+        var pos = source.indexOf( name );
+        SearchLoop: while( pos >= 0 )
+        {
+            final var end = pos + name.length();
+            if( (pos == 0 || !Character.isJavaIdentifierPart( source.charAt( pos - 1 ) ))
+                && (end == source.length() || !Character.isJavaIdentifierPart( source.charAt( end ) )) )
+            {
+                retValue = true;
+                break SearchLoop;
+            }
+            pos = source.indexOf( name, pos + 1 );
+        }   //  SearchLoop:
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  containsName()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final synchronized Set<String> getFileNames() { return Set.copyOf( m_Units.keySet() ); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final synchronized Set<String> getRecompiledFileNames() { return m_Recompiled; }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final synchronized void putSource( final String fileName, final String source )
+    {
+        requireNotEmptyArgument( fileName, "fileName" );
+        requireNonNullArgument( source, "source" );
+
+        final var unit = m_Units.get( fileName );
+        if( isNull( unit ) )
+        {
+            m_Units.put( fileName, new Unit( source ) );
+        }
+        else if( !unit.m_Source.equals( source ) )
+        {
+            unit.m_Source = source;
+            unit.m_IsDirty = true;
+        }
+    }   //  putSource()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final synchronized boolean removeSource( final String fileName )
+    {
+        requireNotEmptyArgument( fileName, "fileName" );
+
+        final var retValue = nonNull( m_Units.remove( fileName ) );
+        if( retValue )
+        {
+            m_IsStale = true;
+            m_Units.values().stream()
+                .filter( unit -> unit.m_Dependencies.contains( fileName ) )
+                .forEach( unit -> unit.m_IsDirty = true );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  removeSource()
+
+    /**
+     *  Rebuilds the dependency graph from the byte code and the sources of
+     *  the units.
+     */
+    private final void updateDependencies()
+    {
+        //---* Collect the owners and the simple names of the classes *--------
+        final Map<String,String> owners = new HashMap<>();
+        final Map<String,Set<String>> simpleNames = new HashMap<>();
+        m_Units.forEach( (name, unit) ->
+        {
+            final Set<String> names = new HashSet<>();
+            for( final var className : unit.m_Classes.keySet() )
+            {
+                owners.put( className, name );
+                if( className.indexOf( '$' ) < 0 ) names.add( className.substring( className.lastIndexOf( '.' ) + 1 ) );
+            }
+            simpleNames.put( name, names );
+        } );
+
+        //---* Determine the dependencies *------------------------------------
+        m_Units.forEach( (name, unit) ->
+        {
+            final Set<String> dependencies = new HashSet<>();
+            for( final var bytes : unit.m_Classes.values() )
+            {
+                for( final var reference : ClassReferences.referencedClasses( bytes ) )
+                {
+                    final var owner = owners.get( reference );
+                    if( nonNull( owner ) && !owner.equals( name ) ) dependencies.add( owner );
+                }
+            }
+            simpleNames.forEach( (other, names) ->
+            {
+                if( !other.equals( name ) && names.stream().anyMatch( simpleName -> containsName( unit.m_Source, simpleName ) ) )
+                {
+                    dependencies.add( other );
+                }
+            } );
+            unit.m_Dependencies = dependencies;
+        } );
+    }   //  updateDependencies()
+}
+//  class JavaScriptProjectImpl
+
+/*
+ *  End of File
+ */
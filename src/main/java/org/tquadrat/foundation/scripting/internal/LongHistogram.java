@@ -0,0 +1,142 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2021 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.scripting.java.Histogram;
+
+/**
+ *  A histogram for {@code long} values that can be updated concurrently;
+ *  see
+ *  {@link Histogram}
+ *  for the layout of the buckets.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: LongHistogram.java 1096 2026-10-16 18:03:51Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: LongHistogram.java 1096 2026-10-16 18:03:51Z tquadrat $" )
+@API( status = INTERNAL, since = "0.5.0" )
+public final class LongHistogram
+{
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The counters for the buckets.
+     */
+    private final AtomicLongArray m_Buckets = new AtomicLongArray( Histogram.BUCKET_COUNT );
+
+    /**
+     *  The number of recorded values.
+     */
+    private final LongAdder m_Count = new LongAdder();
+
+    /**
+     *  The largest recorded value.
+     */
+    private final LongAccumulator m_Max = new LongAccumulator( Math::max, Long.MIN_VALUE );
+
+    /**
+     *  The smallest recorded value.
+     */
+    private final LongAccumulator m_Min = new LongAccumulator( Math::min, Long.MAX_VALUE );
+
+    /**
+     *  The sum of the recorded values.
+     */
+    private final LongAdder m_Sum = new LongAdder();
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code LongHistogram} instance.
+     */
+    public LongHistogram() { /* Just exists */ }
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Records the given value; negative values are recorded as 0.
+     *
+     *  @param  value   The value.
+     */
+    public final void record( final long value )
+    {
+        final var effectiveValue = Math.max( 0L, value );
+        m_Buckets.incrementAndGet( Histogram.bucketFor( effectiveValue ) );
+        m_Count.increment();
+        m_Sum.add( effectiveValue );
+        m_Min.accumulate( effectiveValue );
+        m_Max.accumulate( effectiveValue );
+    }   //  record()
+
+    /**
+     *  Discards all recorded values.
+     */
+    public final void reset()
+    {
+        for( var i = 0; i < m_Buckets.length(); ++i ) m_Buckets.set( i, 0L );
+        m_Count.reset();
+        m_Sum.reset();
+        m_Min.reset();
+        m_Max.reset();
+    }   //  reset()
+
+    /**
+     *  Returns a snapshot of this histogram. As the values are recorded
+     *  concurrently, the counters in the snapshot are not necessarily
+     *  consistent with each other.
+     *
+     *  @return The snapshot.
+     */
+    public final Histogram snapshot()
+    {
+        final List<Long> buckets = new ArrayList<>( m_Buckets.length() );
+        var last = -1;
+        for( var i = 0; i < m_Buckets.length(); ++i )
+        {
+            final var value = m_Buckets.get( i );
+            buckets.add( Long.valueOf( value ) );
+            if( value > 0 ) last = i;
+        }
+        final var count = m_Count.sum();
+        final var retValue = new Histogram( count, m_Sum.sum(), count == 0 ? 0L : m_Min.get(), count == 0 ? 0L : m_Max.get(), buckets.subList( 0, last + 1 ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  snapshot()
+}
+//  class LongHistogram
+
+/*
+ *  End of File
+ */
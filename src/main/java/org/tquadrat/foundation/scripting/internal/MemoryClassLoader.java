@@ -25,24 +25,38 @@ import static org.tquadrat.foundation.lang.Objects.requireNotEmptyArgument;
 import static org.tquadrat.foundation.util.StringUtils.isNotEmpty;
 
 import java.io.File;
+import java.lang.ref.Cleaner;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.security.CodeSource;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apiguardian.api.API;
 import org.tquadrat.foundation.annotation.ClassVersion;
 import org.tquadrat.foundation.exception.ImpossibleExceptionError;
+import org.tquadrat.foundation.scripting.internal.output.ScriptOutput;
 
 /**
  *  An implementation of
  *  {@link ClassLoader}
- *  that loads {@code .class} bytes from memory.
+ *  that loads {@code .class} bytes from memory. The byte code can be
+ *  provided either as byte arrays, or as
+ *  {@link ByteBuffer}s,
+ *  for example as views to a memory mapped file.<br>
+ *  <br>The class
+ *  {@link ScriptOutput}
+ *  is always resolved to the class from this module, regardless of the
+ *  parent class loader, and its package (that contains nothing else) is
+ *  exported to the classes that are defined by this class loader, as the
+ *  script classes refer to it.
  *
  *  @author A. Sundararajan
  *  @modified    Thomas Thrien - thomas.thrien@tquadrat.org
@@ -61,10 +75,36 @@ public final class MemoryClassLoader extends URLClassLoader
    /**
     *  The byte code that was loaded by this class loader instance. The name of
     *  the class is the key to the map, the value is the byte code of that
-    *  class.<br>
-    *  <br>This is a reference to a map instance maintained elsewhere!
+    *  class.
     */
-    private final Map<String,byte []> m_ClassBytes;
+    private final Map<String,ByteBuffer> m_ClassBytes;
+
+        /*------------------------*\
+    ====** Static Initialisations **===========================================
+        \*------------------------*/
+    /**
+     *  The cleaner that registers when an instance of
+     *  {@code MemoryClassLoader} has become unreachable.
+     */
+    private static final Cleaner m_Cleaner = Cleaner.create( Thread.ofPlatform().name( "MemoryClassLoader-Cleaner" ).daemon().factory() );
+
+    /**
+     *  The total size of the byte code for all classes that were defined by
+     *  instances of {@code MemoryClassLoader}.
+     */
+    private static final LongAdder m_DefinedByteCodeSize = new LongAdder();
+
+    /**
+     *  The number of classes that were defined by instances of
+     *  {@code MemoryClassLoader}.
+     */
+    private static final LongAdder m_DefinedClassCount = new LongAdder();
+
+    /**
+     *  The number of instances of {@code MemoryClassLoader} that are still
+     *  reachable.
+     */
+    private static final LongAdder m_LiveInstanceCount = new LongAdder();
 
         /*--------------*\
     ====** Constructors **=====================================================
@@ -78,8 +118,7 @@ public final class MemoryClassLoader extends URLClassLoader
      */
     public MemoryClassLoader( final Map<String,byte []> classBytes, final String classPath, final ClassLoader parent )
     {
-        super( toURLs( classPath ), parent );
-        m_ClassBytes = new HashMap<>( requireNonNullArgument( classBytes, "classBytes" ) );
+        this( classPath, parent, wrap( classBytes ) );
     }   //  MemoryClassLoader()
 
     /**
@@ -93,6 +132,23 @@ public final class MemoryClassLoader extends URLClassLoader
         this( classBytes, classPath, null );
     }   //  MemoryClassLoader()
 
+    /**
+     *  Creates a new {@code MemoryClassLoader} instance.
+     *
+     *  @param  classPath   The {@code CLASSPATH}.
+     *  @param  parent  The parent class loader; can be {@code null}.
+     *  @param  classBuffers    The buffers with the byte code.
+     */
+    private MemoryClassLoader( final String classPath, final ClassLoader parent, final Map<String,ByteBuffer> classBuffers )
+    {
+        super( toURLs( classPath ), parent );
+        m_ClassBytes = new HashMap<>( requireNonNullArgument( classBuffers, "classBuffers" ) );
+        ScriptOutput.class.getModule().addExports( ScriptOutput.class.getPackageName(), getUnnamedModule() );
+
+        m_LiveInstanceCount.increment();
+        m_Cleaner.register( this, m_LiveInstanceCount::decrement );
+    }   //  MemoryClassLoader()
+
         /*---------*\
     ====** Methods **==========================================================
         \*---------*/
@@ -108,7 +164,19 @@ public final class MemoryClassLoader extends URLClassLoader
         {
             //---* Clear the bytes in the map - we don't need it anymore *-----
             m_ClassBytes.put( className, null );
-            retValue = defineClass( className, classBytes, 0, classBytes.length );
+            final var byteCodeSize = classBytes.remaining();
+            final var event = new ClassDefinitionEvent();
+            event.begin();
+            retValue = defineClass( className, classBytes.duplicate(), (CodeSource) null );
+            event.end();
+            m_DefinedClassCount.increment();
+            m_DefinedByteCodeSize.add( byteCodeSize );
+            if( event.shouldCommit() )
+            {
+                event.m_ByteCodeSize = byteCodeSize;
+                event.m_ClassName = className;
+                event.commit();
+            }
         }
         else
         {
@@ -119,6 +187,59 @@ public final class MemoryClassLoader extends URLClassLoader
         return retValue;
     }   //  findClass()
 
+    /**
+     *  Creates a new {@code MemoryClassLoader} instance that defines the
+     *  classes from the given buffers. The buffers will not be modified.
+     *
+     *  @param  classBuffers    The buffers with the byte code, with the class
+     *      names as the keys.
+     *  @param  classPath   The {@code CLASSPATH}.
+     *  @param  parent  The parent class loader; can be {@code null}.
+     *  @return The new class loader.
+     */
+    public static final MemoryClassLoader fromBuffers( final Map<String,ByteBuffer> classBuffers, final String classPath, final ClassLoader parent )
+    {
+        return new MemoryClassLoader( classPath, parent, classBuffers );
+    }   //  fromBuffers()
+
+    /**
+     *  Returns the total size of the byte code for all classes that were
+     *  defined by instances of {@code MemoryClassLoader} so far.
+     *
+     *  @return The size of the byte code in bytes.
+     */
+    public static final long getDefinedByteCodeSize() { return m_DefinedByteCodeSize.sum(); }
+
+    /**
+     *  Returns the number of classes that were defined by instances of
+     *  {@code MemoryClassLoader} so far.
+     *
+     *  @return The number of classes.
+     */
+    public static final long getDefinedClassCount() { return m_DefinedClassCount.sum(); }
+
+    /**
+     *  Returns the number of instances of {@code MemoryClassLoader} that
+     *  were not yet garbage collected. As this depends on the garbage
+     *  collector, the number is usually higher than the number of instances
+     *  that are still in use.
+     *
+     *  @return The number of instances.
+     */
+    public static final long getLiveInstanceCount() { return m_LiveInstanceCount.sum(); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    protected final Class<?> loadClass( final String className, final boolean resolve ) throws ClassNotFoundException
+    {
+        final var retValue = ScriptOutput.class.getName().equals( className ) ? ScriptOutput.class : super.loadClass( className, resolve );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  loadClass()
+
     /**
      *  Loads all the classes that are loadable by this classloader.
      *
@@ -191,6 +312,24 @@ public final class MemoryClassLoader extends URLClassLoader
         //---* Done *----------------------------------------------------------
         return retValue.toArray( URL []::new );
     }   //  toURLs()
+
+    /**
+     *  Wraps the given byte arrays into buffers.
+     *
+     *  @param  classBytes  The byte code.
+     *  @return The buffers.
+     */
+    private static Map<String,ByteBuffer> wrap( final Map<String,byte []> classBytes )
+    {
+        final Map<String,ByteBuffer> retValue = new HashMap<>();
+        for( final var entry : requireNonNullArgument( classBytes, "classBytes" ).entrySet() )
+        {
+            retValue.put( entry.getKey(), ByteBuffer.wrap( entry.getValue() ) );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  wrap()
 }
 //  class MemoryClassLoader
 
@@ -21,7 +21,10 @@ import static java.nio.CharBuffer.wrap;
 import static java.util.Collections.unmodifiableMap;
 import static javax.tools.JavaFileObject.Kind.CLASS;
 import static javax.tools.JavaFileObject.Kind.SOURCE;
+import static javax.tools.StandardLocation.CLASS_PATH;
 import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.lang.CommonConstants.EMPTY_STRING;
+import static org.tquadrat.foundation.lang.Objects.nonNull;
 import static org.tquadrat.foundation.lang.Objects.requireNonNull;
 import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
 
@@ -31,15 +34,20 @@ import javax.tools.JavaFileManager;
 import javax.tools.JavaFileObject;
 import javax.tools.JavaFileObject.Kind;
 import javax.tools.SimpleJavaFileObject;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.nio.CharBuffer;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apiguardian.api.API;
 import org.tquadrat.foundation.annotation.ClassVersion;
@@ -63,6 +71,67 @@ public final class MemoryJavaFileManager extends ForwardingJavaFileManager<JavaF
         /*---------------*\
     ====** Inner Classes **====================================================
         \*---------------*/
+    /**
+     *  A file object that provides the byte code for a class that was
+     *  compiled before, as an input for the compiler.
+     *
+     *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: MemoryJavaFileManager.java 1093 2026-10-16 15:24:51Z tquadrat $
+     *  @since 0.5.0
+     *
+     *  @UMLGraph.link
+     */
+    @ClassVersion( sourceVersion = "$Id: MemoryJavaFileManager.java 1093 2026-10-16 15:24:51Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.5.0" )
+    private static final class ClassInputBuffer extends SimpleJavaFileObject
+    {
+            /*------------*\
+        ====** Attributes **===================================================
+            \*------------*/
+        /**
+         *  The binary name of the class.
+         */
+        private final String m_BinaryName;
+
+        /**
+         *  The byte code.
+         */
+        private final byte [] m_Bytes;
+
+            /*--------------*\
+        ====** Constructors **=================================================
+            \*--------------*/
+        /**
+         *  Creates a new {@code ClassInputBuffer} instance.
+         *
+         *  @param  binaryName  The binary name of the class.
+         *  @param  bytes   The byte code.
+         */
+        ClassInputBuffer( final String binaryName, final byte [] bytes )
+        {
+            super( URI.create( "mfm:///" + binaryName.replace( '.', '/' ) + CLASS.extension ), CLASS );
+            m_BinaryName = binaryName;
+            m_Bytes = bytes;
+        }   //  ClassInputBuffer()
+
+            /*---------*\
+        ====** Methods **======================================================
+            \*---------*/
+        /**
+         *  Returns the binary name of the class.
+         *
+         *  @return The binary name.
+         */
+        final String getBinaryName() { return m_BinaryName; }
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final InputStream openInputStream() { return new ByteArrayInputStream( m_Bytes ); }
+    }
+    //  class ClassInputBuffer
+
     /**
      *  A file object that stores Java byte code into the classBytes map.
      *
@@ -85,6 +154,12 @@ public final class MemoryJavaFileManager extends ForwardingJavaFileManager<JavaF
          */
         private final String m_Name;
 
+        /**
+         *  The source file that caused the creation of this class file; can
+         *  be {@code null}.
+         */
+        private final FileObject m_Sibling;
+
             /*--------------*\
         ====** Constructors **=================================================
             \*--------------*/
@@ -92,11 +167,14 @@ public final class MemoryJavaFileManager extends ForwardingJavaFileManager<JavaF
          *  Creates a new object for ClassOutputBuffer.
          *
          *  @param  name    The &quot;name&quot; of the buffer file.
+         *  @param  sibling The source file that caused the creation of this
+         *      class file; can be {@code null}.
          */
-        public ClassOutputBuffer( final String name )
+        public ClassOutputBuffer( final String name, final FileObject sibling )
         {
             super( toURI( name ), CLASS );
             m_Name = name;
+            m_Sibling = sibling;
         }   //  ClassOutputBuffer()
 
             /*---------*\
@@ -123,6 +201,7 @@ public final class MemoryJavaFileManager extends ForwardingJavaFileManager<JavaF
                     out.close();
                     final var bos = (ByteArrayOutputStream) out;
                     m_ClassBytes.put( m_Name, bos.toByteArray() );
+                    if( nonNull( m_Sibling ) ) m_ClassOrigins.put( m_Name, m_Sibling );
                 }
             };
 
@@ -191,6 +270,12 @@ public final class MemoryJavaFileManager extends ForwardingJavaFileManager<JavaF
         /*------------*\
     ====** Attributes **=======================================================
         \*------------*/
+    /**
+     *  The classes that were compiled before and that are provided as
+     *  inputs for the compiler, as if they were found on the classpath.
+     */
+    private final Map<String,ClassInputBuffer> m_ClassInputs;
+
     /**
      *  The byte code that is stored by this file manager instance. The name of
      *  the class is the key to the map, the value is the byte code of that
@@ -198,6 +283,18 @@ public final class MemoryJavaFileManager extends ForwardingJavaFileManager<JavaF
      */
     private Map<String,byte []> m_ClassBytes = new HashMap<>();
 
+    /**
+     *  The index for the classpath; {@code null} if there is no index.
+     */
+    private final ClassPathIndex m_ClassPathIndex;
+
+    /**
+     *  The source files for the classes that are stored by this file
+     *  manager instance. The name of the class is the key to the map, the
+     *  value is the source file that caused the creation of that class.
+     */
+    private Map<String,FileObject> m_ClassOrigins = new HashMap<>();
+
         /*--------------*\
     ====** Constructors **=====================================================
         \*--------------*/
@@ -207,8 +304,45 @@ public final class MemoryJavaFileManager extends ForwardingJavaFileManager<JavaF
      *  @param  parent  The parent file manager.
      */
     public MemoryJavaFileManager( final JavaFileManager parent )
+    {
+        this( parent, Map.of() );
+    }   //  MemoryJavaFileManager()
+
+    /**
+     *  Creates a new {@code MemoryJavaFileManager} instance that provides
+     *  the given classes to the compiler, in addition to those from the
+     *  classpath.
+     *
+     *  @param  parent  The parent file manager.
+     *  @param  classInputs The byte code for classes that were compiled
+     *      before, with the binary names of the classes as the keys.
+     */
+    public MemoryJavaFileManager( final JavaFileManager parent, final Map<String,byte []> classInputs )
+    {
+        this( parent, classInputs, null );
+    }   //  MemoryJavaFileManager()
+
+    /**
+     *  Creates a new {@code MemoryJavaFileManager} instance that provides
+     *  the given classes to the compiler, in addition to those from the
+     *  classpath, and that uses the given index to skip the lookups for
+     *  packages that do not exist on the classpath.
+     *
+     *  @param  parent  The parent file manager.
+     *  @param  classInputs The byte code for classes that were compiled
+     *      before, with the binary names of the classes as the keys.
+     *  @param  classPathIndex  The index for the classpath of the parent
+     *      file manager; can be {@code null}.
+     */
+    public MemoryJavaFileManager( final JavaFileManager parent, final Map<String,byte []> classInputs, final ClassPathIndex classPathIndex )
     {
         super( requireNonNull( parent, "parent" ) );
+        m_ClassPathIndex = classPathIndex;
+        m_ClassInputs = new HashMap<>();
+        for( final var entry : requireNonNullArgument( classInputs, "classInputs" ).entrySet() )
+        {
+            m_ClassInputs.put( entry.getKey(), new ClassInputBuffer( entry.getKey(), entry.getValue() ) );
+        }
     }   //  MemoryJavaFileManager()
 
         /*---------*\
@@ -220,7 +354,11 @@ public final class MemoryJavaFileManager extends ForwardingJavaFileManager<JavaF
      *  @see javax.tools.ForwardingJavaFileManager#close()
      */
     @Override
-    public final void close() throws IOException { m_ClassBytes = new HashMap<>(); }
+    public final void close() throws IOException
+    {
+        m_ClassBytes = new HashMap<>();
+        m_ClassOrigins = new HashMap<>();
+    }   //  close()
 
     /**
      *  {@inheritDoc}<br>
@@ -238,6 +376,15 @@ public final class MemoryJavaFileManager extends ForwardingJavaFileManager<JavaF
      */
     public final Map<String,byte []> getClassBytes() { return unmodifiableMap( m_ClassBytes ); }
 
+    /**
+     *  Returns the source files for the classes that are hold in memory.
+     *  Classes without a known source file are not contained in the
+     *  returned map.
+     *
+     *  @return The source files, with the class names as the keys.
+     */
+    public final Map<String,FileObject> getClassOrigins() { return unmodifiableMap( m_ClassOrigins ); }
+
     /**
      *  {@inheritDoc}
      */
@@ -247,7 +394,7 @@ public final class MemoryJavaFileManager extends ForwardingJavaFileManager<JavaF
     {
         final var retValue = switch( kind )
         {
-            case CLASS -> new ClassOutputBuffer( className );
+            case CLASS -> new ClassOutputBuffer( className, sibling );
 
             //$CASES-OMITTED$
             default -> super.getJavaFileForOutput( location, className, kind, sibling );
@@ -257,6 +404,57 @@ public final class MemoryJavaFileManager extends ForwardingJavaFileManager<JavaF
         return retValue;
     }   //  getJavaFileForOutput()
 
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final String inferBinaryName( final JavaFileManager.Location location, final JavaFileObject file )
+    {
+        final var retValue = file instanceof final ClassInputBuffer classInput
+            ? classInput.getBinaryName()
+            : super.inferBinaryName( location, file );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  inferBinaryName()
+
+    /**
+     *  {@inheritDoc}<br>
+     *  <br>For the classpath, the result includes the classes that were
+     *  provided as inputs to this file manager. If the
+     *  {@linkplain ClassPathIndex index for the classpath}
+     *  tells that the package does not exist on the classpath, the parent
+     *  file manager will not be asked.
+     */
+    @Override
+    public final Iterable<JavaFileObject> list( final JavaFileManager.Location location, final String packageName, final Set<Kind> kinds, final boolean recurse ) throws IOException
+    {
+        final var isMissing = (location == CLASS_PATH) && nonNull( m_ClassPathIndex ) && !m_ClassPathIndex.mayContainPackage( packageName );
+        var retValue = isMissing ? List.<JavaFileObject>of() : super.list( location, packageName, kinds, recurse );
+        if( (location == CLASS_PATH) && kinds.contains( CLASS ) && !m_ClassInputs.isEmpty() )
+        {
+            final List<JavaFileObject> files = new ArrayList<>();
+            for( final var classInput : m_ClassInputs.values() )
+            {
+                final var binaryName = classInput.getBinaryName();
+                final var pos = binaryName.lastIndexOf( '.' );
+                final var classPackage = pos < 0 ? EMPTY_STRING : binaryName.substring( 0, pos );
+                if( classPackage.equals( packageName ) || (recurse && classPackage.startsWith( packageName + '.' )) )
+                {
+                    files.add( classInput );
+                }
+            }
+            if( !files.isEmpty() )
+            {
+                retValue.forEach( files::add );
+                retValue = files;
+            }
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  list()
+
     /**
      *  Creates a
      *  {@link JavaFileObject}
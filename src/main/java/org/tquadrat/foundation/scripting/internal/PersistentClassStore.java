@@ -0,0 +1,384 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.lang.Objects.isNull;
+import static org.tquadrat.foundation.lang.Objects.nonNull;
+import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
+import static org.tquadrat.foundation.lang.Objects.requireNotEmptyArgument;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary A persistent, append-only store for the byte code of
+ *  compiled scripts.} The byte code is written to a single file in the cache
+ *  directory, and that file is mapped into memory; the classes for a script
+ *  that was compiled by an earlier run of the JVM can be defined directly
+ *  from the mapped region, without invoking {@code javac}.</p>
+ *  <p>The file consists of a header, followed by any number of records; each
+ *  record holds the fingerprint of the source (see
+ *  {@link CompiledScriptCache#createFingerprint(String, String, Iterable, String, String)})
+ *  and the byte code for all classes that were generated from that source,
+ *  followed by a CRC32 checksum. Records are never modified after they were
+ *  written.</p>
+ *  <p>Several JVMs on the same host may share the same cache directory: new
+ *  records are appended while holding an exclusive lock on the file, and the
+ *  records written by other processes are read while holding a shared lock.
+ *  An incomplete record at the end of the file (caused by a crash during
+ *  writing) is detected through its checksum and will be overwritten by the
+ *  next append.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: PersistentClassStore.java 1085 2026-10-16 10:03:17Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: PersistentClassStore.java 1085 2026-10-16 10:03:17Z tquadrat $" )
+@API( status = INTERNAL, since = "0.5.0" )
+public final class PersistentClassStore implements Closeable
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The name of the store file inside the cache directory: {@value}.
+     */
+    public static final String FILE_NAME = "classes.store";
+
+    /**
+     *  The length of the file header: {@value} bytes.
+     */
+    private static final int HEADER_LENGTH = 8;
+
+    /**
+     *  The magic number for the file header.
+     */
+    private static final int MAGIC_FILE = 0x54515343;
+
+    /**
+     *  The magic number for a record.
+     */
+    private static final int MAGIC_RECORD = 0x52454331;
+
+    /**
+     *  The maximum size for the store file: {@value} bytes. Once the file has
+     *  reached that size, no new records will be added.
+     */
+    public static final long MAX_FILE_SIZE = 1L << 30;
+
+    /**
+     *  The version of the file format.
+     */
+    private static final int VERSION = 1;
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The channel for the store file.
+     */
+    private final FileChannel m_Channel;
+
+    /**
+     *  The index: the fingerprint is the key, the value is the position of
+     *  the class count of the respective record in the file.
+     */
+    private final Map<String,Integer> m_Index = new HashMap<>();
+
+    /**
+     *  The mapped region of the store file.
+     */
+    private MappedByteBuffer m_Mapped;
+
+    /**
+     *  The position up to which the store file was scanned; all records
+     *  before that position are valid and are in the index.
+     */
+    private long m_ScannedUpTo = HEADER_LENGTH;
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code PersistentClassStore} instance.
+     *
+     *  @param  channel The channel for the store file.
+     */
+    private PersistentClassStore( final FileChannel channel )
+    {
+        m_Channel = requireNonNullArgument( channel, "channel" );
+    }   //  PersistentClassStore()
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final synchronized void close() throws IOException
+    {
+        m_Index.clear();
+        m_Mapped = null;
+        m_Channel.close();
+    }   //  close()
+
+    /**
+     *  Returns the byte code for the given fingerprint.
+     *
+     *  @param  fingerprint The fingerprint for the source.
+     *  @return The byte code, with the class names as the keys; the buffers
+     *      are read-only views to the mapped region of the store file. The
+     *      return value is {@code null} if the store does not contain the
+     *      byte code for the given fingerprint.
+     *  @throws IOException The store file could not be read.
+     */
+    @SuppressWarnings( "try" )
+    public final synchronized Map<String,ByteBuffer> lookup( final String fingerprint ) throws IOException
+    {
+        requireNotEmptyArgument( fingerprint, "fingerprint" );
+
+        var position = m_Index.get( fingerprint );
+        if( isNull( position ) && (m_Channel.size() > m_ScannedUpTo) )
+        {
+            //---* Another process may have added the record meanwhile *-------
+            try( final var ignored = m_Channel.lock( 0L, Long.MAX_VALUE, true ) )
+            {
+                scan();
+            }
+            position = m_Index.get( fingerprint );
+        }
+
+        Map<String,ByteBuffer> retValue = null;
+        if( nonNull( position ) )
+        {
+            final var buffer = m_Mapped.duplicate().position( position.intValue() );
+            final var count = buffer.getInt();
+            retValue = new LinkedHashMap<>( count * 2 );
+            for( var i = 0; i < count; ++i )
+            {
+                final var name = readString( buffer );
+                final var length = buffer.getInt();
+                retValue.put( name, buffer.slice( buffer.position(), length ).asReadOnlyBuffer() );
+                buffer.position( buffer.position() + length );
+            }
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  lookup()
+
+    /**
+     *  Opens the store in the given cache directory; the directory and the
+     *  store file will be created if they do not exist yet.
+     *
+     *  @param  directory   The cache directory.
+     *  @return The store.
+     *  @throws IOException The store could not be opened.
+     */
+    @SuppressWarnings( {"resource", "try"} )
+    public static final PersistentClassStore open( final Path directory ) throws IOException
+    {
+        Files.createDirectories( requireNonNullArgument( directory, "directory" ) );
+        final var channel = FileChannel.open( directory.resolve( FILE_NAME ), CREATE, READ, WRITE );
+        final var retValue = new PersistentClassStore( channel );
+        try
+        {
+            try( final var ignored = channel.lock() )
+            {
+                if( channel.size() == 0 )
+                {
+                    final var header = ByteBuffer.allocate( HEADER_LENGTH )
+                        .putInt( MAGIC_FILE )
+                        .putInt( VERSION )
+                        .flip();
+                    while( header.hasRemaining() ) channel.write( header, header.position() );
+                }
+                else
+                {
+                    final var header = ByteBuffer.allocate( HEADER_LENGTH );
+                    while( header.hasRemaining() && (channel.read( header, header.position() ) > 0) ) { /* Just read */ }
+                    header.flip();
+                    if( (header.remaining() < HEADER_LENGTH) || (header.getInt() != MAGIC_FILE) || (header.getInt() != VERSION) )
+                    {
+                        throw new IOException( "'%1$s' is not a valid class store".formatted( directory.resolve( FILE_NAME ) ) );
+                    }
+                }
+                synchronized( retValue )
+                {
+                    retValue.scan();
+                }
+            }
+        }
+        catch( final IOException e )
+        {
+            channel.close();
+            throw e;
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  open()
+
+    /**
+     *  Reads a String from the given buffer; the String is stored as a
+     *  {@code short} with the length, followed by the UTF-8 encoded
+     *  characters.
+     *
+     *  @param  buffer  The buffer.
+     *  @return The String.
+     */
+    private static final String readString( final ByteBuffer buffer )
+    {
+        final var bytes = new byte [Short.toUnsignedInt( buffer.getShort() )];
+        buffer.get( bytes );
+        final var retValue = new String( bytes, UTF_8 );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  readString()
+
+    /**
+     *  Maps the store file into memory and scans the records that were not
+     *  scanned before; scanning stops at the first invalid record. The caller
+     *  has to hold a lock on the file.
+     *
+     *  @throws IOException The store file could not be read.
+     */
+    private final void scan() throws IOException
+    {
+        final var size = Math.min( m_Channel.size(), MAX_FILE_SIZE );
+        if( isNull( m_Mapped ) || (m_Mapped.capacity() < size) )
+        {
+            m_Mapped = m_Channel.map( READ_ONLY, 0L, size );
+        }
+
+        final var buffer = m_Mapped.duplicate();
+        final var crc = new CRC32();
+        var position = m_ScannedUpTo;
+        ScanLoop: while( position + 8 <= size )
+        {
+            buffer.position( (int) position );
+            if( buffer.getInt() != MAGIC_RECORD ) break ScanLoop;
+            final var length = buffer.getInt();
+            final var end = position + 8 + length + 8;
+            if( (length < 0) || (end > size) ) break ScanLoop;
+
+            crc.reset();
+            crc.update( buffer.slice( (int) position + 8, length ) );
+            buffer.position( (int) position + 8 + length );
+            if( buffer.getLong() != crc.getValue() ) break ScanLoop;
+
+            //---* The record is valid *---------------------------------------
+            buffer.position( (int) position + 8 );
+            final var fingerprint = readString( buffer );
+            m_Index.putIfAbsent( fingerprint, Integer.valueOf( buffer.position() ) );
+            position = end;
+        }   //  ScanLoop:
+        m_ScannedUpTo = position;
+    }   //  scan()
+
+    /**
+     *  Adds the byte code for the given fingerprint to the store. Nothing
+     *  happens if the store already contains an entry for the fingerprint,
+     *  or if the store file has reached its maximum size.
+     *
+     *  @param  fingerprint The fingerprint for the source.
+     *  @param  classBytes  The byte code, with the class names as the keys.
+     *  @throws IOException The store file could not be written.
+     */
+    @SuppressWarnings( "try" )
+    public final synchronized void store( final String fingerprint, final Map<String,byte []> classBytes ) throws IOException
+    {
+        requireNotEmptyArgument( fingerprint, "fingerprint" );
+        requireNonNullArgument( classBytes, "classBytes" );
+
+        try( final var ignored = m_Channel.lock() )
+        {
+            //---* Another process may have added the record meanwhile *-------
+            scan();
+            if( !m_Index.containsKey( fingerprint ) )
+            {
+                //---* Create the record *-------------------------------------
+                final var fingerprintBytes = fingerprint.getBytes( UTF_8 );
+                var length = 2 + fingerprintBytes.length + 4;
+                for( final var entry : classBytes.entrySet() )
+                {
+                    length += 2 + entry.getKey().getBytes( UTF_8 ).length + 4 + entry.getValue().length;
+                }
+
+                if( m_ScannedUpTo + 8 + length + 8 <= MAX_FILE_SIZE )
+                {
+                    final var record = ByteBuffer.allocate( 8 + length + 8 )
+                        .putInt( MAGIC_RECORD )
+                        .putInt( length )
+                        .putShort( (short) fingerprintBytes.length )
+                        .put( fingerprintBytes )
+                        .putInt( classBytes.size() );
+                    for( final var entry : classBytes.entrySet() )
+                    {
+                        final var name = entry.getKey().getBytes( UTF_8 );
+                        record.putShort( (short) name.length )
+                            .put( name )
+                            .putInt( entry.getValue().length )
+                            .put( entry.getValue() );
+                    }
+                    final var crc = new CRC32();
+                    crc.update( record.array(), 8, length );
+                    record.putLong( crc.getValue() ).flip();
+
+                    /*
+                     * Anything behind the last valid record is garbage from an
+                     * interrupted write, and will be overwritten.
+                     */
+                    m_Channel.truncate( m_ScannedUpTo );
+                    var position = m_ScannedUpTo;
+                    while( record.hasRemaining() ) position += m_Channel.write( record, position );
+
+                    //---* Add the new record to the index *-------------------
+                    scan();
+                }
+            }
+        }
+    }   //  store()
+}
+//  class PersistentClassStore
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,262 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2021 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.lang.Objects.isNull;
+import static org.tquadrat.foundation.lang.Objects.nonNull;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.scripting.java.CompilationTrace;
+import org.tquadrat.foundation.scripting.java.CompilePhase;
+
+/**
+ *  <p>{@summary The listener that measures the phases of a single
+ *  compilation.}</p>
+ *  <p>{@code javac} reports the start and the end of each phase for each
+ *  compilation unit or class; the listener adds up the wall time and the
+ *  allocated bytes between these events per phase. As the compiler runs
+ *  on the thread that called it, the allocations can be taken from the
+ *  counter for the current thread. The phases do not overlap, except for
+ *  the annotation processing that includes the parsing and entering of
+ *  the generated sources.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: PhaseListener.java 1096 2026-10-16 18:03:51Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: PhaseListener.java 1096 2026-10-16 18:03:51Z tquadrat $" )
+@API( status = INTERNAL, since = "0.5.0" )
+public final class PhaseListener implements TaskListener
+{
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The allocated bytes per phase.
+     */
+    private final long [] m_Allocations = new long [CompilePhase.values().length];
+
+    /**
+     *  The nesting depth per phase.
+     */
+    private final int [] m_Depths = new int [CompilePhase.values().length];
+
+    /**
+     *  The allocation counter for the current thread when the compilation
+     *  started.
+     */
+    private long m_StartAllocation;
+
+    /**
+     *  The allocation counters for the current thread when the phases were
+     *  entered.
+     */
+    private final long [] m_StartAllocations = new long [CompilePhase.values().length];
+
+    /**
+     *  The time when the compilation started.
+     */
+    private long m_StartTime;
+
+    /**
+     *  The times when the phases were entered.
+     */
+    private final long [] m_StartTimes = new long [CompilePhase.values().length];
+
+    /**
+     *  The allocated bytes for the whole compilation.
+     */
+    private long m_TotalAllocation;
+
+    /**
+     *  The wall time for the whole compilation.
+     */
+    private long m_TotalTime;
+
+    /**
+     *  The wall times per phase.
+     */
+    private final long [] m_Times = new long [CompilePhase.values().length];
+
+        /*------------------------*\
+    ====** Static Initialisations **===========================================
+        \*------------------------*/
+    /**
+     *  The bean that provides the allocation counters for the threads;
+     *  {@code null} if the JVM does not support them.
+     */
+    private static final com.sun.management.ThreadMXBean m_ThreadBean;
+
+    static
+    {
+        com.sun.management.ThreadMXBean threadBean = null;
+        try
+        {
+            if( ManagementFactory.getThreadMXBean() instanceof final com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled() )
+            {
+                threadBean = bean;
+            }
+        }
+        catch( final UnsupportedOperationException ignored ) { /* Not supported by this JVM */ }
+        m_ThreadBean = threadBean;
+    }
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code PhaseListener} instance.
+     */
+    public PhaseListener() { /* Just exists */ }
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Returns the number of bytes that were allocated by the current thread
+     *  so far.
+     *
+     *  @return The number of allocated bytes, or -1 if that is not
+     *      supported.
+     */
+    private static final long allocatedBytes()
+    {
+        final var retValue = isNull( m_ThreadBean ) ? -1L : m_ThreadBean.getCurrentThreadAllocatedBytes();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  allocatedBytes()
+
+    /**
+     *  Marks the start of the compilation.
+     */
+    public final void begin()
+    {
+        m_StartAllocation = allocatedBytes();
+        m_StartTime = System.nanoTime();
+    }   //  begin()
+
+    /**
+     *  Marks the end of the compilation.
+     */
+    public final void end()
+    {
+        m_TotalTime = System.nanoTime() - m_StartTime;
+        m_TotalAllocation = nonNull( m_ThreadBean ) ? allocatedBytes() - m_StartAllocation : -1L;
+    }   //  end()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final void finished( final TaskEvent event )
+    {
+        final var phase = toPhase( event.getKind() );
+        if( nonNull( phase ) )
+        {
+            final var index = phase.ordinal();
+            if( m_Depths [index] > 0 && --m_Depths [index] == 0 )
+            {
+                m_Times [index] += System.nanoTime() - m_StartTimes [index];
+                if( nonNull( m_ThreadBean ) ) m_Allocations [index] += allocatedBytes() - m_StartAllocations [index];
+            }
+        }
+    }   //  finished()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final void started( final TaskEvent event )
+    {
+        final var phase = toPhase( event.getKind() );
+        if( nonNull( phase ) )
+        {
+            final var index = phase.ordinal();
+            if( m_Depths [index]++ == 0 )
+            {
+                m_StartAllocations [index] = allocatedBytes();
+                m_StartTimes [index] = System.nanoTime();
+            }
+        }
+    }   //  started()
+
+    /**
+     *  Returns the phase for the given event kind.
+     *
+     *  @param  kind    The event kind.
+     *  @return The phase, or {@code null} if the event kind does not stand
+     *      for a phase.
+     */
+    private static final CompilePhase toPhase( final TaskEvent.Kind kind )
+    {
+        final var retValue = switch( kind )
+        {
+            case PARSE -> CompilePhase.PARSE;
+            case ENTER -> CompilePhase.ENTER;
+            case ANNOTATION_PROCESSING -> CompilePhase.ANNOTATION_PROCESSING;
+            case ANALYZE -> CompilePhase.ANALYZE;
+            case GENERATE -> CompilePhase.GENERATE;
+            default -> null;
+        };
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  toPhase()
+
+    /**
+     *  Returns the measurements for the compilation.
+     *
+     *  @param  sources The names of the compiled sources.
+     *  @param  success {@code true} if the compilation succeeded,
+     *      {@code false} otherwise.
+     *  @param  generatedClasses    The number of generated classes.
+     *  @return The measurements.
+     */
+    public final CompilationTrace toTrace( final List<String> sources, final boolean success, final int generatedClasses )
+    {
+        final Map<CompilePhase,Duration> phaseTimes = new EnumMap<>( CompilePhase.class );
+        final Map<CompilePhase,Long> phaseAllocations = new EnumMap<>( CompilePhase.class );
+        for( final var phase : CompilePhase.values() )
+        {
+            phaseTimes.put( phase, Duration.ofNanos( m_Times [phase.ordinal()] ) );
+            if( nonNull( m_ThreadBean ) ) phaseAllocations.put( phase, Long.valueOf( m_Allocations [phase.ordinal()] ) );
+        }
+        final var retValue = new CompilationTrace( sources, success, Duration.ofNanos( m_TotalTime ), m_TotalAllocation, generatedClasses, phaseTimes, phaseAllocations );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  toTrace()
+}
+//  class PhaseListener
+
+/*
+ *  End of File
+ */
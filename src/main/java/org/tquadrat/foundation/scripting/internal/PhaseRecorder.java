@@ -0,0 +1,180 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2021 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.scripting.java.CompilationTrace;
+import org.tquadrat.foundation.scripting.java.CompilePhase;
+import org.tquadrat.foundation.scripting.java.CompilePhaseStatistics;
+import org.tquadrat.foundation.scripting.java.Histogram;
+
+/**
+ *  Collects the
+ *  {@linkplain CompilationTrace measurements}
+ *  for the compilations into histograms, and keeps the slowest
+ *  compilations.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: PhaseRecorder.java 1096 2026-10-16 18:03:51Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: PhaseRecorder.java 1096 2026-10-16 18:03:51Z tquadrat $" )
+@API( status = INTERNAL, since = "0.5.0" )
+public final class PhaseRecorder
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The number of the slowest compilations that are kept: {@value}.
+     */
+    public static final int SLOWEST_COUNT = 10;
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The histogram for the numbers of generated classes.
+     */
+    private final LongHistogram m_GeneratedClasses = new LongHistogram();
+
+    /**
+     *  The histograms for the allocated bytes per phase.
+     */
+    private final Map<CompilePhase,LongHistogram> m_PhaseAllocations = new EnumMap<>( CompilePhase.class );
+
+    /**
+     *  The histograms for the wall times per phase.
+     */
+    private final Map<CompilePhase,LongHistogram> m_PhaseTimes = new EnumMap<>( CompilePhase.class );
+
+    /**
+     *  The slowest compilations, the slowest first.
+     */
+    private final List<CompilationTrace> m_Slowest = new ArrayList<>( SLOWEST_COUNT + 1 );
+
+    /**
+     *  The histogram for the allocated bytes per compilation.
+     */
+    private final LongHistogram m_TotalAllocations = new LongHistogram();
+
+    /**
+     *  The histogram for the wall times per compilation.
+     */
+    private final LongHistogram m_TotalTimes = new LongHistogram();
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code PhaseRecorder} instance.
+     */
+    public PhaseRecorder()
+    {
+        for( final var phase : CompilePhase.values() )
+        {
+            m_PhaseAllocations.put( phase, new LongHistogram() );
+            m_PhaseTimes.put( phase, new LongHistogram() );
+        }
+    }   //  PhaseRecorder()
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Returns a snapshot of the collected measurements.
+     *
+     *  @return The statistics.
+     */
+    public final CompilePhaseStatistics getStatistics()
+    {
+        final Map<CompilePhase,Histogram> phaseTimes = new EnumMap<>( CompilePhase.class );
+        final Map<CompilePhase,Histogram> phaseAllocations = new EnumMap<>( CompilePhase.class );
+        m_PhaseTimes.forEach( (phase, histogram) -> phaseTimes.put( phase, histogram.snapshot() ) );
+        m_PhaseAllocations.forEach( (phase, histogram) ->
+        {
+            final var snapshot = histogram.snapshot();
+            if( snapshot.count() > 0 ) phaseAllocations.put( phase, snapshot );
+        } );
+        final List<CompilationTrace> slowest;
+        synchronized( m_Slowest )
+        {
+            slowest = List.copyOf( m_Slowest );
+        }
+        final var retValue = new CompilePhaseStatistics( phaseTimes, phaseAllocations, m_TotalTimes.snapshot(), m_TotalAllocations.snapshot(), m_GeneratedClasses.snapshot(), slowest );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  getStatistics()
+
+    /**
+     *  Adds the given measurements.
+     *
+     *  @param  trace   The measurements for a compilation.
+     */
+    public final void record( final CompilationTrace trace )
+    {
+        trace.phaseTimes().forEach( (phase, time) -> m_PhaseTimes.get( phase ).record( time.toNanos() ) );
+        trace.phaseAllocations().forEach( (phase, bytes) -> m_PhaseAllocations.get( phase ).record( bytes.longValue() ) );
+        m_TotalTimes.record( trace.totalTime().toNanos() );
+        if( trace.allocatedBytes() >= 0 ) m_TotalAllocations.record( trace.allocatedBytes() );
+        m_GeneratedClasses.record( trace.generatedClasses() );
+
+        synchronized( m_Slowest )
+        {
+            if( m_Slowest.size() < SLOWEST_COUNT || trace.totalTime().compareTo( m_Slowest.getLast().totalTime() ) > 0 )
+            {
+                m_Slowest.add( trace );
+                m_Slowest.sort( Comparator.comparing( CompilationTrace::totalTime ).reversed() );
+                if( m_Slowest.size() > SLOWEST_COUNT ) m_Slowest.removeLast();
+            }
+        }
+    }   //  record()
+
+    /**
+     *  Discards all measurements.
+     */
+    public final void reset()
+    {
+        m_PhaseTimes.values().forEach( LongHistogram::reset );
+        m_PhaseAllocations.values().forEach( LongHistogram::reset );
+        m_TotalTimes.reset();
+        m_TotalAllocations.reset();
+        m_GeneratedClasses.reset();
+        synchronized( m_Slowest )
+        {
+            m_Slowest.clear();
+        }
+    }   //  reset()
+}
+//  class PhaseRecorder
+
+/*
+ *  End of File
+ */
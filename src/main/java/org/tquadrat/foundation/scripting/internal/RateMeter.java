@@ -0,0 +1,159 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2021 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary Counts events and determines their rate over the last
+ *  minute.}</p>
+ *  <p>The events are counted in slots of one second each; the rate is the
+ *  number of events in the last
+ *  {@value #WINDOW}
+ *  completed seconds, divided by the length of that window (or by the
+ *  time since the creation of the meter, if that is shorter). Recording
+ *  an event does not take a lock; an event that is recorded at the very
+ *  moment when a slot is recycled may get lost, so the rate is an
+ *  approximation.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: RateMeter.java 1098 2026-10-16 19:37:15Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: RateMeter.java 1098 2026-10-16 19:37:15Z tquadrat $" )
+@API( status = INTERNAL, since = "0.5.0" )
+public final class RateMeter
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The number of slots; it has to be a power of 2, and larger than the
+     *  window.
+     */
+    private static final int SLOTS = 64;
+
+    /**
+     *  The length of the window for the rate, in seconds: {@value}.
+     */
+    public static final int WINDOW = 60;
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The number of events per slot.
+     */
+    private final AtomicLongArray m_Counts = new AtomicLongArray( SLOTS );
+
+    /**
+     *  The seconds (since the creation of this meter) to which the slots
+     *  belong currently.
+     */
+    private final AtomicLongArray m_Seconds = new AtomicLongArray( SLOTS );
+
+    /**
+     *  The time when this meter was created, as returned by
+     *  {@link System#nanoTime()}.
+     */
+    private final long m_Start = System.nanoTime();
+
+    /**
+     *  The total number of events.
+     */
+    private final LongAdder m_Total = new LongAdder();
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code RateMeter} instance.
+     */
+    public RateMeter()
+    {
+        for( var i = 0; i < SLOTS; ++i ) m_Seconds.set( i, -1L );
+    }   //  RateMeter()
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Returns the current second, relative to the creation of this meter.
+     *
+     *  @return The current second.
+     */
+    private final long currentSecond() { return TimeUnit.NANOSECONDS.toSeconds( System.nanoTime() - m_Start ); }
+
+    /**
+     *  Returns the number of events per second over the last
+     *  {@value #WINDOW}
+     *  seconds.
+     *
+     *  @return The rate; 0 during the first second after the creation of
+     *      this meter.
+     */
+    public final double getRate()
+    {
+        final var now = currentSecond();
+        final var window = Math.min( WINDOW, now );
+        var count = 0L;
+        for( var i = 0; i < SLOTS; ++i )
+        {
+            final var second = m_Seconds.get( i );
+            if( second < now && second >= now - window ) count += m_Counts.get( i );
+        }
+        final var retValue = window == 0 ? 0.0 : (double) count / window;
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  getRate()
+
+    /**
+     *  Returns the total number of events since the creation of this meter.
+     *
+     *  @return The number of events.
+     */
+    public final long getTotal() { return m_Total.sum(); }
+
+    /**
+     *  Records an event.
+     */
+    public final void record()
+    {
+        m_Total.increment();
+        final var now = currentSecond();
+        final var slot = (int) (now & (SLOTS - 1));
+        final var second = m_Seconds.get( slot );
+        if( (second != now) && m_Seconds.compareAndSet( slot, second, now ) ) m_Counts.set( slot, 0L );
+        m_Counts.incrementAndGet( slot );
+    }   //  record()
+}
+//  class RateMeter
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,134 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.lang.Objects.isNull;
+
+import javax.script.ScriptContext;
+import java.util.function.Supplier;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.exception.PrivateConstructorForStaticClassCalledError;
+
+/**
+ *  <p>{@summary Holds the
+ *  {@link ScriptContext}
+ *  for the evaluation that is currently running on a thread.}</p>
+ *  <p>A script class that declares a method</p>
+ *  <pre><code>public static void setScriptContextSupplier( Supplier&lt;ScriptContext&gt; supplier )</code></pre>
+ *  <p>gets the
+ *  {@link #SUPPLIER}
+ *  exactly once, when its entry points are resolved; from then on, it
+ *  reads the context through that supplier instead of keeping it in a
+ *  static field. As the context is bound to the current thread only for
+ *  the duration of the evaluation, the same script class can be evaluated
+ *  concurrently with different contexts, without any locks.</p>
+ *  <p>Only JDK types are exchanged with the script class, so this works
+ *  independently from the class loader that loaded the script.</p>
+ *  <p>This class would use a {@code ScopedValue}, but that is only a
+ *  preview feature for Java&nbsp;21.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: ScriptContextHolder.java 1103 2026-10-16 23:12:08Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: ScriptContextHolder.java 1103 2026-10-16 23:12:08Z tquadrat $" )
+@API( status = INTERNAL, since = "0.5.0" )
+public final class ScriptContextHolder
+{
+        /*------------------------*\
+    ====** Static Initialisations **===========================================
+        \*------------------------*/
+    /**
+     *  The context for the current thread.
+     */
+    private static final ThreadLocal<ScriptContext> m_CurrentContext = new ThreadLocal<>();
+
+    /**
+     *  The supplier for the context of the current thread that is given to
+     *  the script classes.
+     */
+    public static final Supplier<ScriptContext> SUPPLIER = m_CurrentContext::get;
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  No instance allowed for this class.
+     */
+    private ScriptContextHolder() { throw new PrivateConstructorForStaticClassCalledError( ScriptContextHolder.class ); }
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Binds the given context to the current thread.
+     *
+     *  @param  context The context; can be {@code null}.
+     *  @return The context that was bound to the current thread before;
+     *      it has to be passed to
+     *      {@link #restore(ScriptContext)}
+     *      when the evaluation is done.
+     */
+    public static final ScriptContext bind( final ScriptContext context )
+    {
+        final var retValue = m_CurrentContext.get();
+        m_CurrentContext.set( context );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  bind()
+
+    /**
+     *  Returns the context that is bound to the current thread.
+     *
+     *  @return The context, or {@code null} if no evaluation is running on
+     *      the current thread.
+     */
+    public static final ScriptContext current() { return m_CurrentContext.get(); }
+
+    /**
+     *  Restores the context that was bound to the current thread before the
+     *  call to
+     *  {@link #bind(ScriptContext)}.
+     *  If that is {@code null}, the thread local will be removed completely,
+     *  so that a pooled thread does not keep the context.
+     *
+     *  @param  previous    The previous context; can be {@code null}.
+     */
+    public static final void restore( final ScriptContext previous )
+    {
+        if( isNull( previous ) )
+        {
+            m_CurrentContext.remove();
+        }
+        else
+        {
+            m_CurrentContext.set( previous );
+        }
+    }   //  restore()
+}
+//  class ScriptContextHolder
+
+/*
+ *  End of File
+ */
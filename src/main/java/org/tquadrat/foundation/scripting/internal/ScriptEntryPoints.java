@@ -0,0 +1,503 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static java.lang.invoke.MethodType.methodType;
+import static java.lang.reflect.Modifier.isFinal;
+import static java.lang.reflect.Modifier.isPublic;
+import static java.lang.reflect.Modifier.isStatic;
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.lang.Objects.isNull;
+import static org.tquadrat.foundation.lang.Objects.nonNull;
+import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
+
+import javax.script.ScriptContext;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.exception.ImpossibleExceptionError;
+import org.tquadrat.foundation.scripting.java.Binding;
+
+/**
+ *  <p>{@summary The entry points of a script class, resolved to
+ *  {@link MethodHandle}s.}</p>
+ *  <p>The method {@code setScriptContext(ScriptContext)} (with any return
+ *  type; a returned value is ignored) and the entry point are looked up
+ *  only once per class; the result is kept in a
+ *  {@link ClassValue},
+ *  so it lives exactly as long as the script class itself. The handles have
+ *  the exact types
+ *  {@link #SET_SCRIPT_CONTEXT_TYPE}
+ *  and
+ *  {@link #ENTRY_POINT_TYPE},
+ *  so that they can be called with
+ *  {@link MethodHandle#invokeExact(Object...)},
+ *  without an argument array.</p>
+ *  <p>The entry point is the first public static method from this
+ *  list:</p>
+ *  <ol>
+ *  <li>{@code main(String[])}, with any return type</li>
+ *  <li>{@code run()}, if it is not {@code void}</li>
+ *  <li>{@code call()}, if it is not {@code void}</li>
+ *  </ol>
+ *  <p>A {@code void} method {@code run()} or {@code call()} is not an
+ *  entry point; such a method is usually a helper that the script did not
+ *  expect to be called on each evaluation.</p>
+ *  <p>If the entry point has a return type other than {@code void}, the
+ *  evaluation of the script returns the value that was returned by the
+ *  entry point, instead of the script class.</p>
+ *  <p>If the script class declares a method
+ *  {@code setScriptContextSupplier(Supplier<ScriptContext>)},
+ *  that method will be called exactly once, with
+ *  {@link ScriptContextHolder#SUPPLIER};
+ *  a method {@code setScriptContext()} will be ignored then, as the
+ *  script reads the context of the current evaluation through the
+ *  supplier.</p>
+ *  <p>The static fields that are annotated with
+ *  {@link Binding @Binding}
+ *  are resolved to
+ *  {@linkplain BindingSlot binding slots}
+ *  at the same time.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: ScriptEntryPoints.java 1111 2026-10-17 12:31:46Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @param  scriptClass The script class.
+ *  @param  setScriptContext    The handle for the method
+ *      {@code setScriptContext()}, or {@code null} if the script class does
+ *      not have such a method, or if it gets the context through a
+ *      supplier.
+ *  @param  entryPoint  The handle for the entry point, or {@code null} if
+ *      the script class does not have an entry point.
+ *  @param  returnsValue    {@code true} if the entry point returns a value,
+ *      {@code false} if it is {@code void}, or if there is no entry point.
+ *  @param  bindingSlots    The binding slots of the script class.
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: ScriptEntryPoints.java 1111 2026-10-17 12:31:46Z tquadrat $" )
+@API( status = INTERNAL, since = "0.5.0" )
+public record ScriptEntryPoints( Class<?> scriptClass, MethodHandle setScriptContext, MethodHandle entryPoint, boolean returnsValue, List<BindingSlot> bindingSlots )
+{
+        /*---------------*\
+    ====** Inner Classes **====================================================
+        \*---------------*/
+    /**
+     *  A static field of the script class that is annotated with
+     *  {@link Binding @Binding}.
+     *
+     *  @param  name    The name of the attribute in the script context.
+     *  @param  setter  The setter for the field, with the type
+     *      {@link #SETTER_TYPE}.
+     *  @param  defaultValue    The value for the field if the script context
+     *      does not have an attribute with the given name, or if the value
+     *      of that attribute is {@code null}.
+     */
+    public record BindingSlot( String name, MethodHandle setter, Object defaultValue )
+    {
+            /*---------*\
+        ====** Methods **======================================================
+            \*---------*/
+        /**
+         *  Writes the value of the attribute from the given context into the
+         *  field.
+         *
+         *  @param  context The script context.
+         *  @throws Throwable   The value cannot be assigned to the field.
+         */
+        public final void inject( final ScriptContext context ) throws Throwable
+        {
+            final var scope = context.getAttributesScope( name );
+            var value = scope == -1 ? null : context.getAttribute( name, scope );
+            if( isNull( value ) ) value = defaultValue;
+            setter.invokeExact( value );
+        }   //  inject()
+    }
+    //  record BindingSlot
+
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The type of the handle for the entry point.
+     */
+    public static final MethodType ENTRY_POINT_TYPE = methodType( Object.class, String [].class );
+
+    /**
+     *  The names of the methods that are entry points if they do not take
+     *  any arguments and return a value, in the order of precedence.
+     */
+    private static final List<String> NO_ARG_ENTRY_POINTS = List.of( "run", "call" );
+
+    /**
+     *  The type of the handle for {@code setScriptContext()}.
+     */
+    public static final MethodType SET_SCRIPT_CONTEXT_TYPE = methodType( void.class, ScriptContext.class );
+
+    /**
+     *  The type of the handle for {@code setScriptContextSupplier()}.
+     */
+    public static final MethodType SET_SCRIPT_CONTEXT_SUPPLIER_TYPE = methodType( void.class, Supplier.class );
+
+    /**
+     *  The type of the setter of a
+     *  {@linkplain BindingSlot binding slot}.
+     */
+    public static final MethodType SETTER_TYPE = methodType( void.class, Object.class );
+
+    /**
+     *  The primitive types that are converted through the methods of
+     *  {@link Number}.
+     */
+    private static final List<Class<?>> NUMERIC_TYPES = List.of( byte.class, short.class, int.class, long.class, float.class, double.class );
+
+        /*------------------------*\
+    ====** Static Initialisations **===========================================
+        \*------------------------*/
+    /**
+     *  The entry points per script class.
+     */
+    private static final ClassValue<ScriptEntryPoints> m_EntryPoints = new ClassValue<>()
+    {
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        protected final ScriptEntryPoints computeValue( final Class<?> type ) { return resolve( type ); }
+    };
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Returns the entry points for the given script class; they will be
+     *  resolved with the first call for the class.
+     *
+     *  @param  scriptClass The script class.
+     *  @return The entry points.
+     */
+    public static final ScriptEntryPoints forClass( final Class<?> scriptClass )
+    {
+        return m_EntryPoints.get( requireNonNullArgument( scriptClass, "scriptClass" ) );
+    }   //  forClass()
+
+    /**
+     *  Returns the name of the attribute for the given field, if the field
+     *  is annotated with
+     *  {@link Binding @Binding}.
+     *  The annotation is identified by the name of its type, because the
+     *  class loader for the script may have loaded its own copy of the
+     *  annotation type.
+     *
+     *  @param  field   The field.
+     *  @return The name of the attribute, or {@code null} if the field is
+     *      not a binding slot.
+     */
+    private static String findBindingName( final Field field )
+    {
+        String retValue = null;
+        SearchLoop: for( final var annotation : field.getDeclaredAnnotations() )
+        {
+            if( annotation instanceof final Binding binding )
+            {
+                retValue = binding.value();
+                break SearchLoop;
+            }
+            if( annotation.annotationType().getName().equals( Binding.class.getName() ) )
+            {
+                try
+                {
+                    retValue = (String) annotation.annotationType().getMethod( "value" ).invoke( annotation );
+                }
+                catch( final ReflectiveOperationException e )
+                {
+                    throw new ImpossibleExceptionError( "The annotation '%1$s' has a method 'value()'".formatted( annotation ), e );
+                }
+                break SearchLoop;
+            }
+        }   //  SearchLoop:
+        if( nonNull( retValue ) && retValue.isEmpty() ) retValue = field.getName();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  findBindingName()
+
+    /**
+     *  <p>{@summary Resolves the binding slots of the given script
+     *  class.}</p>
+     *  <p>A field with a numeric primitive type takes any
+     *  {@link Number}
+     *  from the script context, converted by the respective method
+     *  {@code Number.xxxValue()}; so an {@code Integer} can be assigned to a
+     *  field of type {@code long} or {@code double}.</p>
+     *
+     *  @param  scriptClass The script class.
+     *  @return The binding slots.
+     */
+    private static List<BindingSlot> findBindingSlots( final Class<?> scriptClass )
+    {
+        final List<BindingSlot> retValue = new ArrayList<>();
+        for( final var field : scriptClass.getDeclaredFields() )
+        {
+            final var modifiers = field.getModifiers();
+            final var name = isStatic( modifiers ) && !isFinal( modifiers ) ? findBindingName( field ) : null;
+            if( nonNull( name ) )
+            {
+                ScriptEntryPoints.class.getModule().addReads( scriptClass.getModule() );
+                field.setAccessible( true );
+                final var type = field.getType();
+                try
+                {
+                    var setter = MethodHandles.lookup().unreflectSetter( field );
+                    if( NUMERIC_TYPES.contains( type ) )
+                    {
+                        final var converter = MethodHandles.publicLookup().findVirtual( Number.class, "%sValue".formatted( type.getName() ), methodType( type ) );
+                        setter = MethodHandles.filterArguments( setter, 0, converter );
+                    }
+                    setter = setter.asType( SETTER_TYPE );
+                    final var defaultValue = type.isPrimitive() ? Array.get( Array.newInstance( type, 1 ), 0 ) : null;
+                    retValue.add( new BindingSlot( name, setter, defaultValue ) );
+                }
+                catch( final IllegalAccessException e )
+                {
+                    throw new ImpossibleExceptionError( "The field '%1$s' is accessible".formatted( field ), e );
+                }
+                catch( final NoSuchMethodException e )
+                {
+                    throw new ImpossibleExceptionError( "Number has a method '%1$sValue()'".formatted( type.getName() ), e );
+                }
+            }
+        }
+
+        //---* Done *----------------------------------------------------------
+        return List.copyOf( retValue );
+    }   //  findBindingSlots()
+
+    /**
+     *  Looks up the public static method with the given name and the
+     *  parameter types from the given type, and returns a handle for it.
+     *  The method may have any return type; the returned value will be
+     *  dropped by the handle.
+     *
+     *  @param  scriptClass The script class.
+     *  @param  name    The name of the method.
+     *  @param  type    The type of the handle; its return type is
+     *      {@code void}.
+     *  @return The handle, or {@code null} if the class does not have such
+     *      a method.
+     */
+    private static MethodHandle findEntryPoint( final Class<?> scriptClass, final String name, final MethodType type )
+    {
+        final var method = findPublicStaticMethod( scriptClass, name, type.parameterArray() );
+        final var retValue = nonNull( method ) ? MethodHandles.dropReturn( unreflect( scriptClass, method ) ) : null;
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  findEntryPoint()
+
+    /**
+     *  Looks up the method that is the entry point for the given script
+     *  class: {@code main(String[])} with any return type, or
+     *  {@code run()} or {@code call()} if they return a value.
+     *
+     *  @param  scriptClass The script class.
+     *  @return The entry point, or {@code null} if the class does not have
+     *      an entry point.
+     */
+    public static final Method findEntryPointMethod( final Class<?> scriptClass )
+    {
+        var retValue = findPublicStaticMethod( requireNonNullArgument( scriptClass, "scriptClass" ), "main", String [].class );
+        for( final var iterator = NO_ARG_ENTRY_POINTS.iterator(); isNull( retValue ) && iterator.hasNext(); )
+        {
+            final var method = findPublicStaticMethod( scriptClass, iterator.next() );
+            if( nonNull( method ) && (method.getReturnType() != void.class) ) retValue = method;
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  findEntryPointMethod()
+
+    /**
+     *  Looks up the public static method with the given name and parameter
+     *  types.
+     *
+     *  @param  scriptClass The script class.
+     *  @param  name    The name of the method.
+     *  @param  parameterTypes  The types of the parameters.
+     *  @return The method, or {@code null} if the class does not have such
+     *      a method.
+     */
+    private static Method findPublicStaticMethod( final Class<?> scriptClass, final String name, final Class<?>... parameterTypes )
+    {
+        Method retValue = null;
+        try
+        {
+            final var method = scriptClass.getMethod( name, parameterTypes );
+            if( isPublic( method.getModifiers() ) && isStatic( method.getModifiers() ) ) retValue = method;
+        }
+        catch( final NoSuchMethodException ignored ) { /* The exception will be ignored deliberately */ }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  findPublicStaticMethod()
+
+    /**
+     *  Checks whether the script class has an entry point.
+     *
+     *  @return {@code true} if there is an entry point, {@code false}
+     *      otherwise.
+     */
+    public final boolean hasEntryPoint() { return nonNull( entryPoint ); }
+
+    /**
+     *  Writes the values from the given script context into the binding
+     *  slots of the script class.
+     *
+     *  @param  context The script context.
+     *  @throws Throwable   A value cannot be assigned to its field.
+     */
+    public final void injectBindings( final ScriptContext context ) throws Throwable
+    {
+        for( final var slot : bindingSlots ) slot.inject( context );
+    }   //  injectBindings()
+
+    /**
+     *  Calls the entry point, if the script class has one.
+     *
+     *  @param  args    The arguments for {@code main()}; they are ignored
+     *      for the other entry points.
+     *  @return The return value of the entry point; {@code null} if the
+     *      entry point is {@code void}, or if there is no entry point.
+     *  @throws Throwable   The entry point failed.
+     */
+    public final Object invokeEntryPoint( final String [] args ) throws Throwable
+    {
+        final var retValue = nonNull( entryPoint ) ? (Object) entryPoint.invokeExact( args ) : null;
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  invokeEntryPoint()
+
+    /**
+     *  Calls {@code setScriptContext()}, if the script class has such a
+     *  method.
+     *
+     *  @param  context The script context.
+     *  @throws Throwable   {@code setScriptContext()} failed.
+     */
+    public final void invokeSetScriptContext( final ScriptContext context ) throws Throwable
+    {
+        if( nonNull( setScriptContext ) ) setScriptContext.invokeExact( context );
+    }   //  invokeSetScriptContext()
+
+    /**
+     *  Resolves the entry points for the given script class.
+     *
+     *  @param  scriptClass The script class.
+     *  @return The entry points.
+     */
+    private static ScriptEntryPoints resolve( final Class<?> scriptClass )
+    {
+        MethodHandle setScriptContext = null;
+        final var setScriptContextSupplier = findEntryPoint( scriptClass, "setScriptContextSupplier", SET_SCRIPT_CONTEXT_SUPPLIER_TYPE );
+        if( nonNull( setScriptContextSupplier ) )
+        {
+            /*
+             * The supplier is the same for all script classes, so it does
+             * not matter if this is called more than once for the same
+             * class, because the ClassValue computed the value concurrently.
+             */
+            try
+            {
+                setScriptContextSupplier.invokeExact( ScriptContextHolder.SUPPLIER );
+            }
+            catch( final RuntimeException | Error e ) { throw e; }
+            catch( final Throwable t )
+            {
+                throw new IllegalStateException( "'%1$s.setScriptContextSupplier()' failed".formatted( scriptClass.getName() ), t );
+            }
+        }
+        else
+        {
+            setScriptContext = findEntryPoint( scriptClass, "setScriptContext", SET_SCRIPT_CONTEXT_TYPE );
+        }
+
+        //---* Adapt the entry point to the common type *---------------------
+        MethodHandle entryPoint = null;
+        var returnsValue = false;
+        final var entryPointMethod = findEntryPointMethod( scriptClass );
+        if( nonNull( entryPointMethod ) )
+        {
+            returnsValue = entryPointMethod.getReturnType() != void.class;
+            entryPoint = unreflect( scriptClass, entryPointMethod );
+            if( entryPointMethod.getParameterCount() == 0 ) entryPoint = MethodHandles.dropArguments( entryPoint, 0, String [].class );
+            entryPoint = entryPoint.asType( ENTRY_POINT_TYPE );
+        }
+
+        final var retValue = new ScriptEntryPoints( scriptClass, setScriptContext, entryPoint, returnsValue, findBindingSlots( scriptClass ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  resolve()
+
+    /**
+     *  Returns a handle for the given method of the script class.
+     *
+     *  @param  scriptClass The script class.
+     *  @param  method  The method.
+     *  @return The handle.
+     */
+    private static MethodHandle unreflect( final Class<?> scriptClass, final Method method )
+    {
+        /*
+         * Unlike core reflection, a lookup requires that this module reads
+         * the module of the script class. The script class itself is usually
+         * not public; as it lives in an unnamed module, relaxing the access
+         * will succeed.
+         */
+        ScriptEntryPoints.class.getModule().addReads( scriptClass.getModule() );
+        if( !isPublic( scriptClass.getModifiers() ) ) method.setAccessible( true );
+        final MethodHandle retValue;
+        try
+        {
+            retValue = MethodHandles.lookup().unreflect( method ).asFixedArity();
+        }
+        catch( final IllegalAccessException e )
+        {
+            throw new ImpossibleExceptionError( "The method '%1$s' is accessible".formatted( method ), e );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  unreflect()
+}
+//  record ScriptEntryPoints
+
+/*
+ *  End of File
+ */
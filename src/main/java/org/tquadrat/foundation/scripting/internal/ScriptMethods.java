@@ -0,0 +1,425 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static java.lang.invoke.MethodType.methodType;
+import static java.lang.reflect.Modifier.isAbstract;
+import static java.lang.reflect.Modifier.isPublic;
+import static java.lang.reflect.Modifier.isStatic;
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.lang.Objects.isNull;
+import static org.tquadrat.foundation.lang.Objects.nonNull;
+import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.exception.PrivateConstructorForStaticClassCalledError;
+
+/**
+ *  <p>{@summary The lookup of the methods of a script class for the
+ *  implementation of
+ *  {@link javax.script.Invocable}.}</p>
+ *  <p>The methods are resolved once per class, name and number of
+ *  arguments; the result is kept in a
+ *  {@link ClassValue},
+ *  so it lives exactly as long as the class itself. Each method is
+ *  converted into a handle of the uniform type
+ *  {@link #INVOKER_TYPE}
+ *  that takes the receiver (ignored for static methods) and the arguments
+ *  as an array, so that it can be called with
+ *  {@link MethodHandle#invokeExact(Object...)}
+ *  without any further reflection.</p>
+ *  <p>If a class has several methods with the same name and the same
+ *  number of arguments, the candidates are ordered by their specificity,
+ *  so that a method whose parameter types are subtypes of those of
+ *  another method comes first; the first one whose parameter types accept
+ *  the given arguments will be called. If there is only one, the arguments
+ *  are converted by the handle, and a wrong type causes a
+ *  {@link ClassCastException}.
+ *  Bridge methods and synthetic methods are never candidates.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: ScriptMethods.java 1109 2026-10-17 10:48:15Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: ScriptMethods.java 1109 2026-10-17 10:48:15Z tquadrat $" )
+@API( status = INTERNAL, since = "0.5.0" )
+public final class ScriptMethods
+{
+        /*---------------*\
+    ====** Inner Classes **====================================================
+        \*---------------*/
+    /**
+     *  A method that can be called.
+     *
+     *  @param  type    The type of the method.
+     *  @param  invoker The handle for the method, with the type
+     *      {@link ScriptMethods#INVOKER_TYPE}.
+     *
+     *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: ScriptMethods.java 1109 2026-10-17 10:48:15Z tquadrat $
+     *  @since 0.5.0
+     *
+     *  @UMLGraph.link
+     */
+    @ClassVersion( sourceVersion = "$Id: ScriptMethods.java 1109 2026-10-17 10:48:15Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.5.0" )
+    private record Candidate( MethodType type, MethodHandle invoker )
+    {
+        /**
+         *  Checks whether the method accepts the given arguments.
+         *
+         *  @param  args    The arguments.
+         *  @return {@code true} if the arguments are applicable,
+         *      {@code false} otherwise.
+         */
+        final boolean accepts( final Object [] args )
+        {
+            final var wrapped = type.wrap();
+            var retValue = true;
+            CheckLoop: for( var i = 0; i < args.length; ++i )
+            {
+                retValue = isNull( args [i] ) ? !type.parameterType( i ).isPrimitive() : wrapped.parameterType( i ).isInstance( args [i] );
+                if( !retValue ) break CheckLoop;
+            }   //  CheckLoop:
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  accepts()
+
+        /**
+         *  Checks whether this method is more specific than the given one:
+         *  each of its parameter types is the same as or a subtype of the
+         *  respective parameter type of the other method, and at least one
+         *  of them differs. Primitive types are compared as their wrappers.
+         *
+         *  @param  other   The other method, with the same number of
+         *      parameters.
+         *  @return {@code true} if this method is more specific,
+         *      {@code false} otherwise.
+         */
+        final boolean isMoreSpecificThan( final Candidate other )
+        {
+            final var wrapped = type.wrap();
+            final var otherWrapped = other.type().wrap();
+            var retValue = false;
+            CheckLoop: for( var i = 0; i < wrapped.parameterCount(); ++i )
+            {
+                final var parameterType = wrapped.parameterType( i );
+                final var otherParameterType = otherWrapped.parameterType( i );
+                if( !otherParameterType.isAssignableFrom( parameterType ) )
+                {
+                    retValue = false;
+                    break CheckLoop;
+                }
+                if( parameterType != otherParameterType ) retValue = true;
+            }   //  CheckLoop:
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  isMoreSpecificThan()
+    }
+    //  record Candidate
+
+    /**
+     *  The key for the methods of a class.
+     *
+     *  @param  isStatic    {@code true} for static methods, {@code false}
+     *      for instance methods.
+     *  @param  name    The name of the method.
+     *  @param  arity   The number of arguments.
+     *
+     *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: ScriptMethods.java 1109 2026-10-17 10:48:15Z tquadrat $
+     *  @since 0.5.0
+     *
+     *  @UMLGraph.link
+     */
+    @ClassVersion( sourceVersion = "$Id: ScriptMethods.java 1109 2026-10-17 10:48:15Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.5.0" )
+    private record Key( boolean isStatic, String name, int arity ) {}
+
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The type for the invokers: the receiver and the arguments, returning
+     *  the result.
+     */
+    public static final MethodType INVOKER_TYPE = methodType( Object.class, Object.class, Object [].class );
+
+    /**
+     *  The key for the constructor without arguments.
+     */
+    private static final Key CONSTRUCTOR_KEY = new Key( true, "<init>", 0 );
+
+        /*------------------------*\
+    ====** Static Initialisations **===========================================
+        \*------------------------*/
+    /**
+     *  The methods per class, by kind (static or instance), name and number
+     *  of arguments.
+     */
+    private static final ClassValue<Map<Key,List<Candidate>>> m_Methods = new ClassValue<>()
+    {
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        protected final Map<Key,List<Candidate>> computeValue( final Class<?> type ) { return new ConcurrentHashMap<>(); }
+    };
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  No instance allowed for this class.
+     */
+    private ScriptMethods() { throw new PrivateConstructorForStaticClassCalledError( ScriptMethods.class ); }
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Calls a method.
+     *
+     *  @param  type    The class that declares or inherits the method.
+     *  @param  receiver    The object on which the method will be called;
+     *      {@code null} for a static method.
+     *  @param  name    The name of the method.
+     *  @param  args    The arguments.
+     *  @return The return value of the method; {@code null} for a
+     *      {@code void} method.
+     *  @throws NoSuchMethodException   There is no applicable method.
+     *  @throws Throwable   The method failed.
+     */
+    private static Object invoke( final Class<?> type, final Object receiver, final String name, final Object [] args ) throws Throwable
+    {
+        final var isStatic = isNull( receiver );
+        final var candidates = m_Methods.get( type )
+            .computeIfAbsent( new Key( isStatic, name, args.length ), key -> resolve( type, key ) );
+
+        Candidate candidate = null;
+        if( candidates.size() == 1 )
+        {
+            /*
+             * The usual case: no overloads. Arguments of the wrong type will
+             * cause a ClassCastException from the invoker.
+             */
+            candidate = candidates.getFirst();
+        }
+        else
+        {
+            SearchLoop: for( final var c : candidates )
+            {
+                if( c.accepts( args ) )
+                {
+                    candidate = c;
+                    break SearchLoop;
+                }
+            }   //  SearchLoop:
+        }
+        if( isNull( candidate ) )
+        {
+            throw new NoSuchMethodException( "%1$s.%2$s() with %3$d argument(s)".formatted( type.getName(), name, args.length ) );
+        }
+
+        final var retValue = (Object) candidate.invoker().invokeExact( receiver, args );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  invoke()
+
+    /**
+     *  Calls a public static method of the given class.
+     *
+     *  @param  type    The class.
+     *  @param  name    The name of the method.
+     *  @param  args    The arguments; {@code null} is the same as an empty
+     *      array.
+     *  @return The return value of the method; {@code null} for a
+     *      {@code void} method.
+     *  @throws NoSuchMethodException   There is no applicable method.
+     *  @throws Throwable   The method failed.
+     */
+    public static final Object invokeStatic( final Class<?> type, final String name, final Object... args ) throws Throwable
+    {
+        final var retValue = invoke( requireNonNullArgument( type, "type" ), null, requireNonNullArgument( name, "name" ), isNull( args ) ? new Object [0] : args );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  invokeStatic()
+
+    /**
+     *  Calls a public instance method on the given object.
+     *
+     *  @param  receiver    The object.
+     *  @param  name    The name of the method.
+     *  @param  args    The arguments; {@code null} is the same as an empty
+     *      array.
+     *  @return The return value of the method; {@code null} for a
+     *      {@code void} method.
+     *  @throws NoSuchMethodException   There is no applicable method.
+     *  @throws Throwable   The method failed.
+     */
+    public static final Object invokeVirtual( final Object receiver, final String name, final Object... args ) throws Throwable
+    {
+        final var retValue = invoke( requireNonNullArgument( receiver, "receiver" ).getClass(), receiver, requireNonNullArgument( name, "name" ), isNull( args ) ? new Object [0] : args );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  invokeVirtual()
+
+    /**
+     *  Creates a new instance of the given class, using its constructor
+     *  without arguments.
+     *
+     *  @param  type    The class.
+     *  @return The new instance.
+     *  @throws NoSuchMethodException   The class does not have an
+     *      accessible constructor without arguments.
+     *  @throws Throwable   The constructor failed.
+     */
+    public static final Object newInstance( final Class<?> type ) throws Throwable
+    {
+        final var candidates = m_Methods.get( requireNonNullArgument( type, "type" ) )
+            .computeIfAbsent( CONSTRUCTOR_KEY, $ -> resolveConstructor( type ) );
+        if( candidates.isEmpty() ) throw new NoSuchMethodException( "%1$s.<init>()".formatted( type.getName() ) );
+
+        final var retValue = (Object) candidates.getFirst().invoker().invokeExact( (Object) null, new Object [0] );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  newInstance()
+
+    /**
+     *  Creates an invoker for the given method.
+     *
+     *  @param  type    The class that was searched for the method.
+     *  @param  method  The method.
+     *  @return The invoker, or {@code null} if the method is not
+     *      accessible.
+     */
+    private static MethodHandle createInvoker( final Class<?> type, final Method method )
+    {
+        MethodHandle retValue = null;
+
+        /*
+         * A lookup requires that this module reads the module of the class;
+         * if the class itself is not public, the access has to be relaxed.
+         */
+        ScriptMethods.class.getModule().addReads( method.getDeclaringClass().getModule() );
+        if( !isPublic( type.getModifiers() ) || !isPublic( method.getDeclaringClass().getModifiers() ) ) method.trySetAccessible();
+        try
+        {
+            final var arity = method.getParameterCount();
+            var handle = MethodHandles.lookup().unreflect( method ).asFixedArity();
+            if( isStatic( method.getModifiers() ) ) handle = MethodHandles.dropArguments( handle, 0, Object.class );
+            retValue = handle
+                .asType( MethodType.genericMethodType( arity + 1 ) )
+                .asSpreader( Object [].class, arity );
+        }
+        catch( final IllegalAccessException ignored ) { /* The method will be skipped deliberately */ }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  createInvoker()
+
+    /**
+     *  Looks up the methods for the given key. Bridge methods and synthetic
+     *  methods are skipped.
+     *
+     *  @param  type    The class.
+     *  @param  key The kind, name and number of arguments of the methods.
+     *  @return The candidates, the most specific first; the list is empty
+     *      if there is no such method.
+     */
+    private static List<Candidate> resolve( final Class<?> type, final Key key )
+    {
+        final List<Candidate> candidates = new ArrayList<>();
+        for( final var method : type.getMethods() )
+        {
+            if( method.getName().equals( key.name() ) && (method.getParameterCount() == key.arity()) && (isStatic( method.getModifiers() ) == key.isStatic()) && !method.isBridge() && !method.isSynthetic() )
+            {
+                final var invoker = createInvoker( type, method );
+                if( nonNull( invoker ) )
+                {
+                    /*
+                     * Specificity is only a partial order, and the order of
+                     * the methods from Class.getMethods() is unspecified;
+                     * therefore the candidate is inserted in front of the
+                     * first one that is less specific, instead of sorting
+                     * the list with a Comparator.
+                     */
+                    final var candidate = new Candidate( methodType( method.getReturnType(), method.getParameterTypes() ), invoker );
+                    var position = 0;
+                    while( (position < candidates.size()) && !candidate.isMoreSpecificThan( candidates.get( position ) ) ) ++position;
+                    candidates.add( position, candidate );
+                }
+            }
+        }
+        final var retValue = List.copyOf( candidates );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  resolve()
+
+    /**
+     *  Looks up the constructor without arguments.
+     *
+     *  @param  type    The class.
+     *  @return The list with the constructor as the only candidate, or an
+     *      empty list if the class does not have such a constructor, or if
+     *      it is not accessible.
+     */
+    private static List<Candidate> resolveConstructor( final Class<?> type )
+    {
+        List<Candidate> retValue = List.of();
+        if( !isAbstract( type.getModifiers() ) )
+        {
+            try
+            {
+                final var constructor = type.getDeclaredConstructor();
+                ScriptMethods.class.getModule().addReads( type.getModule() );
+                constructor.trySetAccessible();
+                final var invoker = MethodHandles.dropArguments( MethodHandles.lookup().unreflectConstructor( constructor ).asType( methodType( Object.class ) ), 0, Object.class, Object [].class );
+                retValue = List.of( new Candidate( invoker.type(), invoker ) );
+            }
+            catch( final NoSuchMethodException | IllegalAccessException ignored ) { /* The class cannot be instantiated */ }
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  resolveConstructor()
+}
+//  class ScriptMethods
+
+/*
+ *  End of File
+ */
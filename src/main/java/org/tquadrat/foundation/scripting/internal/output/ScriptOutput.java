@@ -0,0 +1,537 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal.output;
+
+import static java.io.OutputStream.nullOutputStream;
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.lang.Objects.isNull;
+import static org.tquadrat.foundation.lang.Objects.nonNull;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.exception.PrivateConstructorForStaticClassCalledError;
+import org.tquadrat.foundation.scripting.internal.ScriptContextHolder;
+
+/**
+ *  <p>{@summary The replacements for
+ *  {@link System#out}
+ *  and
+ *  {@link System#err}
+ *  in the script classes.}</p>
+ *  <p>When a script is compiled, the references to {@code System.out} and
+ *  {@code System.err} in its byte code are redirected to the fields of this
+ *  class, by
+ *  {@link org.tquadrat.foundation.scripting.internal.JavaCompiler}.
+ *  The streams in these fields write to the
+ *  {@linkplain javax.script.ScriptContext#getWriter() writer}
+ *  and the
+ *  {@linkplain javax.script.ScriptContext#getErrorWriter() error writer}
+ *  of the context for the evaluation that is running on the current
+ *  thread, as provided by
+ *  {@link ScriptContextHolder};
+ *  outside an evaluation, they write to the current {@code System.out} and
+ *  {@code System.err}. So the output of concurrent evaluations goes to
+ *  their respective contexts, without swapping {@code System.out} and
+ *  without a lock that is shared by these evaluations.</p>
+ *  <p>Text is passed to the writers as it is; bytes that are written with
+ *  the {@code write()} methods are decoded with the
+ *  {@linkplain PrintStream#charset() charset}
+ *  of the stream, separately for each call.</p>
+ *  <p>The fields have the same names as their counterparts in
+ *  {@link System},
+ *  so that only the class of a field reference has to be replaced.</p>
+ *  <p>This class is the only one in its package, because the package is
+ *  exported to the script classes.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: ScriptOutput.java 1108 2026-10-17 09:41:27Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: ScriptOutput.java 1108 2026-10-17 09:41:27Z tquadrat $" )
+@API( status = INTERNAL, since = "0.5.0" )
+public final class ScriptOutput
+{
+        /*---------------*\
+    ====** Inner Classes **====================================================
+        \*---------------*/
+    /**
+     *  An implementation of
+     *  {@link PrintStream}
+     *  that forwards all output either to a writer of the current script
+     *  context, or to the respective standard stream.
+     *
+     *  @version $Id: ScriptOutput.java 1108 2026-10-17 09:41:27Z tquadrat $
+     *  @since 0.5.0
+     *
+     *  @UMLGraph.link
+     */
+    @ClassVersion( sourceVersion = "$Id: ScriptOutput.java 1108 2026-10-17 09:41:27Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.5.0" )
+    private static final class RedirectingPrintStream extends PrintStream
+    {
+            /*------------*\
+        ====** Attributes **===================================================
+            \*------------*/
+        /**
+         *  The standard stream at the time this instance was created; it is
+         *  used if the current standard stream is this instance itself.
+         */
+        private final PrintStream m_InitialStream;
+
+        /**
+         *  {@code true} if this instance replaces {@code System.err},
+         *  {@code false} if it replaces {@code System.out}.
+         */
+        private final boolean m_IsError;
+
+            /*--------------*\
+        ====** Constructors **=================================================
+            \*--------------*/
+        /**
+         *  Creates a new {@code RedirectingPrintStream} instance.
+         *
+         *  @param  isError {@code true} for the replacement of
+         *      {@code System.err}, {@code false} for the replacement of
+         *      {@code System.out}.
+         */
+        public RedirectingPrintStream( final boolean isError )
+        {
+            super( nullOutputStream() );
+            m_IsError = isError;
+            m_InitialStream = isError ? System.err : System.out;
+        }   //  RedirectingPrintStream()
+
+            /*---------*\
+        ====** Methods **======================================================
+            \*---------*/
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final PrintStream append( final char c )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().append( c ); else writer.append( c );
+
+            //---* Done *------------------------------------------------------
+            return this;
+        }   //  append()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final PrintStream append( final CharSequence csq )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().append( csq ); else writer.append( csq );
+
+            //---* Done *------------------------------------------------------
+            return this;
+        }   //  append()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final PrintStream append( final CharSequence csq, final int start, final int end )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().append( csq, start, end ); else writer.append( csq, start, end );
+
+            //---* Done *------------------------------------------------------
+            return this;
+        }   //  append()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final boolean checkError()
+        {
+            final var writer = writer();
+            final var retValue = isNull( writer ) ? stream().checkError() : writer.checkError();
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  checkError()
+
+        /**
+         *  {@inheritDoc}<br>
+         *  <br>Neither the writer of the script context nor the standard
+         *  stream will be closed; they will be flushed only.
+         */
+        @Override
+        public final void close() { flush(); }
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void flush()
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().flush(); else writer.flush();
+        }   //  flush()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final PrintStream format( final String format, final Object... args )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().format( format, args ); else writer.format( format, args );
+
+            //---* Done *------------------------------------------------------
+            return this;
+        }   //  format()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final PrintStream format( final Locale locale, final String format, final Object... args )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().format( locale, format, args ); else writer.format( locale, format, args );
+
+            //---* Done *------------------------------------------------------
+            return this;
+        }   //  format()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void print( final boolean b )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().print( b ); else writer.print( b );
+        }   //  print()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void print( final char c )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().print( c ); else writer.print( c );
+        }   //  print()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void print( final char [] s )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().print( s ); else writer.print( s );
+        }   //  print()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void print( final double d )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().print( d ); else writer.print( d );
+        }   //  print()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void print( final float f )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().print( f ); else writer.print( f );
+        }   //  print()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void print( final int i )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().print( i ); else writer.print( i );
+        }   //  print()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void print( final long l )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().print( l ); else writer.print( l );
+        }   //  print()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void print( final Object obj )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().print( obj ); else writer.print( obj );
+        }   //  print()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void print( final String s )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().print( s ); else writer.print( s );
+        }   //  print()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final PrintStream printf( final String format, final Object... args ) { return format( format, args ); }
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final PrintStream printf( final Locale locale, final String format, final Object... args ) { return format( locale, format, args ); }
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void println()
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().println(); else writer.println();
+        }   //  println()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void println( final boolean x )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().println( x ); else writer.println( x );
+        }   //  println()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void println( final char x )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().println( x ); else writer.println( x );
+        }   //  println()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void println( final char [] x )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().println( x ); else writer.println( x );
+        }   //  println()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void println( final double x )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().println( x ); else writer.println( x );
+        }   //  println()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void println( final float x )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().println( x ); else writer.println( x );
+        }   //  println()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void println( final int x )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().println( x ); else writer.println( x );
+        }   //  println()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void println( final long x )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().println( x ); else writer.println( x );
+        }   //  println()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void println( final Object x )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().println( x ); else writer.println( x );
+        }   //  println()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void println( final String x )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().println( x ); else writer.println( x );
+        }   //  println()
+
+        /**
+         *  Returns the standard stream that gets the output when no
+         *  evaluation is running on the current thread.
+         *
+         *  @return The standard stream.
+         */
+        private final PrintStream stream()
+        {
+            final var stream = m_IsError ? System.err : System.out;
+            final var retValue = stream == this ? m_InitialStream : stream;
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  stream()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void write( final byte [] buf ) throws IOException { write( buf, 0, buf.length ); }
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void write( final byte [] buf, final int off, final int len )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().write( buf, off, len ); else writer.write( new String( buf, off, len, charset() ) );
+        }   //  write()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void write( final int b )
+        {
+            final var writer = writer();
+            if( isNull( writer ) ) stream().write( b ); else writer.write( new String( new byte [] {(byte) b}, charset() ) );
+        }   //  write()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void writeBytes( final byte [] buf ) { write( buf, 0, buf.length ); }
+
+        /**
+         *  Returns the writer of the script context for the evaluation that
+         *  is running on the current thread.
+         *
+         *  @return The writer, or {@code null} if no evaluation is running,
+         *      or if the context does not provide a writer.
+         */
+        private final PrintWriter writer()
+        {
+            PrintWriter retValue = null;
+            final var context = ScriptContextHolder.current();
+            if( nonNull( context ) )
+            {
+                final var writer = m_IsError ? context.getErrorWriter() : context.getWriter();
+                if( writer instanceof final PrintWriter printWriter )
+                {
+                    retValue = printWriter;
+                }
+                else if( nonNull( writer ) )
+                {
+                    /*
+                     * PrintWriter does not buffer, so a new wrapper for each
+                     * call does not change the output.
+                     */
+                    retValue = new PrintWriter( writer );
+                }
+            }
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  writer()
+    }
+    //  class RedirectingPrintStream
+
+        /*------------------------*\
+    ====** Static Initialisations **===========================================
+        \*------------------------*/
+    /**
+     *  The replacement for
+     *  {@link System#err}.
+     */
+    @SuppressWarnings( { "PublicField", "StaticVariableNamingConvention" } )
+    public static final PrintStream err = new RedirectingPrintStream( true );
+
+    /**
+     *  The replacement for
+     *  {@link System#out}.
+     */
+    @SuppressWarnings( { "PublicField", "StaticVariableNamingConvention" } )
+    public static final PrintStream out = new RedirectingPrintStream( false );
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  No instance allowed for this class.
+     */
+    private ScriptOutput() { throw new PrivateConstructorForStaticClassCalledError( ScriptOutput.class ); }
+}
+//  class ScriptOutput
+
+/*
+ *  End of File
+ */
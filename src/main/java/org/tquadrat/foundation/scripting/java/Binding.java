@@ -0,0 +1,83 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+import static org.apiguardian.api.API.Status.STABLE;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary Marks a static field of a script class as a binding
+ *  slot.}</p>
+ *  <p>The binding slots of a script class are looked up once, when the
+ *  script is compiled. Before each evaluation, the engine writes the value
+ *  of the attribute with the
+ *  {@linkplain #value() given name}
+ *  from the
+ *  {@link javax.script.ScriptContext}
+ *  into the field, through a pre-resolved method handle; the script body
+ *  reads a plain field then, instead of calling
+ *  {@link javax.script.ScriptContext#getAttribute(String)}
+ *  for each access. If the context does not have an attribute with that
+ *  name, the field is reset to {@code null}, {@code 0}, or {@code false},
+ *  respectively.</p>
+ *  <p>A primitive field receives the unboxed value of the attribute; if
+ *  the value cannot be assigned to the field, the evaluation fails with a
+ *  {@link javax.script.ScriptException}.
+ *  The annotation is ignored for fields that are not static, or that are
+ *  final.</p>
+ *  <p>As the fields are static, two concurrent evaluations of the same
+ *  script class with different bindings will overwrite the values of each
+ *  other.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: Binding.java 1104 2026-10-16 23:54:37Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: Binding.java 1104 2026-10-16 23:54:37Z tquadrat $" )
+@API( status = STABLE, since = "0.5.0" )
+@Documented
+@Retention( RUNTIME )
+@Target( FIELD )
+public @interface Binding
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  The name of the attribute in the script context; the default is the
+     *  name of the field.
+     *
+     *  @return The name of the attribute.
+     */
+    String value() default "";
+}
+//  @interface Binding
+
+/*
+ *  End of File
+ */
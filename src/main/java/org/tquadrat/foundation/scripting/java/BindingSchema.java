@@ -0,0 +1,248 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static org.apiguardian.api.API.Status.STABLE;
+import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
+import static org.tquadrat.foundation.lang.Objects.requireNotEmptyArgument;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary The immutable set of the names for a family of
+ *  {@link SchemaBindings}
+ *  instances.}</p>
+ *  <p>Each name of the schema gets a fixed position, its
+ *  {@linkplain #slotOf(Object) slot};
+ *  the bindings keep their values in an array that is indexed by these
+ *  slots. The names are interned, and they are kept in an open addressing
+ *  table together with their precomputed hash codes, so that the lookup of
+ *  a name usually needs just one probe and an identity comparison.</p>
+ *  <p>The name
+ *  {@value #CONTEXT}
+ *  is always part of a schema, as the
+ *  {@link JavaEngine}
+ *  stores the current script context under that name with each
+ *  evaluation.</p>
+ *  <p>A schema is usually created once and shared by all the bindings for
+ *  the same kind of script.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: BindingSchema.java 1105 2026-10-17 00:41:19Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: BindingSchema.java 1105 2026-10-17 00:41:19Z tquadrat $" )
+@API( status = STABLE, since = "0.5.0" )
+public final class BindingSchema
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The name that is always part of a schema: {@value}.
+     */
+    public static final String CONTEXT = "context";
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The precomputed hash codes of the names, in the order of
+     *  {@link #m_Table}.
+     */
+    private final int [] m_Hashes;
+
+    /**
+     *  The bit mask for the index into
+     *  {@link #m_Table}.
+     */
+    private final int m_Mask;
+
+    /**
+     *  The names in the order of their slots.
+     */
+    private final String [] m_Names;
+
+    /**
+     *  The slots of the names, in the order of
+     *  {@link #m_Table}.
+     */
+    private final int [] m_Slots;
+
+    /**
+     *  The open addressing table with the names.
+     */
+    private final String [] m_Table;
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code BindingSchema} instance.
+     *
+     *  @param  names   The names, without duplicates.
+     */
+    private BindingSchema( final Collection<String> names )
+    {
+        m_Names = names.toArray( String []::new );
+
+        //---* The load factor is at most 0.5 *--------------------------------
+        final var capacity = Integer.highestOneBit( Math.max( 2, m_Names.length ) * 2 - 1 ) << 1;
+        m_Mask = capacity - 1;
+        m_Table = new String [capacity];
+        m_Hashes = new int [capacity];
+        m_Slots = new int [capacity];
+        for( var slot = 0; slot < m_Names.length; ++slot )
+        {
+            final var hash = spread( m_Names [slot].hashCode() );
+            var index = hash & m_Mask;
+            while( m_Table [index] != null ) index = (index + 1) & m_Mask;
+            m_Table [index] = m_Names [slot];
+            m_Hashes [index] = hash;
+            m_Slots [index] = slot;
+        }
+    }   //  BindingSchema()
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Returns the names of this schema, in the order of their slots.
+     *
+     *  @return The names.
+     */
+    public final List<String> getNames() { return List.of( m_Names ); }
+
+    /**
+     *  Returns the name for the given slot.
+     *
+     *  @param  slot    The slot.
+     *  @return The name.
+     *  @throws IndexOutOfBoundsException   The slot is invalid.
+     */
+    public final String nameOf( final int slot ) { return m_Names [slot]; }
+
+    /**
+     *  Creates a new, empty instance of
+     *  {@link SchemaBindings}
+     *  for this schema.
+     *
+     *  @return The new bindings.
+     */
+    public final SchemaBindings newBindings() { return new SchemaBindings( this ); }
+
+    /**
+     *  Creates a new schema for the given names. Duplicate names are
+     *  ignored.
+     *
+     *  @param  names   The names.
+     *  @return The new schema.
+     */
+    public static final BindingSchema of( final String... names )
+    {
+        final var retValue = of( Arrays.asList( requireNonNullArgument( names, "names" ) ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  of()
+
+    /**
+     *  Creates a new schema for the given names. Duplicate names are
+     *  ignored.
+     *
+     *  @param  names   The names.
+     *  @return The new schema.
+     */
+    public static final BindingSchema of( final Collection<String> names )
+    {
+        final Collection<String> internedNames = new LinkedHashSet<>();
+        internedNames.add( CONTEXT );
+        for( final var name : requireNonNullArgument( names, "names" ) )
+        {
+            internedNames.add( requireNotEmptyArgument( name, "name" ).intern() );
+        }
+        final var retValue = new BindingSchema( internedNames );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  of()
+
+    /**
+     *  Returns the number of names in this schema.
+     *
+     *  @return The number of slots.
+     */
+    public final int size() { return m_Names.length; }
+
+    /**
+     *  Returns the slot for the given name.
+     *
+     *  @param  name    The name.
+     *  @return The slot, or -1 if the name is not part of this schema.
+     */
+    public final int slotOf( final Object name )
+    {
+        var retValue = -1;
+        if( name instanceof final String key )
+        {
+            final var hash = spread( key.hashCode() );
+            var index = hash & m_Mask;
+            SearchLoop: for( var candidate = m_Table [index]; candidate != null; candidate = m_Table [index] )
+            {
+                //noinspection StringEquality
+                if( (candidate == key) || ((m_Hashes [index] == hash) && candidate.equals( key )) )
+                {
+                    retValue = m_Slots [index];
+                    break SearchLoop;
+                }
+                index = (index + 1) & m_Mask;
+            }   //  SearchLoop:
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  slotOf()
+
+    /**
+     *  Spreads the higher bits of the given hash code to the lower ones, as
+     *  the table uses only the lower bits for the index.
+     *
+     *  @param  hashCode    The hash code.
+     *  @return The spread hash code.
+     */
+    private static int spread( final int hashCode ) { return hashCode ^ (hashCode >>> 16); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final String toString() { return "BindingSchema" + Arrays.toString( m_Names ); }
+}
+//  class BindingSchema
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,69 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static org.apiguardian.api.API.Status.STABLE;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  A snapshot of the counters of a cache that is used by the
+ *  {@link JavaEngine}.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: CacheStatistics.java 1084 2026-10-16 09:12:41Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @param  hits    The number of lookups that could be served from the
+ *      cache.
+ *  @param  misses  The number of lookups that could not be served from the
+ *      cache.
+ *  @param  evictions   The number of entries that were removed from the
+ *      cache because it reached its capacity.
+ *  @param  size    The current number of entries in the cache.
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: CacheStatistics.java 1084 2026-10-16 09:12:41Z tquadrat $" )
+@API( status = STABLE, since = "0.5.0" )
+public record CacheStatistics( long hits, long misses, long evictions, int size )
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Returns the ratio of hits to the total number of lookups.
+     *
+     *  @return The hit ratio, a value between 0.0 and 1.0; if no lookup was
+     *      done yet, the return value is 0.0.
+     */
+    public final double hitRatio()
+    {
+        final var lookups = hits + misses;
+        final var retValue = lookups == 0 ? 0.0 : (double) hits / lookups;
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  hitRatio()
+}
+//  record CacheStatistics
+
+/*
+ *  End of File
+ */
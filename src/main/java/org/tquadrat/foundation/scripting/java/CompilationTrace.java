@@ -0,0 +1,82 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static org.apiguardian.api.API.Status.STABLE;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  The measurements for a single invocation of the compiler.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: CompilationTrace.java 1096 2026-10-16 18:03:51Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @param  sources The names of the compiled sources.
+ *  @param  success {@code true} if the compilation succeeded,
+ *      {@code false} otherwise.
+ *  @param  totalTime   The wall time for the compilation.
+ *  @param  allocatedBytes  The number of bytes that were allocated by the
+ *      compiler; -1 if the JVM does not support the measurement of
+ *      allocations.
+ *  @param  generatedClasses    The number of generated classes.
+ *  @param  phaseTimes  The wall times for the phases of the compilation.
+ *  @param  phaseAllocations    The numbers of allocated bytes for the
+ *      phases of the compilation; empty if the JVM does not support the
+ *      measurement of allocations.
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: CompilationTrace.java 1096 2026-10-16 18:03:51Z tquadrat $" )
+@API( status = STABLE, since = "0.5.0" )
+public record CompilationTrace( List<String> sources, boolean success, Duration totalTime, long allocatedBytes, int generatedClasses, Map<CompilePhase,Duration> phaseTimes, Map<CompilePhase,Long> phaseAllocations )
+{
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code CompilationTrace} instance.
+     *
+     *  @param  sources The names of the compiled sources.
+     *  @param  success {@code true} if the compilation succeeded,
+     *      {@code false} otherwise.
+     *  @param  totalTime   The wall time for the compilation.
+     *  @param  allocatedBytes  The number of allocated bytes.
+     *  @param  generatedClasses    The number of generated classes.
+     *  @param  phaseTimes  The wall times for the phases.
+     *  @param  phaseAllocations    The numbers of allocated bytes for the
+     *      phases.
+     */
+    public CompilationTrace
+    {
+        sources = List.copyOf( sources );
+        phaseTimes = Map.copyOf( phaseTimes );
+        phaseAllocations = Map.copyOf( phaseAllocations );
+    }   //  CompilationTrace()
+}
+//  record CompilationTrace
+
+/*
+ *  End of File
+ */
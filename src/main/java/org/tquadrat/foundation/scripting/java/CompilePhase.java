@@ -0,0 +1,77 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static org.apiguardian.api.API.Status.STABLE;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  The phases of a compilation, as reported by {@code javac}.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: CompilePhase.java 1096 2026-10-16 18:03:51Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @see CompilePhaseStatistics
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: CompilePhase.java 1096 2026-10-16 18:03:51Z tquadrat $" )
+@API( status = STABLE, since = "0.5.0" )
+public enum CompilePhase
+{
+        /*------------------*\
+    ====** Enum Declaration **=================================================
+        \*------------------*/
+    /**
+     *  The parsing of the sources into syntax trees.
+     */
+    PARSE,
+
+    /**
+     *  The entering of the symbols for the declared classes and their
+     *  members; this includes the resolution of the imports.
+     */
+    ENTER,
+
+    /**
+     *  The annotation processing; this includes the parsing and entering of
+     *  any generated sources.
+     */
+    ANNOTATION_PROCESSING,
+
+    /**
+     *  The attribution of the syntax trees (type checking, the resolution
+     *  of names and overloaded methods, the inference of types) and the
+     *  flow analysis.
+     */
+    ANALYZE,
+
+    /**
+     *  The desugaring of the syntax trees and the generation of the byte
+     *  code.
+     */
+    GENERATE
+}
+//  enum CompilePhase
+
+/*
+ *  End of File
+ */
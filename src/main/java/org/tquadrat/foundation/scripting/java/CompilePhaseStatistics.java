@@ -0,0 +1,93 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static org.apiguardian.api.API.Status.STABLE;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary A snapshot of the per-phase measurements for the compiler
+ *  that is shared by all instances of
+ *  {@link JavaEngine}.}</p>
+ *  <p>A slow phase hints at the cause for a slow compilation: a long
+ *  {@link CompilePhase#ENTER}
+ *  phase often means that the classpath is large or slow to search, while
+ *  a long
+ *  {@link CompilePhase#ANALYZE}
+ *  phase is caused by the script itself, for example by deeply nested
+ *  generic method calls that stress the type inference. The
+ *  {@linkplain #slowest() slowest compilations}
+ *  name the sources that caused them.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: CompilePhaseStatistics.java 1096 2026-10-16 18:03:51Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @param  phaseTimes  The histograms for the wall times of the phases, in
+ *      nanoseconds.
+ *  @param  phaseAllocations    The histograms for the numbers of allocated
+ *      bytes per phase; empty if the JVM does not support the measurement
+ *      of allocations.
+ *  @param  totalTimes  The histogram for the wall times of the
+ *      compilations, in nanoseconds.
+ *  @param  totalAllocations    The histogram for the numbers of allocated
+ *      bytes per compilation.
+ *  @param  generatedClasses    The histogram for the numbers of generated
+ *      classes per compilation.
+ *  @param  slowest The slowest compilations so far, the slowest first.
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: CompilePhaseStatistics.java 1096 2026-10-16 18:03:51Z tquadrat $" )
+@API( status = STABLE, since = "0.5.0" )
+public record CompilePhaseStatistics( Map<CompilePhase,Histogram> phaseTimes, Map<CompilePhase,Histogram> phaseAllocations, Histogram totalTimes, Histogram totalAllocations, Histogram generatedClasses, List<CompilationTrace> slowest )
+{
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code CompilePhaseStatistics} instance.
+     *
+     *  @param  phaseTimes  The histograms for the wall times of the phases.
+     *  @param  phaseAllocations    The histograms for the numbers of
+     *      allocated bytes per phase.
+     *  @param  totalTimes  The histogram for the wall times of the
+     *      compilations.
+     *  @param  totalAllocations    The histogram for the numbers of
+     *      allocated bytes per compilation.
+     *  @param  generatedClasses    The histogram for the numbers of
+     *      generated classes per compilation.
+     *  @param  slowest The slowest compilations.
+     */
+    public CompilePhaseStatistics
+    {
+        phaseTimes = Map.copyOf( phaseTimes );
+        phaseAllocations = Map.copyOf( phaseAllocations );
+        slowest = List.copyOf( slowest );
+    }   //  CompilePhaseStatistics()
+}
+//  record CompilePhaseStatistics
+
+/*
+ *  End of File
+ */
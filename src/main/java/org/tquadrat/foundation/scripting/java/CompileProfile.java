@@ -0,0 +1,145 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static java.util.Locale.ROOT;
+import static org.apiguardian.api.API.Status.STABLE;
+
+import java.util.List;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary The profiles for the compilation of scripts.} Each profile
+ *  stands for a set of options for {@code javac}.</p>
+ *  <p>The profile is selected by the variable
+ *  {@value JavaEngine#COMPILE_PROFILE},
+ *  either in the script context or as a System property with the prefix
+ *  {@value JavaEngine#SYSPROP_PREFIX}.
+ *  The byte code that was compiled with one profile will not be reused
+ *  from the caches for another profile.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: CompileProfile.java 1095 2026-10-16 17:12:44Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: CompileProfile.java 1095 2026-10-16 17:12:44Z tquadrat $" )
+@API( status = STABLE, since = "0.5.0" )
+public enum CompileProfile
+{
+        /*------------------*\
+    ====** Enum Declaration **=================================================
+        \*------------------*/
+    /**
+     *  The profile for debugging: the byte code keeps the line number
+     *  tables, the names of the local variables and the name of the source
+     *  file, so that stack traces point to the lines in the script, and a
+     *  debugger can show the variables. All lint checks are enabled.
+     */
+    DEBUG( "-Xlint:all", "-deprecation", "-g", "-parameters" ),
+
+    /**
+     *  <p>{@summary The profile for the lowest latency.} All lint checks
+     *  are disabled, no warnings are reported, the search for annotation
+     *  processors is skipped, and the byte code does not carry debug
+     *  information.</p>
+     *  <p>String concatenations are compiled to calls to
+     *  {@link StringBuilder}
+     *  instead of to {@code invokedynamic} call sites; this avoids the
+     *  bootstrap of
+     *  {@link java.lang.invoke.StringConcatFactory}
+     *  on the first execution of a script.</p>
+     */
+    FAST( "-Xlint:none", "-nowarn", "-proc:none", "-g:none", "-XDstringConcat=inline" ),
+
+    /**
+     *  The default profile: all lint checks are enabled and reported as
+     *  warnings, the byte code does not carry debug information.
+     */
+    STANDARD( "-Xlint:all", "-g:none", "-deprecation" ),
+
+    /**
+     *  The profile for the validation of scripts: all lint checks are
+     *  enabled, and a warning will cause the compilation to fail.
+     */
+    STRICT( "-Xlint:all", "-g:none", "-deprecation", "-Werror" );
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The options for {@code javac}.
+     */
+    private final List<String> m_Options;
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code CompileProfile} instance.
+     *
+     *  @param  options The options for {@code javac}.
+     */
+    private CompileProfile( final String... options )
+    {
+        m_Options = List.of( options );
+    }   //  CompileProfile()
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Returns the profile for the given value. This is either an instance
+     *  of {@code CompileProfile}, or the name of a profile; the case of the
+     *  name does not matter.
+     *
+     *  @param  value   The value; can be {@code null}.
+     *  @return The profile; if the value is {@code null},
+     *      {@link #STANDARD}
+     *      will be returned.
+     *  @throws IllegalArgumentException    The value does not name a
+     *      profile.
+     */
+    public static final CompileProfile of( final Object value ) throws IllegalArgumentException
+    {
+        final var retValue = switch( value )
+        {
+            case null -> STANDARD;
+            case final CompileProfile profile -> profile;
+            default -> valueOf( value.toString().trim().toUpperCase( ROOT ) );
+        };
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  of()
+
+    /**
+     *  Returns the options for {@code javac} that belong to this profile.
+     *
+     *  @return The options.
+     */
+    public final List<String> getOptions() { return m_Options; }
+}
+//  enum CompileProfile
+
+/*
+ *  End of File
+ */
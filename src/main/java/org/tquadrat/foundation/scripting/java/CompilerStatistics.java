@@ -0,0 +1,90 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static org.apiguardian.api.API.Status.STABLE;
+
+import java.time.Duration;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  A snapshot of the counters for the compiler that is shared by all
+ *  instances of
+ *  {@link JavaEngine}.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: CompilerStatistics.java 1086 2026-10-16 10:41:52Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @param  compilations    The number of invocations of the compiler.
+ *  @param  failures    The number of compilations that failed.
+ *  @param  totalTime   The accumulated time for all compilations.
+ *  @param  maxTime The time for the slowest compilation.
+ *  @param  firstTime   The time for the very first compilation; this
+ *      includes the time for loading and initialising the compiler.
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: CompilerStatistics.java 1086 2026-10-16 10:41:52Z tquadrat $" )
+@API( status = STABLE, since = "0.5.0" )
+public record CompilerStatistics( long compilations, long failures, Duration totalTime, Duration maxTime, Duration firstTime )
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Returns the average time for a compilation.
+     *
+     *  @return The average time; if there was no compilation yet, the
+     *      return value is
+     *      {@link Duration#ZERO}.
+     */
+    public final Duration averageTime()
+    {
+        final var retValue = compilations == 0 ? Duration.ZERO : totalTime.dividedBy( compilations );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  averageTime()
+
+    /**
+     *  Returns the average time for all compilations except the first one.
+     *  Compared with
+     *  {@link #firstTime()},
+     *  this shows how much the compilation benefits from the shared, warm
+     *  compiler.
+     *
+     *  @return The average time for the subsequent compilations; if there
+     *      were less than two compilations yet, the return value is
+     *      {@link Duration#ZERO}.
+     */
+    public final Duration averageWarmTime()
+    {
+        final var retValue = compilations < 2 ? Duration.ZERO : totalTime.minus( firstTime ).dividedBy( compilations - 1 );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  averageWarmTime()
+}
+//  record CompilerStatistics
+
+/*
+ *  End of File
+ */
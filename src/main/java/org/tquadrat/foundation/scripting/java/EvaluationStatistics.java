@@ -0,0 +1,98 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static org.apiguardian.api.API.Status.STABLE;
+
+import java.time.Duration;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  A snapshot of the counters of a
+ *  {@link JavaEvaluationService}.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: EvaluationStatistics.java 1092 2026-10-16 14:37:12Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @param  submitted   The number of evaluations that were accepted.
+ *  @param  rejected    The number of evaluations that were rejected because
+ *      the service was overloaded or closed.
+ *  @param  completed   The number of evaluations that completed normally.
+ *  @param  failed  The number of evaluations that terminated with an
+ *      exception.
+ *  @param  running The number of evaluations that are currently running.
+ *  @param  queued  The number of evaluations that are currently waiting for
+ *      their execution.
+ *  @param  totalQueueWait  The accumulated time that the evaluations had to
+ *      wait before their execution started.
+ *  @param  maxQueueWait    The longest time that an evaluation had to wait
+ *      before its execution started.
+ *  @param  totalRunTime    The accumulated execution time for the
+ *      evaluations.
+ *  @param  maxRunTime  The execution time for the slowest evaluation.
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: EvaluationStatistics.java 1092 2026-10-16 14:37:12Z tquadrat $" )
+@API( status = STABLE, since = "0.5.0" )
+public record EvaluationStatistics( long submitted, long rejected, long completed, long failed, int running, int queued, Duration totalQueueWait, Duration maxQueueWait, Duration totalRunTime, Duration maxRunTime )
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Returns the average time that an evaluation had to wait before its
+     *  execution started.
+     *
+     *  @return The average waiting time; if no evaluation was started yet,
+     *      the return value is
+     *      {@link Duration#ZERO}.
+     */
+    public final Duration averageQueueWait()
+    {
+        final var started = completed + failed + running;
+        final var retValue = started == 0 ? Duration.ZERO : totalQueueWait.dividedBy( started );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  averageQueueWait()
+
+    /**
+     *  Returns the average execution time for an evaluation.
+     *
+     *  @return The average execution time; if no evaluation has terminated
+     *      yet, the return value is
+     *      {@link Duration#ZERO}.
+     */
+    public final Duration averageRunTime()
+    {
+        final var terminated = completed + failed;
+        final var retValue = terminated == 0 ? Duration.ZERO : totalRunTime.dividedBy( terminated );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  averageRunTime()
+}
+//  record EvaluationStatistics
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,185 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static org.apiguardian.api.API.Status.STABLE;
+
+import java.util.List;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary A snapshot of a histogram for {@code long} values.}</p>
+ *  <p>The values from 0 to 7 have a bucket each; above that, each range
+ *  from 2<sup>n</sup> to 2<sup>n+1</sup>-1 is split into
+ *  {@value #SUB_BUCKETS}
+ *  buckets of the same size. Therefore the
+ *  {@linkplain #percentile(double) percentiles}
+ *  are approximations; they are never too low, and never more than 12.5%
+ *  above the real value.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: Histogram.java 1096 2026-10-16 18:03:51Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @param  count   The number of recorded values.
+ *  @param  sum The sum of all recorded values.
+ *  @param  min The smallest recorded value; 0 if no value was recorded.
+ *  @param  max The largest recorded value; 0 if no value was recorded.
+ *  @param  buckets The number of values in each bucket.
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: Histogram.java 1096 2026-10-16 18:03:51Z tquadrat $" )
+@API( status = STABLE, since = "0.5.0" )
+public record Histogram( long count, long sum, long min, long max, List<Long> buckets )
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The number of buckets per power of two: {@value}.
+     */
+    public static final int SUB_BUCKETS = 8;
+
+    /**
+     *  The number of bits for the index of a bucket within a power of two.
+     */
+    private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros( SUB_BUCKETS );
+
+    /**
+     *  The total number of buckets: {@value}.
+     */
+    public static final int BUCKET_COUNT = (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKETS + SUB_BUCKETS;
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code Histogram} instance.
+     *
+     *  @param  count   The number of recorded values.
+     *  @param  sum The sum of all recorded values.
+     *  @param  min The smallest recorded value.
+     *  @param  max The largest recorded value.
+     *  @param  buckets The number of values in each bucket.
+     */
+    public Histogram
+    {
+        buckets = List.copyOf( buckets );
+    }   //  Histogram()
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Returns the index of the bucket for the given value.
+     *
+     *  @param  value   The value; must not be negative.
+     *  @return The index of the bucket.
+     */
+    public static final int bucketFor( final long value )
+    {
+        var retValue = (int) value;
+        if( value >= SUB_BUCKETS )
+        {
+            final var exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros( value );
+            final var subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            retValue = (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  bucketFor()
+
+    /**
+     *  Returns the largest value that is counted in the bucket with the
+     *  given index.
+     *
+     *  @param  index   The index of the bucket.
+     *  @return The upper bound of the bucket.
+     */
+    public static final long upperBound( final int index )
+    {
+        var retValue = (long) index;
+        if( index >= SUB_BUCKETS )
+        {
+            final var shift = index / SUB_BUCKETS - 1;
+            final var lowerBound = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+            retValue = lowerBound + ((1L << shift) - 1);
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  upperBound()
+
+    /**
+     *  Returns the mean of the recorded values.
+     *
+     *  @return The mean; 0 if no value was recorded.
+     */
+    public final double mean()
+    {
+        final var retValue = count == 0 ? 0.0 : (double) sum / count;
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  mean()
+
+    /**
+     *  Returns the given percentile of the recorded values.
+     *
+     *  @param  percentile  The percentile, a value between 0.0 and 100.0;
+     *      50.0 returns the median.
+     *  @return The upper bound of the bucket that holds the value at the
+     *      given percentile, but not more than the
+     *      {@linkplain #max() largest recorded value};
+     *      0 if no value was recorded.
+     *  @throws IllegalArgumentException    The percentile is out of range.
+     */
+    public final long percentile( final double percentile ) throws IllegalArgumentException
+    {
+        if( !(percentile >= 0.0 && percentile <= 100.0) ) throw new IllegalArgumentException( "percentile is out of range: %1$f".formatted( percentile ) );
+
+        var retValue = 0L;
+        if( count > 0 )
+        {
+            final var rank = Math.max( 1L, (long) Math.ceil( percentile / 100.0 * count ) );
+            var seen = 0L;
+            retValue = max;
+            SearchLoop: for( var index = 0; index < buckets.size(); ++index )
+            {
+                seen += buckets.get( index ).longValue();
+                if( seen >= rank )
+                {
+                    retValue = Math.min( max, upperBound( index ) );
+                    break SearchLoop;
+                }
+            }   //  SearchLoop:
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  percentile()
+}
+//  record Histogram
+
+/*
+ *  End of File
+ */
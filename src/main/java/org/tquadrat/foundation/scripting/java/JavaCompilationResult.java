@@ -0,0 +1,95 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static org.apiguardian.api.API.Status.STABLE;
+import static org.tquadrat.foundation.lang.Objects.nonNull;
+import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
+
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.util.List;
+import java.util.Optional;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  The result for a single script from a batch compilation with
+ *  {@link JavaEngine#compileAll(java.util.Map)}.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: JavaCompilationResult.java 1089 2026-10-16 12:47:18Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @param  name    The name of the script, as it was used for the input.
+ *  @param  compiledScript  The compiled script; {@code null} if the
+ *      compilation of the script failed.
+ *  @param  diagnostics The warnings and errors that were reported by the
+ *      compiler for this script.
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: JavaCompilationResult.java 1089 2026-10-16 12:47:18Z tquadrat $" )
+@API( status = STABLE, since = "0.5.0" )
+public record JavaCompilationResult( String name, JavaCompiledScript compiledScript, List<Diagnostic<? extends JavaFileObject>> diagnostics )
+{
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code JavaCompilationResult} instance.
+     *
+     *  @param  name    The name of the script, as it was used for the input.
+     *  @param  compiledScript  The compiled script; {@code null} if the
+     *      compilation of the script failed.
+     *  @param  diagnostics The warnings and errors that were reported by the
+     *      compiler for this script.
+     */
+    public JavaCompilationResult
+    {
+        requireNonNullArgument( name, "name" );
+        diagnostics = List.copyOf( requireNonNullArgument( diagnostics, "diagnostics" ) );
+    }   //  JavaCompilationResult()
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Returns the compiled script.
+     *
+     *  @return An instance of
+     *      {@link Optional}
+     *      that holds the compiled script; empty if the compilation of the
+     *      script failed.
+     */
+    public final Optional<JavaCompiledScript> getCompiledScript() { return Optional.ofNullable( compiledScript ); }
+
+    /**
+     *  Returns whether the script was compiled successfully.
+     *
+     *  @return {@code true} if the script was compiled successfully,
+     *      {@code false} otherwise.
+     */
+    public final boolean isSuccess() { return nonNull( compiledScript ); }
+}
+//  record JavaCompilationResult
+
+/*
+ *  End of File
+ */
@@ -21,14 +21,27 @@ import static org.apiguardian.api.API.Status.STABLE;
 import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
 
 import javax.script.CompiledScript;
+import javax.script.Invocable;
 
 import org.apiguardian.api.API;
 import org.tquadrat.foundation.annotation.ClassVersion;
 
 /**
- *  The base class for an implementation of
+ *  <p>{@summary The base class for an implementation of
  *  {@link CompiledScript}
- *  for the Java language.
+ *  for the Java language.}</p>
+ *  <p>As an implementation of
+ *  {@link Invocable},
+ *  a compiled script calls the public static methods of its script class,
+ *  independent from the script that was evaluated last by the engine. The
+ *  methods may be called without evaluating the script before; in that case,
+ *  {@code setScriptContext()} was not called yet. A script class that uses
+ *  a context supplier gets the context of the engine during such a
+ *  call.</p>
+ *  <p>{@link #eval(javax.script.ScriptContext) eval()}
+ *  returns the value that was returned by the entry point of the script
+ *  class, or the script class itself if that entry point is
+ *  {@code void}.</p>
  *
  *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
  *  @version $Id: JavaCompiledScript.java 878 2021-02-20 19:56:13Z tquadrat $
@@ -37,7 +50,7 @@ import org.tquadrat.foundation.annotation.ClassVersion;
  */
 @ClassVersion( sourceVersion = "$Id: JavaCompiledScript.java 878 2021-02-20 19:56:13Z tquadrat $" )
 @API( status = STABLE, since = "0.1.0" )
-public abstract sealed class JavaCompiledScript extends CompiledScript
+public abstract sealed class JavaCompiledScript extends CompiledScript implements Invocable
     permits org.tquadrat.foundation.scripting.internal.JavaEngineImpl.JavaCompiledScriptImpl
 {
         /*------------*\
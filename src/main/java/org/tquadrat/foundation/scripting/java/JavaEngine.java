@@ -19,14 +19,69 @@ package org.tquadrat.foundation.scripting.java;
 
 import static org.apiguardian.api.API.Status.STABLE;
 
+import javax.script.Bindings;
 import javax.script.Compilable;
+import javax.script.Invocable;
 import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import org.apiguardian.api.API;
 import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.scripting.internal.JavaEngineImpl;
 
 /**
- *  This is the script engine for the Java programming language.
+ *  <p>{@summary This is the script engine for the Java programming
+ *  language.}</p>
+ *  <p>As an implementation of
+ *  {@link Invocable},
+ *  the engine calls the public static methods of the script class that was
+ *  evaluated last;
+ *  {@link #getInterface(Class)}
+ *  returns a new instance of that class if it implements the requested
+ *  interface. The methods are looked up only once per class, name and
+ *  number of arguments, and they are called through method handles.</p>
+ *  <p>A script class gets the current
+ *  {@link javax.script.ScriptContext}
+ *  either through a method</p>
+ *  <pre><code>public static void setScriptContext( ScriptContext context )</code></pre>
+ *  <p>that is called before each evaluation, or through a method</p>
+ *  <pre><code>public static void setScriptContextSupplier( Supplier&lt;ScriptContext&gt; supplier )</code></pre>
+ *  <p>that is called only once for the class; both methods may have a
+ *  return type other than {@code void}, but the returned value is ignored.
+ *  The supplier returns the
+ *  context of the evaluation or invocation that is running on the current
+ *  thread, so the same compiled script can be evaluated concurrently from
+ *  several threads with different contexts, without locks and without a
+ *  copy of the script class per thread; a context that was stored in a
+ *  static field by {@code setScriptContext()} would be overwritten by the
+ *  other threads instead. If a class declares both methods, only the
+ *  supplier is used.</p>
+ *  <p>Single attributes of the context can be injected into static fields
+ *  of the script class that are annotated with
+ *  {@link Binding @Binding};
+ *  these are resolved once, when the script is compiled.</p>
+ *  <p>The entry point of a script class is the first public static method
+ *  from {@code main(String[])}, {@code run()} and {@code call()}; the
+ *  methods {@code run()} and {@code call()} count only if they return a
+ *  value, so an existing {@code void} helper with one of these names is
+ *  not called by the evaluation. If the return type of the entry point is
+ *  not {@code void}, the evaluation of the script returns the value that
+ *  was returned by the entry point, as it is; otherwise the evaluation
+ *  returns the script class.</p>
+ *  <p>The script classes write to {@code System.out} and
+ *  {@code System.err} as usual, but the compiler redirects this output to
+ *  the
+ *  {@linkplain javax.script.ScriptContext#getWriter() writer}
+ *  and the
+ *  {@linkplain javax.script.ScriptContext#getErrorWriter() error writer}
+ *  of the context for the evaluation or invocation that is running on the
+ *  current thread; outside of these, the output goes to the standard
+ *  streams. The standard streams themselves are never replaced, so
+ *  concurrent evaluations do not interfere with each other.</p>
  *
  *  @extauthor  Thomas Thrien - thomas.thrien@tquadrat.org
  *  @thanks A. Sundararajan
@@ -37,16 +92,115 @@ import org.tquadrat.foundation.annotation.ClassVersion;
  */
 @ClassVersion( sourceVersion = "$Id: JavaEngine.java 878 2021-02-20 19:56:13Z tquadrat $" )
 @API( status = STABLE, since = "0.1.0" )
-public sealed interface JavaEngine extends ScriptEngine, Compilable permits org.tquadrat.foundation.scripting.internal.JavaEngineImpl
+public sealed interface JavaEngine extends ScriptEngine, Compilable, Invocable permits org.tquadrat.foundation.scripting.internal.JavaEngineImpl
 {
         /*-----------*\
     ====** Constants **========================================================
         \*-----------*/
+    /**
+     *  The name for the variable that holds the path of the directory for the
+     *  persistent cache of the byte code for compiled scripts: {@value}. This
+     *  can be set only as a System property, with the prefix
+     *  {@value #SYSPROP_PREFIX};
+     *  if not set, the byte code will not be persisted. The directory can be
+     *  shared by several JVMs on the same host.
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public static final String CACHE_DIR = "cacheDir";
+
+    /**
+     *  The name for the variable that holds the capacity of the process-wide
+     *  cache for compiled scripts: {@value}. This can be set only as a
+     *  System property, with the prefix
+     *  {@value #SYSPROP_PREFIX};
+     *  the value 0 disables the cache.<br>
+     *  <br>When a script is evaluated again, the class is taken from the
+     *  cache, so the static fields of the script class keep their values
+     *  from the previous evaluation of the same source; without the cache,
+     *  each evaluation compiles the script again and starts with fresh
+     *  static fields. By default, the classes are shared by all engines;
+     *  an engine can opt out with
+     *  {@link #SHARE_COMPILED_SCRIPTS}.
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public static final String CACHE_SIZE = "cacheSize";
+
     /**
      *  The name for the variable that holds the classpath: {@value}.
      */
     public static final String CLASSPATH = "classpath";
 
+    /**
+     *  The name for the variable that holds the flag for the classpath
+     *  index: {@value}. If enabled, the packages in the JAR files on the
+     *  classpath are indexed once, so that the compiler does not have to
+     *  search the classpath for packages that do not exist there. This can
+     *  be set only as a System property, with the prefix
+     *  {@value #SYSPROP_PREFIX};
+     *  the default is {@code true}.
+     *
+     *  @see #PREFETCH_CLASSPATH
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public static final String CLASSPATH_INDEX = "classPathIndex";
+
+    /**
+     *  The name for the variable that holds the number of compiler workers
+     *  for the parallel compile mode: {@value}. In this mode, a batch of
+     *  scripts that is given to
+     *  {@link #compileAll(Map, boolean)}
+     *  with {@code parallel} set to {@code true} is split into chunks that
+     *  are compiled concurrently, each by its own worker. A batch that is
+     *  given to
+     *  {@link #compileAll(Map)}
+     *  is always compiled by a single compiler task, regardless of this
+     *  setting. This can be set only as a System property, with the prefix
+     *  {@value #SYSPROP_PREFIX};
+     *  the default is 1, meaning that even a parallel batch is compiled by a
+     *  single compiler task.
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public static final String COMPILER_THREADS = "compilerThreads";
+
+    /**
+     *  The name for the variable that holds the
+     *  {@linkplain CompileProfile profile}
+     *  for the compilation of scripts: {@value}. The value is either an
+     *  instance of
+     *  {@link CompileProfile}
+     *  or the name of one; if not set in the context, the System property
+     *  with the prefix
+     *  {@value #SYSPROP_PREFIX}
+     *  is used. The default is
+     *  {@link CompileProfile#STANDARD}.
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public static final String COMPILE_PROFILE = "compileProfile";
+
+    /**
+     *  The name for the variable that holds the number of compilations after
+     *  that a reusable compilation context will be discarded: {@value}. This
+     *  can be set only as a System property, with the prefix
+     *  {@value #SYSPROP_PREFIX};
+     *  the default is 256.
+     *
+     *  @see #REUSE_CONTEXT
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public static final String CONTEXT_REUSE_LIMIT = "contextReuseLimit";
+
     /**
      *  The name for the variable that holds the name of the main class:
      *  {@value}.
@@ -55,10 +209,92 @@ public sealed interface JavaEngine extends ScriptEngine, Compilable permits org.
 
     /**
      *  The name for the variable that holds the class of the parent class
-     *  loader: {@value}.
+     *  loader: {@value}. If not set, the
+     *  {@linkplain ClassLoader#getPlatformClassLoader() platform class loader}
+     *  is used, so that the scripts can use all the modules of the Java
+     *  platform, like {@code java.scripting}, while the classes from the
+     *  classpath are loaded separately for each script.<br>
+     *  <br>Up to version 0.4, the default was the bootstrap class loader;
+     *  since 0.5.0, the scripts see also the modules that are defined to the
+     *  platform class loader, like {@code java.sql}, {@code java.xml} or
+     *  {@code java.scripting}. This is required by
+     *  {@link #compileFunction(Class, String)}
+     *  and
+     *  {@link #compileExpression(String)},
+     *  as the generated code refers to
+     *  {@link javax.script.ScriptContext}.
+     *  To restrict a script to the modules of the bootstrap class loader,
+     *  set this attribute to a class loader whose parent is {@code null}.
      */
     public static final String PARENTLOADER = "parentLoader";
 
+    /**
+     *  The name for the variable that holds the flag for building the
+     *  {@linkplain #CLASSPATH_INDEX classpath index}
+     *  in the background: {@value}. If set to {@code true}, the index for
+     *  the classpath of a new engine will be built on a background thread as
+     *  soon as the engine is created, instead of with the first compilation.
+     *  This can be set only as a System property, with the prefix
+     *  {@value #SYSPROP_PREFIX};
+     *  the default is {@code false}.
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public static final String PREFETCH_CLASSPATH = "prefetchClassPath";
+
+    /**
+     *  The name for the variable that holds the flag for the registration of
+     *  the
+     *  {@link JavaEngineMXBean}
+     *  with the platform MBean server: {@value}. This can be set only as a
+     *  System property, with the prefix
+     *  {@value #SYSPROP_PREFIX};
+     *  the default is {@code true}.
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public static final String REGISTER_MXBEAN = "registerMXBean";
+
+    /**
+     *  The name for the variable that holds the flag for the reusable-context
+     *  compile mode: {@value}. In this mode, the state of the compiler
+     *  (the file manager with the opened JAR files and the configured paths)
+     *  is recycled for all compilations with the same source path, classpath
+     *  and options; the internal context of {@code javac} itself cannot be
+     *  reused and is still created for each compilation. This can be set
+     *  only as a System property, with the prefix
+     *  {@value #SYSPROP_PREFIX};
+     *  the default is {@code true}.
+     *
+     *  @see #CONTEXT_REUSE_LIMIT
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public static final String REUSE_CONTEXT = "reuseContext";
+
+    /**
+     *  The name for the variable that holds the flag for sharing the
+     *  compiled scripts with other engines: {@value}. If {@code true} (the
+     *  default), the class for a script is taken from the
+     *  {@linkplain #CACHE_SIZE process-wide cache}
+     *  even when it was compiled by another engine that shares its scripts,
+     *  too; in that case, the static fields of the script class (including
+     *  a context that was stored by {@code setScriptContext()}) are shared
+     *  by these engines. If {@code false}, the cached classes are used only
+     *  by the engine that compiled them. The value is either a
+     *  {@code Boolean} or a String; if not set in the context, the System
+     *  property with the prefix
+     *  {@value #SYSPROP_PREFIX}
+     *  is used.
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public static final String SHARE_COMPILED_SCRIPTS = "shareCompiledScripts";
+
     /**
      *  The name for the variable that holds the source path (the location for
      *  additional source files): {@value}.
@@ -73,9 +309,306 @@ public sealed interface JavaEngine extends ScriptEngine, Compilable permits org.
      */
     public static final String SYSPROP_PREFIX = "com.sun.script.java.";
 
+    /**
+     *  The name for the variable that holds the flag for the background
+     *  warm-up of the compiler: {@value}. If set to {@code true}, the
+     *  warm-up will be started as soon as the script engine factory is
+     *  created (usually, when it is discovered by the
+     *  {@link javax.script.ScriptEngineManager}).
+     *  This can be set only as a System property, with the prefix
+     *  {@value #SYSPROP_PREFIX};
+     *  the default is {@code false}.
+     *
+     *  @see #warmUp()
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public static final String WARMUP = "warmUp";
+
         /*---------*\
     ====** Methods **==========================================================
         \*---------*/
+    /**
+     *  <p>{@summary Compiles the given scripts with a single invocation of
+     *  the compiler.} This avoids the fixed costs of the compiler for each
+     *  single script when a larger number of scripts has to be loaded at
+     *  once.</p>
+     *  <p>The classpath, the source path and the parent class loader are
+     *  taken from the current context of this engine, as for
+     *  {@link #compile(String)};
+     *  the main class is determined separately for each script. The classes
+     *  of all scripts will be loaded by the same class loader, so one script
+     *  may refer to the classes of another one from the same batch.</p>
+     *  <p>A script that fails to compile does not affect the others; it
+     *  will be reported in its result, together with the diagnostics from
+     *  the compiler.</p>
+     *  <p>All scripts are compiled by a single compiler task; use
+     *  {@link #compileAll(Map, boolean)}
+     *  to distribute a batch of independent scripts over several compiler
+     *  tasks.</p>
+     *
+     *  @param  scripts The scripts; the keys are the file names for the
+     *      sources (like &quot;{@code MyRule.java}&quot;), the values are
+     *      the sources.
+     *  @return The results, with the file names as the keys, in the same
+     *      order as the given scripts.
+     *  @throws ScriptException The classes could not be loaded.
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public Map<String,JavaCompilationResult> compileAll( final Map<String,String> scripts ) throws ScriptException;
+
+    /**
+     *  <p>{@summary Compiles the given scripts, optionally in the
+     *  {@linkplain #COMPILER_THREADS parallel compile mode}.}</p>
+     *  <p>If {@code parallel} is {@code false}, this is the same as
+     *  {@link #compileAll(Map)}.
+     *  Otherwise the scripts are distributed over up to
+     *  {@link #COMPILER_THREADS}
+     *  compiler tasks that run concurrently. In this mode, the scripts of a
+     *  batch have to be independent from each other: a script cannot refer
+     *  to a class from a script that was compiled by another task, and
+     *  which scripts end up in the same task is not specified. The classes
+     *  of all scripts will still be loaded by the same class loader.</p>
+     *
+     *  @param  scripts The scripts; the keys are the file names for the
+     *      sources (like &quot;{@code MyRule.java}&quot;), the values are
+     *      the sources.
+     *  @param  parallel    {@code true} if the scripts are independent from
+     *      each other and may be compiled concurrently, {@code false} if
+     *      they have to be compiled by a single compiler task.
+     *  @return The results, with the file names as the keys, in the same
+     *      order as the given scripts.
+     *  @throws ScriptException The classes could not be loaded.
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public Map<String,JavaCompilationResult> compileAll( final Map<String,String> scripts, final boolean parallel ) throws ScriptException;
+
+    /**
+     *  <p>{@summary Compiles the given script asynchronously} on an executor
+     *  that is dedicated to compilations and shared by all instances of
+     *  {@code JavaEngine}.</p>
+     *  <p>See
+     *  {@link #compileAsync(String, Executor)}
+     *  for the details.</p>
+     *
+     *  @param  script  The script source.
+     *  @return The result of the compilation.
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public CompletableFuture<JavaCompiledScript> compileAsync( final String script );
+
+    /**
+     *  <p>{@summary Compiles the given script asynchronously on the given
+     *  executor.} The calling thread will not be blocked by the
+     *  compiler.</p>
+     *  <p>The settings for the compilation (classpath, source path, file
+     *  name and so on) are taken from the context that is current for this
+     *  engine when this method is called.</p>
+     *  <p>The returned future can be cancelled; if that happens before the
+     *  compilation was started, the compiler will not be invoked at all.
+     *  A compilation that is already running cannot be interrupted; it will
+     *  be finished (its result may still go into the caches), but it will
+     *  not be delivered through the future.</p>
+     *  <p>If the compilation fails, the future will be completed
+     *  exceptionally with a
+     *  {@link ScriptException}.</p>
+     *
+     *  @param  script  The script source.
+     *  @param  executor    The executor that runs the compilation.
+     *  @return The result of the compilation.
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public CompletableFuture<JavaCompiledScript> compileAsync( final String script, final Executor executor );
+
+    /**
+     *  <p>{@summary Compiles a script into an instance of the given
+     *  functional interface.}</p>
+     *  <p>The script is an expression of the type of the functional
+     *  interface, usually a lambda expression or a method reference; it may
+     *  be preceded by {@code import} statements, and it may refer to the
+     *  current script context with the name {@code context}. The returned
+     *  object is the one that was created by that expression, so calling it
+     *  does not involve the script engine, no arguments are boxed unless the
+     *  interface requires it, and nothing is looked up in the context.</p>
+     *  <p>For a generic interface, the target type is the raw type, so that
+     *  the parameters of a lambda have the type {@code Object}; use
+     *  {@link #compileFunction(Class, String, String)}
+     *  to specify the type arguments. The settings for the compilation
+     *  (classpath, parent class loader, &hellip;) are taken from the current
+     *  context of this engine; the functional interface must be visible to
+     *  the parent class loader.</p>
+     *  <p>Example:</p>
+     *  <pre><code>  IntUnaryOperator square = engine.compileFunction( IntUnaryOperator.class, "x -&gt; x * x" );</code></pre>
+     *
+     *  @param  <T> The type of the functional interface.
+     *  @param  functionalInterface The functional interface.
+     *  @param  script  The script.
+     *  @return The instance of the functional interface.
+     *  @throws IllegalArgumentException    The given type is not a
+     *      functional interface.
+     *  @throws ScriptException The script could not be compiled, or it
+     *      failed to provide the instance.
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public <T> T compileFunction( final Class<T> functionalInterface, final String script ) throws ScriptException;
+
+    /**
+     *  Compiles a script into an instance of the given functional
+     *  interface, with the given target type for the expression of the
+     *  script; see
+     *  {@link #compileFunction(Class, String)}
+     *  for the details.
+     *
+     *  @param  <T> The type of the functional interface.
+     *  @param  functionalInterface The functional interface.
+     *  @param  targetType  The target type as Java source, including the
+     *      type arguments, like
+     *      &quot;{@code java.util.function.Function<String,Integer>}&quot;.
+     *  @param  script  The script.
+     *  @return The instance of the functional interface.
+     *  @throws IllegalArgumentException    The given type is not a
+     *      functional interface.
+     *  @throws ScriptException The script could not be compiled, or it
+     *      failed to provide the instance.
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public <T> T compileFunction( final Class<T> functionalInterface, final String targetType, final String script ) throws ScriptException;
+
+    /**
+     *  <p>{@summary Compiles the given Java expression with named holes into
+     *  an evaluator.}</p>
+     *  <p>A hole has the form {@code ${name}} or {@code ${name:type}}; the
+     *  type is any Java type, like {@code double} or {@code String}, and
+     *  the default is {@code Object}. The values for the holes are provided
+     *  with each evaluation; primitive types are unboxed from the
+     *  respective wrappers, for a numeric type from any
+     *  {@link Number}.
+     *  The expression may be preceded by {@code import} statements.</p>
+     *  <p>The compiled expressions are cached by their normalised text, so
+     *  expressions that differ only in whitespace or comments are compiled
+     *  only once per engine. A change of the
+     *  {@linkplain #CLASSPATH classpath},
+     *  the {@linkplain #SOURCEPATH source path},
+     *  the {@linkplain #COMPILE_PROFILE compile profile}
+     *  or the {@linkplain #PARENTLOADER parent class loader}
+     *  causes a new compilation.</p>
+     *  <p>Example:</p>
+     *  <pre><code>  JavaExpression price = engine.compileExpression( "${net:double} * (1.0 + ${rate:double})" );
+     *  Object gross = price.evaluate( bindings );</code></pre>
+     *
+     *  @param  expression  The expression.
+     *  @return The compiled expression.
+     *  @throws ScriptException The expression is invalid, or it cannot be
+     *      compiled.
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public JavaExpression compileExpression( final String expression ) throws ScriptException;
+
+    /**
+     *  Creates a new, empty script project that consists of several source
+     *  units that will be compiled incrementally by this engine.
+     *
+     *  @return The new project.
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public JavaScriptProject createProject();
+
+    /**
+     *  Evaluates the given Java expression with named holes against the
+     *  given bindings. The expression will be compiled with the first call
+     *  only; see
+     *  {@link #compileExpression(String)}
+     *  for the details.
+     *
+     *  @param  expression  The expression.
+     *  @param  bindings    The values for the holes.
+     *  @return The value of the expression.
+     *  @throws ScriptException The expression is invalid, it cannot be
+     *      compiled, or the evaluation failed.
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public Object evalExpression( final String expression, final Bindings bindings ) throws ScriptException;
+
+    /**
+     *  <p>{@summary Returns the measurements for the phases of the
+     *  compilations} by the compiler that is shared by all instances of
+     *  {@code JavaEngine}.</p>
+     *  <p>For each
+     *  {@linkplain CompilePhase phase},
+     *  the wall time and the allocated bytes are recorded into histograms,
+     *  together with the number of generated classes per compilation; the
+     *  slowest compilations are kept with the names of their sources.</p>
+     *
+     *  @return The statistics.
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public static CompilePhaseStatistics getCompilePhaseStatistics() { return JavaEngineImpl.getCompilePhaseStatistics(); }
+
+    /**
+     *  Returns the statistics for the compiler that is shared by all
+     *  instances of {@code JavaEngine}. Comparing the
+     *  {@linkplain CompilerStatistics#firstTime() time for the first compilation}
+     *  with the
+     *  {@linkplain CompilerStatistics#averageWarmTime() average time for the subsequent compilations}
+     *  shows the benefit of the shared compiler.
+     *
+     *  @return The compiler statistics.
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public static CompilerStatistics getCompilerStatistics() { return JavaEngineImpl.getCompilerStatistics(); }
+
+    /**
+     *  Returns the statistics for the process-wide cache of compiled
+     *  scripts that is shared by all instances of {@code JavaEngine}.
+     *
+     *  @return The cache statistics.
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public static CacheStatistics getScriptCacheStatistics() { return JavaEngineImpl.getScriptCacheStatistics(); }
+
+    /**
+     *  <p>{@summary Starts the warm-up of the compiler on a background
+     *  thread}, if it was not started before.</p>
+     *  <p>The warm-up compiles and runs a synthetic program a few times, so
+     *  that the classes of {@code javac} are loaded and compiled by the JIT
+     *  before the first real script has to be compiled.</p>
+     *
+     *  @return The result of the warm-up; it completes with the time that was
+     *      needed for the warm-up. Use
+     *      {@link CompletableFuture#isDone()}
+     *      to check whether the warm-up has finished.
+     *
+     *  @see #WARMUP
+     *
+     *  @since 0.5.0
+     */
+    @API( status = STABLE, since = "0.5.0" )
+    public static CompletableFuture<Duration> warmUp() { return JavaEngineImpl.warmUp(); }
 }
 //  class JavaEngine
 
@@ -0,0 +1,213 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static org.apiguardian.api.API.Status.STABLE;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary The management interface for the engine-wide state of all
+ *  instances of
+ *  {@link JavaEngine}.}</p>
+ *  <p>An implementation of this interface is registered with the platform
+ *  MBean server under the name
+ *  {@value #OBJECT_NAME}
+ *  when the first engine is created, unless the System property
+ *  {@value JavaEngine#SYSPROP_PREFIX}{@value JavaEngine#REGISTER_MXBEAN}
+ *  is set to {@code false}. It exposes the counters of the shared compiler,
+ *  of the cache for the compiled scripts and of the class loaders for the
+ *  scripts, and it allows to flush the caches and to resize the pools of
+ *  worker threads at runtime, for example from JConsole or from Java Mission
+ *  Control.</p>
+ *  <p>All attributes are of simple types, so that generic JMX clients can
+ *  display them without any additional classes.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: JavaEngineMXBean.java 1111 2026-10-17 13:08:41Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: JavaEngineMXBean.java 1111 2026-10-17 13:08:41Z tquadrat $" )
+@API( status = STABLE, since = "0.5.0" )
+public interface JavaEngineMXBean
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The object name for the MXBean: {@value}.
+     */
+    public static final String OBJECT_NAME = "org.tquadrat.foundation.scripting:type=JavaEngine";
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Discards the contents of the process-wide in-memory caches: the
+     *  compiled scripts, the idle compilation contexts and the indexes for
+     *  the classpaths. Neither the persistent class store in the
+     *  {@linkplain JavaEngine#CACHE_DIR cache folder}
+     *  nor the compiled expressions are affected; the latter are cached per
+     *  engine instance and are discarded together with the engine.
+     */
+    public void flushMemoryCaches();
+
+    /**
+     *  Returns the number of evictions from the cache for the compiled
+     *  scripts.
+     *
+     *  @return The number of evictions.
+     */
+    public long getCacheEvictionCount();
+
+    /**
+     *  Returns the number of lookups in the cache for the compiled scripts
+     *  that found a class.
+     *
+     *  @return The number of cache hits.
+     */
+    public long getCacheHitCount();
+
+    /**
+     *  Returns the number of lookups in the cache for the compiled scripts
+     *  that did not find a class.
+     *
+     *  @return The number of cache misses.
+     */
+    public long getCacheMissCount();
+
+    /**
+     *  Returns the current number of entries in the cache for the compiled
+     *  scripts.
+     *
+     *  @return The size of the cache.
+     */
+    public int getCacheSize();
+
+    /**
+     *  Returns the number of invocations of the shared compiler.
+     *
+     *  @return The number of compilations.
+     */
+    public long getCompilationCount();
+
+    /**
+     *  Returns the number of compilations that failed.
+     *
+     *  @return The number of failed compilations.
+     */
+    public long getCompilationFailureCount();
+
+    /**
+     *  Returns the number of threads that are used for the asynchronous
+     *  compilations with
+     *  {@link JavaEngine#compileAsync(String)}.
+     *
+     *  @return The number of threads.
+     */
+    public int getCompileExecutorThreads();
+
+    /**
+     *  Returns the number of compiler workers that are used for a parallel
+     *  batch compilation with
+     *  {@link JavaEngine#compileAll(java.util.Map, boolean)}.
+     *
+     *  @return The number of compiler workers.
+     */
+    public int getCompilerThreads();
+
+    /**
+     *  Returns the time for the slowest compilation.
+     *
+     *  @return The time in milliseconds.
+     */
+    public long getCompileTimeMaxMillis();
+
+    /**
+     *  Returns the accumulated time for all compilations.
+     *
+     *  @return The time in milliseconds.
+     */
+    public long getCompileTimeTotalMillis();
+
+    /**
+     *  Returns the total size of the byte code of all classes that were
+     *  defined for scripts.
+     *
+     *  @return The size of the byte code in bytes.
+     */
+    public long getDefinedByteCodeBytes();
+
+    /**
+     *  Returns the number of classes that were defined for scripts.
+     *
+     *  @return The number of classes.
+     */
+    public long getDefinedClassCount();
+
+    /**
+     *  Returns the number of evaluations of scripts.
+     *
+     *  @return The number of evaluations.
+     */
+    public long getEvaluationCount();
+
+    /**
+     *  Returns the number of evaluations of scripts per second, averaged
+     *  over the last minute.
+     *
+     *  @return The evaluation rate.
+     */
+    public double getEvaluationsPerSecond();
+
+    /**
+     *  Returns the number of class loaders for scripts that were not yet
+     *  garbage collected.
+     *
+     *  @return The number of class loaders.
+     */
+    public long getLiveClassLoaderCount();
+
+    /**
+     *  Sets the number of threads that are used for the asynchronous
+     *  compilations.
+     *
+     *  @param  threads The number of threads; must be greater than 0.
+     */
+    public void setCompileExecutorThreads( final int threads );
+
+    /**
+     *  Sets the number of compiler workers that are used for a parallel
+     *  batch compilation with
+     *  {@link JavaEngine#compileAll(java.util.Map, boolean)};
+     *  this does not affect the batches that are compiled with
+     *  {@link JavaEngine#compileAll(java.util.Map)}.
+     *
+     *  @param  threads The number of compiler workers; must be greater than
+     *      0.
+     */
+    public void setCompilerThreads( final int threads );
+}
+//  interface JavaEngineMXBean
+
+/*
+ *  End of File
+ */
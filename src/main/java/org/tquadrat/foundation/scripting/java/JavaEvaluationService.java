@@ -0,0 +1,361 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static org.apiguardian.api.API.Status.STABLE;
+import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
+import static org.tquadrat.foundation.lang.Objects.requireValidIntegerArgument;
+
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary A service that evaluates compiled scripts asynchronously on
+ *  virtual threads.}</p>
+ *  <p>Scripts that perform blocking I/O would occupy a platform thread for
+ *  the whole time of their execution when evaluated with
+ *  {@link CompiledScript#eval(ScriptContext)}
+ *  directly; this service runs each evaluation on its own virtual thread
+ *  instead.</p>
+ *  <p>The service has an admission control: not more than the configured
+ *  number of evaluations will run concurrently, and not more than the
+ *  configured number of evaluations may wait for their execution. If both
+ *  limits are reached, any further evaluation will be rejected immediately
+ *  with a
+ *  {@link RejectedExecutionException}.
+ *  The waiting evaluations are started in the order of their
+ *  submission.</p>
+ *  <p>The time that the evaluations had to wait before they were started,
+ *  and the time for their execution, are available through
+ *  {@link #getStatistics()}.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: JavaEvaluationService.java 1092 2026-10-16 14:37:12Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: JavaEvaluationService.java 1092 2026-10-16 14:37:12Z tquadrat $" )
+@API( status = STABLE, since = "0.5.0" )
+public final class JavaEvaluationService implements AutoCloseable
+{
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The counter for the evaluations that completed normally.
+     */
+    private final LongAdder m_Completed = new LongAdder();
+
+    /**
+     *  The executor that creates a new virtual thread for each evaluation.
+     */
+    private final ExecutorService m_Executor;
+
+    /**
+     *  The counter for the evaluations that terminated with an exception.
+     */
+    private final LongAdder m_Failed = new LongAdder();
+
+    /**
+     *  The flag that indicates whether this service was closed.
+     */
+    private volatile boolean m_IsClosed = false;
+
+    /**
+     *  The maximum number of evaluations that run concurrently.
+     */
+    private final int m_MaxConcurrency;
+
+    /**
+     *  The maximum number of evaluations that may wait for their execution.
+     */
+    private final int m_MaxQueueDepth;
+
+    /**
+     *  The longest time that an evaluation had to wait, in nanoseconds.
+     */
+    private final LongAccumulator m_MaxQueueWait = new LongAccumulator( Math::max, 0L );
+
+    /**
+     *  The execution time for the slowest evaluation, in nanoseconds.
+     */
+    private final LongAccumulator m_MaxRunTime = new LongAccumulator( Math::max, 0L );
+
+    /**
+     *  The number of evaluations that were accepted, but did not terminate
+     *  yet; this includes the waiting and the running evaluations.
+     */
+    private final AtomicInteger m_Pending = new AtomicInteger();
+
+    /**
+     *  The counter for the rejected evaluations.
+     */
+    private final LongAdder m_Rejected = new LongAdder();
+
+    /**
+     *  The number of evaluations that are currently running.
+     */
+    private final AtomicInteger m_Running = new AtomicInteger();
+
+    /**
+     *  The permits for the running evaluations.
+     */
+    private final Semaphore m_RunPermits;
+
+    /**
+     *  The counter for the accepted evaluations.
+     */
+    private final LongAdder m_Submitted = new LongAdder();
+
+    /**
+     *  The accumulated waiting time for all evaluations, in nanoseconds.
+     */
+    private final LongAdder m_TotalQueueWait = new LongAdder();
+
+    /**
+     *  The accumulated execution time for all evaluations, in nanoseconds.
+     */
+    private final LongAdder m_TotalRunTime = new LongAdder();
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code JavaEvaluationService} instance.
+     *
+     *  @param  maxConcurrency  The maximum number of evaluations that run
+     *      concurrently; must be greater than 0.
+     *  @param  maxQueueDepth   The maximum number of evaluations that may
+     *      wait for their execution; must not be negative.
+     */
+    public JavaEvaluationService( final int maxConcurrency, final int maxQueueDepth )
+    {
+        m_MaxConcurrency = requireValidIntegerArgument( maxConcurrency, "maxConcurrency", v -> v > 0 );
+        m_MaxQueueDepth = requireValidIntegerArgument( maxQueueDepth, "maxQueueDepth", v -> v >= 0 );
+        m_RunPermits = new Semaphore( m_MaxConcurrency, true );
+        m_Executor = Executors.newThreadPerTaskExecutor( Thread.ofVirtual().name( "JavaEvaluation-", 1L ).factory() );
+    }   //  JavaEvaluationService()
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  <p>{@summary Closes this service.} No new evaluations will be
+     *  accepted after this method was called; the method waits until all
+     *  evaluations that were already accepted have terminated.</p>
+     */
+    @Override
+    public final void close()
+    {
+        m_IsClosed = true;
+        m_Executor.close();
+    }   //  close()
+
+    /**
+     *  Executes the given evaluation; called on the virtual thread.
+     *
+     *  @param  script  The compiled script.
+     *  @param  context The script context.
+     *  @param  result  The future that takes the result.
+     *  @param  submitTime  The time of the submission, as returned by
+     *      {@link System#nanoTime()}.
+     */
+    private final void execute( final CompiledScript script, final ScriptContext context, final CompletableFuture<Object> result, final long submitTime )
+    {
+        try
+        {
+            m_RunPermits.acquire();
+            try
+            {
+                //---* Skip the evaluation if the future was cancelled *-------
+                if( !result.isDone() )
+                {
+                    final var start = System.nanoTime();
+                    final var queueWait = start - submitTime;
+                    m_TotalQueueWait.add( queueWait );
+                    m_MaxQueueWait.accumulate( queueWait );
+                    m_Running.incrementAndGet();
+                    try
+                    {
+                        result.complete( script.eval( context ) );
+                        m_Completed.increment();
+                    }
+                    catch( final Throwable t )
+                    {
+                        result.completeExceptionally( t );
+                        m_Failed.increment();
+                    }
+                    finally
+                    {
+                        final var runTime = System.nanoTime() - start;
+                        m_TotalRunTime.add( runTime );
+                        m_MaxRunTime.accumulate( runTime );
+                        m_Running.decrementAndGet();
+                    }
+                }
+            }
+            finally
+            {
+                m_RunPermits.release();
+            }
+        }
+        catch( final InterruptedException e )
+        {
+            result.completeExceptionally( e );
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            m_Pending.decrementAndGet();
+        }
+    }   //  execute()
+
+    /**
+     *  Returns the maximum number of evaluations that run concurrently.
+     *
+     *  @return The concurrency limit.
+     */
+    public final int getMaxConcurrency() { return m_MaxConcurrency; }
+
+    /**
+     *  Returns the maximum number of evaluations that may wait for their
+     *  execution.
+     *
+     *  @return The maximum queue depth.
+     */
+    public final int getMaxQueueDepth() { return m_MaxQueueDepth; }
+
+    /**
+     *  Returns the current values of the counters for this service.
+     *
+     *  @return The statistics.
+     */
+    public final EvaluationStatistics getStatistics()
+    {
+        final var running = m_Running.get();
+        final var retValue = new EvaluationStatistics(
+            m_Submitted.sum(),
+            m_Rejected.sum(),
+            m_Completed.sum(),
+            m_Failed.sum(),
+            running,
+            Math.max( 0, m_Pending.get() - running ),
+            Duration.ofNanos( m_TotalQueueWait.sum() ),
+            Duration.ofNanos( m_MaxQueueWait.get() ),
+            Duration.ofNanos( m_TotalRunTime.sum() ),
+            Duration.ofNanos( m_MaxRunTime.get() ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  getStatistics()
+
+    /**
+     *  Returns whether this service was closed.
+     *
+     *  @return {@code true} if the service was closed, {@code false}
+     *      otherwise.
+     */
+    public final boolean isClosed() { return m_IsClosed; }
+
+    /**
+     *  Submits the given compiled script for the evaluation with the
+     *  default context of its engine.
+     *
+     *  @param  script  The compiled script.
+     *  @return The result of the evaluation.
+     *  @throws RejectedExecutionException  The service is overloaded, or it
+     *      was closed.
+     *
+     *  @see CompiledScript#eval()
+     */
+    public final CompletableFuture<Object> submit( final CompiledScript script ) throws RejectedExecutionException
+    {
+        final var retValue = submit( script, requireNonNullArgument( script, "script" ).getEngine().getContext() );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  submit()
+
+    /**
+     *  <p>{@summary Submits the given compiled script for the evaluation
+     *  with the given context.}</p>
+     *  <p>If the returned future is cancelled before the evaluation was
+     *  started, the script will not be executed at all; a running evaluation
+     *  will not be interrupted.</p>
+     *
+     *  @param  script  The compiled script.
+     *  @param  context The script context.
+     *  @return The result of the evaluation.
+     *  @throws RejectedExecutionException  The service is overloaded, or it
+     *      was closed.
+     */
+    public final CompletableFuture<Object> submit( final CompiledScript script, final ScriptContext context ) throws RejectedExecutionException
+    {
+        requireNonNullArgument( script, "script" );
+        requireNonNullArgument( context, "context" );
+
+        //---* Admission control *---------------------------------------------
+        if( m_IsClosed )
+        {
+            m_Rejected.increment();
+            throw new RejectedExecutionException( "The evaluation service was closed" );
+        }
+        final var limit = m_MaxConcurrency + m_MaxQueueDepth;
+        if( m_Pending.getAndUpdate( p -> p < limit ? p + 1 : p ) >= limit )
+        {
+            m_Rejected.increment();
+            throw new RejectedExecutionException( "The evaluation service is overloaded; %1$d evaluations are pending".formatted( limit ) );
+        }
+
+        final var retValue = new CompletableFuture<>();
+        final var submitTime = System.nanoTime();
+        try
+        {
+            m_Executor.execute( () -> execute( script, context, retValue, submitTime ) );
+            m_Submitted.increment();
+        }
+        catch( final RejectedExecutionException e )
+        {
+            //---* The executor was shut down meanwhile *----------------------
+            m_Pending.decrementAndGet();
+            m_Rejected.increment();
+            throw e;
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  submit()
+}
+//  class JavaEvaluationService
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,195 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.apiguardian.api.API.Status.STABLE;
+import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
+import static org.tquadrat.foundation.lang.Objects.requireNotEmptyArgument;
+
+import javax.script.Bindings;
+import javax.script.ScriptContext;
+import javax.script.ScriptException;
+import java.util.List;
+import java.util.function.Function;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary A Java expression with named holes that was compiled into
+ *  a typed evaluator.}</p>
+ *  <p>Instances are created by
+ *  {@link JavaEngine#compileExpression(String)}.
+ *  The values for the holes are taken from
+ *  {@link Bindings},
+ *  from a
+ *  {@link ScriptContext},
+ *  or they are given in the order of
+ *  {@link #getParameterNames()}.
+ *  An evaluation is a plain method call; it neither compiles nor loads
+ *  anything.</p>
+ *  <p>Instances of this class are immutable and thread safe, as long as
+ *  the expression itself does not have any side effects.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: JavaExpression.java 1106 2026-10-17 01:27:53Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: JavaExpression.java 1106 2026-10-17 01:27:53Z tquadrat $" )
+@API( status = STABLE, since = "0.5.0" )
+public final class JavaExpression
+{
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The evaluator.
+     */
+    private final Function<Object [],Object> m_Evaluator;
+
+    /**
+     *  The normalised text of the expression.
+     */
+    private final String m_Expression;
+
+    /**
+     *  The names of the holes.
+     */
+    private final String [] m_ParameterNames;
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code JavaExpression} instance.
+     *
+     *  @param  expression  The normalised text of the expression.
+     *  @param  parameterNames  The names of the holes, in the order that is
+     *      expected by the evaluator.
+     *  @param  evaluator   The evaluator.
+     */
+    @API( status = INTERNAL, since = "0.5.0" )
+    public JavaExpression( final String expression, final List<String> parameterNames, final Function<Object [],Object> evaluator )
+    {
+        m_Expression = requireNotEmptyArgument( expression, "expression" );
+        m_ParameterNames = requireNonNullArgument( parameterNames, "parameterNames" ).toArray( String []::new );
+        m_Evaluator = requireNonNullArgument( evaluator, "evaluator" );
+    }   //  JavaExpression()
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Evaluates the expression with the values from the given bindings.
+     *  A hole without a value in the bindings gets {@code null}.
+     *
+     *  @param  bindings    The bindings.
+     *  @return The value of the expression.
+     *  @throws ScriptException The evaluation failed.
+     */
+    public final Object evaluate( final Bindings bindings ) throws ScriptException
+    {
+        requireNonNullArgument( bindings, "bindings" );
+        final var arguments = new Object [m_ParameterNames.length];
+        for( var i = 0; i < arguments.length; ++i ) arguments [i] = bindings.get( m_ParameterNames [i] );
+        final var retValue = invoke( arguments );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  evaluate()
+
+    /**
+     *  Evaluates the expression with the values of the attributes of the
+     *  given script context; the scopes are searched as with
+     *  {@link ScriptContext#getAttribute(String)}.
+     *  A hole without a value in the context gets {@code null}.
+     *
+     *  @param  context The script context.
+     *  @return The value of the expression.
+     *  @throws ScriptException The evaluation failed.
+     */
+    public final Object evaluate( final ScriptContext context ) throws ScriptException
+    {
+        requireNonNullArgument( context, "context" );
+        final var arguments = new Object [m_ParameterNames.length];
+        for( var i = 0; i < arguments.length; ++i ) arguments [i] = context.getAttribute( m_ParameterNames [i] );
+        final var retValue = invoke( arguments );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  evaluate()
+
+    /**
+     *  Returns the normalised text of the expression.
+     *
+     *  @return The expression.
+     */
+    public final String getExpression() { return m_Expression; }
+
+    /**
+     *  Returns the names of the holes, in the order of their first
+     *  occurrence in the expression.
+     *
+     *  @return The names.
+     */
+    public final List<String> getParameterNames() { return List.of( m_ParameterNames ); }
+
+    /**
+     *  Evaluates the expression with the given values for the holes.
+     *
+     *  @param  arguments   The values, in the order of
+     *      {@link #getParameterNames()}.
+     *  @return The value of the expression.
+     *  @throws IllegalArgumentException    The number of values does not
+     *      match the number of holes.
+     *  @throws ScriptException The evaluation failed.
+     */
+    public final Object invoke( final Object... arguments ) throws ScriptException
+    {
+        if( requireNonNullArgument( arguments, "arguments" ).length != m_ParameterNames.length )
+        {
+            throw new IllegalArgumentException( "%1$d values given for %2$d holes".formatted( arguments.length, m_ParameterNames.length ) );
+        }
+        final Object retValue;
+        try
+        {
+            retValue = m_Evaluator.apply( arguments );
+        }
+        catch( final RuntimeException e )
+        {
+            throw new ScriptException( e );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  invoke()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final String toString() { return m_Expression; }
+}
+//  class JavaExpression
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,115 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static org.apiguardian.api.API.Status.STABLE;
+
+import javax.script.ScriptException;
+import java.util.Set;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary A script that consists of several source units that are
+ *  compiled incrementally.}</p>
+ *  <p>The project keeps the byte code of each unit together with a graph of
+ *  the dependencies between the units. When the project is
+ *  {@linkplain #build() built}
+ *  again after some units were changed, only the changed units and those
+ *  units that depend on them (directly or indirectly) are compiled again;
+ *  the byte code of all other units is reused as it is.</p>
+ *  <p>A unit depends on another one if its byte code refers to one of the
+ *  classes of the other unit, or if its source contains the simple name of
+ *  one of the top-level classes of the other unit; the latter is necessary
+ *  because the compiler inlines constants.</p>
+ *  <p>Instances are created by
+ *  {@link JavaEngine#createProject()}.
+ *  The settings for the compilation (classpath, source path, main class and
+ *  parent class loader) are taken from the current context of the engine
+ *  for each build; if the classpath or the source path has changed since the
+ *  last build, all units will be compiled again.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: JavaScriptProject.java 1093 2026-10-16 15:24:51Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: JavaScriptProject.java 1093 2026-10-16 15:24:51Z tquadrat $" )
+@API( status = STABLE, since = "0.5.0" )
+public sealed interface JavaScriptProject permits org.tquadrat.foundation.scripting.internal.JavaScriptProjectImpl
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Compiles the units that have changed since the last build, together
+     *  with the units that depend on them, and returns the script for the
+     *  whole project. If nothing has changed, the script from the last build
+     *  will be returned.
+     *
+     *  @return The compiled script.
+     *  @throws ScriptException The compilation failed, or a main class could
+     *      not be determined. The error messages from the compiler were
+     *      written to the error writer of the context.
+     */
+    public JavaCompiledScript build() throws ScriptException;
+
+    /**
+     *  Returns the file names of the units of this project.
+     *
+     *  @return The file names.
+     */
+    public Set<String> getFileNames();
+
+    /**
+     *  Returns the file names of the units that were compiled by the last
+     *  successful build.
+     *
+     *  @return The file names; the set is empty if nothing had to be
+     *      compiled, or if the project was not built yet.
+     */
+    public Set<String> getRecompiledFileNames();
+
+    /**
+     *  Adds a unit to this project, or replaces the source for an existing
+     *  one. If the source did not change, the unit will not be compiled
+     *  again.
+     *
+     *  @param  fileName    The file name for the unit, like
+     *      &quot;{@code Helper.java}&quot;.
+     *  @param  source  The source for the unit.
+     */
+    public void putSource( final String fileName, final String source );
+
+    /**
+     *  Removes a unit from this project; the units that depend on the
+     *  removed one will be compiled again with the next build.
+     *
+     *  @param  fileName    The file name for the unit.
+     *  @return {@code true} if the project contained the unit,
+     *      {@code false} otherwise.
+     */
+    public boolean removeSource( final String fileName );
+}
+//  interface JavaScriptProject
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,532 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static org.apiguardian.api.API.Status.STABLE;
+import static org.tquadrat.foundation.lang.Objects.isNull;
+import static org.tquadrat.foundation.lang.Objects.nonNull;
+import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
+
+import javax.script.Bindings;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary An implementation of
+ *  {@link Bindings}
+ *  that keeps the values for the names of a
+ *  {@link BindingSchema}
+ *  in an array.}</p>
+ *  <p>Compared to
+ *  {@link javax.script.SimpleBindings},
+ *  there is no hash map entry per value, {@link #get(Object)} needs just a
+ *  lookup in the open addressing table of the schema, and
+ *  {@link #clear()}
+ *  only fills the array, so an instance can be reused for each evaluation
+ *  without allocating anything. Even cheaper, the values can be accessed
+ *  through their slots, with
+ *  {@link #getValue(int)}
+ *  and
+ *  {@link #setValue(int, Object)}.</p>
+ *  <p>Names that are not part of the schema are accepted, too; they are
+ *  kept in a separate map that will be created on demand.</p>
+ *  <p>Like {@code SimpleBindings}, instances of this class are not thread
+ *  safe.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: SchemaBindings.java 1105 2026-10-17 00:41:19Z tquadrat $
+ *  @since 0.5.0
+ *
+ *  @UMLGraph.link
+ */
+@ClassVersion( sourceVersion = "$Id: SchemaBindings.java 1105 2026-10-17 00:41:19Z tquadrat $" )
+@API( status = STABLE, since = "0.5.0" )
+public final class SchemaBindings extends AbstractMap<String,Object> implements Bindings
+{
+        /*---------------*\
+    ====** Inner Classes **====================================================
+        \*---------------*/
+    /**
+     *  The view on the entries.
+     */
+    private final class EntrySet extends AbstractSet<Map.Entry<String,Object>>
+    {
+            /*---------*\
+        ====** Methods **======================================================
+            \*---------*/
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void clear() { SchemaBindings.this.clear(); }
+
+        /**
+         *  {@inheritDoc}
+         */
+        @SuppressWarnings( "OverlyComplexAnonymousInnerClass" )
+        @Override
+        public final Iterator<Map.Entry<String,Object>> iterator()
+        {
+            final var retValue = new Iterator<Map.Entry<String,Object>>()
+            {
+                /**
+                 *  The next slot with a value, or the number of slots if
+                 *  there is none.
+                 */
+                private int m_Next = nextSlot( 0 );
+
+                /**
+                 *  The last slot that was returned, or -1.
+                 */
+                private int m_Last = -1;
+
+                /**
+                 *  The iterator for the names that are not part of the
+                 *  schema; it will be created when all the slots are
+                 *  processed.
+                 */
+                private Iterator<Map.Entry<String,Object>> m_OverflowIterator;
+
+                /**
+                 *  {@inheritDoc}
+                 */
+                @Override
+                public final boolean hasNext()
+                {
+                    final var retValue = m_Next < m_Values.length || overflowIterator().hasNext();
+
+                    //---* Done *----------------------------------------------
+                    return retValue;
+                }   //  hasNext()
+
+                /**
+                 *  {@inheritDoc}
+                 */
+                @Override
+                public final Map.Entry<String,Object> next()
+                {
+                    final Map.Entry<String,Object> retValue;
+                    if( m_Next < m_Values.length )
+                    {
+                        m_Last = m_Next;
+                        m_Next = nextSlot( m_Next + 1 );
+                        retValue = new SlotEntry( m_Last );
+                    }
+                    else
+                    {
+                        m_Last = -1;
+                        retValue = overflowIterator().next();
+                    }
+
+                    //---* Done *----------------------------------------------
+                    return retValue;
+                }   //  next()
+
+                /**
+                 *  Returns the iterator for the names that are not part of
+                 *  the schema.
+                 *
+                 *  @return The iterator.
+                 */
+                private Iterator<Map.Entry<String,Object>> overflowIterator()
+                {
+                    if( isNull( m_OverflowIterator ) )
+                    {
+                        m_OverflowIterator = isNull( m_Overflow ) ? Set.<Map.Entry<String,Object>>of().iterator() : m_Overflow.entrySet().iterator();
+                    }
+
+                    //---* Done *----------------------------------------------
+                    return m_OverflowIterator;
+                }   //  overflowIterator()
+
+                /**
+                 *  {@inheritDoc}
+                 */
+                @Override
+                public final void remove()
+                {
+                    if( m_Last >= 0 )
+                    {
+                        m_Values [m_Last] = ABSENT;
+                        --m_Size;
+                        m_Last = -1;
+                    }
+                    else if( nonNull( m_OverflowIterator ) )
+                    {
+                        m_OverflowIterator.remove();
+                    }
+                    else
+                    {
+                        throw new IllegalStateException();
+                    }
+                }   //  remove()
+            };
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  iterator()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final int size() { return SchemaBindings.this.size(); }
+    }
+    //  class EntrySet
+
+    /**
+     *  The entry for a slot.
+     */
+    private final class SlotEntry implements Map.Entry<String,Object>
+    {
+            /*------------*\
+        ====** Attributes **===================================================
+            \*------------*/
+        /**
+         *  The slot.
+         */
+        private final int m_Slot;
+
+            /*--------------*\
+        ====** Constructors **=================================================
+            \*--------------*/
+        /**
+         *  Creates a new {@code SlotEntry} instance.
+         *
+         *  @param  slot    The slot.
+         */
+        public SlotEntry( final int slot ) { m_Slot = slot; }
+
+            /*---------*\
+        ====** Methods **======================================================
+            \*---------*/
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final boolean equals( final Object o )
+        {
+            final var retValue = (o instanceof final Map.Entry<?,?> entry)
+                && getKey().equals( entry.getKey() )
+                && Objects.equals( getValue(), entry.getValue() );
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  equals()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final String getKey() { return m_Schema.nameOf( m_Slot ); }
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final Object getValue() { return SchemaBindings.this.getValue( m_Slot ); }
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final int hashCode() { return getKey().hashCode() ^ Objects.hashCode( getValue() ); }
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final Object setValue( final Object value ) { return SchemaBindings.this.setValue( m_Slot, value ); }
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final String toString() { return getKey() + "=" + getValue(); }
+    }
+    //  class SlotEntry
+
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The marker for a slot without a value; {@code null} is a valid value.
+     */
+    private static final Object ABSENT = new Object();
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The view on the entries; it will be created on demand.
+     */
+    private Set<Map.Entry<String,Object>> m_EntrySet;
+
+    /**
+     *  The values for the names that are not part of the schema; will be
+     *  created on demand.
+     */
+    private Map<String,Object> m_Overflow;
+
+    /**
+     *  The schema.
+     */
+    private final BindingSchema m_Schema;
+
+    /**
+     *  The number of slots with a value.
+     */
+    private int m_Size;
+
+    /**
+     *  The values, indexed by the slots of the schema.
+     */
+    private final Object [] m_Values;
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code SchemaBindings} instance.
+     *
+     *  @param  schema  The schema.
+     *
+     *  @see BindingSchema#newBindings()
+     */
+    SchemaBindings( final BindingSchema schema )
+    {
+        m_Schema = requireNonNullArgument( schema, "schema" );
+        m_Values = new Object [m_Schema.size()];
+        Arrays.fill( m_Values, ABSENT );
+    }   //  SchemaBindings()
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Checks the given key as required by the contract of
+     *  {@link Bindings}.
+     *
+     *  @param  key The key.
+     *  @return The key as a String.
+     *  @throws NullPointerException    The key is {@code null}.
+     *  @throws ClassCastException  The key is not a String.
+     *  @throws IllegalArgumentException    The key is empty.
+     */
+    private static String checkKey( final Object key )
+    {
+        if( isNull( key ) ) throw new NullPointerException( "key can not be null" );
+        if( !(key instanceof final String retValue) ) throw new ClassCastException( "key should be a String" );
+        if( retValue.isEmpty() ) throw new IllegalArgumentException( "key can not be empty" );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  checkKey()
+
+    /**
+     *  Removes all values; this instance can be reused afterwards without
+     *  allocating anything.
+     */
+    @Override
+    public final void clear()
+    {
+        Arrays.fill( m_Values, ABSENT );
+        m_Size = 0;
+        if( nonNull( m_Overflow ) ) m_Overflow.clear();
+    }   //  clear()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final boolean containsKey( final Object key )
+    {
+        final var name = checkKey( key );
+        final var slot = m_Schema.slotOf( name );
+        final var retValue = slot >= 0 ? m_Values [slot] != ABSENT : nonNull( m_Overflow ) && m_Overflow.containsKey( name );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  containsKey()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final Set<Map.Entry<String,Object>> entrySet()
+    {
+        if( isNull( m_EntrySet ) ) m_EntrySet = new EntrySet();
+
+        //---* Done *----------------------------------------------------------
+        return m_EntrySet;
+    }   //  entrySet()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final Object get( final Object key )
+    {
+        final var name = checkKey( key );
+        final var slot = m_Schema.slotOf( name );
+        final var retValue = slot >= 0 ? getValue( slot ) : isNull( m_Overflow ) ? null : m_Overflow.get( name );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  get()
+
+    /**
+     *  Returns the schema for these bindings.
+     *
+     *  @return The schema.
+     */
+    public final BindingSchema getSchema() { return m_Schema; }
+
+    /**
+     *  Returns the value for the given slot.
+     *
+     *  @param  slot    The slot.
+     *  @return The value; {@code null} if the slot does not have a value.
+     *  @throws IndexOutOfBoundsException   The slot is invalid.
+     *
+     *  @see BindingSchema#slotOf(Object)
+     */
+    public final Object getValue( final int slot )
+    {
+        final var value = m_Values [slot];
+        final var retValue = value == ABSENT ? null : value;
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  getValue()
+
+    /**
+     *  Returns the next slot with a value.
+     *
+     *  @param  from    The first slot to check.
+     *  @return The slot, or the number of slots if there is no slot with a
+     *      value.
+     */
+    private int nextSlot( final int from )
+    {
+        var retValue = from;
+        while( (retValue < m_Values.length) && (m_Values [retValue] == ABSENT) ) ++retValue;
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  nextSlot()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final Object put( final String name, final Object value )
+    {
+        final var slot = m_Schema.slotOf( checkKey( name ) );
+        final Object retValue;
+        if( slot >= 0 )
+        {
+            retValue = setValue( slot, value );
+        }
+        else
+        {
+            if( isNull( m_Overflow ) ) m_Overflow = new HashMap<>();
+            retValue = m_Overflow.put( name, value );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  put()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final Object remove( final Object key )
+    {
+        final var name = checkKey( key );
+        final var slot = m_Schema.slotOf( name );
+        Object retValue = null;
+        if( slot >= 0 )
+        {
+            retValue = getValue( slot );
+            if( m_Values [slot] != ABSENT )
+            {
+                m_Values [slot] = ABSENT;
+                --m_Size;
+            }
+        }
+        else if( nonNull( m_Overflow ) )
+        {
+            retValue = m_Overflow.remove( name );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  remove()
+
+    /**
+     *  Sets the value for the given slot.
+     *
+     *  @param  slot    The slot.
+     *  @param  value   The value; can be {@code null}.
+     *  @return The previous value; {@code null} if the slot did not have a
+     *      value.
+     *  @throws IndexOutOfBoundsException   The slot is invalid.
+     *
+     *  @see BindingSchema#slotOf(Object)
+     */
+    public final Object setValue( final int slot, final Object value )
+    {
+        final var previous = m_Values [slot];
+        m_Values [slot] = value;
+        final Object retValue;
+        if( previous == ABSENT )
+        {
+            ++m_Size;
+            retValue = null;
+        }
+        else
+        {
+            retValue = previous;
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  setValue()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final int size() { return isNull( m_Overflow ) ? m_Size : m_Size + m_Overflow.size(); }
+}
+//  class SchemaBindings
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,192 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static java.io.File.pathSeparator;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tquadrat.foundation.lang.Objects.nonNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.testutil.TestBaseClass;
+
+/**
+ *  The tests for
+ *  {@link ClassPathIndex}.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestClassPathIndex.java 1094 2026-10-16 16:08:27Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestClassPathIndex.java 1094 2026-10-16 16:08:27Z tquadrat $" )
+public class TestClassPathIndex extends TestBaseClass
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Creates a JAR file with the given entries.
+     *
+     *  @param  jar The path for the JAR file.
+     *  @param  manifestClassPath   The value for the {@code Class-Path}
+     *      attribute of the manifest; can be {@code null}.
+     *  @param  entries The names of the entries.
+     *  @throws IOException The JAR file could not be written.
+     */
+    private static void createJar( final Path jar, final String manifestClassPath, final String... entries ) throws IOException
+    {
+        final var manifest = new Manifest();
+        manifest.getMainAttributes().put( Attributes.Name.MANIFEST_VERSION, "1.0" );
+        if( nonNull( manifestClassPath ) ) manifest.getMainAttributes().put( Attributes.Name.CLASS_PATH, manifestClassPath );
+        try( final var outputStream = new JarOutputStream( Files.newOutputStream( jar ), manifest ) )
+        {
+            for( final var entry : entries )
+            {
+                outputStream.putNextEntry( new JarEntry( entry ) );
+                outputStream.write( new byte [] {(byte) 0xCA, (byte) 0xFE} );
+                outputStream.closeEntry();
+            }
+        }
+    }   //  createJar()
+
+    /**
+     *  Builds the index for a classpath with JAR files and a folder, and
+     *  checks the lookups and the invalidation after a JAR file has changed.
+     *
+     *  @param  directory   The folder for the classpath elements.
+     *  @throws Exception   Something unexpected went wrong.
+     */
+    @Test
+    final void testIndex( @TempDir final Path directory ) throws Exception
+    {
+        skipThreadTest();
+
+        final var jarA = directory.resolve( "a.jar" );
+        createJar( jarA, "b.jar", "org/example/api/Api.class", "org/example/api/Api$Inner.class", "META-INF/versions/17/org/example/mr/Multi.class", "res/data.txt" );
+        createJar( directory.resolve( "b.jar" ), null, "net/other/Other.class" );
+        final var folder = directory.resolve( "classes" );
+        Files.createDirectories( folder.resolve( "com/local" ) );
+
+        final var classPath = jarA + pathSeparator + folder + pathSeparator + directory.resolve( "missing.jar" );
+        final var index = ClassPathIndex.forClassPath( classPath );
+        assertNotNull( index );
+        assertSame( index, ClassPathIndex.forClassPath( classPath ) );
+
+        assertTrue( index.mayContainPackage( "" ) );
+        assertTrue( index.mayContainPackage( "org.example.api" ) );
+        assertTrue( index.mayContainPackage( "org.example" ) );
+        assertTrue( index.mayContainPackage( "org" ) );
+        assertTrue( index.mayContainPackage( "org.example.mr" ) );
+        assertTrue( index.mayContainPackage( "net.other" ) );
+        assertTrue( index.mayContainPackage( "com.local" ) );
+        assertTrue( index.mayContainPackage( "com" ) );
+        assertFalse( index.mayContainPackage( "res" ) );
+        assertFalse( index.mayContainPackage( "org.example.impl" ) );
+        assertFalse( index.mayContainPackage( "java.util" ) );
+
+        assertEquals( Set.of( "Api.class", "Api$Inner.class" ), index.getEntries( "org.example.api" ) );
+        assertEquals( Set.of(), index.getEntries( "org.example" ) );
+        assertEquals( Set.of(), index.getEntries( "org.example.impl" ) );
+
+        //---* Folders are checked on each lookup *----------------------------
+        Files.createDirectories( folder.resolve( "com/created" ) );
+        assertTrue( index.mayContainPackage( "com.created" ) );
+
+        //---* A modified JAR file causes a new index *------------------------
+        createJar( jarA, "b.jar", "org/example/api/Api.class", "org/example/impl/ApiImpl.class" );
+        Thread.sleep( 1100L );
+        final var newIndex = ClassPathIndex.forClassPath( classPath );
+        assertNotSame( index, newIndex );
+        assertTrue( newIndex.mayContainPackage( "org.example.impl" ) );
+        assertFalse( newIndex.mayContainPackage( "org.example.mr" ) );
+
+        //---* The stamp changes with the JAR file *---------------------------
+        assertTrue( index.getStamp().contains( jarA.toString() ) );
+        assertTrue( index.getStamp().contains( directory.resolve( "b.jar" ).toString() ) );
+        assertNotEquals( index.getStamp(), newIndex.getStamp() );
+        assertEquals( newIndex.getStamp(), ClassPathIndex.stampFor( classPath ) );
+    }   //  testIndex()
+
+    /**
+     *  Requests the index for the same classpath from several threads at
+     *  once; all of them have to get the same index.
+     *
+     *  @param  directory   The folder for the classpath elements.
+     *  @throws Exception   Something unexpected went wrong.
+     */
+    @Test
+    final void testConcurrentLookup( @TempDir final Path directory ) throws Exception
+    {
+        skipThreadTest();
+
+        final var jar = directory.resolve( "concurrent.jar" );
+        createJar( jar, null, "org/example/concurrent/Concurrent.class" );
+        final var classPath = jar.toString();
+
+        final var threadCount = 8;
+        final var start = new CountDownLatch( 1 );
+        final var executor = Executors.newFixedThreadPool( threadCount );
+        try
+        {
+            final List<Future<ClassPathIndex>> futures = new ArrayList<>();
+            for( var i = 0; i < threadCount; ++i )
+            {
+                futures.add( executor.submit( () ->
+                {
+                    start.await();
+                    return ClassPathIndex.forClassPath( classPath );
+                } ) );
+            }
+            start.countDown();
+
+            final var index = futures.getFirst().get();
+            assertNotNull( index );
+            assertTrue( index.mayContainPackage( "org.example.concurrent" ) );
+            for( final var future : futures ) assertSame( index, future.get() );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }   //  testConcurrentLookup()
+}
+//  class TestClassPathIndex
+
+/*
+ *  End of File
+ */
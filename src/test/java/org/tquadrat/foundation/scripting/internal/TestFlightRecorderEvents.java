@@ -0,0 +1,133 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static java.io.Writer.nullWriter;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.script.Compilable;
+import javax.script.ScriptException;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.scripting.factory.JavaEngineFactory;
+import org.tquadrat.foundation.testutil.TestBaseClass;
+
+/**
+ *  The tests for the JDK Flight Recorder events
+ *  {@link CompileEvent},
+ *  {@link ClassDefinitionEvent}
+ *  and
+ *  {@link EvaluationEvent}.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestFlightRecorderEvents.java 1097 2026-10-16 18:52:06Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestFlightRecorderEvents.java 1097 2026-10-16 18:52:06Z tquadrat $" )
+public class TestFlightRecorderEvents extends TestBaseClass
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Returns the events with the given name.
+     *
+     *  @param  events  All events.
+     *  @param  name    The name of the event type.
+     *  @return The events of that type.
+     */
+    private static List<RecordedEvent> filter( final List<RecordedEvent> events, final String name )
+    {
+        final var retValue = events.stream()
+            .filter( event -> event.getEventType().getName().equals( name ) )
+            .toList();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  filter()
+
+    /**
+     *  Compiles and evaluates two scripts while a recording is active, and
+     *  checks the recorded events.
+     *
+     *  @param  directory   The folder for the recording file.
+     *  @throws Exception   Something unexpected went wrong.
+     */
+    @Test
+    final void testEvents( @TempDir final Path directory ) throws Exception
+    {
+        skipThreadTest();
+
+        final var engine = new JavaEngineFactory().getScriptEngine();
+        engine.getContext().setErrorWriter( nullWriter() );
+        final var compilable = (Compilable) engine;
+
+        final List<RecordedEvent> events;
+        try( final var recording = new Recording() )
+        {
+            recording.enable( CompileEvent.NAME );
+            recording.enable( ClassDefinitionEvent.NAME );
+            recording.enable( EvaluationEvent.NAME );
+            recording.start();
+
+            compilable.compile( "class org_tquadrat_foundation_scripting_internal_JfrTest { static class Inner {} public static void main( String... args ) { new Inner(); } }" ).eval();
+            final var failing = compilable.compile( "class org_tquadrat_foundation_scripting_internal_JfrFailure { public static void main( String... args ) { throw new IllegalStateException( \"failure\" ); } }" );
+            assertThrows( ScriptException.class, failing::eval );
+
+            recording.stop();
+            final var file = directory.resolve( "recording.jfr" );
+            recording.dump( file );
+            events = RecordingFile.readAllEvents( file );
+        }
+
+        final var compileEvents = filter( events, CompileEvent.NAME );
+        assertEquals( 2, compileEvents.size() );
+        assertTrue( compileEvents.getFirst().getBoolean( "success" ) );
+        assertEquals( 2, compileEvents.getFirst().getInt( "classCount" ) );
+        assertEquals( 1, compileEvents.getFirst().getInt( "sourceCount" ) );
+        assertTrue( compileEvents.getFirst().getLong( "sourceSize" ) > 0 );
+
+        final var classNames = filter( events, ClassDefinitionEvent.NAME ).stream()
+            .map( event -> event.getString( "className" ) )
+            .toList();
+        assertTrue( classNames.contains( "org_tquadrat_foundation_scripting_internal_JfrTest" ) );
+        assertTrue( classNames.contains( "org_tquadrat_foundation_scripting_internal_JfrTest$Inner" ) );
+
+        final var evaluationEvents = filter( events, EvaluationEvent.NAME );
+        assertEquals( 2, evaluationEvents.size() );
+        assertNull( evaluationEvents.getFirst().getClass( "exceptionClass" ) );
+        assertNotNull( evaluationEvents.getLast().getClass( "exceptionClass" ) );
+        assertEquals( IllegalStateException.class.getName(), evaluationEvents.getLast().getClass( "exceptionClass" ).getName() );
+        assertEquals( "failure", evaluationEvents.getLast().getString( "exceptionMessage" ) );
+    }   //  testEvents()
+}
+//  class TestFlightRecorderEvents
+
+/*
+ *  End of File
+ */
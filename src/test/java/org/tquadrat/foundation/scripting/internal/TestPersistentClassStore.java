@@ -0,0 +1,113 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.internal;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.testutil.TestBaseClass;
+
+/**
+ *  The tests for
+ *  {@link PersistentClassStore}.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestPersistentClassStore.java 1085 2026-10-16 10:03:17Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestPersistentClassStore.java 1085 2026-10-16 10:03:17Z tquadrat $" )
+public class TestPersistentClassStore extends TestBaseClass
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Returns the contents of the given buffer.
+     *
+     *  @param  buffer  The buffer.
+     *  @return The contents.
+     */
+    private static byte [] toArray( final ByteBuffer buffer )
+    {
+        final var retValue = new byte [buffer.remaining()];
+        buffer.duplicate().get( retValue );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  toArray()
+
+    /**
+     *  Stores byte code and reads it back, also through a second instance
+     *  for the same directory, and after a torn write.
+     *
+     *  @param  directory   The cache directory.
+     *  @throws Exception   Something unexpected went wrong.
+     */
+    @Test
+    final void testStoreAndLookup( @TempDir final Path directory ) throws Exception
+    {
+        skipThreadTest();
+
+        final var classBytes = Map.of( "a.Main", new byte [] {1, 2, 3}, "a.Main$Inner", new byte [] {4, 5} );
+
+        try( final var store = PersistentClassStore.open( directory ) )
+        {
+            assertNull( store.lookup( "fingerprint1" ) );
+            store.store( "fingerprint1", classBytes );
+
+            final var actual = store.lookup( "fingerprint1" );
+            assertNotNull( actual );
+            assertEquals( classBytes.keySet(), actual.keySet() );
+            assertArrayEquals( classBytes.get( "a.Main" ), toArray( actual.get( "a.Main" ) ) );
+            assertArrayEquals( classBytes.get( "a.Main$Inner" ), toArray( actual.get( "a.Main$Inner" ) ) );
+
+            //---* A second instance sees the records of the first one *------
+            try( final var other = PersistentClassStore.open( directory ) )
+            {
+                assertNotNull( other.lookup( "fingerprint1" ) );
+                other.store( "fingerprint2", Map.of( "b.Main", new byte [] {6} ) );
+            }
+            assertNotNull( store.lookup( "fingerprint2" ) );
+        }
+
+        //---* Simulate an interrupted write *---------------------------------
+        Files.write( directory.resolve( PersistentClassStore.FILE_NAME ), new byte [] {0x52, 0x45, 0x43}, APPEND );
+        try( final var store = PersistentClassStore.open( directory ) )
+        {
+            assertNotNull( store.lookup( "fingerprint1" ) );
+            assertNotNull( store.lookup( "fingerprint2" ) );
+            store.store( "fingerprint3", Map.of( "c.Main", new byte [] {7} ) );
+            assertArrayEquals( new byte [] {7}, toArray( store.lookup( "fingerprint3" ).get( "c.Main" ) ) );
+        }
+    }   //  testStoreAndLookup()
+}
+//  class TestPersistentClassStore
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,107 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.scripting.internal.LongHistogram;
+import org.tquadrat.foundation.testutil.TestBaseClass;
+
+/**
+ *  The tests for
+ *  {@link Histogram}
+ *  and
+ *  {@link LongHistogram}.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestHistogram.java 1096 2026-10-16 18:03:51Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestHistogram.java 1096 2026-10-16 18:03:51Z tquadrat $" )
+public class TestHistogram extends TestBaseClass
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Tests the layout of the buckets.
+     */
+    @Test
+    final void testBuckets()
+    {
+        skipThreadTest();
+
+        for( var value = 0L; value < Histogram.SUB_BUCKETS; ++value )
+        {
+            assertEquals( value, Histogram.bucketFor( value ) );
+            assertEquals( value, Histogram.upperBound( (int) value ) );
+        }
+        for( final var value : List.of( 8L, 9L, 16L, 17L, 100L, 1_000L, 123_456_789L, 1L << 62, Long.MAX_VALUE ) )
+        {
+            final var index = Histogram.bucketFor( value.longValue() );
+            assertTrue( index < Histogram.BUCKET_COUNT );
+            assertTrue( Histogram.upperBound( index ) >= value.longValue() );
+            assertTrue( Histogram.upperBound( index - 1 ) < value.longValue() );
+            assertTrue( Histogram.upperBound( index ) - value.longValue() <= value.longValue() / Histogram.SUB_BUCKETS );
+        }
+        assertEquals( Long.MAX_VALUE, Histogram.upperBound( Histogram.BUCKET_COUNT - 1 ) );
+    }   //  testBuckets()
+
+    /**
+     *  Records values and checks the snapshot.
+     */
+    @Test
+    final void testSnapshot()
+    {
+        skipThreadTest();
+
+        final var histogram = new LongHistogram();
+        var snapshot = histogram.snapshot();
+        assertEquals( 0, snapshot.count() );
+        assertEquals( 0, snapshot.percentile( 50.0 ) );
+        assertEquals( 0.0, snapshot.mean() );
+
+        for( var value = 1L; value <= 1_000L; ++value ) histogram.record( value );
+        histogram.record( -5L );
+        snapshot = histogram.snapshot();
+        assertEquals( 1_001, snapshot.count() );
+        assertEquals( 500_500, snapshot.sum() );
+        assertEquals( 0, snapshot.min() );
+        assertEquals( 1_000, snapshot.max() );
+
+        final var median = snapshot.percentile( 50.0 );
+        assertTrue( median >= 500 && median <= 500 + 500 / Histogram.SUB_BUCKETS );
+        assertEquals( 1_000, snapshot.percentile( 100.0 ) );
+        assertEquals( 0, snapshot.percentile( 0.0 ) );
+        assertThrows( IllegalArgumentException.class, () -> histogram.snapshot().percentile( 100.1 ) );
+        assertThrows( IllegalArgumentException.class, () -> histogram.snapshot().percentile( Double.NaN ) );
+
+        histogram.reset();
+        assertEquals( 0, histogram.snapshot().count() );
+    }   //  testSnapshot()
+}
+//  class TestHistogram
+
+/*
+ *  End of File
+ */
@@ -32,7 +32,9 @@ import static javax.script.ScriptEngine.LANGUAGE_VERSION;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.expectLastCall;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -42,20 +44,43 @@ import static org.tquadrat.foundation.lang.CommonConstants.EMPTY_STRING;
 import static org.tquadrat.foundation.lang.CommonConstants.PROPERTY_JAVA_VERSION;
 import static org.tquadrat.foundation.lang.CommonConstants.PROPERTY_JVM_VERSION;
 import static org.tquadrat.foundation.scripting.java.JavaEngine.CLASSPATH;
+import static org.tquadrat.foundation.scripting.java.JavaEngine.COMPILE_PROFILE;
 import static org.tquadrat.foundation.scripting.java.JavaEngine.MAINCLASS;
 import static org.tquadrat.foundation.scripting.java.JavaEngine.PARENTLOADER;
+import static org.tquadrat.foundation.scripting.java.JavaEngine.SHARE_COMPILED_SCRIPTS;
 import static org.tquadrat.foundation.scripting.java.JavaEngine.SOURCEPATH;
 
 import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+import javax.script.SimpleScriptContext;
+import javax.tools.ToolProvider;
+import java.io.FilterWriter;
 import java.io.PrintStream;
 import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.tquadrat.foundation.annotation.ClassVersion;
 import org.tquadrat.foundation.exception.NullArgumentException;
 import org.tquadrat.foundation.exception.ValidationException;
@@ -77,6 +102,32 @@ public class TestJavaEngine extends TestBaseClass
         /*---------*\
     ====** Methods **==========================================================
         \*---------*/
+    /**
+     *  Compiles the class {@code org.example.library.Library} with the given
+     *  body, and writes it to a new JAR file.
+     *
+     *  @param  directory   The folder for the sources and the classes.
+     *  @param  jar The path for the JAR file; an existing file will be
+     *      deleted first.
+     *  @param  body    The body of the class.
+     *  @throws Exception   The library could not be created.
+     */
+    private static void createLibrary( final Path directory, final Path jar, final String body ) throws Exception
+    {
+        final var source = directory.resolve( "Library.java" );
+        Files.writeString( source, "package org.example.library; public class Library { %1$s }".formatted( body ) );
+        final var classes = Files.createDirectories( directory.resolve( "classes" ) );
+        assertEquals( 0, ToolProvider.getSystemJavaCompiler().run( null, nullOutputStream(), nullOutputStream(), "-d", classes.toString(), source.toString() ) );
+
+        Files.deleteIfExists( jar );
+        try( final var outputStream = new JarOutputStream( Files.newOutputStream( jar ) ) )
+        {
+            outputStream.putNextEntry( new JarEntry( "org/example/library/Library.class" ) );
+            outputStream.write( Files.readAllBytes( classes.resolve( "org/example/library/Library.class" ) ) );
+            outputStream.closeEntry();
+        }
+    }   //  createLibrary()
+
     /**
      *  Prepares a single test, the call to one of the test methods.
      *
@@ -318,6 +369,874 @@ public class TestJavaEngine extends TestBaseClass
         compiledScript = engine.compile( actual );
         assertNotNull( compiledScript );
     }   //  testJavaEngine()
+
+    /**
+     *  Tests whether all engines share the same compiler.
+     *
+     *  @throws Exception   Something unexpected went wrong.
+     */
+    @Test
+    public final void testSharedCompiler() throws Exception
+    {
+        skipThreadTest();
+
+        final var factory = new JavaEngineFactory();
+        final var before = JavaEngine.getCompilerStatistics();
+        assertNotNull( before );
+
+        factory.getScriptEngine().eval( "class org_tquadrat_foundation_scripting_java_SharedCompiler1 {}" );
+        factory.getScriptEngine().eval( "class org_tquadrat_foundation_scripting_java_SharedCompiler2 {}" );
+
+        final var after = JavaEngine.getCompilerStatistics();
+        assertTrue( after.compilations() >= before.compilations() + 2 );
+        assertTrue( after.totalTime().compareTo( before.totalTime() ) > 0 );
+        assertTrue( after.firstTime().compareTo( after.maxTime() ) <= 0 );
+    }   //  testSharedCompiler()
+
+    /**
+     *  Tests that a JAR file on the classpath that was replaced after a
+     *  compilation is read with its new contents by the next compilation.
+     *
+     *  @param  directory   The folder for the JAR file.
+     *  @throws Exception   Something unexpected went wrong.
+     */
+    @Test
+    public final void testChangedClassPath( @TempDir final Path directory ) throws Exception
+    {
+        skipThreadTest();
+
+        final var jar = directory.resolve( "library.jar" );
+        createLibrary( directory, jar, "public static String first() { return \"first\"; }" );
+
+        final var engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        engine.getContext().setErrorWriter( nullWriter() );
+        engine.put( CLASSPATH, jar.toString() );
+        assertNotNull( engine.compile( "class org_tquadrat_foundation_scripting_java_ChangedClassPath1 { public static void main( String... args ) { org.example.library.Library.first(); } }" ) );
+
+        //---* Replace the JAR file *------------------------------------------
+        final var lastModified = Files.getLastModifiedTime( jar ).toMillis();
+        createLibrary( directory, jar, "public static String first() { return \"first\"; } public static String second() { return \"second\"; }" );
+        Files.setLastModifiedTime( jar, FileTime.fromMillis( lastModified + 10_000L ) );
+        Thread.sleep( 1100L );
+
+        assertNotNull( engine.compile( "class org_tquadrat_foundation_scripting_java_ChangedClassPath2 { public static void main( String... args ) { org.example.library.Library.second(); } }" ) );
+    }   //  testChangedClassPath()
+
+    /**
+     *  Tests that the compiler writes its messages for a failed compilation
+     *  to the error writer of the script context, without closing it.
+     *
+     *  @throws Exception   Something unexpected went wrong.
+     */
+    @Test
+    public final void testErrorWriter() throws Exception
+    {
+        skipThreadTest();
+
+        final var closed = new boolean [] {false};
+        final var buffer = new StringWriter();
+        final var errorWriter = new FilterWriter( buffer )
+        {
+            @Override
+            public final void close() { closed [0] = true; }
+        };
+
+        final var engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        engine.getContext().setErrorWriter( errorWriter );
+        assertThrows( ScriptException.class, () -> engine.compile( "class org_tquadrat_foundation_scripting_java_ErrorWriter1 { undefined1 }" ) );
+        assertFalse( closed [0] );
+        final var length = buffer.getBuffer().length();
+        assertTrue( length > 0 );
+
+        //---* The messages for the next compilation are appended *-----------
+        assertThrows( ScriptException.class, () -> engine.compile( "class org_tquadrat_foundation_scripting_java_ErrorWriter2 { undefined2 }" ) );
+        assertFalse( closed [0] );
+        assertTrue( buffer.getBuffer().length() > length );
+    }   //  testErrorWriter()
+
+    /**
+     *  Tests the process-wide cache for compiled scripts, and the scoping of
+     *  its entries to the engines.
+     *
+     *  @throws Exception   Something unexpected went wrong.
+     */
+    @Test
+    public final void testScriptCache() throws Exception
+    {
+        skipThreadTest();
+
+        final var factory = new JavaEngineFactory();
+        final var script =
+            """
+            class org_tquadrat_foundation_scripting_java_CacheTest
+            {
+                public static void main( String... args ) {}
+            }""";
+
+        final var before = JavaEngine.getScriptCacheStatistics();
+        assertNotNull( before );
+
+        final var firstEngine = factory.getScriptEngine();
+        final var first = firstEngine.eval( script );
+        assertNotNull( first );
+
+        //---* The same engine gets the class from the cache *----------------
+        assertSame( first, firstEngine.eval( script ) );
+
+        final var after = JavaEngine.getScriptCacheStatistics();
+        assertTrue( after.hits() > before.hits() );
+        assertTrue( after.misses() > before.misses() );
+
+        //---* By default, the classes are shared with other engines *--------
+        assertSame( first, factory.getScriptEngine().eval( script ) );
+
+        //---* Engines that opted out get their own classes *-----------------
+        final var privateEngine1 = factory.getScriptEngine();
+        privateEngine1.put( SHARE_COMPILED_SCRIPTS, Boolean.FALSE );
+        final var privateEngine2 = factory.getScriptEngine();
+        privateEngine2.put( SHARE_COMPILED_SCRIPTS, "false" );
+        final var second = privateEngine1.eval( script );
+        assertNotNull( second );
+        assertNotSame( first, second );
+        assertSame( second, privateEngine1.eval( script ) );
+        assertNotSame( second, privateEngine2.eval( script ) );
+
+        //---* A different classpath requires a new compilation *-------------
+        firstEngine.put( CLASSPATH, EMPTY_STRING );
+        final var third = firstEngine.eval( script );
+        assertNotNull( third );
+        assertNotSame( first, third );
+    }   //  testScriptCache()
+
+    /**
+     *  Tests the default for the parent class loader of the scripts: when
+     *  {@link JavaEngine#PARENTLOADER}
+     *  is not set, the scripts can use the modules of the Java platform,
+     *  but not the classes from the application class loader.
+     *
+     *  @throws Exception   Something unexpected went wrong.
+     */
+    @Test
+    public final void testDefaultParentLoader() throws Exception
+    {
+        skipThreadTest();
+
+        final var engine = new JavaEngineFactory().getScriptEngine();
+        engine.getContext().setErrorWriter( nullWriter() );
+
+        final var script =
+            """
+            class org_tquadrat_foundation_scripting_java_DefaultParentLoader
+            {
+                private static javax.script.ScriptContext s_Context;
+
+                public static void setScriptContext( javax.script.ScriptContext context ) { s_Context = context; }
+
+                public static void main( String... args ) { s_Context.setAttribute( "result", "platform", javax.script.ScriptContext.ENGINE_SCOPE ); }
+            }""";
+        final var scriptClass = (Class<?>) engine.eval( script );
+        assertEquals( "platform", engine.get( "result" ) );
+
+        var hasPlatformLoader = false;
+        for( var loader = scriptClass.getClassLoader(); loader != null; loader = loader.getParent() )
+        {
+            assertNotSame( ClassLoader.getSystemClassLoader(), loader );
+            hasPlatformLoader |= loader == ClassLoader.getPlatformClassLoader();
+        }
+        assertTrue( hasPlatformLoader );
+
+        //---* An explicitly set parent loader takes precedence *-------------
+        engine.put( PARENTLOADER, getClass().getClassLoader() );
+        final var otherClass = (Class<?>) engine.eval( script );
+        assertSame( getClass().getClassLoader(), otherClass.getClassLoader().getParent() );
+    }   //  testDefaultParentLoader()
+
+    /**
+     *  Tests the batch compilation with
+     *  {@link JavaEngine#compileAll(java.util.Map)}
+     *  and
+     *  {@link JavaEngine#compileAll(java.util.Map, boolean)}.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    public final void testCompileAll() throws Exception
+    {
+        skipThreadTest();
+
+        final var engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+
+        final Map<String,String> scripts = new LinkedHashMap<>();
+        scripts.put( "BatchA.java", "public class BatchA { public static int value() { return 42; } public static void main( String... args ) {} }" );
+        scripts.put( "BatchB.java", "public class BatchB { public static void main( String... args ) { if( BatchA.value() != 42 ) throw new AssertionError(); } }" );
+        scripts.put( "BatchBroken.java", "public class BatchBroken { int m_Value = \"text\"; }" );
+        scripts.put( "BatchDependent.java", "public class BatchDependent { BatchBroken m_Broken; public static void main( String... args ) {} }" );
+
+        final var results = engine.compileAll( scripts );
+        assertNotNull( results );
+        assertEquals( scripts.keySet(), results.keySet() );
+
+        var result = results.get( "BatchA.java" );
+        assertTrue( result.isSuccess() );
+        assertTrue( result.diagnostics().isEmpty() );
+
+        result = results.get( "BatchB.java" );
+        assertTrue( result.isSuccess() );
+        assertNotNull( result.getCompiledScript().orElseThrow().eval() );
+
+        result = results.get( "BatchBroken.java" );
+        assertFalse( result.isSuccess() );
+        assertTrue( result.getCompiledScript().isEmpty() );
+        assertFalse( result.diagnostics().isEmpty() );
+
+        result = results.get( "BatchDependent.java" );
+        assertFalse( result.isSuccess() );
+        assertFalse( result.diagnostics().isEmpty() );
+
+        //---* Independent scripts may be compiled concurrently *-------------
+        final Map<String,String> independent = new LinkedHashMap<>();
+        independent.put( "ParallelA.java", "public class ParallelA { public static void main( String... args ) {} }" );
+        independent.put( "ParallelB.java", "public class ParallelB { public static void main( String... args ) {} }" );
+        independent.put( "ParallelC.java", "public class ParallelC { int m_Value = \"text\"; }" );
+        final var parallelResults = engine.compileAll( independent, true );
+        assertEquals( independent.keySet(), parallelResults.keySet() );
+        assertTrue( parallelResults.get( "ParallelA.java" ).isSuccess() );
+        assertTrue( parallelResults.get( "ParallelB.java" ).isSuccess() );
+        assertFalse( parallelResults.get( "ParallelC.java" ).isSuccess() );
+
+        assertTrue( engine.compileAll( Map.of() ).isEmpty() );
+        assertTrue( engine.compileAll( Map.of(), true ).isEmpty() );
+        assertThrows( NullArgumentException.class, () -> engine.compileAll( null ) );
+        assertThrows( NullArgumentException.class, () -> engine.compileAll( null, true ) );
+    }   //  testCompileAll()
+
+    /**
+     *  Tests the asynchronous compilation with
+     *  {@link JavaEngine#compileAsync(String)}
+     *  and
+     *  {@link JavaEngine#compileAsync(String, java.util.concurrent.Executor)}.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    public final void testCompileAsync() throws Exception
+    {
+        skipThreadTest();
+
+        final var engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        engine.getContext().setErrorWriter( nullWriter() );
+
+        final var script =
+            """
+            class org_tquadrat_foundation_scripting_java_AsyncTest
+            {
+                public static void main( String... args ) {}
+            }""";
+
+        final var compiledScript = engine.compileAsync( script ).get();
+        assertNotNull( compiledScript );
+        assertNotNull( compiledScript.eval() );
+
+        //---* A failing compilation completes the future exceptionally *-----
+        final var failed = engine.compileAsync( "class org_tquadrat_foundation_scripting_java_AsyncFailure { int m_Value = \"text\"; }" );
+        final var exception = assertThrows( ExecutionException.class, failed::get );
+        assertTrue( exception.getCause() instanceof ScriptException );
+
+        //---* A cancelled request does not invoke the compiler *-------------
+        final List<Runnable> tasks = new ArrayList<>();
+        final var compilations = JavaEngine.getCompilerStatistics().compilations();
+        final var cancelled = engine.compileAsync( script.replace( "AsyncTest", "AsyncCancelled" ), tasks::add );
+        assertTrue( cancelled.cancel( true ) );
+        assertEquals( 1, tasks.size() );
+        tasks.getFirst().run();
+        assertTrue( cancelled.isCancelled() );
+        assertEquals( compilations, JavaEngine.getCompilerStatistics().compilations() );
+
+        assertThrows( NullArgumentException.class, () -> engine.compileAsync( null ) );
+        assertThrows( NullArgumentException.class, () -> engine.compileAsync( script, null ) );
+    }   //  testCompileAsync()
+
+    /**
+     *  Tests the selection of the
+     *  {@linkplain CompileProfile compile profile}.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    public final void testCompileProfile() throws Exception
+    {
+        skipThreadTest();
+
+        final var engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        engine.getContext().setErrorWriter( nullWriter() );
+
+        final var script =
+            """
+            class org_tquadrat_foundation_scripting_java_ProfileTest
+            {
+                public static int line() { return new Throwable().getStackTrace() [0].getLineNumber(); }
+
+                public static void main( String... args ) {}
+            }""";
+
+        //---* Only the debug profile keeps the line numbers *-----------------
+        engine.put( COMPILE_PROFILE, CompileProfile.FAST );
+        var method = ((JavaCompiledScript) engine.compile( script )).getScriptClass().getMethod( "line" );
+        method.setAccessible( true );
+        assertTrue( ((Integer) method.invoke( null )).intValue() < 0 );
+
+        engine.put( COMPILE_PROFILE, "debug" );
+        method = ((JavaCompiledScript) engine.compile( script )).getScriptClass().getMethod( "line" );
+        method.setAccessible( true );
+        assertEquals( 3, method.invoke( null ) );
+
+        //---* The strict profile turns warnings into errors *-----------------
+        final var rawType = "class org_tquadrat_foundation_scripting_java_RawType { java.util.List m_List; }";
+        engine.put( COMPILE_PROFILE, CompileProfile.STANDARD );
+        assertNotNull( engine.compile( rawType ) );
+        engine.put( COMPILE_PROFILE, CompileProfile.STRICT );
+        assertThrows( ScriptException.class, () -> engine.compile( rawType ) );
+
+        engine.put( COMPILE_PROFILE, "unknown" );
+        assertThrows( IllegalArgumentException.class, () -> engine.compile( script ) );
+
+        assertEquals( CompileProfile.STANDARD, CompileProfile.of( null ) );
+        assertEquals( CompileProfile.FAST, CompileProfile.of( " Fast " ) );
+    }   //  testCompileProfile()
+
+    /**
+     *  Tests the measurements for the phases of the compilations.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    public final void testCompilePhaseStatistics() throws Exception
+    {
+        skipThreadTest();
+
+        final var engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        engine.getContext().setErrorWriter( nullWriter() );
+
+        final var before = JavaEngine.getCompilePhaseStatistics();
+        assertNotNull( engine.compile( "class org_tquadrat_foundation_scripting_java_PhaseTest { class Inner {} public static void main( String... args ) {} }" ) );
+        final var after = JavaEngine.getCompilePhaseStatistics();
+
+        assertEquals( before.totalTimes().count() + 1, after.totalTimes().count() );
+        for( final var phase : List.of( CompilePhase.PARSE, CompilePhase.ENTER, CompilePhase.ANALYZE, CompilePhase.GENERATE ) )
+        {
+            final var histogram = after.phaseTimes().get( phase );
+            assertEquals( before.phaseTimes().get( phase ).count() + 1, histogram.count() );
+            assertTrue( histogram.max() > 0 );
+        }
+        assertTrue( after.generatedClasses().max() >= 2 );
+        assertFalse( after.slowest().isEmpty() );
+        assertTrue( after.slowest().size() <= 10 );
+        assertTrue( after.slowest().getFirst().totalTime().compareTo( after.slowest().getLast().totalTime() ) >= 0 );
+    }   //  testCompilePhaseStatistics()
+
+    /**
+     *  Tests the invocation of the entry points {@code setScriptContext()}
+     *  and {@code main()} of a compiled script, for repeated evaluations.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    public final void testEntryPoints() throws Exception
+    {
+        skipThreadTest();
+
+        final var engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        engine.getContext().setErrorWriter( nullWriter() );
+        engine.put( PARENTLOADER, getClass().getClassLoader() );
+
+        final var script =
+            """
+            class org_tquadrat_foundation_scripting_java_EntryPoints
+            {
+                private static javax.script.ScriptContext s_Context;
+
+                public static void setScriptContext( javax.script.ScriptContext context ) { s_Context = context; }
+
+                public static void main( String... args )
+                {
+                    final var count = (Integer) s_Context.getAttribute( "count" );
+                    s_Context.setAttribute( "count", count + args.length, javax.script.ScriptContext.ENGINE_SCOPE );
+                }
+            }""";
+        engine.put( "count", Integer.valueOf( 0 ) );
+        engine.put( "arguments", new String [] {"a", "b"} );
+        final var compiledScript = engine.compile( script );
+        for( var i = 0; i < 3; ++i ) compiledScript.eval();
+        assertEquals( Integer.valueOf( 6 ), engine.get( "count" ) );
+
+        //---* setScriptContext() may return a value *-----------------------
+        final var chained =
+            """
+            class org_tquadrat_foundation_scripting_java_ChainedSetter
+            {
+                private static javax.script.ScriptContext s_Context;
+
+                public static javax.script.ScriptContext setScriptContext( javax.script.ScriptContext context )
+                {
+                    final var retValue = s_Context;
+                    s_Context = context;
+                    return retValue;
+                }
+
+                public static Object run() { return s_Context.getAttribute( "count" ); }
+            }""";
+        assertEquals( Integer.valueOf( 6 ), engine.eval( chained ) );
+
+        //---* The exception from main() is the cause *-----------------------
+        final var failing = engine.compile( "class org_tquadrat_foundation_scripting_java_EntryPointsFailure { public static void main( String... args ) { throw new IllegalStateException( \"failure\" ); } }" );
+        final var exception = assertThrows( ScriptException.class, failing::eval );
+        assertTrue( exception.getCause() instanceof IllegalStateException );
+
+        //---* A class without entry points is fine *-------------------------
+        assertNotNull( engine.eval( "class org_tquadrat_foundation_scripting_java_NoEntryPoints {}" ) );
+    }   //  testEntryPoints()
+
+    /**
+     *  Tests that the evaluation of a script returns the value from an entry
+     *  point that is not {@code void}.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    public final void testEntryPointResults() throws Exception
+    {
+        skipThreadTest();
+
+        final var engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        engine.getContext().setErrorWriter( nullWriter() );
+        engine.put( PARENTLOADER, getClass().getClassLoader() );
+        engine.put( "arguments", new String [] {"a", "b", "c"} );
+
+        //---* main() with a return value gets the arguments *----------------
+        final var main = engine.compile( "class org_tquadrat_foundation_scripting_java_MainResult { public static int main( String... args ) { return args.length; } }" );
+        assertEquals( Integer.valueOf( 3 ), main.eval() );
+
+        //---* run() and call() *---------------------------------------------
+        final var list = engine.eval( "class org_tquadrat_foundation_scripting_java_RunResult { public static java.util.List<String> run() { return java.util.List.of( \"run\" ); } }" );
+        assertEquals( List.of( "run" ), list );
+        assertEquals( "call", engine.eval( "class org_tquadrat_foundation_scripting_java_CallResult { public static Object call() { return \"call\"; } }" ) );
+        assertNull( engine.eval( "class org_tquadrat_foundation_scripting_java_NullResult { public static String call() { return null; } }" ) );
+
+        //---* main() has precedence over run() *-----------------------------
+        assertEquals( Boolean.TRUE, engine.eval( "class org_tquadrat_foundation_scripting_java_Precedence { public static boolean main( String... args ) { return true; } public static boolean run() { return false; } }" ) );
+
+        //---* A void main() still returns the script class *----------------
+        final var scriptClass = engine.eval( "class org_tquadrat_foundation_scripting_java_VoidMain { public static void main( String... args ) {} }" );
+        assertTrue( scriptClass instanceof Class<?> );
+        assertEquals( "org_tquadrat_foundation_scripting_java_VoidMain", ((Class<?>) scriptClass).getName() );
+
+        //---* A void run() or call() is not an entry point *-----------------
+        final var helperClass = engine.eval( "class org_tquadrat_foundation_scripting_java_VoidRun { public static void run() { throw new IllegalStateException( \"run() called\" ); } public static void call() { throw new IllegalStateException( \"call() called\" ); } }" );
+        assertTrue( helperClass instanceof Class<?> );
+        assertEquals( "org_tquadrat_foundation_scripting_java_VoidRun", ((Class<?>) helperClass).getName() );
+        assertEquals( "call", engine.eval( "class org_tquadrat_foundation_scripting_java_VoidRunCall { public static void run() { throw new IllegalStateException( \"run() called\" ); } public static String call() { return \"call\"; } }" ) );
+    }   //  testEntryPointResults()
+
+    /**
+     *  Tests the search for the main class of a script without an explicit
+     *  {@link JavaEngine#MAINCLASS}:
+     *  a public class with an entry point has precedence, otherwise the
+     *  first package private class with an entry point is taken, even when
+     *  other classes come first.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    public final void testMainClassSearch() throws Exception
+    {
+        skipThreadTest();
+
+        final var engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        engine.getContext().setErrorWriter( nullWriter() );
+
+        //---* Only package private classes *----------------------------------
+        final var packagePrivate =
+            """
+            class org_tquadrat_foundation_scripting_java_SearchHelper1 { static String text() { return "helper"; } }
+            class org_tquadrat_foundation_scripting_java_SearchHelper2 {}
+            class org_tquadrat_foundation_scripting_java_SearchHelper3 {}
+            class org_tquadrat_foundation_scripting_java_SearchMain { public static String main( String... args ) { return org_tquadrat_foundation_scripting_java_SearchHelper1.text(); } }
+            class org_tquadrat_foundation_scripting_java_SearchHelper4 {}
+            """;
+        assertEquals( "helper", engine.eval( packagePrivate ) );
+
+        //---* The public class has precedence *-------------------------------
+        engine.put( FILENAME, "org_tquadrat_foundation_scripting_java_SearchPublic.java" );
+        final var withPublic =
+            """
+            class org_tquadrat_foundation_scripting_java_SearchOther1 { public static String main( String... args ) { return "other"; } }
+            class org_tquadrat_foundation_scripting_java_SearchOther2 { public static String main( String... args ) { return "other"; } }
+            public class org_tquadrat_foundation_scripting_java_SearchPublic { public static String main( String... args ) { return "public"; } }
+            class org_tquadrat_foundation_scripting_java_SearchOther3 { public static String main( String... args ) { return "other"; } }
+            class org_tquadrat_foundation_scripting_java_SearchOther4 { public static String main( String... args ) { return "other"; } }
+            """;
+        assertEquals( "public", engine.eval( withPublic ) );
+    }   //  testMainClassSearch()
+
+    /**
+     *  Tests the implementation of
+     *  {@link javax.script.Invocable}.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    public final void testInvocable() throws Exception
+    {
+        skipThreadTest();
+
+        final var engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        engine.getContext().setErrorWriter( nullWriter() );
+        assertThrows( NoSuchMethodException.class, () -> engine.invokeFunction( "add", 1, 2 ) );
+
+        final var script =
+            """
+            class org_tquadrat_foundation_scripting_java_Invocable implements java.util.function.IntSupplier
+            {
+                public static int add( int a, int b ) { return a + b; }
+                public static String add( String a, String b ) { return a + b; }
+                public static String describe( Object o ) { return "object"; }
+                public static String describe( CharSequence c ) { return "chars"; }
+                public static String describe( String s ) { return "string"; }
+                public static void fail() { throw new IllegalStateException( "failure" ); }
+                @Override
+                public int getAsInt() { return 42; }
+                public String greet( String name ) { return "Hello " + name; }
+            }""";
+        final var compiledScript = (JavaCompiledScript) engine.compile( script );
+
+        //---* The compiled script works without an evaluation *--------------
+        assertEquals( Integer.valueOf( 3 ), compiledScript.invokeFunction( "add", 1, 2 ) );
+        assertThrows( NoSuchMethodException.class, () -> engine.invokeFunction( "add", 1, 2 ) );
+
+        compiledScript.eval();
+        assertEquals( Integer.valueOf( 3 ), engine.invokeFunction( "add", 1, 2 ) );
+        assertEquals( "ab", engine.invokeFunction( "add", "a", "b" ) );
+        assertThrows( NoSuchMethodException.class, () -> engine.invokeFunction( "add", 1 ) );
+        assertThrows( NoSuchMethodException.class, () -> engine.invokeFunction( "unknown" ) );
+
+        //---* The most specific overload wins *-------------------------------
+        assertEquals( "string", engine.invokeFunction( "describe", "a" ) );
+        assertEquals( "chars", engine.invokeFunction( "describe", new StringBuilder( "a" ) ) );
+        assertEquals( "object", engine.invokeFunction( "describe", Integer.valueOf( 1 ) ) );
+        assertEquals( "string", engine.invokeFunction( "describe", (Object) null ) );
+
+        final var exception = assertThrows( ScriptException.class, () -> engine.invokeFunction( "fail" ) );
+        assertTrue( exception.getCause() instanceof IllegalStateException );
+
+        final var supplier = engine.getInterface( java.util.function.IntSupplier.class );
+        assertNotNull( supplier );
+        assertEquals( 42, supplier.getAsInt() );
+        assertNull( engine.getInterface( Runnable.class ) );
+        assertSame( supplier, engine.getInterface( supplier, java.util.function.IntSupplier.class ) );
+        assertThrows( IllegalArgumentException.class, () -> engine.getInterface( String.class ) );
+
+        assertEquals( "Hello World", engine.invokeMethod( supplier, "greet", "World" ) );
+        assertThrows( IllegalArgumentException.class, () -> engine.invokeMethod( null, "greet", "World" ) );
+
+        //---* Bridge methods are not candidates *-----------------------------
+        engine.eval(
+            """
+            class org_tquadrat_foundation_scripting_java_Bridge implements java.util.function.Function<String,String>
+            {
+                @Override
+                public String apply( String s ) { return "string"; }
+                public String apply( Integer i ) { return "integer"; }
+            }""" );
+        final var function = engine.getInterface( java.util.function.Function.class );
+        assertNotNull( function );
+        assertEquals( "string", engine.invokeMethod( function, "apply", "a" ) );
+        assertEquals( "integer", engine.invokeMethod( function, "apply", Integer.valueOf( 1 ) ) );
+    }   //  testInvocable()
+
+    /**
+     *  Tests the methods
+     *  {@link JavaEngine#compileFunction(Class, String)}
+     *  and
+     *  {@link JavaEngine#compileFunction(Class, String, String)}.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @SuppressWarnings( "unchecked" )
+    @Test
+    public final void testCompileFunction() throws Exception
+    {
+        skipThreadTest();
+
+        final var engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        engine.getContext().setErrorWriter( nullWriter() );
+        engine.put( PARENTLOADER, getClass().getClassLoader() );
+
+        final var square = engine.compileFunction( IntUnaryOperator.class, "x -> x * x" );
+        assertNotNull( square );
+        assertEquals( 49, square.applyAsInt( 7 ) );
+
+        final Function<String,Integer> length = engine.compileFunction( Function.class, "java.util.function.Function<String,Integer>", "s -> s.length();" );
+        assertEquals( Integer.valueOf( 5 ), length.apply( "hello" ) );
+
+        final Callable<String> callable = engine.compileFunction( Callable.class, "import java.util.Locale;\n() -> ((String) context.getAttribute( \"value\" )).toUpperCase( Locale.ROOT )" );
+        engine.put( "value", "value" );
+        assertEquals( "VALUE", callable.call() );
+
+        assertThrows( NullArgumentException.class, () -> engine.compileFunction( null, "x -> x" ) );
+        assertThrows( NullArgumentException.class, () -> engine.compileFunction( IntUnaryOperator.class, null ) );
+        assertThrows( IllegalArgumentException.class, () -> engine.compileFunction( String.class, "x -> x" ) );
+        assertThrows( IllegalArgumentException.class, () -> engine.compileFunction( Map.class, "x -> x" ) );
+        assertThrows( ScriptException.class, () -> engine.compileFunction( Runnable.class, "() -> undefined()" ) );
+    }   //  testCompileFunction()
+
+    /**
+     *  Tests the concurrent evaluation of the same compiled script with
+     *  different contexts, when the script gets the context through a
+     *  supplier.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    public final void testConcurrentEvaluation() throws Exception
+    {
+        skipThreadTest();
+
+        final var engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        engine.getContext().setErrorWriter( nullWriter() );
+
+        final var script =
+            """
+            import javax.script.ScriptContext;
+            import java.util.function.Supplier;
+
+            class org_tquadrat_foundation_scripting_java_ConcurrentEvaluation
+            {
+                private static Supplier<ScriptContext> m_Context;
+                public static void setScriptContextSupplier( Supplier<ScriptContext> supplier ) { m_Context = supplier; }
+                public static void setScriptContext( ScriptContext context ) { throw new IllegalStateException( "setScriptContext() called" ); }
+                public static Object current() { return m_Context.get().getAttribute( "id" ); }
+                public static void main( String... args )
+                {
+                    final var context = m_Context.get();
+                    Thread.yield();
+                    if( m_Context.get() != context ) throw new IllegalStateException( "context changed" );
+                    context.setAttribute( "result", context.getAttribute( "id" ), ScriptContext.ENGINE_SCOPE );
+                }
+            }""";
+        final var compiledScript = (JavaCompiledScript) engine.compile( script );
+
+        final var executor = Executors.newFixedThreadPool( 4 );
+        try
+        {
+            final Collection<Future<Boolean>> results = new ArrayList<>();
+            for( var i = 0; i < 500; ++i )
+            {
+                final var id = Integer.valueOf( i );
+                results.add( executor.submit( () ->
+                {
+                    final var context = new SimpleScriptContext();
+                    context.setAttribute( "id", id, ENGINE_SCOPE );
+                    compiledScript.eval( context );
+                    return Boolean.valueOf( id.equals( context.getAttribute( "result" ) ) );
+                } ) );
+            }
+            for( final var result : results ) assertTrue( result.get().booleanValue() );
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        //---* Invocations use the context of the engine *--------------------
+        engine.put( "id", "engine" );
+        assertEquals( "engine", compiledScript.invokeFunction( "current" ) );
+    }   //  testConcurrentEvaluation()
+
+    /**
+     *  Tests the binding slots, the static fields of a script class that
+     *  are annotated with
+     *  {@link Binding @Binding}.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    public final void testBindingSlots() throws Exception
+    {
+        skipThreadTest();
+
+        final var engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        engine.getContext().setErrorWriter( nullWriter() );
+        engine.put( PARENTLOADER, getClass().getClassLoader() );
+
+        final var script =
+            """
+            import org.tquadrat.foundation.scripting.java.Binding;
+
+            class org_tquadrat_foundation_scripting_java_BindingSlots
+            {
+                @Binding static int count;
+                @Binding( "factor" ) private static double m_Factor;
+                @Binding static String label;
+                @Binding static long total;
+                static int notBound = 7;
+                private static String m_Result;
+                public static String result() { return m_Result; }
+                public static void main( String... args ) { m_Result = label + ':' + (count * m_Factor) + ':' + notBound + ':' + total; }
+            }""";
+        final var compiledScript = (JavaCompiledScript) engine.compile( script );
+
+        engine.put( "count", Integer.valueOf( 6 ) );
+        engine.put( "factor", Double.valueOf( 1.5 ) );
+        engine.put( "label", "label" );
+        engine.put( "total", Long.valueOf( 3L ) );
+        compiledScript.eval();
+        assertEquals( "label:9.0:7:3", compiledScript.invokeFunction( "result" ) );
+
+        //---* Numbers are converted to the type of the field *---------------
+        engine.put( "factor", Integer.valueOf( 2 ) );
+        engine.put( "total", Integer.valueOf( 5 ) );
+        compiledScript.eval();
+        assertEquals( "label:12.0:7:5", compiledScript.invokeFunction( "result" ) );
+
+        //---* A null value resets the field, like a missing attribute *------
+        engine.put( "total", null );
+        engine.put( "label", null );
+        compiledScript.eval();
+        assertEquals( "null:12.0:7:0", compiledScript.invokeFunction( "result" ) );
+
+        //---* Missing attributes reset the fields *--------------------------
+        engine.getBindings( ENGINE_SCOPE ).remove( "count" );
+        engine.getBindings( ENGINE_SCOPE ).remove( "label" );
+        compiledScript.eval();
+        assertEquals( "null:0.0:7:0", compiledScript.invokeFunction( "result" ) );
+
+        //---* A value of the wrong type *------------------------------------
+        engine.put( "count", "six" );
+        final var exception = assertThrows( ScriptException.class, compiledScript::eval );
+        assertTrue( exception.getCause() instanceof ClassCastException );
+    }   //  testBindingSlots()
+
+    /**
+     *  Tests the methods
+     *  {@link JavaEngine#compileExpression(String)}
+     *  and
+     *  {@link JavaEngine#evalExpression(String, javax.script.Bindings)}.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    public final void testCompileExpression() throws Exception
+    {
+        skipThreadTest();
+
+        final var engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        engine.getContext().setErrorWriter( nullWriter() );
+
+        final var expression = engine.compileExpression( "${net:double} * (1.0 + ${rate:double}) // the gross price" );
+        assertEquals( "${net:double} * (1.0 + ${rate:double})", expression.getExpression() );
+        assertEquals( List.of( "net", "rate" ), expression.getParameterNames() );
+        final var bindings = new SimpleBindings();
+        bindings.put( "net", Integer.valueOf( 100 ) );
+        bindings.put( "rate", Double.valueOf( 0.5 ) );
+        assertEquals( Double.valueOf( 150.0 ), expression.evaluate( bindings ) );
+        assertEquals( Double.valueOf( 3.0 ), expression.invoke( Double.valueOf( 2.0 ), Double.valueOf( 0.5 ) ) );
+        assertThrows( IllegalArgumentException.class, () -> expression.invoke( Double.valueOf( 2.0 ) ) );
+
+        //---* The cache uses the normalised text *---------------------------
+        assertSame( expression, engine.compileExpression( "${ net : double }  *  (1.0 + ${rate:double});" ) );
+
+        //---* Other compiler settings require a new compilation *------------
+        engine.put( CLASSPATH, EMPTY_STRING );
+        final var otherClassPath = engine.compileExpression( expression.getExpression() );
+        assertNotSame( expression, otherClassPath );
+        assertEquals( Double.valueOf( 150.0 ), otherClassPath.evaluate( bindings ) );
+        engine.put( COMPILE_PROFILE, CompileProfile.FAST );
+        final var otherProfile = engine.compileExpression( expression.getExpression() );
+        assertNotSame( otherClassPath, otherProfile );
+        assertSame( otherProfile, engine.compileExpression( expression.getExpression() ) );
+        engine.getContext().removeAttribute( CLASSPATH, ENGINE_SCOPE );
+        engine.getContext().removeAttribute( COMPILE_PROFILE, ENGINE_SCOPE );
+        assertSame( expression, engine.compileExpression( expression.getExpression() ) );
+
+        //---* Holes in literals, imports, untyped holes *---------------------
+        bindings.put( "name", "abc" );
+        assertEquals( "${name}:3abc", engine.evalExpression( "\"${name}:\" + ${name:String}.length() + ${name}", bindings ) );
+        assertEquals( Integer.valueOf( 2 ), engine.evalExpression( "import java.util.List;\nList.of( ${net}, ${rate} ).size()", bindings ) );
+        assertEquals( Integer.valueOf( 42 ), engine.compileExpression( "42" ).invoke() );
+
+        //---* Errors *-------------------------------------------------------
+        assertThrows( ScriptException.class, () -> engine.compileExpression( "${a:int} + ${a:long}" ) );
+        assertThrows( ScriptException.class, () -> engine.compileExpression( "${1a}" ) );
+        assertThrows( ScriptException.class, () -> engine.compileExpression( "\"unterminated" ) );
+        assertThrows( ScriptException.class, () -> engine.compileExpression( "undefined()" ) );
+        assertThrows( ScriptException.class, () -> engine.compileExpression( "${a:int}" ).evaluate( new SimpleBindings() ) );
+        assertThrows( NullPointerException.class, () -> engine.compileExpression( null ) );
+    }   //  testCompileExpression()
+
+    /**
+     *  Tests that the output of a script to {@code System.out} and
+     *  {@code System.err} goes to the writers of the context for the
+     *  evaluation, also for concurrent evaluations.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    public final void testOutputRedirection() throws Exception
+    {
+        skipThreadTest();
+
+        final var engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        engine.getContext().setErrorWriter( nullWriter() );
+
+        final var script =
+            """
+            class org_tquadrat_foundation_scripting_java_Output
+            {
+                private static java.util.function.Supplier<javax.script.ScriptContext> s_Supplier;
+
+                public static void setScriptContextSupplier( java.util.function.Supplier<javax.script.ScriptContext> supplier ) { s_Supplier = supplier; }
+
+                public static void main( String... args )
+                {
+                    final var name = s_Supplier.get().getAttribute( "name" );
+                    System.out.printf( "out:%s", name );
+                    java.util.List.of( "!" ).forEach( System.out::print );
+                    System.err.print( "err:" + name );
+                    System.out.close();
+                }
+            }""";
+        final var compiledScript = engine.compile( script );
+
+        final var executor = Executors.newFixedThreadPool( 4 );
+        try
+        {
+            final Collection<Future<String>> results = new ArrayList<>();
+            for( var i = 0; i < 200; ++i )
+            {
+                final var name = "name%d".formatted( i );
+                results.add( executor.submit( () ->
+                {
+                    final var out = new StringWriter();
+                    final var err = new StringWriter();
+                    final var context = new SimpleScriptContext();
+                    context.setWriter( out );
+                    context.setErrorWriter( err );
+                    context.setAttribute( "name", name, ENGINE_SCOPE );
+                    compiledScript.eval( context );
+                    return out + "|" + err;
+                } ) );
+            }
+            var i = 0;
+            for( final var result : results )
+            {
+                assertEquals( "out:name%1$d!|err:name%1$d".formatted( i++ ), result.get() );
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }   //  testOutputRedirection()
 }
 //  class TestJavaEngine
 
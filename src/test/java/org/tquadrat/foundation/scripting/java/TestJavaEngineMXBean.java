@@ -0,0 +1,123 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static java.io.Writer.nullWriter;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.management.JMX;
+import javax.management.ObjectName;
+import javax.script.ScriptException;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.scripting.factory.JavaEngineFactory;
+import org.tquadrat.foundation.testutil.TestBaseClass;
+
+/**
+ *  The tests for
+ *  {@link JavaEngineMXBean}.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestJavaEngineMXBean.java 1098 2026-10-16 19:37:15Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestJavaEngineMXBean.java 1098 2026-10-16 19:37:15Z tquadrat $" )
+public class TestJavaEngineMXBean extends TestBaseClass
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Tests the counters and the operations of the MXBean, through a proxy
+     *  for the platform MBean server.
+     *
+     *  @throws Exception   Something unexpected went wrong.
+     */
+    @Test
+    final void testMXBean() throws Exception
+    {
+        skipThreadTest();
+
+        final var engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        engine.getContext().setErrorWriter( nullWriter() );
+        final var server = ManagementFactory.getPlatformMBeanServer();
+        final var objectName = new ObjectName( JavaEngineMXBean.OBJECT_NAME );
+        assertTrue( server.isRegistered( objectName ) );
+        final var candidate = JMX.newMXBeanProxy( server, objectName, JavaEngineMXBean.class );
+
+        final var compilations = candidate.getCompilationCount();
+        final var failures = candidate.getCompilationFailureCount();
+        final var evaluations = candidate.getEvaluationCount();
+        final var definedClasses = candidate.getDefinedClassCount();
+        final var byteCode = candidate.getDefinedByteCodeBytes();
+
+        engine.compile( "class MXBeanScript { static class Inner {} public static void main( String... args ) { new Inner(); } }" ).eval();
+        assertThrows( ScriptException.class, () -> engine.compile( "class MXBeanBroken { x }" ) );
+
+        assertTrue( candidate.getCompilationCount() >= compilations + 2 );
+        assertTrue( candidate.getCompilationFailureCount() >= failures + 1 );
+        assertTrue( candidate.getEvaluationCount() >= evaluations + 1 );
+        assertTrue( candidate.getDefinedClassCount() >= definedClasses + 2 );
+        assertTrue( candidate.getDefinedByteCodeBytes() > byteCode );
+        assertTrue( candidate.getLiveClassLoaderCount() >= 1 );
+        assertTrue( candidate.getCompileTimeMaxMillis() <= candidate.getCompileTimeTotalMillis() );
+        assertTrue( candidate.getEvaluationsPerSecond() >= 0.0 );
+        assertTrue( candidate.getCacheMissCount() >= 1 );
+
+        //---* The runtime controls *------------------------------------------
+        final var compilerThreads = candidate.getCompilerThreads();
+        final var executorThreads = candidate.getCompileExecutorThreads();
+        try
+        {
+            candidate.setCompilerThreads( 3 );
+            assertEquals( 3, candidate.getCompilerThreads() );
+
+            //---* A plain batch still goes to a single compiler task *--------
+            final Map<String,String> scripts = new LinkedHashMap<>();
+            scripts.put( "MXBeanBatchA.java", "public class MXBeanBatchA { public static int value() { return 42; } }" );
+            scripts.put( "MXBeanBatchB.java", "public class MXBeanBatchB { public static void main( String... args ) { MXBeanBatchA.value(); } }" );
+            scripts.put( "MXBeanBatchC.java", "public class MXBeanBatchC { public static void main( String... args ) { MXBeanBatchA.value(); } }" );
+            scripts.put( "MXBeanBatchD.java", "public class MXBeanBatchD { public static void main( String... args ) { MXBeanBatchB.main(); } }" );
+            assertTrue( engine.compileAll( scripts ).values().stream().allMatch( JavaCompilationResult::isSuccess ) );
+
+            candidate.setCompileExecutorThreads( executorThreads + 2 );
+            assertEquals( executorThreads + 2, candidate.getCompileExecutorThreads() );
+            candidate.setCompileExecutorThreads( 1 );
+            assertEquals( 1, candidate.getCompileExecutorThreads() );
+            assertThrows( RuntimeException.class, () -> candidate.setCompilerThreads( 0 ) );
+        }
+        finally
+        {
+            candidate.setCompilerThreads( compilerThreads );
+            candidate.setCompileExecutorThreads( executorThreads );
+        }
+
+        candidate.flushMemoryCaches();
+        assertEquals( 0, candidate.getCacheSize() );
+    }   //  testMXBean()
+}
+//  class TestJavaEngineMXBean
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,148 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tquadrat.foundation.scripting.java.JavaEngine.PARENTLOADER;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.exception.NullArgumentException;
+import org.tquadrat.foundation.exception.ValidationException;
+import org.tquadrat.foundation.scripting.factory.JavaEngineFactory;
+import org.tquadrat.foundation.testutil.TestBaseClass;
+
+/**
+ *  The tests for
+ *  {@link JavaEvaluationService}.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestJavaEvaluationService.java 1092 2026-10-16 14:37:12Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestJavaEvaluationService.java 1092 2026-10-16 14:37:12Z tquadrat $" )
+public class TestJavaEvaluationService extends TestBaseClass
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  A script that blocks until the latch from its context is released.
+     */
+    private static final String BLOCKING_SCRIPT =
+        """
+        class org_tquadrat_foundation_scripting_java_BlockingScript
+        {
+            private static javax.script.ScriptContext m_Context;
+
+            public static void setScriptContext( javax.script.ScriptContext context ) { m_Context = context; }
+
+            public static void main( String... args ) throws Exception
+            {
+                ((java.util.concurrent.CountDownLatch) m_Context.getAttribute( "latch" )).await();
+            }
+        }""";
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Tests the admission control of the service.
+     *
+     *  @throws Exception   Something unexpected went wrong.
+     */
+    @Test
+    final void testAdmissionControl() throws Exception
+    {
+        skipThreadTest();
+
+        final var engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        final var latch = new CountDownLatch( 1 );
+        engine.put( "latch", latch );
+        engine.put( PARENTLOADER, getClass().getClassLoader() );
+        final var script = engine.compile( BLOCKING_SCRIPT );
+
+        try( final var candidate = new JavaEvaluationService( 1, 1 ) )
+        {
+            final var running = candidate.submit( script );
+            final var queued = candidate.submit( script );
+            assertThrows( RejectedExecutionException.class, () -> candidate.submit( script ) );
+
+            var statistics = candidate.getStatistics();
+            assertEquals( 2, statistics.submitted() );
+            assertEquals( 1, statistics.rejected() );
+
+            latch.countDown();
+            assertNotNull( running.get() );
+            assertNotNull( queued.get() );
+
+            statistics = candidate.getStatistics();
+            assertEquals( 2, statistics.completed() );
+            assertEquals( 0, statistics.failed() );
+            assertTrue( statistics.maxQueueWait().compareTo( statistics.averageQueueWait() ) >= 0 );
+        }
+    }   //  testAdmissionControl()
+
+    /**
+     *  Tests the life cycle of the service.
+     *
+     *  @throws Exception   Something unexpected went wrong.
+     */
+    @Test
+    final void testClose() throws Exception
+    {
+        skipThreadTest();
+
+        final var engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        final var script = engine.compile( "class org_tquadrat_foundation_scripting_java_EmptyScript { public static void main( String... args ) {} }" );
+
+        final var candidate = new JavaEvaluationService( 4, 16 );
+        assertNotNull( candidate.submit( script ).get() );
+        candidate.close();
+        assertTrue( candidate.isClosed() );
+        assertThrows( RejectedExecutionException.class, () -> candidate.submit( script ) );
+        assertEquals( 1, candidate.getStatistics().completed() );
+    }   //  testClose()
+
+    /**
+     *  Tests the validation of the arguments.
+     */
+    @Test
+    final void testInvalidArguments()
+    {
+        skipThreadTest();
+
+        assertThrows( ValidationException.class, () -> new JavaEvaluationService( 0, 1 ) );
+        assertThrows( ValidationException.class, () -> new JavaEvaluationService( 1, -1 ) );
+
+        try( final var candidate = new JavaEvaluationService( 1, 0 ) )
+        {
+            assertThrows( NullArgumentException.class, () -> candidate.submit( null ) );
+        }
+    }   //  testInvalidArguments()
+}
+//  class TestJavaEvaluationService
+
+/*
+ *  End of File
+ */
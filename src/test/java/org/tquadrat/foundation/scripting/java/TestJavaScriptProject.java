@@ -0,0 +1,124 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static java.io.Writer.nullWriter;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.script.ScriptException;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.scripting.factory.JavaEngineFactory;
+import org.tquadrat.foundation.testutil.TestBaseClass;
+
+/**
+ *  The tests for
+ *  {@link JavaScriptProject}.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestJavaScriptProject.java 1093 2026-10-16 15:24:51Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestJavaScriptProject.java 1093 2026-10-16 15:24:51Z tquadrat $" )
+public class TestJavaScriptProject extends TestBaseClass
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Tests the incremental compilation of a project.
+     *
+     *  @throws Exception   Something unexpected went wrong.
+     */
+    @Test
+    final void testIncrementalBuild() throws Exception
+    {
+        skipThreadTest();
+
+        final var engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        engine.getContext().setErrorWriter( nullWriter() );
+        final var candidate = engine.createProject();
+        assertThrows( ScriptException.class, candidate::build );
+
+        candidate.putSource( "ProjectMain.java", "public class ProjectMain { public static void main( String... args ) { if( ProjectHelper.value() + ProjectConstants.OFFSET < 0 ) throw new AssertionError(); } }" );
+        candidate.putSource( "ProjectHelper.java", "public class ProjectHelper { public static int value() { return 1; } }" );
+        candidate.putSource( "ProjectConstants.java", "public class ProjectConstants { public static final int OFFSET = 1; }" );
+        candidate.putSource( "ProjectOther.java", "public class ProjectOther {}" );
+
+        final var first = candidate.build();
+        first.eval();
+        assertEquals( candidate.getFileNames(), candidate.getRecompiledFileNames() );
+
+        //---* Nothing has changed *-------------------------------------------
+        assertSame( first, candidate.build() );
+        assertTrue( candidate.getRecompiledFileNames().isEmpty() );
+
+        //---* A unit with a dependent *---------------------------------------
+        candidate.putSource( "ProjectHelper.java", "public class ProjectHelper { public static int value() { return 2; } }" );
+        candidate.build().eval();
+        assertEquals( Set.of( "ProjectHelper.java", "ProjectMain.java" ), candidate.getRecompiledFileNames() );
+
+        //---* An inlined constant *-------------------------------------------
+        candidate.putSource( "ProjectConstants.java", "public class ProjectConstants { public static final int OFFSET = 2; }" );
+        candidate.build().eval();
+        assertEquals( Set.of( "ProjectConstants.java", "ProjectMain.java" ), candidate.getRecompiledFileNames() );
+
+        //---* An independent unit *-------------------------------------------
+        candidate.putSource( "ProjectOther.java", "public class ProjectOther { int m_Value; }" );
+        candidate.build().eval();
+        assertEquals( Set.of( "ProjectOther.java" ), candidate.getRecompiledFileNames() );
+
+        //---* A removed unit breaks its dependents *--------------------------
+        assertTrue( candidate.removeSource( "ProjectHelper.java" ) );
+        assertFalse( candidate.removeSource( "ProjectHelper.java" ) );
+        assertThrows( ScriptException.class, candidate::build );
+
+        candidate.putSource( "ProjectHelper.java", "public class ProjectHelper { public static int value() { return 3; } }" );
+        candidate.build().eval();
+        assertEquals( Set.of( "ProjectHelper.java", "ProjectMain.java" ), candidate.getRecompiledFileNames() );
+
+        //---* A removed independent unit requires a reload *-----------------
+        final var beforeRemoval = candidate.build();
+        assertNotNull( Class.forName( "ProjectOther", false, ((Class<?>) beforeRemoval.eval()).getClassLoader() ) );
+        assertTrue( candidate.removeSource( "ProjectOther.java" ) );
+        final var afterRemoval = candidate.build();
+        assertNotSame( beforeRemoval, afterRemoval );
+        assertTrue( candidate.getRecompiledFileNames().isEmpty() );
+        final var scriptClass = (Class<?>) afterRemoval.eval();
+        assertThrows( ClassNotFoundException.class, () -> Class.forName( "ProjectOther", false, scriptClass.getClassLoader() ) );
+        assertSame( afterRemoval, candidate.build() );
+
+        //---* A removed main class *-----------------------------------------
+        assertTrue( candidate.removeSource( "ProjectMain.java" ) );
+        final var withoutMain = candidate.build();
+        assertNotSame( afterRemoval, withoutMain );
+        assertThrows( ClassNotFoundException.class, () -> Class.forName( "ProjectMain", false, ((Class<?>) withoutMain.eval()).getClassLoader() ) );
+    }   //  testIncrementalBuild()
+}
+//  class TestJavaScriptProject
+
+/*
+ *  End of File
+ */
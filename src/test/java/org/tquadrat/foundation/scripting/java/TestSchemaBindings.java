@@ -0,0 +1,183 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.scripting.java;
+
+import static javax.script.ScriptContext.ENGINE_SCOPE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.exception.NullArgumentException;
+import org.tquadrat.foundation.scripting.factory.JavaEngineFactory;
+import org.tquadrat.foundation.testutil.TestBaseClass;
+
+/**
+ *  The tests for
+ *  {@link BindingSchema}
+ *  and
+ *  {@link SchemaBindings}.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestSchemaBindings.java 1105 2026-10-17 00:41:19Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestSchemaBindings.java 1105 2026-10-17 00:41:19Z tquadrat $" )
+public class TestSchemaBindings extends TestBaseClass
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Tests the bindings against the behaviour of a
+     *  {@link HashMap}.
+     */
+    @Test
+    final void testBindings()
+    {
+        skipThreadTest();
+
+        final var schema = BindingSchema.of( "a", "b", "c" );
+        final var bindings = schema.newBindings();
+        final Map<String,Object> expected = new HashMap<>();
+        assertTrue( bindings.isEmpty() );
+
+        assertNull( bindings.put( "a", "1" ) );
+        expected.put( "a", "1" );
+        assertNull( bindings.put( "b", null ) );
+        expected.put( "b", null );
+        assertNull( bindings.put( "other", "2" ) );
+        expected.put( "other", "2" );
+        assertEquals( "1", bindings.put( "a", "3" ) );
+        expected.put( "a", "3" );
+        assertEquals( expected, bindings );
+        assertEquals( bindings, expected );
+        assertEquals( expected.hashCode(), bindings.hashCode() );
+        assertEquals( 3, bindings.size() );
+
+        assertEquals( "3", bindings.get( "a" ) );
+        assertEquals( "3", bindings.get( new String( "a" ) ) );
+        assertTrue( bindings.containsKey( "b" ) );
+        assertNull( bindings.get( "b" ) );
+        assertFalse( bindings.containsKey( "c" ) );
+        assertEquals( "2", bindings.get( "other" ) );
+        assertNull( bindings.get( "unknown" ) );
+
+        assertEquals( "3", bindings.remove( "a" ) );
+        assertNull( bindings.remove( "a" ) );
+        assertEquals( 2, bindings.size() );
+
+        //---* The iterator removes through the view *------------------------
+        bindings.entrySet().removeIf( entry -> entry.getKey().equals( "other" ) );
+        assertEquals( Set.of( "b" ), bindings.keySet() );
+        bindings.entrySet().iterator().next().setValue( "x" );
+        assertEquals( "x", bindings.get( "b" ) );
+
+        //---* The slots *----------------------------------------------------
+        final var slot = schema.slotOf( "c" );
+        assertEquals( "c", schema.nameOf( slot ) );
+        assertNull( bindings.setValue( slot, "4" ) );
+        assertEquals( "4", bindings.get( "c" ) );
+        assertEquals( "4", bindings.getValue( slot ) );
+        assertEquals( -1, schema.slotOf( "unknown" ) );
+        assertEquals( -1, schema.slotOf( Integer.valueOf( 1 ) ) );
+
+        bindings.put( "other", "5" );
+        bindings.clear();
+        assertTrue( bindings.isEmpty() );
+        assertNull( bindings.get( "c" ) );
+        assertNull( bindings.get( "other" ) );
+
+        //---* The key checks as for SimpleBindings *-------------------------
+        assertThrows( NullPointerException.class, () -> bindings.put( null, "1" ) );
+        assertThrows( IllegalArgumentException.class, () -> bindings.put( "", "1" ) );
+        assertThrows( NullPointerException.class, () -> bindings.get( null ) );
+        assertThrows( ClassCastException.class, () -> bindings.get( Integer.valueOf( 1 ) ) );
+    }   //  testBindings()
+
+    /**
+     *  Tests the use of the bindings with the engine.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testEngine() throws Exception
+    {
+        skipThreadTest();
+
+        final var engine = (JavaEngine) new JavaEngineFactory().getScriptEngine();
+        final var bindings = BindingSchema.of( "value" ).newBindings();
+        engine.setBindings( bindings, ENGINE_SCOPE );
+        final var compiledScript = engine.compile(
+            """
+            class org_tquadrat_foundation_scripting_java_SchemaBindings
+            {
+                private static javax.script.ScriptContext m_Context;
+                public static void setScriptContext( javax.script.ScriptContext context ) { m_Context = context; }
+                public static void main( String... args ) { m_Context.setAttribute( "result", "Hello " + m_Context.getAttribute( "value" ), javax.script.ScriptContext.ENGINE_SCOPE ); }
+            }""" );
+
+        for( final var value : List.of( "World", "Bindings" ) )
+        {
+            bindings.clear();
+            bindings.put( "value", value );
+            compiledScript.eval();
+            assertEquals( "Hello " + value, bindings.get( "result" ) );
+            assertTrue( bindings.get( BindingSchema.CONTEXT ) instanceof javax.script.ScriptContext );
+        }
+    }   //  testEngine()
+
+    /**
+     *  Tests the schema.
+     */
+    @Test
+    final void testSchema()
+    {
+        skipThreadTest();
+
+        final var schema = BindingSchema.of( "x", "y", "x" );
+        assertEquals( List.of( BindingSchema.CONTEXT, "x", "y" ), schema.getNames() );
+        assertEquals( 3, schema.size() );
+        for( var slot = 0; slot < schema.size(); ++slot )
+        {
+            assertEquals( slot, schema.slotOf( schema.nameOf( slot ) ) );
+        }
+
+        final Collection<String> names = new ArrayList<>();
+        for( var i = 0; i < 1_000; ++i ) names.add( "name" + i );
+        final var largeSchema = BindingSchema.of( names );
+        for( final var name : names ) assertEquals( name, largeSchema.nameOf( largeSchema.slotOf( name ) ) );
+
+        assertThrows( NullArgumentException.class, () -> BindingSchema.of( (String []) null ) );
+        assertThrows( IllegalArgumentException.class, () -> BindingSchema.of( "x", "" ) );
+    }   //  testSchema()
+}
+//  class TestSchemaBindings
+
+/*
+ *  End of File
+ */